@@ -18,6 +18,7 @@ package io.dingodb.calcite;
 
 import io.dingodb.calcite.grammar.ddl.DingoSqlCreateTable;
 import io.dingodb.calcite.grammar.ddl.SqlAlterAddIndex;
+import io.dingodb.calcite.grammar.ddl.SqlAlterTable;
 import io.dingodb.calcite.grammar.ddl.SqlAlterTableDistribution;
 import io.dingodb.calcite.grammar.ddl.SqlAlterUser;
 import io.dingodb.calcite.grammar.ddl.SqlCommit;
@@ -33,6 +34,7 @@ import io.dingodb.calcite.grammar.ddl.SqlRollback;
 import io.dingodb.calcite.grammar.ddl.SqlSetPassword;
 import io.dingodb.calcite.grammar.ddl.SqlTruncate;
 import io.dingodb.calcite.grammar.ddl.SqlUseSchema;
+import io.dingodb.common.CommonId;
 import io.dingodb.common.environment.ExecutionEnvironment;
 import io.dingodb.common.partition.PartitionDefinition;
 import io.dingodb.common.partition.PartitionDetailDefinition;
@@ -43,6 +45,7 @@ import io.dingodb.common.privilege.TablePrivDefinition;
 import io.dingodb.common.privilege.UserDefinition;
 import io.dingodb.common.table.ColumnDefinition;
 import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.DefinitionUtils;
 import io.dingodb.common.util.Optional;
@@ -78,11 +81,17 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static io.dingodb.calcite.runtime.DingoResource.DINGO_RESOURCE;
@@ -94,6 +103,18 @@ import static org.apache.calcite.util.Static.RESOURCE;
 public class DingoDdlExecutor extends DdlExecutorImpl {
     public static final DingoDdlExecutor INSTANCE = new DingoDdlExecutor();
 
+    // Increased after each DDL changing tables or privileges.
+    private final AtomicLong version = new AtomicLong(0L);
+    // Versions of the last DDL changing each table, by table ids, so that the plans of the tables can be invalidated.
+    private final Map<CommonId, Long> tableVersions = new ConcurrentHashMap<>();
+    // Version of the last DDL changing privileges, which invalidates the plans of all tables.
+    private volatile long globalVersion = 0L;
+
+    // Numbers of running writing jobs by the meta versions they were planned at, guarded by `writingLock`.
+    private final NavigableMap<Long, Integer> runningWritings = new TreeMap<>();
+    private final ReentrantLock writingLock = new ReentrantLock();
+    private final Condition writingFinished = writingLock.newCondition();
+
     private ExecutionEnvironment env = ExecutionEnvironment.getExecutionEnvironment();
 
     public UserService userService;
@@ -102,6 +123,161 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
         this.userService = UserServiceProvider.getRoot();
     }
 
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Check if any of the tables is changed by DDL after a meta version.
+     *
+     * @param version  the meta version when the plan was made
+     * @param tableIds the ids of the tables accessed by the plan
+     * @return {@code true} if the plan must be made again
+     */
+    public boolean isChanged(long version, @NonNull Collection<CommonId> tableIds) {
+        if (globalVersion > version) {
+            return true;
+        }
+        for (CommonId tableId : tableIds) {
+            Long tableVersion = tableVersions.get(tableId);
+            if (tableVersion != null && tableVersion > version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Register a writing job before running it. A job planned before the last DDL changing its tables must not run but
+     * be planned again, for it may be unaware of the changes, e.g. not maintain a new index.
+     *
+     * @param version  the meta version when the job was planned
+     * @param tableIds the ids of the tables accessed by the job
+     * @return {@code true} if the job may run, then {@link #exitWriting(long)} must be called after it is finished
+     */
+    public boolean enterWriting(long version, @NonNull Collection<CommonId> tableIds) {
+        writingLock.lock();
+        try {
+            if (isChanged(version, tableIds)) {
+                return false;
+            }
+            runningWritings.merge(version, 1, Integer::sum);
+            return true;
+        } finally {
+            writingLock.unlock();
+        }
+    }
+
+    /**
+     * Unregister a writing job after it is finished.
+     *
+     * @param version the meta version when the job was planned
+     */
+    public void exitWriting(long version) {
+        writingLock.lock();
+        try {
+            runningWritings.computeIfPresent(version, (k, v) -> v > 1 ? v - 1 : null);
+            writingFinished.signalAll();
+        } finally {
+            writingLock.unlock();
+        }
+    }
+
+    /**
+     * Wait for the writing jobs planned before a meta version to finish.
+     *
+     * @param version the meta version
+     */
+    void awaitWriting(long version) {
+        writingLock.lock();
+        try {
+            while (!runningWritings.headMap(version, false).isEmpty()) {
+                writingFinished.awaitUninterruptibly();
+            }
+        } finally {
+            writingLock.unlock();
+        }
+    }
+
+    /**
+     * Increase the meta version and mark a table changed at the new version.
+     *
+     * @param tableId the id of the table, {@code null} to mark all the tables changed
+     * @return the new version
+     */
+    long markChanged(@Nullable CommonId tableId) {
+        writingLock.lock();
+        try {
+            long newVersion = version.incrementAndGet();
+            if (tableId != null) {
+                tableVersions.put(tableId, newVersion);
+            } else {
+                globalVersion = newVersion;
+            }
+            return newVersion;
+        } finally {
+            writingLock.unlock();
+        }
+    }
+
+    private long markChanged(@NonNull MutableSchema schema, @NonNull String tableName) {
+        return markChanged(Parameters.nonNull(schema.getMetaService().getTableId(tableName), "table id"));
+    }
+
+    @Override
+    public void executeDdl(CalcitePrepare.Context context, SqlNode node) {
+        SqlIdentifier table = getTableChanged(node);
+        // Get the id before executing, for the table may be dropped or created again.
+        CommonId tableId = null;
+        if (table != null) {
+            Pair<MutableSchema, String> schemaTableName = getSchemaAndTableName(table, context);
+            tableId = Parameters.nonNull(schemaTableName.left, "table schema").getMetaService()
+                .getTableId(schemaTableName.right);
+        }
+        try {
+            super.executeDdl(context, node);
+        } finally {
+            // Mark even if failed, for the DDL may be partially done.
+            if (tableId != null) {
+                markChanged(tableId);
+            } else if (table == null && !isSessionDdl(node)) {
+                markChanged(null);
+            }
+        }
+    }
+
+    /**
+     * Get the name of the existing table changed by a DDL.
+     *
+     * @return the table name, {@code null} if the DDL does not change an existing table
+     */
+    private static @Nullable SqlIdentifier getTableChanged(SqlNode node) {
+        if (node instanceof SqlDropTable) {
+            return ((SqlDropTable) node).name;
+        } else if (node instanceof SqlTruncate) {
+            return ((SqlTruncate) node).id;
+        } else if (node instanceof SqlAlterTable) {
+            return ((SqlAlterTable) node).table;
+        } else if (node instanceof SqlCreateIndex) {
+            return ((SqlCreateIndex) node).table;
+        } else if (node instanceof SqlDropIndex) {
+            return ((SqlDropIndex) node).table;
+        }
+        return null;
+    }
+
+    /**
+     * Check if a DDL changes nothing the existing plans depend on. Other DDLs not of tables, e.g. of privileges, make
+     * all the plans out of date.
+     */
+    private static boolean isSessionDdl(SqlNode node) {
+        return node instanceof SqlCreateTable
+            || node instanceof SqlSetOption
+            || node instanceof SqlUseSchema
+            || node instanceof SqlCommit
+            || node instanceof SqlRollback;
+    }
+
     private static List<Index> getIndex(DingoSqlCreateTable create) {
         List<Index> indexList = create.columnList.stream()
             .filter(col -> col.getKind() == SqlKind.CREATE_INDEX)
@@ -309,6 +485,12 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
 
         schema.createTable(tableName, tableDefinition);
         if (indexList.size() > 0) {
+            if (!schema.getMetaService().isIndexSupported()) {
+                log.warn("Secondary indexes are not supported, indexes of table {} are ignored.", tableName);
+                return;
+            }
+            // The table is empty, so the indexes are ready for lookup once created.
+            indexList.forEach(Index::setNormal);
             schema.createIndex(tableName, indexList);
         }
     }
@@ -454,9 +636,10 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
             = getSchemaAndTableName(sqlAlterAddIndex.table, context);
         final String tableName = Parameters.nonNull(schemaTableName.right, "table name");
         final MutableSchema schema = Parameters.nonNull(schemaTableName.left, "table schema");
+        checkIndexSupported(schema);
         Index index = new Index(sqlAlterAddIndex.index, sqlAlterAddIndex.getColumnNames(), sqlAlterAddIndex.isUnique);
         validateIndex(schema, tableName, index);
-        schema.createIndex(tableName, Collections.singletonList(index));
+        createIndexOnline(schema, tableName, index);
     }
 
     public void execute(@NonNull SqlCreateIndex sqlCreateIndex, CalcitePrepare.Context context) {
@@ -464,9 +647,39 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
             = getSchemaAndTableName(sqlCreateIndex.table, context);
         final String tableName = Parameters.nonNull(schemaTableName.right, "table name");
         final MutableSchema schema = Parameters.nonNull(schemaTableName.left, "table schema");
+        checkIndexSupported(schema);
         Index index = new Index(sqlCreateIndex.index, sqlCreateIndex.getColumnNames(), sqlCreateIndex.isUnique);
         validateIndex(schema, tableName, index);
-        schema.createIndex(tableName, Arrays.asList(index));
+        createIndexOnline(schema, tableName, index);
+    }
+
+    /**
+     * Create an index on a table which may have rows. The index is maintained by writing as soon as it is created, but
+     * it is not used by queries until the existing rows are filled in.
+     *
+     * <p>Marking the table changed makes cached plans and prepared jobs planned again, so that writing from then on
+     * maintains the index. The rows written by the jobs planned before are filled in by the backfill, which starts
+     * after they are finished.
+     */
+    private void createIndexOnline(@NonNull MutableSchema schema, @NonNull String tableName, @NonNull Index index) {
+        schema.createIndex(tableName, Collections.singletonList(index));
+        awaitWriting(markChanged(schema, tableName));
+        schema.updateIndexStatus(tableName, index.getName(), IndexStatus.BUSY);
+        try {
+            long count = IndexBackfill.backfill(schema.getMetaService(), tableName, index.getName());
+            log.info("Index {} of table {} is built with {} rows.", index.getName(), tableName, count);
+        } catch (Exception e) {
+            schema.updateIndexStatus(tableName, index.getName(), IndexStatus.DELETED);
+            // Remove the entries after no writing maintains the index.
+            awaitWriting(markChanged(schema, tableName));
+            try {
+                IndexBackfill.clear(schema.getMetaService(), tableName, index.getName());
+            } catch (Exception e1) {
+                e.addSuppressed(e1);
+            }
+            throw new RuntimeException("Failed to build index " + index.getName() + " of table " + tableName, e);
+        }
+        schema.updateIndexStatus(tableName, index.getName(), IndexStatus.NORMAL);
     }
 
     public void execute(@NonNull SqlDropIndex sqlDropIndex, CalcitePrepare.Context context) {
@@ -474,8 +687,26 @@ public class DingoDdlExecutor extends DdlExecutorImpl {
             = getSchemaAndTableName(sqlDropIndex.table, context);
         final String tableName = Parameters.nonNull(schemaTableName.right, "table name");
         final MutableSchema schema = Parameters.nonNull(schemaTableName.left, "table schema");
+        checkIndexSupported(schema);
         validateDropIndex(schema, tableName, sqlDropIndex.index);
-        schema.dropIndex(tableName, sqlDropIndex.index);
+        dropIndexOnline(schema, tableName, sqlDropIndex.index);
+    }
+
+    /**
+     * Drop an index of a table. The index is not used by queries nor maintained by writing once deleted, then the
+     * entries are removed after the writing jobs planned before are finished, and the index is removed at last.
+     */
+    private void dropIndexOnline(@NonNull MutableSchema schema, @NonNull String tableName, @NonNull String indexName) {
+        schema.updateIndexStatus(tableName, indexName, IndexStatus.DELETED);
+        awaitWriting(markChanged(schema, tableName));
+        IndexBackfill.clear(schema.getMetaService(), tableName, indexName);
+        schema.dropIndex(tableName, indexName);
+    }
+
+    private static void checkIndexSupported(@NonNull MutableSchema schema) {
+        if (!schema.getMetaService().isIndexSupported()) {
+            throw new UnsupportedOperationException("Secondary indexes are not supported.");
+        }
     }
 
     public void execute(@NonNull SqlAlterUser sqlAlterUser, CalcitePrepare.Context context) {
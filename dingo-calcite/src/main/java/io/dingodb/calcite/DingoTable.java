@@ -52,6 +52,7 @@ public class DingoTable extends AbstractTable implements TranslatableTable {
     @Getter
     private final TableDefinition tableDefinition;
 
+    @Getter
     private final TableStatistic tableStatistic;
 
     protected DingoTable(
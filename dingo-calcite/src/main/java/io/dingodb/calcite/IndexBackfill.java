@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite;
+
+import io.dingodb.calcite.visitor.function.DingoCoalesce;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.Index;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.IdGenerator;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.JobManager;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.JobManagerImpl;
+import io.dingodb.exec.operator.PartIndexBackfillOperator;
+import io.dingodb.exec.operator.PartRangeScanOperator;
+import io.dingodb.exec.operator.RootOperator;
+import io.dingodb.exec.table.IndexInKvStore;
+import io.dingodb.meta.MetaService;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.dingodb.common.util.Utils.sole;
+
+/**
+ * Add the entries of existing rows to a new secondary index. All the parts of the table are scanned in parallel by one
+ * job, the entries are written to the index in batches by {@link PartIndexBackfillOperator}.
+ *
+ * <p>The writing jobs planned before the index was created are not aware of it, so the backfill must start after they
+ * are finished (see {@link DingoDdlExecutor#awaitWriting(long)}). Then one pass is enough, for the rows written since
+ * are maintained by the writing jobs.
+ */
+public final class IndexBackfill {
+    // Progresses of running backfills, by table ids and index names.
+    private static final Map<CommonId, Map<String, Progress>> PROGRESSES = new ConcurrentHashMap<>();
+
+    private IndexBackfill() {
+    }
+
+    /**
+     * Get the progresses of the running backfills of a table.
+     *
+     * @param tableId the id of the table
+     * @return the progresses
+     */
+    public static @NonNull Collection<Progress> getProgresses(@NonNull CommonId tableId) {
+        Map<String, Progress> progresses = PROGRESSES.get(tableId);
+        return progresses != null ? progresses.values() : Collections.emptyList();
+    }
+
+    /**
+     * Fill a secondary index with the existing rows of the table.
+     *
+     * @param metaService the meta service of the schema
+     * @param tableName   the name of the table
+     * @param indexName   the name of the index
+     * @return number of rows filled
+     */
+    public static long backfill(
+        @NonNull MetaService metaService,
+        @NonNull String tableName,
+        @NonNull String indexName
+    ) {
+        CommonId tableId = metaService.getTableId(tableName);
+        TableDefinition td = metaService.getTableDefinition(tableId);
+        Index index = td.getIndex(indexName);
+        Map<Long, TupleMapping> indexMappings = Collections.singletonMap(
+            index.getId(),
+            TupleMapping.of(td.getColumnIndices(index.getColumns()))
+        );
+        Progress progress = new Progress(indexName);
+        PROGRESSES.computeIfAbsent(tableId, k -> new ConcurrentHashMap<>()).put(indexName, progress);
+        try {
+            return runJob(metaService, tableId, td, indexMappings, progress);
+        } finally {
+            PROGRESSES.computeIfPresent(tableId, (k, v) -> {
+                v.remove(indexName);
+                return v.isEmpty() ? null : v;
+            });
+        }
+    }
+
+    /**
+     * Remove all the entries of a secondary index, e.g. after the backfill failed.
+     *
+     * @param metaService the meta service of the schema
+     * @param tableName   the name of the table
+     * @param indexName   the name of the index
+     */
+    public static void clear(
+        @NonNull MetaService metaService,
+        @NonNull String tableName,
+        @NonNull String indexName
+    ) {
+        CommonId tableId = metaService.getTableId(tableName);
+        Index index = metaService.getTableDefinition(tableId).getIndex(indexName);
+        IndexInKvStore.drop(tableId, index.getId());
+    }
+
+    private static long runJob(
+        @NonNull MetaService metaService,
+        @NonNull CommonId tableId,
+        @NonNull TableDefinition td,
+        @NonNull Map<Long, TupleMapping> indexMappings,
+        @NonNull Progress progress
+    ) {
+        Collection<RangeDistribution> distributions = metaService.getRangeDistribution(tableId).values();
+        progress.start(distributions.size());
+        if (distributions.isEmpty()) {
+            return 0;
+        }
+        JobManager jobManager = JobManagerImpl.INSTANCE;
+        Job job = jobManager.createJob("backfill-" + tableId);
+        IdGenerator idGenerator = new IdGeneratorImpl();
+        Location currentLocation = metaService.currentLocation();
+        List<Output> outputs = new ArrayList<>(distributions.size());
+        for (RangeDistribution rd : distributions) {
+            Task task = job.getOrCreate(currentLocation, idGenerator);
+            PartRangeScanOperator scanOperator = new PartRangeScanOperator(
+                tableId,
+                rd.id(),
+                td.getDingoType(),
+                td.getKeyMapping(),
+                null,
+                null,
+                rd.getStartKey(),
+                rd.getEndKey(),
+                rd.isWithStart(),
+                rd.isWithEnd(),
+                null,
+                null,
+                td.getDingoType(),
+                false,
+                -1
+            );
+            scanOperator.setId(idGenerator.get());
+            task.putOperator(scanOperator);
+            PartIndexBackfillOperator backfillOperator = new PartIndexBackfillOperator(
+                tableId,
+                rd.id(),
+                td.getDingoType(),
+                td.getKeyMapping(),
+                indexMappings
+            );
+            backfillOperator.setId(idGenerator.get());
+            task.putOperator(backfillOperator);
+            scanOperator.getSoleOutput().setLink(backfillOperator.getInput(0));
+            outputs.add(backfillOperator.getSoleOutput());
+        }
+        // Not summed up, so that the count of each part is got as soon as the part is finished.
+        Output input = sole(DingoCoalesce.coalesce(idGenerator, outputs));
+        RootOperator rootOperator = new RootOperator(DingoTypeFactory.tuple("LONG"));
+        Task task = input.getTask();
+        Id id = idGenerator.get();
+        rootOperator.setId(id);
+        task.putOperator(rootOperator);
+        input.setLink(rootOperator.getInput(0));
+        task.markRoot(id);
+        job.markRoot(task.getId());
+        try {
+            Iterator<Object[]> iterator = jobManager.createIterator(job, null);
+            long count = 0;
+            while (iterator.hasNext()) {
+                long partCount = ((Number) iterator.next()[0]).longValue();
+                progress.finishPart(partCount);
+                count += partCount;
+            }
+            return count;
+        } finally {
+            jobManager.removeJob(job.getJobId());
+        }
+    }
+
+    /**
+     * Progress of a backfill, which is shown in the comment of {@code SHOW TABLE STATUS}.
+     */
+    public static final class Progress {
+        @Getter
+        private final String indexName;
+        private final AtomicInteger finishedPartNum = new AtomicInteger(0);
+        private final AtomicLong rowCount = new AtomicLong(0L);
+        @Getter
+        private volatile int partNum = 0;
+
+        private Progress(String indexName) {
+            this.indexName = indexName;
+        }
+
+        private void start(int partNum) {
+            this.partNum = partNum;
+            finishedPartNum.set(0);
+            rowCount.set(0L);
+        }
+
+        private void finishPart(long count) {
+            finishedPartNum.incrementAndGet();
+            rowCount.addAndGet(count);
+        }
+
+        public int getFinishedPartNum() {
+            return finishedPartNum.get();
+        }
+
+        public long getRowCount() {
+            return rowCount.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Index " + indexName + " building: "
+                + getFinishedPartNum() + "/" + partNum + " regions, " + getRowCount() + " rows";
+        }
+    }
+}
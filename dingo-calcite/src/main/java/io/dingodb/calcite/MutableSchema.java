@@ -19,6 +19,7 @@ package io.dingodb.calcite;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.PartitionDetailDefinition;
 import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.meta.MetaService;
 import lombok.Getter;
@@ -59,6 +60,10 @@ public abstract class MutableSchema extends AbstractSchema {
         metaService.createIndex(tableName, indexList);
     }
 
+    public void updateIndexStatus(@NonNull String tableName, @NonNull String index, @NonNull IndexStatus status) {
+        metaService.updateIndexStatus(tableName, index, status);
+    }
+
     public void dropIndex(@NonNull String tableName, @NonNull String index) {
         metaService.dropIndex(tableName, index);
     }
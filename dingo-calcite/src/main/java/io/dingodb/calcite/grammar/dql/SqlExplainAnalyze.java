@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.grammar.dql;
+
+import org.apache.calcite.sql.SqlExplain;
+import org.apache.calcite.sql.SqlExplainFormat;
+import org.apache.calcite.sql.SqlExplainLevel;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+/**
+ * {@code EXPLAIN ANALYZE} statement, which runs the statement and shows the plan with the statistics of operators.
+ */
+public class SqlExplainAnalyze extends SqlExplain {
+    public SqlExplainAnalyze(SqlParserPos pos, SqlNode explicandum, int dynamicParameterCount) {
+        super(
+            pos,
+            explicandum,
+            SqlExplainLevel.ALL_ATTRIBUTES.symbol(SqlParserPos.ZERO),
+            Depth.PHYSICAL.symbol(SqlParserPos.ZERO),
+            SqlExplainFormat.TEXT.symbol(SqlParserPos.ZERO),
+            dynamicParameterCount
+        );
+    }
+
+    @Override
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.keyword("EXPLAIN ANALYZE");
+        writer.newlineAndIndent();
+        getExplicandum().unparse(writer, getOperator().getLeftPrec(), getOperator().getRightPrec());
+    }
+}
@@ -16,9 +16,18 @@
 
 package io.dingodb.calcite.operation;
 
+import io.dingodb.calcite.IndexBackfill;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.SqlLikeUtils;
+import io.dingodb.meta.MetaService;
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class ShowTableStatusOperation implements QueryOperation {
 
@@ -33,9 +42,32 @@ public class ShowTableStatusOperation implements QueryOperation {
     @Override
     public Iterator getIterator() {
         List<Object[]> tableStatus = new ArrayList<>();
+        MetaService metaService = MetaService.root().getSubMetaService(schema);
+        for (Map.Entry<String, TableDefinition> entry : metaService.getTableDefinitions().entrySet()) {
+            String tableName = entry.getKey();
+            if (StringUtils.isNotBlank(sqlLikePattern) && !SqlLikeUtils.like(tableName, sqlLikePattern)) {
+                continue;
+            }
+            TableDefinition td = entry.getValue();
+            tableStatus.add(new Object[]{
+                tableName.toLowerCase(), td.getEngine(), td.getVersion(),
+                null, null, null, null, null, null, null, td.getAutoIncrement(), null, null, null, null, null, null,
+                getComment(metaService.getTableId(tableName))
+            });
+        }
         return tableStatus.iterator();
     }
 
+    // Show the progresses of the indexes being built in the comment.
+    private static String getComment(CommonId tableId) {
+        if (tableId == null) {
+            return "";
+        }
+        return IndexBackfill.getProgresses(tableId).stream()
+            .map(IndexBackfill.Progress::toString)
+            .collect(Collectors.joining("; "));
+    }
+
     @Override
     public List<String> columns() {
         List<String> columns = new ArrayList<>();
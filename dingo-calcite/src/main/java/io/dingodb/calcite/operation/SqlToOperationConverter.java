@@ -112,7 +112,8 @@ public class SqlToOperationConverter {
             return Optional.of(new ShowColumnsOperation(sqlShowColumns));
         } else if (sqlNode instanceof SqlShowTableStatus) {
             SqlShowTableStatus showTableStatus = (SqlShowTableStatus) sqlNode;
-            return Optional.of(new ShowTableStatusOperation(showTableStatus.schema, showTableStatus.sqlLikePattern));
+            String schemaName = showTableStatus.schema != null ? showTableStatus.schema : getSchemaName(context);
+            return Optional.of(new ShowTableStatusOperation(schemaName, showTableStatus.sqlLikePattern));
         } else {
             return Optional.empty();
         }
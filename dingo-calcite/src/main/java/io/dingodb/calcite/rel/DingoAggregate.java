@@ -18,14 +18,23 @@ package io.dingodb.calcite.rel;
 
 import io.dingodb.calcite.traits.DingoRelTraitsUtils;
 import io.dingodb.calcite.visitor.DingoRelVisitor;
+import lombok.Getter;
 import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rel.core.Aggregate;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.hint.RelHint;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.type.SqlTypeFamily;
+import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -33,6 +42,13 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import java.util.List;
 
 public final class DingoAggregate extends Aggregate implements DingoRel {
+    /**
+     * A partial aggregate outputs partial values to be reduced by {@link DingoReduce}, which are sketches for
+     * approximate aggregates.
+     */
+    @Getter
+    private final boolean partial;
+
     public DingoAggregate(
         RelOptCluster cluster,
         RelTraitSet traitSet,
@@ -41,8 +57,22 @@ public final class DingoAggregate extends Aggregate implements DingoRel {
         ImmutableBitSet groupSet,
         @Nullable List<ImmutableBitSet> groupSets,
         List<AggregateCall> aggCalls
+    ) {
+        this(cluster, traitSet, hints, input, groupSet, groupSets, aggCalls, false);
+    }
+
+    public DingoAggregate(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelNode input,
+        ImmutableBitSet groupSet,
+        @Nullable List<ImmutableBitSet> groupSets,
+        List<AggregateCall> aggCalls,
+        boolean partial
     ) {
         super(cluster, traitSet, hints, input, groupSet, groupSets, aggCalls);
+        this.partial = partial;
         // In `Aggregate`, type checks were done but with `assert`, which is not effective in production.
         for (AggregateCall aggCall : aggCalls) {
             SqlKind aggKind = aggCall.getAggregation().getKind();
@@ -65,7 +95,63 @@ public final class DingoAggregate extends Aggregate implements DingoRel {
         @Nullable List<ImmutableBitSet> groupSets,
         List<AggregateCall> aggCalls
     ) {
-        return new DingoAggregate(getCluster(), traitSet, getHints(), input, groupSet, groupSets, aggCalls);
+        return new DingoAggregate(getCluster(), traitSet, getHints(), input, groupSet, groupSets, aggCalls, partial);
+    }
+
+    /**
+     * Check if an aggregate call is APPROX_COUNT_DISTINCT, which is a COUNT with `distinct` and `approximate` set.
+     */
+    public static boolean isApproxCountDistinct(@NonNull AggregateCall aggCall) {
+        return aggCall.getAggregation().getKind() == SqlKind.COUNT
+            && aggCall.isDistinct()
+            && aggCall.isApproximate()
+            && aggCall.getArgList().size() == 1;
+    }
+
+    @Override
+    protected RelDataType deriveRowType() {
+        RelDataType rowType = super.deriveRowType();
+        if (!partial || getAggCallList().stream().noneMatch(DingoAggregate::isApproxCountDistinct)) {
+            return rowType;
+        }
+        RelDataTypeFactory typeFactory = getCluster().getTypeFactory();
+        RelDataType sketchType = typeFactory.createTypeWithNullability(
+            typeFactory.createSqlType(SqlTypeName.VARBINARY),
+            true
+        );
+        RelDataTypeFactory.Builder builder = typeFactory.builder();
+        List<RelDataTypeField> fields = rowType.getFieldList();
+        int groupCount = getGroupCount();
+        for (int i = 0; i < fields.size(); ++i) {
+            RelDataTypeField field = fields.get(i);
+            if (i >= groupCount && isApproxCountDistinct(getAggCallList().get(i - groupCount))) {
+                builder.add(field.getName(), sketchType);
+            } else {
+                builder.add(field);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public @Nullable RelOptCost computeSelfCost(@NonNull RelOptPlanner planner, @NonNull RelMetadataQuery mq) {
+        RelOptCost cost = super.computeSelfCost(planner, mq);
+        if (cost == null || getAggCallList().stream().noneMatch(AggregateCall::isDistinct)) {
+            return cost;
+        }
+        // Every input row is put into the sets of distinct values (or sketches), which is done in parallel if the
+        // aggregate is distributed.
+        double rowCount = mq.getRowCount(getInput());
+        RelOptCost distinctCost = planner.getCostFactory().makeCost(rowCount, rowCount, 0);
+        if (!getStreaming().isRoot()) {
+            distinctCost = distinctCost.multiplyBy(0.5);
+        }
+        return cost.plus(distinctCost);
+    }
+
+    @Override
+    public @NonNull RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).itemIf("partial", true, partial);
     }
 
     @Override
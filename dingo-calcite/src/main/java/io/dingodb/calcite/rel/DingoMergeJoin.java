@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rel;
+
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.CorrelationId;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.hint.RelHint;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Equi-join of two inputs already ordered by the join keys. The i-th field collation of {@link #leftCollation} and
+ * {@link #rightCollation} are of the i-th pair of join keys.
+ */
+public class DingoMergeJoin extends Join implements DingoRel {
+    @Getter
+    private final RelCollation leftCollation;
+    @Getter
+    private final RelCollation rightCollation;
+
+    public DingoMergeJoin(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        Set<CorrelationId> variablesSet,
+        JoinRelType joinType,
+        RelCollation leftCollation,
+        RelCollation rightCollation
+    ) {
+        super(cluster, traitSet, hints, left, right, condition, variablesSet, joinType);
+        this.leftCollation = leftCollation;
+        this.rightCollation = rightCollation;
+    }
+
+    @Override
+    public Join copy(
+        RelTraitSet traitSet,
+        RexNode conditionExpr,
+        RelNode left,
+        RelNode right,
+        JoinRelType joinType,
+        boolean semiJoinDone
+    ) {
+        return new DingoMergeJoin(
+            getCluster(),
+            traitSet,
+            getHints(),
+            left,
+            right,
+            conditionExpr,
+            getVariablesSet(),
+            joinType,
+            leftCollation,
+            rightCollation
+        );
+    }
+
+    @Override
+    public @Nullable RelOptCost computeSelfCost(@NonNull RelOptPlanner planner, @NonNull RelMetadataQuery mq) {
+        // No hash table to build, so cheaper than a hash join.
+        RelOptCost cost = super.computeSelfCost(planner, mq);
+        return cost == null ? null : cost.multiplyBy(0.5);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("leftCollation", leftCollation)
+            .item("rightCollation", rightCollation);
+    }
+
+    @Override
+    public <T> T accept(@NonNull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
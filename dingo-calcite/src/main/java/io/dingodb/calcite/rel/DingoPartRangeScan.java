@@ -77,7 +77,8 @@ public class DingoPartRangeScan extends LogicalDingoTableScan implements DingoRe
             isNotBetween,
             includeStart,
             includeEnd,
-            false
+            false,
+            -1
         );
     }
 
@@ -96,9 +97,10 @@ public class DingoPartRangeScan extends LogicalDingoTableScan implements DingoRe
         boolean isNotBetween,
         boolean includeStart,
         boolean includeEnd,
-        boolean pushDown
+        boolean pushDown,
+        int limit
     ) {
-        super(cluster, traitSet, hints, table, filter, selection, aggCalls, groupSet, groupSets, pushDown);
+        super(cluster, traitSet, hints, table, filter, selection, aggCalls, groupSet, groupSets, pushDown, limit);
         this.startKey = startKey;
         this.endKey = endKey;
         this.isNotBetween = isNotBetween;
@@ -145,7 +147,8 @@ public class DingoPartRangeScan extends LogicalDingoTableScan implements DingoRe
             false,
             true,
             false,
-            tableScan.isPushDown()
+            tableScan.isPushDown(),
+            tableScan.getLimit()
         );
     }
 }
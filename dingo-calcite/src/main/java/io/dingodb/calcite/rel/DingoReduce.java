@@ -28,6 +28,8 @@ import org.apache.calcite.rel.SingleRel;
 import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -72,6 +74,26 @@ public final class DingoReduce extends SingleRel implements DingoRel {
         );
     }
 
+    @Override
+    protected RelDataType deriveRowType() {
+        // The partial values of approximate aggregates are sketches, but the reduced values are not.
+        RelDataTypeFactory.Builder builder = getCluster().getTypeFactory().builder();
+        List<RelDataTypeField> fields = input.getRowType().getFieldList();
+        int groupCount = groupSet.cardinality();
+        for (int i = 0; i < fields.size(); ++i) {
+            RelDataTypeField field = fields.get(i);
+            if (i >= groupCount) {
+                AggregateCall aggCall = aggregateCallList.get(i - groupCount);
+                if (DingoAggregate.isApproxCountDistinct(aggCall)) {
+                    builder.add(field.getName(), aggCall.getType());
+                    continue;
+                }
+            }
+            builder.add(field);
+        }
+        return builder.build();
+    }
+
     @Override
     public @Nullable RelOptCost computeSelfCost(@NonNull RelOptPlanner planner, RelMetadataQuery mq) {
         // Assume that all reduces are needed.
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rel;
+
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.hint.RelHint;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Aggregate of a single stream already ordered by the group keys. The leading fields of {@link #collation} are the
+ * group keys.
+ */
+public final class DingoStreamingAggregate extends Aggregate implements DingoRel {
+    @Getter
+    private final RelCollation collation;
+
+    public DingoStreamingAggregate(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelNode input,
+        ImmutableBitSet groupSet,
+        @Nullable List<ImmutableBitSet> groupSets,
+        List<AggregateCall> aggCalls,
+        RelCollation collation
+    ) {
+        super(cluster, traitSet, hints, input, groupSet, groupSets, aggCalls);
+        this.collation = collation;
+    }
+
+    @Override
+    public @NonNull DingoStreamingAggregate copy(
+        RelTraitSet traitSet,
+        RelNode input,
+        ImmutableBitSet groupSet,
+        @Nullable List<ImmutableBitSet> groupSets,
+        List<AggregateCall> aggCalls
+    ) {
+        return new DingoStreamingAggregate(
+            getCluster(),
+            traitSet,
+            getHints(),
+            input,
+            groupSet,
+            groupSets,
+            aggCalls,
+            collation
+        );
+    }
+
+    @Override
+    public @Nullable RelOptCost computeSelfCost(@NonNull RelOptPlanner planner, @NonNull RelMetadataQuery mq) {
+        // No hash table to build, so cheaper than a hash aggregate.
+        RelOptCost cost = super.computeSelfCost(planner, mq);
+        return cost == null ? null : cost.multiplyBy(0.5);
+    }
+
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).item("collation", collation);
+    }
+
+    @Override
+    public <T> T accept(@NonNull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
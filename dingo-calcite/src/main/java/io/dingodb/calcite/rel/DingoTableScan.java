@@ -58,7 +58,23 @@ public class DingoTableScan extends LogicalDingoTableScan implements DingoRel {
         @Nullable ImmutableList<ImmutableBitSet> groupSets,
         boolean pushDown
     ) {
-        super(cluster, traitSet, hints, table, filter, selection, aggCalls, groupSet, groupSets, pushDown);
+        this(cluster, traitSet, hints, table, filter, selection, aggCalls, groupSet, groupSets, pushDown, -1);
+    }
+
+    public DingoTableScan(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelOptTable table,
+        @Nullable RexNode filter,
+        @Nullable TupleMapping selection,
+        @Nullable List<AggregateCall> aggCalls,
+        @Nullable ImmutableBitSet groupSet,
+        @Nullable ImmutableList<ImmutableBitSet> groupSets,
+        boolean pushDown,
+        int limit
+    ) {
+        super(cluster, traitSet, hints, table, filter, selection, aggCalls, groupSet, groupSets, pushDown, limit);
     }
 
     @Override
@@ -78,7 +94,24 @@ public class DingoTableScan extends LogicalDingoTableScan implements DingoRel {
             aggCalls,
             groupSet,
             groupSets,
-            pushDown
+            pushDown,
+            limit
+        );
+    }
+
+    public @NonNull DingoTableScan withLimit(int limit) {
+        return new DingoTableScan(
+            getCluster(),
+            traitSet,
+            hints,
+            table,
+            filter,
+            selection,
+            aggCalls,
+            groupSet,
+            groupSets,
+            pushDown,
+            limit
         );
     }
 }
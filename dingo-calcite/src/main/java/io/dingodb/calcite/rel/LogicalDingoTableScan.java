@@ -55,6 +55,9 @@ public class LogicalDingoTableScan extends TableScan {
     protected final ImmutableList<ImmutableBitSet> groupSets;
     @Getter
     protected final boolean pushDown;
+    // Max number of rows to scan in each part, no limit if negative.
+    @Getter
+    protected final int limit;
 
     public LogicalDingoTableScan(
         RelOptCluster cluster,
@@ -78,6 +81,22 @@ public class LogicalDingoTableScan extends TableScan {
         @Nullable ImmutableBitSet groupSet,
         @Nullable ImmutableList<ImmutableBitSet> groupSets,
         boolean pushDown
+    ) {
+        this(cluster, traitSet, hints, table, filter, selection, aggCalls, groupSet, groupSets, pushDown, -1);
+    }
+
+    public LogicalDingoTableScan(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelOptTable table,
+        @Nullable RexNode filter,
+        @Nullable TupleMapping selection,
+        @Nullable List<AggregateCall> aggCalls,
+        @Nullable ImmutableBitSet groupSet,
+        @Nullable ImmutableList<ImmutableBitSet> groupSets,
+        boolean pushDown,
+        int limit
     ) {
         super(cluster, traitSet, hints, table);
         this.filter = filter;
@@ -86,6 +105,7 @@ public class LogicalDingoTableScan extends TableScan {
         this.groupSet = groupSet;
         this.groupSets = groupSets;
         this.pushDown = pushDown;
+        this.limit = limit;
     }
 
     public boolean isKey(ImmutableBitSet columns) {
@@ -123,6 +143,9 @@ public class LogicalDingoTableScan extends TableScan {
                 rowCount *= 1.0 - Math.pow(.8, groupSet.cardinality());
             }
         }
+        if (limit >= 0) {
+            rowCount = Math.min(rowCount, limit);
+        }
         return rowCount;
     }
 
@@ -175,6 +198,7 @@ public class LogicalDingoTableScan extends TableScan {
         pw.itemIf("groupSet", groupSet, groupSet != null);
         pw.itemIf("aggCalls", aggCalls, aggCalls != null);
         pw.itemIf("pushDown", pushDown, pushDown);
+        pw.itemIf("limit", limit, limit >= 0);
         return pw;
     }
 }
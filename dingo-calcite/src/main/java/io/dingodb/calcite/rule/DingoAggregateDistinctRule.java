@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.rel.DingoAggregate;
+import io.dingodb.calcite.rel.DingoReduce;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.calcite.traits.DingoRelTraitsUtils;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.core.AggregateCall;
+import org.apache.calcite.rel.logical.LogicalAggregate;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * Aggregate with DISTINCT calls in two phases. The input is hash partitioned by the group keys and the distinct
+ * arguments, so the distinct values of a group are aggregated in one partition and the partial results can be reduced
+ * as non-distinct ones.
+ */
+@Value.Enclosing
+public class DingoAggregateDistinctRule extends RelRule<DingoAggregateDistinctRule.Config> {
+    protected DingoAggregateDistinctRule(Config config) {
+        super(config);
+    }
+
+    public static boolean isExactDistinct(@NonNull AggregateCall aggCall) {
+        return aggCall.isDistinct() && !DingoAggregate.isApproxCountDistinct(aggCall);
+    }
+
+    /**
+     * Get the distinct arguments shared by all the distinct calls.
+     *
+     * @return the distinct arguments, or {@code null} if there are no distinct calls or the arguments are not the same
+     */
+    public static @Nullable ImmutableBitSet distinctArgs(@NonNull Aggregate rel) {
+        ImmutableBitSet args = null;
+        for (AggregateCall aggCall : rel.getAggCallList()) {
+            if (isExactDistinct(aggCall)) {
+                ImmutableBitSet callArgs = ImmutableBitSet.of(aggCall.getArgList());
+                if (args == null) {
+                    args = callArgs;
+                } else if (!args.equals(callArgs)) {
+                    return null;
+                }
+            } else if (aggCall.isApproximate()) {
+                // Sketches are merged in `DingoReduce`, but here the partial results are final values.
+                return null;
+            }
+        }
+        return args;
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        LogicalAggregate rel = call.rel(0);
+        RelOptCluster cluster = rel.getCluster();
+        ImmutableBitSet args = distinctArgs(rel);
+        assert args != null;
+        List<Integer> keys = rel.getGroupSet().union(args).asList();
+        RelTraitSet traits = rel.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.of(keys));
+        DingoAggregate aggregate = new DingoAggregate(
+            cluster,
+            traits,
+            rel.getHints(),
+            convert(rel.getInput(), traits),
+            rel.getGroupSet(),
+            rel.getGroupSets(),
+            rel.getAggCallList()
+        );
+        call.transformTo(
+            new DingoReduce(
+                cluster,
+                traits.replace(DingoRelStreaming.ROOT),
+                DingoRelTraitsUtils.convertStreaming(aggregate, DingoRelStreaming.ROOT),
+                rel.getGroupSet(),
+                rel.getAggCallList(),
+                rel.getInput().getRowType()
+            )
+        );
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoAggregateDistinctRule.Config.builder()
+            .operandSupplier(b0 ->
+                b0.operand(LogicalAggregate.class).predicate(rel ->
+                    DingoAggregateRule.match(rel)
+                        && rel.getGroupType() == Aggregate.Group.SIMPLE
+                        && distinctArgs(rel) != null
+                ).anyInputs()
+            )
+            .description("DingoAggregateDistinctRule")
+            .build();
+
+        @Override
+        default DingoAggregateDistinctRule toRule() {
+            return new DingoAggregateDistinctRule(this);
+        }
+    }
+}
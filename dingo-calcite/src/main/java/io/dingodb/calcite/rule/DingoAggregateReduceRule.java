@@ -37,6 +37,10 @@ public class DingoAggregateReduceRule extends RelRule<RelRule.Config> {
     public void onMatch(@NonNull RelOptRuleCall call) {
         DingoAggregate aggregate = call.rel(0);
         DingoStreamingConverter converter = call.rel(1);
+        // Partial results of distinct aggregates cannot be reduced, see `DingoAggregateDistinctRule`.
+        if (aggregate.getAggCallList().stream().anyMatch(DingoAggregateDistinctRule::isExactDistinct)) {
+            return;
+        }
         RelOptCluster cluster = aggregate.getCluster();
         call.transformTo(
             new DingoReduce(
@@ -44,9 +48,15 @@ public class DingoAggregateReduceRule extends RelRule<RelRule.Config> {
                 aggregate.getTraitSet(),
                 converter.copy(
                     converter.getTraitSet(),
-                    ImmutableList.of(aggregate.copy(
+                    ImmutableList.of(new DingoAggregate(
+                        cluster,
                         converter.getInput().getTraitSet(),
-                        converter.getInputs()
+                        aggregate.getHints(),
+                        converter.getInput(),
+                        aggregate.getGroupSet(),
+                        aggregate.getGroupSets(),
+                        aggregate.getAggCallList(),
+                        true
                     ))
                 ),
                 aggregate.getGroupSet(),
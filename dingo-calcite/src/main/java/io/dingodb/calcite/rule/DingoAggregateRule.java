@@ -48,15 +48,8 @@ public class DingoAggregateRule extends ConverterRule {
             SqlKind kind = agg.getAggregation().getKind();
             // AVG must be transformed to SUM/COUNT before.
             // TODO: GROUPING is not supported, maybe it is useful.
-            if (kind == SqlKind.AVG || kind == SqlKind.GROUPING) {
-                return true;
-            }
-            // After apply `CoreRules.AGGREGATE_EXPAND_DISTINCT_AGGREGATES`, the sql: `select count(distinct a) from t`
-            // will be transformed to two rules:
-            // 1. aggregate with distinct(AggregateCall List is empty)
-            // 2. aggregate with count(AggregateCall List contains COUNT, SUM, AVG...)
-            // So, In this case, the origin aggregate and distinct should be ignored.
-            return agg.isDistinct() && (kind == SqlKind.COUNT || kind == SqlKind.SUM);
+            // DISTINCT aggregates are supported natively by `DistinctAgg`.
+            return kind == SqlKind.AVG || kind == SqlKind.GROUPING;
         });
     }
 
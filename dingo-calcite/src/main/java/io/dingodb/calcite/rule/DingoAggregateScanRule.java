@@ -24,6 +24,7 @@ import io.dingodb.exec.expr.ExprCodeType;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptRuleCall;
 import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rel.core.AggregateCall;
 import org.apache.calcite.rex.RexNode;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.immutables.value.Value;
@@ -38,6 +39,10 @@ public class DingoAggregateScanRule extends RelRule<RelRule.Config> {
     public void onMatch(@NonNull RelOptRuleCall call) {
         DingoAggregate aggregate = call.rel(0);
         DingoTableScan scan = call.rel(1);
+        // Distinct values and sketches of approximate aggregates cannot be calculated in the store.
+        if (aggregate.getAggCallList().stream().anyMatch(AggregateCall::isDistinct)) {
+            return;
+        }
         RelOptCluster cluster = aggregate.getCluster();
         RexNode filter = scan.getFilter();
         if (filter != null) {
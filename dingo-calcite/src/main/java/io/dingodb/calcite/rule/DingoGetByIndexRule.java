@@ -25,6 +25,7 @@ import io.dingodb.calcite.utils.IndexValueMapSet;
 import io.dingodb.calcite.utils.IndexValueMapSetVisitor;
 import io.dingodb.calcite.utils.TableUtils;
 import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.plan.Convention;
@@ -89,6 +90,10 @@ public class DingoGetByIndexRule extends ConverterRule {
         }
         for (Map.Entry<String, Index> entry : indexes.entrySet()) {
             Index index = entry.getValue();
+            // Only the indexes containing all the rows can be used.
+            if (index.getStatus() != IndexStatus.NORMAL) {
+                continue;
+            }
             List<Integer> indices = td.getColumnIndices(Arrays.asList(index.getColumns()));
             if (indexValueMapSet.satisfyIndices(indices)) {
                 if (selectedIndex == null || selectedIndex.getColumns().length < index.getColumns().length) {
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.rel.DingoMergeJoin;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import org.apache.calcite.plan.Convention;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollationTraitDef;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.convert.ConverterRule;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.calcite.util.Pair;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Convert an equi-join to {@link DingoMergeJoin} if both of the inputs are already ordered by the join keys.
+ */
+public class DingoMergeJoinRule extends ConverterRule {
+    public static final Config DEFAULT = Config.INSTANCE
+        .withConversion(
+            LogicalJoin.class,
+            DingoMergeJoinRule::match,
+            Convention.NONE,
+            DingoConvention.INSTANCE,
+            "DingoMergeJoinRule"
+        )
+        .withRuleFactory(DingoMergeJoinRule::new);
+
+    protected DingoMergeJoinRule(Config config) {
+        super(config);
+    }
+
+    public static boolean match(@NonNull LogicalJoin rel) {
+        return DingoHashJoinRule.match(rel) && keyCollations(rel) != null;
+    }
+
+    /**
+     * Find a pair of collations of the inputs, which leading fields are all the join keys, in the same order of key
+     * pairs and in the same directions.
+     *
+     * @return the pair of key collations of left and right, or `null` if not found
+     */
+    public static @Nullable Pair<RelCollation, RelCollation> keyCollations(@NonNull Join rel) {
+        JoinInfo joinInfo = rel.analyzeCondition();
+        if (joinInfo.leftKeys.isEmpty()) {
+            return null;
+        }
+        RelMetadataQuery mq = rel.getCluster().getMetadataQuery();
+        List<RelCollation> leftCollations = mq.collations(rel.getLeft());
+        List<RelCollation> rightCollations = mq.collations(rel.getRight());
+        if (leftCollations == null || rightCollations == null) {
+            return null;
+        }
+        for (RelCollation leftCollation : leftCollations) {
+            List<Integer> order = keyOrder(leftCollation, joinInfo.leftKeys);
+            if (order == null) {
+                continue;
+            }
+            for (RelCollation rightCollation : rightCollations) {
+                RelCollation rightKeyCollation = rightKeyCollation(rightCollation, joinInfo.rightKeys, order);
+                if (rightKeyCollation != null
+                    && sameDirections(leftCollation.getFieldCollations(), rightKeyCollation.getFieldCollations())
+                ) {
+                    return Pair.of(
+                        RelCollations.of(leftCollation.getFieldCollations().subList(0, order.size())),
+                        rightKeyCollation
+                    );
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the indices of key pairs in the order of leading fields of a collation.
+     */
+    private static @Nullable List<Integer> keyOrder(@NonNull RelCollation collation, @NonNull ImmutableIntList keys) {
+        List<RelFieldCollation> fieldCollations = collation.getFieldCollations();
+        if (fieldCollations.size() < keys.size()) {
+            return null;
+        }
+        List<Integer> order = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); ++i) {
+            int index = keys.indexOf(fieldCollations.get(i).getFieldIndex());
+            if (index < 0 || order.contains(index)) {
+                return null;
+            }
+            order.add(index);
+        }
+        return order;
+    }
+
+    private static @Nullable RelCollation rightKeyCollation(
+        @NonNull RelCollation collation,
+        @NonNull ImmutableIntList keys,
+        @NonNull List<Integer> order
+    ) {
+        List<RelFieldCollation> fieldCollations = collation.getFieldCollations();
+        if (fieldCollations.size() < keys.size()) {
+            return null;
+        }
+        for (int i = 0; i < order.size(); ++i) {
+            if (fieldCollations.get(i).getFieldIndex() != keys.get(order.get(i))) {
+                return null;
+            }
+        }
+        return RelCollations.of(fieldCollations.subList(0, order.size()));
+    }
+
+    private static boolean sameDirections(List<RelFieldCollation> left, @NonNull List<RelFieldCollation> right) {
+        for (int i = 0; i < right.size(); ++i) {
+            if (left.get(i).direction != right.get(i).direction
+                || left.get(i).nullDirection != right.get(i).nullDirection
+            ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @Nullable RelNode convert(RelNode rel) {
+        LogicalJoin join = (LogicalJoin) rel;
+        Pair<RelCollation, RelCollation> collations = keyCollations(join);
+        if (collations == null) {
+            return null;
+        }
+        // The ordering is only kept in a single stream.
+        RelTraitSet traits = join.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT)
+            .replace(RelCollationTraitDef.INSTANCE, Collections.emptyList());
+        return new DingoMergeJoin(
+            join.getCluster(),
+            traits,
+            join.getHints(),
+            convert(join.getLeft(), traits.replace(collations.left)),
+            convert(join.getRight(), traits.replace(collations.right)),
+            join.getCondition(),
+            join.getVariablesSet(),
+            join.getJoinType(),
+            collations.left,
+            collations.right
+        );
+    }
+}
@@ -62,7 +62,8 @@ public class DingoRangeScanRule extends RelRule<DingoRangeScanRule.Config> imple
                 rel.getFilter().getKind() == SqlKind.NOT,
                 range.isWithStart(),
                 range.isWithEnd(),
-                rel.isPushDown()
+                rel.isPushDown(),
+                rel.getLimit()
             ));
         }
     }
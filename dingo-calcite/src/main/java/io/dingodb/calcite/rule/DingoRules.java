@@ -23,6 +23,8 @@ import org.apache.calcite.rel.rules.CoreRules;
 import java.util.List;
 
 public final class DingoRules {
+    public static final DingoAggregateDistinctRule DINGO_AGGREGATE_DISTINCT_RULE
+        = DingoAggregateDistinctRule.Config.DEFAULT.toRule();
     public static final DingoAggregateReduceRule DINGO_AGGREGATE_REDUCE_RULE
         = DingoAggregateReduceRule.Config.DEFAULT.toRule();
     public static final DingoAggregateRule DINGO_AGGREGATE_RULE
@@ -39,6 +41,8 @@ public final class DingoRules {
         = DingoHashJoinRule.DEFAULT.toRule(DingoHashJoinRule.class);
     public static final DingoLikeRule DINGO_LIKE_RULE
         = DingoLikeRule.Config.DEFAULT.toRule();
+    public static final DingoMergeJoinRule DINGO_MERGE_JOIN_RULE
+        = DingoMergeJoinRule.DEFAULT.toRule(DingoMergeJoinRule.class);
     public static final DingoPartCountRule DINGO_PART_COUNT_RULE
         = DingoPartCountRule.Config.DEFAULT.toRule();
     public static final DingoPartDeleteRule DINGO_PART_DELETE_RULE
@@ -53,10 +57,14 @@ public final class DingoRules {
         = DingoRootRule.DEFAULT.toRule(DingoRootRule.class);
     public static final DingoScanFilterRule DINGO_SCAN_FILTER_RULE
         = DingoScanFilterRule.Config.DEFAULT.toRule();
+    public static final DingoScanLimitRule DINGO_SCAN_LIMIT_RULE
+        = DingoScanLimitRule.Config.DEFAULT.toRule();
     public static final DingoScanProjectRule DINGO_SCAN_PROJECT_RULE
         = DingoScanProjectRule.Config.DEFAULT.toRule();
     public static final DingoSortRule DINGO_SORT_RULE
         = DingoSortRule.DEFAULT.toRule(DingoSortRule.class);
+    public static final DingoStreamingAggregateRule DINGO_STREAMING_AGGREGATE_RULE
+        = DingoStreamingAggregateRule.DEFAULT.toRule(DingoStreamingAggregateRule.class);
     public static final DingoTableModifyRule DINGO_TABLE_MODIFY_RULE
         = DingoTableModifyRule.DEFAULT.toRule(DingoTableModifyRule.class);
     public static final DingoTableScanRule DINGO_TABLE_SCAN_RULE
@@ -79,12 +87,11 @@ public final class DingoRules {
         = LogicalDingoValueRule.DEFAULT.toRule(LogicalDingoValueRule.class);
 
     private static final List<RelOptRule> rules = ImmutableList.of(
-        CoreRules.AGGREGATE_EXPAND_DISTINCT_AGGREGATES_TO_JOIN,
-        // CoreRules.AGGREGATE_EXPAND_DISTINCT_AGGREGATES,
         CoreRules.AGGREGATE_REDUCE_FUNCTIONS,
         CoreRules.FILTER_INTO_JOIN,
         CoreRules.JOIN_EXTRACT_FILTER,
         CoreRules.PROJECT_REMOVE,
+        DINGO_AGGREGATE_DISTINCT_RULE,
         DINGO_AGGREGATE_REDUCE_RULE,
         DINGO_AGGREGATE_RULE,
         DINGO_FILTER_RULE,
@@ -92,6 +99,7 @@ public final class DingoRules {
         DINGO_GET_BY_INDEX_RULE,
         DINGO_HASH_JOIN_RULE,
         DINGO_LIKE_RULE,
+        DINGO_MERGE_JOIN_RULE,
         DINGO_PART_COUNT_RULE,
         DINGO_PART_DELETE_RULE,
         DINGO_PART_RANGE_RULE,
@@ -99,8 +107,10 @@ public final class DingoRules {
         DINGO_PROJECT_RULE,
         DINGO_ROOT_RULE,
         DINGO_SCAN_FILTER_RULE,
+        DINGO_SCAN_LIMIT_RULE,
         DINGO_SCAN_PROJECT_RULE,
         DINGO_SORT_RULE,
+        DINGO_STREAMING_AGGREGATE_RULE,
         DINGO_TABLE_MODIFY_RULE,
         DINGO_TABLE_SCAN_RULE,
         DINGO_UNION_RULE,
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.rel.DingoSort;
+import io.dingodb.calcite.rel.DingoStreamingConverter;
+import io.dingodb.calcite.rel.DingoTableScan;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * Push {@code LIMIT} (and {@code OFFSET}) of an unordered sort into the part scans, so that each part stops scanning
+ * after {@code offset + fetch} rows. The sort is kept to apply the offset and limit on the merged rows.
+ */
+@Value.Enclosing
+public class DingoScanLimitRule extends RelRule<DingoScanLimitRule.Config> {
+    protected DingoScanLimitRule(Config config) {
+        super(config);
+    }
+
+    private static boolean isIntLiteral(@Nullable RexNode rex) {
+        return rex == null || rex instanceof RexLiteral;
+    }
+
+    private static int intValue(@Nullable RexNode rex) {
+        return rex == null ? 0 : RexLiteral.intValue(rex);
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        DingoSort sort = call.rel(0);
+        DingoStreamingConverter converter = call.rel(1);
+        DingoTableScan scan = call.rel(2);
+        long limit = (long) intValue(sort.offset) + intValue(sort.fetch);
+        if (limit > Integer.MAX_VALUE) {
+            return;
+        }
+        call.transformTo(sort.copy(
+            sort.getTraitSet(),
+            ImmutableList.of(converter.copy(
+                converter.getTraitSet(),
+                ImmutableList.of(scan.withLimit((int) limit))
+            ))
+        ));
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoScanLimitRule.Config.builder()
+            .description("DingoScanLimitRule")
+            .operandSupplier(b0 ->
+                b0.operand(DingoSort.class)
+                    .predicate(s -> s.fetch != null
+                        && s.getCollation().getFieldCollations().isEmpty()
+                        && isIntLiteral(s.offset)
+                        && isIntLiteral(s.fetch)
+                    )
+                    .oneInput(b1 ->
+                        b1.operand(DingoStreamingConverter.class).oneInput(b2 ->
+                            b2.operand(DingoTableScan.class)
+                                .predicate(s -> s.getAggCalls() == null && s.getLimit() < 0)
+                                .noInputs()
+                        )
+                    )
+            )
+            .build();
+
+        @Override
+        default DingoScanLimitRule toRule() {
+            return new DingoScanLimitRule(this);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.rel.DingoStreamingAggregate;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import org.apache.calcite.plan.Convention;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollationTraitDef;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.convert.ConverterRule;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.logical.LogicalAggregate;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Convert an aggregate to {@link DingoStreamingAggregate} if the input is already ordered by the group keys.
+ */
+public class DingoStreamingAggregateRule extends ConverterRule {
+    public static final Config DEFAULT = Config.INSTANCE
+        .withConversion(
+            LogicalAggregate.class,
+            DingoStreamingAggregateRule::match,
+            Convention.NONE,
+            DingoConvention.INSTANCE,
+            "DingoStreamingAggregateRule"
+        )
+        .withRuleFactory(DingoStreamingAggregateRule::new);
+
+    protected DingoStreamingAggregateRule(Config config) {
+        super(config);
+    }
+
+    public static boolean match(@NonNull LogicalAggregate rel) {
+        return DingoAggregateRule.match(rel)
+            && rel.getGroupType() == Aggregate.Group.SIMPLE
+            && !rel.getGroupSet().isEmpty()
+            && keyCollation(rel) != null;
+    }
+
+    /**
+     * Find a collation of the input, which leading fields are all the group keys, in any order and directions.
+     *
+     * @return the leading part of the collation on the group keys, or `null` if not found
+     */
+    public static @Nullable RelCollation keyCollation(@NonNull Aggregate rel) {
+        ImmutableBitSet groupSet = rel.getGroupSet();
+        RelMetadataQuery mq = rel.getCluster().getMetadataQuery();
+        List<RelCollation> collations = mq.collations(rel.getInput());
+        if (collations == null) {
+            return null;
+        }
+        int keyCount = groupSet.cardinality();
+        for (RelCollation collation : collations) {
+            List<RelFieldCollation> fieldCollations = collation.getFieldCollations();
+            if (fieldCollations.size() < keyCount) {
+                continue;
+            }
+            List<RelFieldCollation> keyCollations = fieldCollations.subList(0, keyCount);
+            if (ImmutableBitSet.of(RelCollations.ordinals(keyCollations)).equals(groupSet)) {
+                return RelCollations.of(keyCollations);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public @Nullable RelNode convert(RelNode rel) {
+        LogicalAggregate agg = (LogicalAggregate) rel;
+        RelCollation collation = keyCollation(agg);
+        if (collation == null) {
+            return null;
+        }
+        // The ordering is only kept in a single stream.
+        RelTraitSet traits = agg.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT)
+            .replace(RelCollationTraitDef.INSTANCE, Collections.emptyList());
+        return new DingoStreamingAggregate(
+            agg.getCluster(),
+            traits,
+            agg.getHints(),
+            convert(agg.getInput(), traits.replace(collation)),
+            agg.getGroupSet(),
+            agg.getGroupSets(),
+            agg.getAggCallList(),
+            collation
+        );
+    }
+}
@@ -19,9 +19,14 @@ package io.dingodb.calcite.utils;
 import io.dingodb.common.CommonId;
 import io.dingodb.meta.MetaService;
 import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelVisitor;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public final class MetaServiceUtils {
 
@@ -36,6 +41,37 @@ public final class MetaServiceUtils {
         return metaService.getTableId(tableName);
     }
 
+    /**
+     * Get the id of a table by its qualified name.
+     *
+     * @param qualifiedName the qualified name of the table
+     * @return the id, {@code null} if the table does not exist
+     */
+    public static @Nullable CommonId getTableId(@NonNull List<String> qualifiedName) {
+        return getMetaService(qualifiedName).getTableId(qualifiedName.get(qualifiedName.size() - 1));
+    }
+
+    /**
+     * Get the ids of all the tables accessed by a plan.
+     *
+     * @param relNode the plan
+     * @return the ids by the qualified names of the tables
+     */
+    public static @NonNull Map<List<String>, CommonId> getTableIds(@NonNull RelNode relNode) {
+        Map<List<String>, CommonId> tableIds = new HashMap<>();
+        new RelVisitor() {
+            @Override
+            public void visit(@NonNull RelNode node, int ordinal, @Nullable RelNode parent) {
+                RelOptTable table = node.getTable();
+                if (table != null) {
+                    tableIds.computeIfAbsent(table.getQualifiedName(), MetaServiceUtils::getTableId);
+                }
+                super.visit(node, ordinal, parent);
+            }
+        }.go(relNode);
+        return tableIds;
+    }
+
     public static @NonNull TableInfo getTableInfo(RelOptTable table) {
         String tableName = getTableName(table);
         MetaService metaService = getMetaService(table);
@@ -52,7 +88,10 @@ public final class MetaServiceUtils {
     }
 
     private static MetaService getMetaService(@NonNull RelOptTable table) {
-        List<String> names = table.getQualifiedName();
+        return getMetaService(table.getQualifiedName());
+    }
+
+    private static MetaService getMetaService(@NonNull List<String> names) {
         // ignore 0 root schema
         MetaService metaService = MetaService.root();
         for (int i = 1; i < names.size() - 1; i++) {
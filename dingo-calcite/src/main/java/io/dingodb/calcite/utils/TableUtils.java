@@ -21,15 +21,19 @@ import io.dingodb.calcite.visitor.RexConverter;
 import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.expr.parser.Expr;
 import io.dingodb.expr.parser.exception.ExprCompileException;
+import io.dingodb.meta.TableStatistic;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.rex.RexNode;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,6 +51,10 @@ public final class TableUtils {
         return Objects.requireNonNull(table.unwrap(DingoTable.class)).getTableId();
     }
 
+    public static TableStatistic getTableStatistic(@NonNull RelOptTable table) {
+        return Objects.requireNonNull(table.unwrap(DingoTable.class)).getTableStatistic();
+    }
+
     public static List<Object[]> getTuplesForMapping(
         @NonNull Collection<Map<Integer, RexNode>> items,
         @NonNull TableDefinition td,
@@ -76,6 +84,25 @@ public final class TableUtils {
         return getTuplesForMapping(items, td, td.getKeyMapping());
     }
 
+    /**
+     * Get the mappings of index columns of the secondary indexes to be maintained by writing, which are all the
+     * indexes not deleted.
+     *
+     * @param td the table definition
+     * @return the mappings by index ids
+     */
+    public static @NonNull Map<Long, TupleMapping> getIndexMappings(@NonNull TableDefinition td) {
+        Map<Long, TupleMapping> mappings = new HashMap<>();
+        if (td.getIndexes() != null) {
+            for (Index index : td.getIndexes().values()) {
+                if (index.getStatus() != IndexStatus.DELETED) {
+                    mappings.put(index.getId(), TupleMapping.of(td.getColumnIndices(index.getColumns())));
+                }
+            }
+        }
+        return mappings;
+    }
+
     public static KeyValueCodec getKeyValueCodecForTable(CommonId tableId, TableDefinition td) {
         return CodecService.getDefault().createKeyValueCodec(tableId, td);
     }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor;
+
+import io.dingodb.calcite.rel.DingoProject;
+import io.dingodb.calcite.rel.DingoRoot;
+import io.dingodb.calcite.rel.DingoStreamingConverter;
+import io.dingodb.calcite.rel.DingoTableModify;
+import io.dingodb.calcite.rel.DingoUnion;
+import io.dingodb.calcite.rel.DingoValues;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
+import io.dingodb.calcite.utils.SqlExprUtils;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.expr.SqlExpr;
+import lombok.Getter;
+import org.apache.calcite.rel.RelHomogeneousShuttle;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableModify;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bind a batch of parameter sets to an insert plan, by evaluating the projections of parameters on values in planning.
+ * So the values of all the parameter sets are inserted by one job.
+ */
+public final class DingoBatchParasBinder extends RelHomogeneousShuttle {
+    private final DingoType parasType;
+    private final List<Object[]> parasList;
+
+    // Number of tuples produced by each parameter set.
+    @Getter
+    private int tupleNumPerParas = 0;
+    @Getter
+    private RelNode relNode;
+
+    private DingoBatchParasBinder(DingoType parasType, List<Object[]> parasList) {
+        this.parasType = parasType;
+        this.parasList = parasList;
+    }
+
+    /**
+     * Bind the parameter sets to the plan.
+     *
+     * @param relNode   the plan
+     * @param parasType the type of parameters
+     * @param parasList the parameter sets
+     * @return the binder, or {@code null} if the plan is not an insert of values or projections of values
+     */
+    public static @Nullable DingoBatchParasBinder bind(
+        @NonNull RelNode relNode,
+        DingoType parasType,
+        @NonNull List<Object[]> parasList
+    ) {
+        DingoBatchParasBinder binder = new DingoBatchParasBinder(parasType, parasList);
+        RelNode bound = relNode.accept(binder);
+        if (!isBatchInsert(bound)) {
+            return null;
+        }
+        binder.relNode = bound;
+        return binder;
+    }
+
+    // Only these rels are allowed, to make sure that there are no parameters left.
+    private static boolean isBatchInsert(@NonNull RelNode relNode) {
+        if (relNode instanceof DingoTableModify) {
+            return ((DingoTableModify) relNode).getOperation() == TableModify.Operation.INSERT
+                && relNode.getInputs().stream().allMatch(DingoBatchParasBinder::isBoundValues);
+        }
+        if (relNode instanceof DingoRoot || relNode instanceof DingoStreamingConverter) {
+            return relNode.getInputs().stream().allMatch(DingoBatchParasBinder::isBatchInsert);
+        }
+        return false;
+    }
+
+    private static boolean isBoundValues(@NonNull RelNode relNode) {
+        if (relNode instanceof DingoValues) {
+            return true;
+        }
+        if (relNode instanceof DingoStreamingConverter || relNode instanceof DingoUnion) {
+            return relNode.getInputs().stream().allMatch(DingoBatchParasBinder::isBoundValues);
+        }
+        return false;
+    }
+
+    @Override
+    public RelNode visit(RelNode other) {
+        if (other instanceof DingoProject && other.getInput(0) instanceof DingoValues) {
+            DingoProject project = (DingoProject) other;
+            DingoValues values = (DingoValues) project.getInput();
+            List<SqlExpr> exprs = SqlExprUtils.toSqlExprList(project.getProjects(), project.getRowType());
+            DingoType schema = DefinitionMapper.mapToDingoType(values.getRowType());
+            exprs.forEach(expr -> expr.compileIn(schema, parasType));
+            List<Object[]> tuples = new ArrayList<>(parasList.size() * values.getTuples().size());
+            for (Object[] paras : parasList) {
+                exprs.forEach(expr -> expr.setParas(paras));
+                for (Object[] tuple : values.getTuples()) {
+                    Object[] newTuple = new Object[exprs.size()];
+                    for (int i = 0; i < newTuple.length; ++i) {
+                        newTuple[i] = exprs.get(i).eval(tuple);
+                    }
+                    tuples.add(newTuple);
+                }
+            }
+            tupleNumPerParas += values.getTuples().size();
+            return new DingoValues(project.getCluster(), project.getTraitSet(), project.getRowType(), tuples);
+        }
+        if (other instanceof DingoValues) {
+            // Values without parameters are inserted for each parameter set.
+            DingoValues values = (DingoValues) other;
+            List<Object[]> tuples = new ArrayList<>(parasList.size() * values.getTuples().size());
+            for (int i = 0; i < parasList.size(); ++i) {
+                tuples.addAll(values.getTuples());
+            }
+            tupleNumPerParas += values.getTuples().size();
+            return new DingoValues(values.getCluster(), values.getTraitSet(), values.getRowType(), tuples);
+        }
+        return super.visit(other);
+    }
+}
@@ -22,6 +22,7 @@ import io.dingodb.calcite.rel.DingoGetByIndex;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoHashJoin;
 import io.dingodb.calcite.rel.DingoLikeScan;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartRangeDelete;
 import io.dingodb.calcite.rel.DingoPartRangeScan;
@@ -29,6 +30,7 @@ import io.dingodb.calcite.rel.DingoProject;
 import io.dingodb.calcite.rel.DingoReduce;
 import io.dingodb.calcite.rel.DingoRoot;
 import io.dingodb.calcite.rel.DingoSort;
+import io.dingodb.calcite.rel.DingoStreamingAggregate;
 import io.dingodb.calcite.rel.DingoStreamingConverter;
 import io.dingodb.calcite.rel.DingoTableModify;
 import io.dingodb.calcite.rel.DingoTableScan;
@@ -47,12 +49,14 @@ import io.dingodb.calcite.visitor.function.DingoGetByIndexVisitFun;
 import io.dingodb.calcite.visitor.function.DingoGetByKeysFun;
 import io.dingodb.calcite.visitor.function.DingoHashJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoLikeScanVisitFun;
+import io.dingodb.calcite.visitor.function.DingoMergeJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoProjectVisitFun;
 import io.dingodb.calcite.visitor.function.DingoRangeDeleteVisitFun;
 import io.dingodb.calcite.visitor.function.DingoRangeScanVisitFun;
 import io.dingodb.calcite.visitor.function.DingoReduceVisitFun;
 import io.dingodb.calcite.visitor.function.DingoRootVisitFun;
 import io.dingodb.calcite.visitor.function.DingoSortVisitFun;
+import io.dingodb.calcite.visitor.function.DingoStreamingAggregateVisitFun;
 import io.dingodb.calcite.visitor.function.DingoStreamingConverterVisitFun;
 import io.dingodb.calcite.visitor.function.DingoTableModifyVisitFun;
 import io.dingodb.calcite.visitor.function.DingoUnionVisitFun;
@@ -116,6 +120,11 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         }
     }
 
+    @Override
+    public Collection<Output> visit(@NonNull DingoStreamingAggregate rel) {
+        return DingoStreamingAggregateVisitFun.visit(job, idGenerator, currentLocation, this, rel);
+    }
+
     @Override
     public Collection<Output> visit(@NonNull DingoStreamingConverter rel) {
         return DingoStreamingConverterVisitFun.visit(job, idGenerator, currentLocation, this, rel);
@@ -136,6 +145,11 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
         return DingoHashJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
     }
 
+    @Override
+    public Collection<Output> visit(@NonNull DingoMergeJoin rel) {
+        return DingoMergeJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
+    }
+
     @Override
     public Collection<Output> visit(@NonNull DingoTableModify rel) {
         return DingoTableModifyVisitFun.visit(job, idGenerator, currentLocation, this, rel);
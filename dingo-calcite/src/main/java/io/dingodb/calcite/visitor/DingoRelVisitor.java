@@ -22,6 +22,7 @@ import io.dingodb.calcite.rel.DingoGetByIndex;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoHashJoin;
 import io.dingodb.calcite.rel.DingoLikeScan;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartRangeDelete;
 import io.dingodb.calcite.rel.DingoPartRangeScan;
@@ -29,6 +30,7 @@ import io.dingodb.calcite.rel.DingoProject;
 import io.dingodb.calcite.rel.DingoReduce;
 import io.dingodb.calcite.rel.DingoRoot;
 import io.dingodb.calcite.rel.DingoSort;
+import io.dingodb.calcite.rel.DingoStreamingAggregate;
 import io.dingodb.calcite.rel.DingoStreamingConverter;
 import io.dingodb.calcite.rel.DingoTableModify;
 import io.dingodb.calcite.rel.DingoTableScan;
@@ -47,6 +49,8 @@ public interface DingoRelVisitor<T> {
 
     T visit(@NonNull DingoHashJoin rel);
 
+    T visit(@NonNull DingoMergeJoin rel);
+
     T visit(@NonNull DingoTableModify rel);
 
     T visit(@NonNull DingoProject rel);
@@ -57,6 +61,8 @@ public interface DingoRelVisitor<T> {
 
     T visit(@NonNull DingoSort rel);
 
+    T visit(@NonNull DingoStreamingAggregate rel);
+
     T visit(@NonNull DingoStreamingConverter rel);
 
     T visit(@NonNull DingoTableScan rel);
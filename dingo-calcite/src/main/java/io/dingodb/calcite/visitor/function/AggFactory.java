@@ -16,11 +16,17 @@
 
 package io.dingodb.calcite.visitor.function;
 
+import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.rel.DingoAggregate;
 import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.TupleType;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.CountAgg;
 import io.dingodb.exec.aggregate.CountAllAgg;
+import io.dingodb.exec.aggregate.DistinctAgg;
+import io.dingodb.exec.aggregate.HllAgg;
 import io.dingodb.exec.aggregate.MaxAgg;
 import io.dingodb.exec.aggregate.MinAgg;
 import io.dingodb.exec.aggregate.Sum0Agg;
@@ -69,13 +75,48 @@ final class AggFactory {
         );
     }
 
+    private static @NonNull Agg getDistinctAgg(SqlKind kind, @NonNull List<Integer> args, DingoType schema) {
+        TupleMapping mapping = TupleMapping.of(args);
+        if (args.size() == 1) {
+            DingoType type = schema.getChild(sole(args));
+            // The distinct values are fed to the aggregation as the sole element of tuples.
+            Agg agg = getAgg(kind, ImmutableList.of(0), DingoTypeFactory.tuple(new DingoType[]{type}));
+            return new DistinctAgg(mapping, type, agg);
+        }
+        // Only COUNT accepts multiple arguments, which counts the distinct tuples.
+        return new DistinctAgg(mapping, ((TupleType) schema).select(mapping), new CountAllAgg());
+    }
+
     static List<Agg> getAggList(@NonNull List<AggregateCall> aggregateCallList, DingoType schema) {
         return aggregateCallList.stream()
-            .map(c -> AggFactory.getAgg(
-                c.getAggregation().getKind(),
-                c.getArgList(),
-                schema
-            ))
+            .map(c -> {
+                if (DingoAggregate.isApproxCountDistinct(c)) {
+                    return new HllAgg(sole(c.getArgList()));
+                }
+                SqlKind kind = c.getAggregation().getKind();
+                if (c.isDistinct()) {
+                    return getDistinctAgg(kind, c.getArgList(), schema);
+                }
+                return getAgg(kind, c.getArgList(), schema);
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the aggregations to reduce partial results. Inputs of distinct aggregations are partitioned by the distinct
+     * values, so the partial results are reduced as non-distinct ones.
+     */
+    static List<Agg> getReduceAggList(@NonNull List<AggregateCall> aggregateCallList, DingoType schema) {
+        return aggregateCallList.stream()
+            .map(c -> {
+                if (c.isDistinct() && !DingoAggregate.isApproxCountDistinct(c)) {
+                    SqlKind kind = c.getAggregation().getKind();
+                    // Reduce the counts by summing, no matter how many arguments there are.
+                    List<Integer> args = c.getArgList().size() == 1 ? c.getArgList() : ImmutableList.of();
+                    return getAgg(kind, args, schema);
+                }
+                return getAggList(ImmutableList.of(c), schema).get(0);
+            })
             .collect(Collectors.toList());
     }
 }
@@ -54,7 +54,9 @@ public class DingoAggregateVisitFun {
         public Operator get() {
             return new AggregateOperator(
                 AggFactory.getAggKeys(rel.getGroupSet()),
-                AggFactory.getAggList(rel.getAggCallList(), DefinitionMapper.mapToDingoType(input.getRowType()))
+                AggFactory.getAggList(rel.getAggCallList(), DefinitionMapper.mapToDingoType(input.getRowType())),
+                DefinitionMapper.mapToDingoType(rel.getRowType()),
+                rel.isPartial()
             );
         }
     }
@@ -19,6 +19,7 @@ package io.dingodb.calcite.visitor.function;
 import io.dingodb.calcite.rel.DingoGetByIndex;
 import io.dingodb.calcite.utils.MetaServiceUtils;
 import io.dingodb.calcite.utils.SqlExprUtils;
+import io.dingodb.calcite.utils.TableInfo;
 import io.dingodb.calcite.utils.TableUtils;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.CommonId;
@@ -31,6 +32,8 @@ import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.operator.GetByIndexOperator;
+import io.dingodb.exec.partition.PartitionStrategy;
+import io.dingodb.exec.partition.RangeStrategy;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.LinkedList;
@@ -44,13 +47,22 @@ public final class DingoGetByIndexVisitFun {
     public static LinkedList<Output> visit(
         Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, @NonNull DingoGetByIndex rel
     ) {
-        final CommonId tableId = MetaServiceUtils.getTableId(rel.getTable());
+        final TableInfo tableInfo = MetaServiceUtils.getTableInfo(rel.getTable());
         final TableDefinition td = TableUtils.getTableDefinition(rel.getTable());
+        final PartitionStrategy<CommonId, byte[]> ps = new RangeStrategy(td, tableInfo.getRangeDistributions());
         Index index = td.getIndex(rel.getIndexName());
         TupleMapping mapping = TupleMapping.of(td.getColumnIndices(index.getColumns()));
-        List<Object[]> keyTuples = TableUtils.getTuplesForMapping(rel.getPoints(), td, mapping);
-        GetByIndexOperator operator = new GetByIndexOperator(tableId, td.getDingoType(), mapping, keyTuples,
-            SqlExprUtils.toSqlExpr(rel.getFilter()), rel.getSelection()
+        List<Object[]> indexTuples = TableUtils.getTuplesForMapping(rel.getPoints(), td, mapping);
+        GetByIndexOperator operator = new GetByIndexOperator(
+            tableInfo.getId(),
+            td.getDingoType(),
+            td.getKeyMapping(),
+            index.getId(),
+            mapping,
+            indexTuples,
+            ps,
+            SqlExprUtils.toSqlExpr(rel.getFilter()),
+            rel.getSelection()
         );
         operator.setId(idGenerator.get());
         Task task = job.getOrCreate(currentLocation, idGenerator);
@@ -17,8 +17,10 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.IdGenerator;
@@ -27,8 +29,10 @@ import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.operator.HashJoinOperator;
+import io.dingodb.exec.operator.ParallelHashJoinOperator;
 import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
@@ -40,6 +44,9 @@ import java.util.Map;
 import static io.dingodb.calcite.rel.DingoRel.dingo;
 
 public class DingoHashJoinVisitFun {
+    // Rows each parallel join partition should have at least, to pay off the cost of dispatching.
+    private static final double MIN_ROWS_PER_PARTITION = 100000;
+
     @NonNull
     public static List<Output> visit(
         Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, @NonNull DingoHashJoin rel
@@ -51,18 +58,29 @@ public class DingoHashJoinVisitFun {
         // Only one left input in each task, because of coalescing.
         leftInputs.forEach(i -> leftInputsMap.put(i.getTaskId(), i));
         rightInputs.forEach(i -> rightInputsMap.put(i.getTaskId(), i));
+        int parallelism = parallelism(rel, leftInputsMap.size());
         List<Output> outputs = new LinkedList<>();
         for (Map.Entry<Id, Output> entry : leftInputsMap.entrySet()) {
             Id taskId = entry.getKey();
             Output left = entry.getValue();
             Output right = rightInputsMap.get(taskId);
             JoinInfo joinInfo = rel.analyzeCondition();
-            Operator operator = new HashJoinOperator(TupleMapping.of(joinInfo.leftKeys),
-                TupleMapping.of(joinInfo.rightKeys), rel.getLeft().getRowType().getFieldCount(),
-                rel.getRight().getRowType().getFieldCount(),
-                rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL,
-                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL
-            );
+            TupleMapping leftMapping = TupleMapping.of(joinInfo.leftKeys);
+            TupleMapping rightMapping = TupleMapping.of(joinInfo.rightKeys);
+            int leftLength = rel.getLeft().getRowType().getFieldCount();
+            int rightLength = rel.getRight().getRowType().getFieldCount();
+            boolean leftRequired = rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL;
+            boolean rightRequired = rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL;
+            DingoType leftSchema = DefinitionMapper.mapToDingoType(rel.getLeft().getRowType());
+            DingoType rightSchema = DefinitionMapper.mapToDingoType(rel.getRight().getRowType());
+            Operator operator;
+            if (parallelism > 1) {
+                operator = new ParallelHashJoinOperator(leftMapping, rightMapping, leftLength, rightLength,
+                    leftRequired, rightRequired, leftSchema, rightSchema, parallelism);
+            } else {
+                operator = new HashJoinOperator(leftMapping, rightMapping, leftLength, rightLength,
+                    leftRequired, rightRequired, leftSchema, rightSchema);
+            }
             operator.setId(idGenerator.get());
             left.setLink(operator.getInput(0));
             right.setLink(operator.getInput(1));
@@ -72,4 +90,20 @@ public class DingoHashJoinVisitFun {
         }
         return outputs;
     }
+
+    /**
+     * Choose the number of partitions joined in parallel in each task, by the estimated rows of inputs per task and
+     * the available cores. The executors may clamp it to their own cores.
+     */
+    private static int parallelism(@NonNull DingoHashJoin rel, int taskNum) {
+        RelMetadataQuery mq = rel.getCluster().getMetadataQuery();
+        Double leftRows = mq.getRowCount(rel.getLeft());
+        Double rightRows = mq.getRowCount(rel.getRight());
+        if (leftRows == null || rightRows == null) {
+            return 1;
+        }
+        double rowsPerTask = (leftRows + rightRows) / Math.max(taskNum, 1);
+        int parallelism = (int) Math.min(rowsPerTask / MIN_ROWS_PER_PARTITION, Integer.MAX_VALUE);
+        return Math.max(1, Math.min(parallelism, Runtime.getRuntime().availableProcessors()));
+    }
 }
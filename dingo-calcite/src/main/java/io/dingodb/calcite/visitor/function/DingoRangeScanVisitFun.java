@@ -38,6 +38,7 @@ import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.operator.PartRangeScanOperator;
 import io.dingodb.exec.partition.PartitionStrategy;
 import io.dingodb.exec.partition.RangeStrategy;
+import io.dingodb.meta.TableStatistic;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -49,10 +50,33 @@ import java.util.TreeSet;
 
 @Slf4j
 public final class DingoRangeScanVisitFun {
+    // A part is not split into sub-ranges of fewer rows than this, for the overhead of more operators.
+    static final double MIN_ROWS_PER_SPLIT = 100000.0d;
+    static final int MAX_SPLITS_PER_PART = 16;
 
     private DingoRangeScanVisitFun() {
     }
 
+    /**
+     * Decide how many sub-ranges each part is split into, according to the estimated rows of each part. The result
+     * depends only on the table statistics, not on the load of the planning node, for the sub-ranges are scanned by
+     * the executors of the nodes where the parts are.
+     *
+     * @param rowCount     the estimated row count of the table
+     * @param totalPartNum the number of parts of the table
+     * @param limit        the limit pushed down, negative if there is none
+     * @return the number of sub-ranges, at least 1
+     */
+    static int calcSplitNum(double rowCount, int totalPartNum, int limit) {
+        // Each sub-range would scan up to `limit` rows, so splitting costs more.
+        if (limit >= 0 || totalPartNum <= 0 || !(rowCount > 0)) {
+            return 1;
+        }
+        double rowsPerPart = rowCount / totalPartNum;
+        int splitsByRows = (int) Math.min(Math.ceil(rowsPerPart / MIN_ROWS_PER_SPLIT), MAX_SPLITS_PER_PART);
+        return Math.max(splitsByRows, 1);
+    }
+
     public static Collection<Output> visit(
         Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, DingoPartRangeScan rel
     ) {
@@ -79,7 +103,23 @@ public final class DingoRangeScanVisitFun {
 
         List<Output> outputs = new ArrayList<>();
 
-        for (RangeDistribution rd : distributions) {
+        int splitNum = calcSplitNum(rel.getTable().getRowCount(), ranges.size(), rel.getLimit());
+        List<RangeDistribution> subRanges = new ArrayList<>();
+        if (splitNum > 1) {
+            TableStatistic statistic = TableUtils.getTableStatistic(rel.getTable());
+            byte[] minKey = statistic.getMinKey();
+            byte[] maxKey = statistic.getMaxKey();
+            for (RangeDistribution rd : distributions) {
+                subRanges.addAll(RangeUtils.splitRange(rd, splitNum, minKey, maxKey));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Split {} parts into {} sub-ranges to scan.", distributions.size(), subRanges.size());
+            }
+        } else {
+            subRanges.addAll(distributions);
+        }
+
+        for (RangeDistribution rd : subRanges) {
             PartRangeScanOperator operator = new PartRangeScanOperator(
                 tableInfo.getId(),
                 rd.id(),
@@ -96,7 +136,8 @@ public final class DingoRangeScanVisitFun {
                 rel.getAggCalls() == null ? null
                     : AggFactory.getAggList(rel.getAggCalls(), DefinitionMapper.mapToDingoType(rel.getSelectedType())),
                 DefinitionMapper.mapToDingoType(rel.getRowType()),
-                rel.isPushDown()
+                rel.isPushDown(),
+                rel.getLimit()
             );
             operator.setId(idGenerator.get());
             Task task = job.getOrCreate(currentLocation, idGenerator);
@@ -40,9 +40,10 @@ public class DingoReduceVisitFun {
         Collection<Output> inputs = dingo(rel.getInput()).accept(visitor);
         Operator operator;
         operator = new ReduceOperator(AggFactory.getAggKeys(rel.getGroupSet()),
-            AggFactory.getAggList(rel.getAggregateCallList(),
+            AggFactory.getReduceAggList(rel.getAggregateCallList(),
                 DefinitionMapper.mapToDingoType(rel.getOriginalInputType())
-            )
+            ),
+            DefinitionMapper.mapToDingoType(rel.getRowType())
         );
         operator.setId(idGenerator.get());
         Output input = sole(inputs);
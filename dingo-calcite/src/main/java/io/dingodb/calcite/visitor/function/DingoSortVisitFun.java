@@ -16,7 +16,10 @@
 
 package io.dingodb.calcite.visitor.function;
 
+import io.dingodb.calcite.rel.DingoRel;
 import io.dingodb.calcite.rel.DingoSort;
+import io.dingodb.calcite.rel.DingoStreamingConverter;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
 import io.dingodb.exec.base.IdGenerator;
@@ -48,10 +51,44 @@ public class DingoSortVisitFun {
         DingoJobVisitor dingoJobVisitor,
         @NonNull DingoSort rel
     ) {
-        Collection<Output> inputs = dingo(rel.getInput()).accept(dingoJobVisitor);
+        Collection<Output> inputs;
+        if (rel.fetch != null && !rel.getCollation().getFieldCollations().isEmpty()
+            && rel.getInput() instanceof DingoStreamingConverter
+        ) {
+            // Partial Top-N before the tuples are coalesced, only `offset + limit` tuples of each part are sent.
+            DingoStreamingConverter converter = (DingoStreamingConverter) rel.getInput();
+            DingoRel partInput = dingo(converter.getInput());
+            Collection<Output> partOutputs = DingoBridge.bridge(
+                idGenerator,
+                partInput.accept(dingoJobVisitor),
+                () -> new SortOperator(
+                    toSortCollation(rel.getCollation().getFieldCollations()),
+                    (int) Math.min((long) getFetch(rel) + getOffset(rel), Integer.MAX_VALUE),
+                    0,
+                    DefinitionMapper.mapToDingoType(rel.getRowType())
+                )
+            );
+            inputs = DingoStreamingConverterVisitFun.convertStreaming(
+                job, idGenerator, currentLocation,
+                partOutputs,
+                partInput.getStreaming(),
+                converter.getStreaming(),
+                DefinitionMapper.mapToDingoType(converter.getRowType())
+            );
+        } else {
+            inputs = dingo(rel.getInput()).accept(dingoJobVisitor);
+        }
         return DingoBridge.bridge(idGenerator, inputs, new OperatorSupplier(rel));
     }
 
+    private static int getFetch(@NonNull DingoSort rel) {
+        return rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch);
+    }
+
+    private static int getOffset(@NonNull DingoSort rel) {
+        return rel.offset == null ? 0 : RexLiteral.intValue(rel.offset);
+    }
+
     @AllArgsConstructor
     static class OperatorSupplier implements Supplier<Operator> {
 
@@ -61,13 +98,14 @@ public class DingoSortVisitFun {
         public Operator get() {
             return new SortOperator(
                 toSortCollation(rel.getCollation().getFieldCollations()),
-                rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch),
-                rel.offset == null ? 0 : RexLiteral.intValue(rel.offset)
+                getFetch(rel),
+                getOffset(rel),
+                DefinitionMapper.mapToDingoType(rel.getRowType())
             );
         }
     }
 
-    private static List<SortCollation> toSortCollation(List<RelFieldCollation> collations) {
+    static List<SortCollation> toSortCollation(List<RelFieldCollation> collations) {
         return collations.stream().map(DingoSortVisitFun::toSortCollation).collect(Collectors.toList());
     }
 
@@ -38,6 +38,7 @@ import io.dingodb.exec.operator.PartUpdateOperator;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static io.dingodb.calcite.rel.DingoRel.dingo;
@@ -50,24 +51,26 @@ public class DingoTableModifyVisitFun {
         List<Output> outputs = new LinkedList<>();
         final TableDefinition td = TableUtils.getTableDefinition(rel.getTable());
         final CommonId tableId = MetaServiceUtils.getTableId(rel.getTable());
+        final Map<Long, TupleMapping> indexMappings = TableUtils.getIndexMappings(td);
         for (Output input : inputs) {
             Task task = input.getTask();
             Operator operator;
             switch (rel.getOperation()) {
                 case INSERT:
                     operator = new PartInsertOperator(tableId, input.getHint().getPartId(), td.getDingoType(),
-                        td.getKeyMapping()
+                        td.getKeyMapping(), indexMappings
                     );
                     break;
                 case UPDATE:
                     operator = new PartUpdateOperator(tableId, input.getHint().getPartId(), td.getDingoType(),
-                        td.getKeyMapping(), TupleMapping.of(td.getColumnIndices(rel.getUpdateColumnList())),
+                        td.getKeyMapping(), indexMappings,
+                        TupleMapping.of(td.getColumnIndices(rel.getUpdateColumnList())),
                         rel.getSourceExpressionList().stream().map(SqlExprUtils::toSqlExpr).collect(Collectors.toList())
                     );
                     break;
                 case DELETE:
                     operator = new PartDeleteOperator(tableId, input.getHint().getPartId(), td.getDingoType(),
-                        td.getKeyMapping()
+                        td.getKeyMapping(), indexMappings
                     );
                     break;
                 default:
@@ -29,6 +29,7 @@ import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.calcite.traits.DingoRelStreaming;
 import io.dingodb.test.asserts.Assert;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelRoot;
 import org.apache.calcite.rel.core.AggregateCall;
@@ -171,11 +172,13 @@ public class TestAggregate {
             .soleInput().isA(LogicalProject.class)
             .soleInput().isA(LogicalDingoTableScan.class);
         RelNode optimized = parser.optimize(relRoot.rel);
+        // Distributed by the distinct values.
         Assert.relNode(optimized)
             .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
-            .soleInput().isA(DingoAggregate.class)
             .soleInput().isA(DingoReduce.class)
             .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoAggregate.class)
+            .soleInput().isA(DingoStreamingConverter.class)
             .soleInput().isA(DingoTableScan.class);
     }
 
@@ -316,10 +319,9 @@ public class TestAggregate {
             .soleInput().isA(LogicalProject.class)
             .soleInput().isA(LogicalDingoTableScan.class);
         RelNode optimized = parser.optimize(relRoot.rel);
-        Assert.relNode(optimized)
-            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
-            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
-            .soleInput().isA(DingoProject.class)
-            .soleInput().isA(DingoHashJoin.class).inputNum(2);
+        // Aggregated natively in one pass, for the distinct arguments are not the same.
+        String plan = RelOptUtil.toString(optimized);
+        assertThat(plan).contains(DingoAggregate.class.getSimpleName());
+        assertThat(plan).doesNotContain(DingoHashJoin.class.getSimpleName());
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite;
+
+import io.dingodb.common.CommonId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoDdlExecutor {
+    private static final CommonId TABLE_A = new CommonId(CommonId.CommonType.TABLE, 1, 101);
+    private static final CommonId TABLE_B = new CommonId(CommonId.CommonType.TABLE, 1, 102);
+
+    @Test
+    public void testAwaitWriting() throws Exception {
+        DingoDdlExecutor executor = DingoDdlExecutor.INSTANCE;
+        long version = executor.getVersion();
+        assertThat(executor.enterWriting(version, Collections.singletonList(TABLE_A))).isTrue();
+        // Not waiting for the writing planned at or after the version.
+        executor.awaitWriting(version);
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> executor.awaitWriting(version + 1));
+        Thread.sleep(100);
+        assertThat(future).isNotDone();
+        executor.exitWriting(version);
+        future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testTableChanged() {
+        DingoDdlExecutor executor = DingoDdlExecutor.INSTANCE;
+        long version = executor.getVersion();
+        long newVersion = executor.markChanged(TABLE_A);
+        assertThat(newVersion).isGreaterThan(version);
+        // Only the plans of the table changed are out of date.
+        assertThat(executor.isChanged(version, Arrays.asList(TABLE_A, TABLE_B))).isTrue();
+        assertThat(executor.isChanged(version, Collections.singletonList(TABLE_B))).isFalse();
+        assertThat(executor.isChanged(newVersion, Collections.singletonList(TABLE_A))).isFalse();
+        assertThat(executor.enterWriting(version, Collections.singletonList(TABLE_A))).isFalse();
+        assertThat(executor.enterWriting(version, Collections.singletonList(TABLE_B))).isTrue();
+        executor.exitWriting(version);
+    }
+}
@@ -26,6 +26,8 @@ import io.dingodb.calcite.rel.DingoValues;
 import io.dingodb.calcite.rel.LogicalDingoRoot;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.calcite.visitor.DingoBatchParasBinder;
+import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.test.asserts.Assert;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.rel.RelNode;
@@ -50,6 +52,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.calcite.config.CalciteSystemProperty.DEFAULT_CHARSET;
@@ -220,6 +223,32 @@ public class TestInsert {
             .soleInput().isA(DingoValues.class);
     }
 
+    @Test
+    public void testInsertBatchParas() throws SqlParseException {
+        String sql = "insert into test values(?, ?, 1.0)";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoBatchParasBinder binder = DingoBatchParasBinder.bind(
+            optimized,
+            DingoTypeFactory.tuple("INTEGER", "STRING"),
+            Arrays.asList(new Object[]{1, "Alice"}, new Object[]{2, "Betty"})
+        );
+        assertThat(binder).isNotNull();
+        assertThat(binder.getTupleNumPerParas()).isEqualTo(1);
+        DingoValues values = (DingoValues) Assert.relNode(binder.getRelNode())
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoTableModify.class).prop("operation", TableModify.Operation.INSERT)
+            .soleInput().isA(DingoStreamingConverter.class)
+            .soleInput().isA(DingoValues.class)
+            .getInstance();
+        assertThat(values.getTuples()).containsExactly(
+            new Object[]{1, "Alice", 1.0},
+            new Object[]{2, "Betty", 1.0}
+        );
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
         // TODO: LogicalProject(ID=[CAST(2147483648:BIGINT):INTEGER NOT NULL], NAME=['WrongId'], AMOUNT=[1.0:DOUBLE])
@@ -24,6 +24,7 @@ import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.calcite.traits.DingoRelStreaming;
 import io.dingodb.test.asserts.Assert;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelRoot;
@@ -112,6 +113,8 @@ public class TestSortLimit {
         assertThat(RexLiteral.intValue(sort.fetch)).isEqualTo(3);
         assertThat(sort.offset).isNotNull();
         assertThat(RexLiteral.intValue(sort.offset)).isEqualTo(2);
+        // Each part need not scan more than `offset + limit` rows.
+        assertThat(RelOptUtil.toString(optimized)).contains("limit=[5]");
     }
 
     @Test
@@ -137,5 +140,7 @@ public class TestSortLimit {
         assertThat(sort.fetch).isNotNull();
         assertThat(RexLiteral.intValue(sort.fetch)).isEqualTo(3);
         assertThat(sort.offset).isNull();
+        // Cannot push down limit if sorting is required.
+        assertThat(RelOptUtil.toString(optimized)).doesNotContain("limit=[");
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor.function;
+
+import org.junit.jupiter.api.Test;
+
+import static io.dingodb.calcite.visitor.function.DingoRangeScanVisitFun.MAX_SPLITS_PER_PART;
+import static io.dingodb.calcite.visitor.function.DingoRangeScanVisitFun.MIN_ROWS_PER_SPLIT;
+import static io.dingodb.calcite.visitor.function.DingoRangeScanVisitFun.calcSplitNum;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoRangeScanVisitFun {
+    @Test
+    public void testCalcSplitNum() {
+        assertThat(calcSplitNum(0, 3, -1)).isEqualTo(1);
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT, 1, -1)).isEqualTo(1);
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 4, 1, -1)).isEqualTo(4);
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 4 + 1, 1, -1)).isEqualTo(5);
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 4, 2, -1)).isEqualTo(2);
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 1000, 1, -1)).isEqualTo(MAX_SPLITS_PER_PART);
+    }
+
+    @Test
+    public void testNotSplit() {
+        // Pushed-down limit.
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 4, 1, 10)).isEqualTo(1);
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 4, 1, 0)).isEqualTo(1);
+        // No parts or unknown row count.
+        assertThat(calcSplitNum(MIN_ROWS_PER_SPLIT * 4, 0, -1)).isEqualTo(1);
+        assertThat(calcSplitNum(Double.NaN, 1, -1)).isEqualTo(1);
+    }
+}
@@ -26,11 +26,18 @@ import lombok.Setter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MysqlConnection {
+    private static final AtomicInteger THREAD_ID_GENERATOR = new AtomicInteger(0);
+
     @Getter
     private String id;
 
+    // Connection id shown to the client, used by `KILL`.
+    @Getter
+    private final int threadId;
+
     public SocketChannel channel;
 
     @Getter
@@ -46,6 +53,7 @@ public class MysqlConnection {
 
     public MysqlConnection(SocketChannel channel) {
         this.channel = channel;
+        this.threadId = THREAD_ID_GENERATOR.incrementAndGet();
     }
 
     public void setConnection(DingoConnection dingoConnection) {
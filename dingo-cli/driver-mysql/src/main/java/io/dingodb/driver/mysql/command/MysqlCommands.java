@@ -18,10 +18,12 @@ package io.dingodb.driver.mysql.command;
 
 import io.dingodb.common.mysql.MysqlByteUtil;
 import io.dingodb.common.mysql.constant.ErrorCode;
+import io.dingodb.common.privilege.DingoSqlAccessEnum;
 import io.dingodb.driver.DingoConnection;
 import io.dingodb.driver.DingoPreparedStatement;
 import io.dingodb.driver.mysql.MysqlConnection;
 import io.dingodb.driver.mysql.MysqlType;
+import io.dingodb.driver.mysql.netty.MysqlNettyServer;
 import io.dingodb.driver.mysql.packet.ColumnPacket;
 import io.dingodb.driver.mysql.packet.ExecuteStatementPacket;
 import io.dingodb.driver.mysql.packet.MysqlPacketFactory;
@@ -29,8 +31,13 @@ import io.dingodb.driver.mysql.packet.OKPacket;
 import io.dingodb.driver.mysql.packet.PrepareOkPacket;
 import io.dingodb.driver.mysql.packet.PreparePacket;
 import io.dingodb.driver.mysql.packet.QueryPacket;
+import io.dingodb.verify.privilege.PrivilegeVerify;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.avatica.Meta;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
@@ -44,6 +51,8 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static io.dingodb.common.mysql.constant.ErrorCode.ER_NOT_ALLOWED_COMMAND;
 import static io.dingodb.common.mysql.constant.ErrorCode.ER_UNKNOWN_ERROR;
@@ -57,6 +66,12 @@ public class MysqlCommands {
     public static final String alterUserPwdSqlTemp1 = "alter user %s@%s identified by";
     public static final String alterUserPwdSqlTemp2 = "alter user %s identified by";
 
+    // `KILL [QUERY | CONNECTION] thread_id`, handled here for it is not a statement of the connection.
+    private static final Pattern KILL_PATTERN = Pattern.compile(
+        "^\\s*KILL\\s+(?:(QUERY|CONNECTION)\\s+)?(\\d+)\\s*$",
+        Pattern.CASE_INSENSITIVE
+    );
+
     MysqlPacketFactory mysqlPacketFactory = MysqlPacketFactory.getInstance();
 
     public static void executeShowFields(String table, AtomicLong packetId, MysqlConnection mysqlConnection) {
@@ -82,10 +97,68 @@ public class MysqlCommands {
                 MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, ErrorCode.ER_PASSWORD_EXPIRE);
                 return;
             }
+            Kill killCommand = parseKill(sql);
+            if (killCommand != null) {
+                kill(killCommand.getThreadId(), killCommand.isQueryOnly(), packetId, mysqlConnection);
+                continue;
+            }
             executeSingleQuery(sql, packetId, mysqlConnection);
         }
     }
 
+    /**
+     * Parse a {@code KILL} statement.
+     *
+     * @param sql the sql
+     * @return the parsed command, or {@code null} if the sql is not a {@code KILL}
+     */
+    static @Nullable Kill parseKill(@NonNull String sql) {
+        Matcher matcher = KILL_PATTERN.matcher(sql);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new Kill(Long.parseLong(matcher.group(2)), "QUERY".equalsIgnoreCase(matcher.group(1)));
+    }
+
+    /**
+     * Kill a connection or only the query running in it. The query is cancelled cooperatively, so it fails with an
+     * error shortly after.
+     *
+     * @param threadId        the thread id of the connection to kill
+     * @param queryOnly       if {@code true}, only the running query is cancelled
+     * @param packetId        the packet id
+     * @param mysqlConnection the connection sending the command
+     */
+    public static void kill(long threadId, boolean queryOnly, AtomicLong packetId, MysqlConnection mysqlConnection) {
+        MysqlConnection target = MysqlNettyServer.connections.values().stream()
+            .filter(c -> c.getThreadId() == threadId)
+            .findAny()
+            .orElse(null);
+        if (target == null) {
+            MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, ErrorCode.ER_NO_SUCH_THREAD,
+                String.format(ErrorCode.ER_NO_SUCH_THREAD.message, threadId));
+            return;
+        }
+        DingoConnection connection = (DingoConnection) mysqlConnection.getConnection();
+        DingoConnection targetConnection = (DingoConnection) target.getConnection();
+        String user = connection.getContext().getOption("user");
+        String host = connection.getContext().getOption("host");
+        if (!user.equals(targetConnection.getContext().getOption("user"))
+            && !PrivilegeVerify.verify(user, host, null, null, DingoSqlAccessEnum.SUPER)) {
+            MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, ErrorCode.ER_KILL_DENIED_ERROR,
+                String.format(ErrorCode.ER_KILL_DENIED_ERROR.message, threadId));
+            return;
+        }
+        if (queryOnly) {
+            targetConnection.getMeta().cancelStatements("Query execution was interrupted.");
+        } else if (target.channel.isActive()) {
+            // The statements are closed by the listener of channel closing, which cancels the running tasks.
+            target.channel.close();
+        }
+        OKPacket okPacket = MysqlPacketFactory.getInstance().getOkPacket(0, packetId);
+        MysqlResponseHandler.responseOk(okPacket, mysqlConnection.channel);
+    }
+
     private boolean doExpire(MysqlConnection mysqlConnection, String sql, AtomicLong packetId) {
         sql = sql.trim().toLowerCase().replace("'", "");
         DingoConnection dingoConnection = (DingoConnection) mysqlConnection.getConnection();
@@ -299,4 +372,11 @@ public class MysqlCommands {
         }
     }
 
+    @AllArgsConstructor
+    @Getter
+    static final class Kill {
+        private final long threadId;
+        // Kill only the running query, not the connection.
+        private final boolean queryOnly;
+    }
 }
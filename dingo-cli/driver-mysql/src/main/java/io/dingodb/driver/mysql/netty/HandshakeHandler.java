@@ -84,7 +84,7 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
         super.channelActive(ctx);
-        HandshakePacket handshakePacket = createHandShakePacket();
+        HandshakePacket handshakePacket = createHandShakePacket(mysqlConnection.getThreadId());
         ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
         handshakePacket.write(buf);
         ctx.writeAndFlush(buf);
@@ -306,11 +306,11 @@ public class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
         return true;
     }
 
-    private static HandshakePacket createHandShakePacket() {
+    private static HandshakePacket createHandShakePacket(int threadId) {
         HandshakePacket handshakePacket = new HandshakePacket();
         handshakePacket.protocolVersion = PROTOCOL_VERSION;
         handshakePacket.serverVersion = Versions.SERVER_VERSION;
-        handshakePacket.threadId = 15;
+        handshakePacket.threadId = threadId;
         handshakePacket.seed = createRandomString(8).getBytes();
 
         handshakePacket.serverCapabilities = MysqlServer.getServerCapabilities();
@@ -131,6 +131,10 @@ public final class MessageProcess {
                 break;
             case NativeConstants.COM_PROCESS_KILL:
                 // break n connection
+                byte[] threadIdBytes = new byte[4];
+                System.arraycopy(array, 2, threadIdBytes, 0, threadIdBytes.length);
+                int threadId = MysqlByteUtil.bytesToIntLittleEndian(threadIdBytes);
+                MysqlCommands.kill(threadId, false, packetId, mysqlConnection);
                 break;
             case NativeConstants.COM_DEBUG:
                 // save server debug information
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver.mysql.command;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMysqlCommands {
+    @Test
+    public void testParseKill() {
+        MysqlCommands.Kill kill = MysqlCommands.parseKill("kill query 12");
+        assertThat(kill).isNotNull();
+        assertThat(kill.getThreadId()).isEqualTo(12);
+        assertThat(kill.isQueryOnly()).isTrue();
+        kill = MysqlCommands.parseKill(" KILL CONNECTION 3 ");
+        assertThat(kill).isNotNull();
+        assertThat(kill.getThreadId()).isEqualTo(3);
+        assertThat(kill.isQueryOnly()).isFalse();
+        kill = MysqlCommands.parseKill("Kill 5");
+        assertThat(kill).isNotNull();
+        assertThat(kill.getThreadId()).isEqualTo(5);
+        assertThat(kill.isQueryOnly()).isFalse();
+    }
+
+    @Test
+    public void testNotKill() {
+        assertThat(MysqlCommands.parseKill("select * from kill_query")).isNull();
+        assertThat(MysqlCommands.parseKill("kill query")).isNull();
+        assertThat(MysqlCommands.parseKill("kill query a")).isNull();
+    }
+}
@@ -53,6 +53,7 @@ public class CommonId implements Comparable<CommonId>, Serializable {
         TABLE(0),
         SCHEMA(1),
         DISTRIBUTION(2),
+        INDEX(3),
         OP(100);
 
         public final int code;
@@ -70,6 +71,7 @@ public class CommonId implements Comparable<CommonId>, Serializable {
                 case 0: return TABLE;
                 case 1: return SCHEMA;
                 case 2: return DISTRIBUTION;
+                case 3: return INDEX;
                 case 100: return OP;
                 default:
                     throw new IllegalStateException("Unexpected value: " + code);
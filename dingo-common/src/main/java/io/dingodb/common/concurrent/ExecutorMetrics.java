@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.concurrent;
+
+import io.dingodb.common.metrics.DingoMetrics;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Count the active and peak threads running commands of an executor, reported as gauges
+ * {@code executor.<name>.active} and {@code executor.<name>.peak}. The threads and queued commands of the pool are
+ * reported as {@code executor.<name>.threads} and {@code executor.<name>.queued}.
+ *
+ * <p>Every pool built by {@link ThreadPoolBuilder} counts its commands in the metrics of its name. Commands not run in
+ * a pool (e.g. in virtual threads) are counted by {@link #wrap(Runnable)}.
+ */
+public final class ExecutorMetrics {
+    private static final Map<String, ExecutorMetrics> METRICS_MAP = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String name;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private volatile ThreadPoolExecutor pool;
+
+    private ExecutorMetrics(@NonNull String name) {
+        this.name = name;
+        DingoMetrics.gauge("executor." + name + ".active", active::get);
+        DingoMetrics.gauge("executor." + name + ".peak", peak::get);
+        DingoMetrics.gauge("executor." + name + ".threads", this::getThreads);
+        DingoMetrics.gauge("executor." + name + ".queued", this::getQueued);
+    }
+
+    /**
+     * Get the metrics of an executor, created if not existing.
+     *
+     * @param name the name of the executor
+     * @return the metrics
+     */
+    public static @NonNull ExecutorMetrics of(@NonNull String name) {
+        return METRICS_MAP.computeIfAbsent(name, ExecutorMetrics::new);
+    }
+
+    void bind(@NonNull ThreadPoolExecutor pool) {
+        this.pool = pool;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getPeak() {
+        return peak.get();
+    }
+
+    public int getThreads() {
+        ThreadPoolExecutor pool = this.pool;
+        return pool != null ? pool.getPoolSize() : 0;
+    }
+
+    public int getQueued() {
+        ThreadPoolExecutor pool = this.pool;
+        return pool != null ? pool.getQueue().size() : 0;
+    }
+
+    /**
+     * Count a command starting to run, must be paired with {@link #exit()}.
+     */
+    public void enter() {
+        int count = active.incrementAndGet();
+        peak.accumulateAndGet(count, Math::max);
+    }
+
+    public void exit() {
+        active.decrementAndGet();
+    }
+
+    public @NonNull Runnable wrap(@NonNull Runnable command) {
+        return () -> {
+            enter();
+            try {
+                command.run();
+            } finally {
+                exit();
+            }
+        };
+    }
+}
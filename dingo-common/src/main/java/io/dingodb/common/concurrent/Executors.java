@@ -17,6 +17,7 @@
 package io.dingodb.common.concurrent;
 
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
@@ -24,13 +25,25 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import static io.dingodb.common.util.DebugLog.error;
 
+/**
+ * Global executors.
+ *
+ * <p>The global executor is for commands blocking on I/O, RPCs or queues, so it is not bounded. CPU-bound work of
+ * operators runs in the fixed pool of the morsel scheduler instead, not to oversubscribe the cores.
+ *
+ * <p>Commands run in a cached thread pool by default. If system property {@code dingo.executor.virtualThreads} is
+ * {@code true} and the JVM supports virtual threads (JDK 21+), each command runs in a new virtual thread instead, so
+ * that commands blocking on RPCs or queues do not pile up platform threads.
+ */
 @Slf4j
 public final class Executors {
+    public static final String VIRTUAL_THREADS_PROPERTY = "dingo.executor.virtualThreads";
 
     private static final String THREAD_NAME_FORMAT = "%s-%d";
     private static final String FREE_THREAD_NAME = "FREE";
@@ -48,6 +61,11 @@ public final class Executors {
         .group(new ThreadGroup(GLOBAL_NAME))
         .build();
 
+    private static final @Nullable ThreadFactory VIRTUAL_THREAD_FACTORY = Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY)
+        ? virtualThreadFactory() : null;
+
+    private static final ExecutorMetrics GLOBAL_METRICS = ExecutorMetrics.of(GLOBAL_NAME);
+
     private static final ScheduledThreadPoolExecutor GLOBAL_SCHEDULE_POOL = new ThreadPoolBuilder()
         .name(GLOBAL_SCHEDULE_NAME)
         .daemon(true)
@@ -58,6 +76,40 @@ public final class Executors {
     private Executors() {
     }
 
+    private static @Nullable ThreadFactory virtualThreadFactory() {
+        try {
+            // Called reflectively for the code is compiled for Java 8.
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                .getMethod("factory")
+                .invoke(builder);
+            log.info("Global executor runs commands in virtual threads.");
+            return factory;
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not supported by the JVM, use platform threads instead.");
+            return null;
+        }
+    }
+
+    public static boolean isVirtual() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public static ExecutorMetrics globalMetrics() {
+        return GLOBAL_METRICS;
+    }
+
+    private static void dispatch(String name, Runnable command) {
+        if (VIRTUAL_THREAD_FACTORY != null) {
+            // Not run in the pool, so counted here.
+            Thread thread = VIRTUAL_THREAD_FACTORY.newThread(GLOBAL_METRICS.wrap(command));
+            thread.setName(name);
+            thread.start();
+        } else {
+            GLOBAL_POOL.execute(command);
+        }
+    }
+
     public static String threadName() {
         return Thread.currentThread().getName();
     }
@@ -67,11 +119,11 @@ public final class Executors {
     }
 
     public static void execute(String name, Runnable command) {
-        GLOBAL_POOL.execute(wrap(name, command));
+        dispatch(name, wrap(name, command));
     }
 
     public static void execute(String name, Runnable command, boolean ignoreError) {
-        GLOBAL_POOL.execute(wrap(name, command, ignoreError));
+        dispatch(name, wrap(name, command, ignoreError));
     }
 
     public static ScheduledFuture<CompletableFuture<?>> scheduleAsync(
@@ -100,7 +152,7 @@ public final class Executors {
 
     public static <T> CompletableFuture<T> submit(String name, Callable<T> task) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
+        dispatch(name, () -> {
             try {
                 future.complete(wrap(name, task).call());
             } catch (Exception e) {
@@ -112,7 +164,7 @@ public final class Executors {
 
     public static <T> CompletableFuture<T> submit(String name, Runnable task, T result) {
         CompletableFuture<T> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
+        dispatch(name, () -> {
             try {
                 wrap(name, task).run();
                 future.complete(result);
@@ -125,7 +177,7 @@ public final class Executors {
 
     public static CompletableFuture<Void> submit(String name, Runnable task) {
         CompletableFuture<Void> future = new CompletableFuture<>();
-        GLOBAL_POOL.execute(() -> {
+        dispatch(name, () -> {
             try {
                 wrap(name, task).run();
                 future.complete(null);
@@ -158,9 +210,12 @@ public final class Executors {
             if (log.isTraceEnabled()) {
                 log.trace("Call [{}] start, thread id [{}], set thread name.", name, thread.getId());
             }
-            StringBuilder builder = new StringBuilder(name);
-            builder.append("-").append(thread.getId());
-            thread.setName(builder.toString());
+            // Virtual threads are named on creation and never reused.
+            if (VIRTUAL_THREAD_FACTORY == null) {
+                StringBuilder builder = new StringBuilder(name);
+                builder.append("-").append(thread.getId());
+                thread.setName(builder.toString());
+            }
             return callable.call();
         } catch (Throwable e) {
             if (ignoreFalse) {
@@ -171,7 +226,9 @@ public final class Executors {
                 throw e;
             }
         } finally {
-            thread.setName(FREE_THREAD_NAME);
+            if (VIRTUAL_THREAD_FACTORY == null) {
+                thread.setName(FREE_THREAD_NAME);
+            }
             if (log.isTraceEnabled()) {
                 log.trace("Call [{}] finish, thread id [{}], reset thread name.", name, thread.getId());
             }
@@ -184,9 +241,12 @@ public final class Executors {
             if (log.isTraceEnabled()) {
                 log.trace("Run [{}] start, thread id [{}], set thread name.", name, thread.getId());
             }
-            StringBuilder builder = new StringBuilder(name);
-            builder.append("-").append(thread.getId());
-            thread.setName(builder.toString());
+            // Virtual threads are named on creation and never reused.
+            if (VIRTUAL_THREAD_FACTORY == null) {
+                StringBuilder builder = new StringBuilder(name);
+                builder.append("-").append(thread.getId());
+                thread.setName(builder.toString());
+            }
             runnable.run();
         } catch (Throwable e) {
             if (ignoreError) {
@@ -196,7 +256,9 @@ public final class Executors {
                 throw e;
             }
         } finally {
-            thread.setName(FREE_THREAD_NAME);
+            if (VIRTUAL_THREAD_FACTORY == null) {
+                thread.setName(FREE_THREAD_NAME);
+            }
             if (log.isTraceEnabled()) {
                 log.trace("Run [{}] finish, thread id [{}], reset thread name.", name, thread.getId());
             }
@@ -109,7 +109,8 @@ public class ThreadPoolBuilder {
         workQueue = Parameters.cleanNull(workQueue, LinkedBlockingQueue::new);
         handler = Parameters.cleanNull(handler, DEFAULT_HANDLER);
         threadFactory = Parameters.cleanNull(threadFactory, this::generateThreadFactory);
-        return new ThreadPoolExecutor(
+        ExecutorMetrics metrics = ExecutorMetrics.of(name);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
             coreThreads,
             maximumThreads,
             keepAliveSeconds,
@@ -117,14 +118,39 @@ public class ThreadPoolBuilder {
             workQueue,
             threadFactory,
             handler
-        );
+        ) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable runnable) {
+                metrics.enter();
+            }
+
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable throwable) {
+                metrics.exit();
+            }
+        };
+        metrics.bind(pool);
+        return pool;
     }
 
     public ScheduledThreadPoolExecutor buildSchedule() {
         Parameters.nonNull(name, "Name must not null.");
         handler = Parameters.cleanNull(handler, DEFAULT_HANDLER);
         threadFactory = Parameters.cleanNull(threadFactory, this::generateThreadFactory);
-        return new ScheduledThreadPoolExecutor(coreThreads, threadFactory, handler);
+        ExecutorMetrics metrics = ExecutorMetrics.of(name);
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(coreThreads, threadFactory, handler) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable runnable) {
+                metrics.enter();
+            }
+
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable throwable) {
+                metrics.exit();
+            }
+        };
+        metrics.bind(pool);
+        return pool;
     }
 
 }
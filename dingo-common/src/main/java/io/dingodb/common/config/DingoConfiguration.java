@@ -61,6 +61,7 @@ public class DingoConfiguration {
     private ExchangeConfiguration exchange;
     private SecurityConfiguration security;
     private VariableConfiguration variable;
+    private ExecutionConfiguration execution;
     private List<String> servicePkgs;
     private Map<String, Object> server;
     private Map<String, Object> store;
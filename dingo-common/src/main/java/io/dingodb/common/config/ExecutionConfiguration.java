@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.config;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public class ExecutionConfiguration {
+    // Bytes of build side kept in memory by a hash join before spilling to disk.
+    private Long joinMemoryBudget;
+    // Bytes of tuples kept in memory by a sort before spilling sorted runs to disk.
+    private Long sortMemoryBudget;
+    // Bytes of groups kept in memory by a hash aggregation before spilling partial aggregates to disk.
+    private Long aggregateMemoryBudget;
+    // Bytes of memory a query may use on each executor, not limited if absent.
+    private Long queryMemoryLimit;
+    // Bytes of memory all the queries may use on each executor, 80% of the max heap size if absent.
+    private Long processMemoryLimit;
+    // Directory for spill files, the system temp dir is used if absent.
+    private String spillPath;
+}
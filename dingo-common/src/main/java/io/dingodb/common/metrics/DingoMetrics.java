@@ -16,6 +16,7 @@
 
 package io.dingodb.common.metrics;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
@@ -48,6 +49,10 @@ public class DingoMetrics {
         metricRegistry.timer(name).update(durationMs, TimeUnit.MILLISECONDS);
     }
 
+    public static <T> void gauge(final @NonNull String name, final @NonNull Gauge<T> gauge) {
+        metricRegistry.gauge(name, () -> gauge);
+    }
+
     public static void histogram(final @NonNull String name, final long size) {
         metricRegistry.histogram(name).update(size);
     }
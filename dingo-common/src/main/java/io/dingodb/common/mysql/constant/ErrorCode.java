@@ -28,6 +28,8 @@ public enum ErrorCode {
     ER_NO_DATABASE_ERROR(1046, "3D000", "No database selected"),
     ER_BAD_DB_ERROR(1049, "42000", "Unknown database '%s'"),
     ER_COLUMN_ERROR(1054, "42S22", "Unknown column '%s' in '%s'"),
+    ER_NO_SUCH_THREAD(1094, "HY000", "Unknown thread id: %d"),
+    ER_KILL_DENIED_ERROR(1095, "HY000", "You are not owner of thread %d"),
     ER_UNKNOWN_CHARACTER_SET(1115, "42000", "Unknown character set: '%s'"),
     ER_CREATE_TABLE(1142, "42000", "%s command denied to user '%s'@'%s' for table '%s'"),
     ER_NO_SUCH_TABLE(1146, "42S02", "Table '%s' doesn't exist"),
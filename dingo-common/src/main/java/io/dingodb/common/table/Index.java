@@ -22,6 +22,10 @@ import java.util.Arrays;
 
 public class Index {
 
+    // Assigned by the meta service when the index is created, to identify the store of the index.
+    @JsonProperty("id")
+    private long id;
+
     @JsonProperty("name")
     private String name;
 
@@ -44,6 +48,14 @@ public class Index {
         this.status = IndexStatus.NEW;
     }
 
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -17,9 +17,15 @@
 package io.dingodb.common.util;
 
 import io.dingodb.common.partition.RangeDistribution;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -68,6 +74,63 @@ public class RangeUtils {
         return subRanges;
     }
 
+    /**
+     * Split a range into at most {@code num} consecutive sub-ranges of the same id by interpolating the keys, which
+     * works well if the keys are evenly distributed. An open end of the range is replaced by {@code minKey} or
+     * {@code maxKey} for interpolation, and is kept open in the first or last sub-range. The range is returned as is if
+     * it cannot be split, e.g. it is open-ended and the corresponding key of the table is unknown.
+     *
+     * @param range  the range to split
+     * @param num    the max number of sub-ranges
+     * @param minKey the min key existing in the table, to narrow the range of interpolation, may be {@code null}
+     * @param maxKey the max key existing in the table, to narrow the range of interpolation, may be {@code null}
+     * @return the sub-ranges in order
+     */
+    public static List<RangeDistribution> splitRange(
+        RangeDistribution range, int num, byte @Nullable [] minKey, byte @Nullable [] maxKey
+    ) {
+        byte[] start = range.getStartKey();
+        byte[] end = range.getEndKey();
+        if (num <= 1) {
+            return Collections.singletonList(range);
+        }
+        // Split points are only interpolated within the existing keys, the first and last sub-ranges cover the rest.
+        byte[] lowerBound = (minKey != null && (start == null || ByteArrayUtils.greatThan(minKey, start)))
+            ? minKey : start;
+        byte[] upperBound = (maxKey != null && (end == null || ByteArrayUtils.lessThan(maxKey, end))) ? maxKey : end;
+        if (lowerBound == null || upperBound == null || ByteArrayUtils.compare(lowerBound, upperBound) >= 0) {
+            return Collections.singletonList(range);
+        }
+        // Pad with zeros to make room for split points between keys with only one byte difference.
+        int len = Math.max(lowerBound.length, upperBound.length) + 1;
+        BigInteger lowerValue = new BigInteger(1, Arrays.copyOf(lowerBound, len));
+        BigInteger upperValue = new BigInteger(1, Arrays.copyOf(upperBound, len));
+        BigInteger step = upperValue.subtract(lowerValue).divide(BigInteger.valueOf(num));
+        if (step.signum() == 0) {
+            return Collections.singletonList(range);
+        }
+        List<RangeDistribution> subRanges = new ArrayList<>(num);
+        byte[] lower = start;
+        boolean withLower = range.isWithStart();
+        for (int i = 1; i < num; ++i) {
+            byte[] upper = toBytes(lowerValue.add(step.multiply(BigInteger.valueOf(i))), len);
+            subRanges.add(new RangeDistribution(range.getId(), lower, upper, withLower, false));
+            lower = upper;
+            withLower = true;
+        }
+        subRanges.add(new RangeDistribution(range.getId(), lower, end, withLower, range.isWithEnd()));
+        return subRanges;
+    }
+
+    private static byte[] toBytes(BigInteger value, int len) {
+        // There may be a leading sign byte.
+        byte[] bytes = value.toByteArray();
+        byte[] result = new byte[len];
+        int n = Math.min(bytes.length, len);
+        System.arraycopy(bytes, bytes.length - n, result, len - n, n);
+        return result;
+    }
+
     private static boolean checkStartIn(byte[] rangeStart, byte[] regionEnd, boolean withStart) {
         return compareWithoutLen(rangeStart, regionEnd) < 0
             || (withStart && rangeStart.length != regionEnd.length && compareWithoutLen(rangeStart, regionEnd) == 0);
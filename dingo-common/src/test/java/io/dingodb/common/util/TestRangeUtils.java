@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.util;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRangeUtils {
+    private static final CommonId ID = new CommonId(CommonId.CommonType.DISTRIBUTION, 1, 1);
+
+    @Test
+    public void testSplitRange() {
+        RangeDistribution range = new RangeDistribution(ID, new byte[]{1, 0}, new byte[]{2}, true, false);
+        List<RangeDistribution> subRanges = RangeUtils.splitRange(range, 4, null, null);
+        assertThat(subRanges).hasSize(4);
+        assertThat(subRanges.get(0).getStartKey()).isEqualTo(range.getStartKey());
+        assertThat(subRanges.get(0).isWithStart()).isTrue();
+        assertThat(subRanges.get(3).getEndKey()).isEqualTo(range.getEndKey());
+        assertThat(subRanges.get(3).isWithEnd()).isFalse();
+        for (int i = 1; i < subRanges.size(); ++i) {
+            RangeDistribution prev = subRanges.get(i - 1);
+            RangeDistribution next = subRanges.get(i);
+            assertThat(next.getStartKey()).isEqualTo(prev.getEndKey());
+            assertThat(ByteArrayUtils.lessThan(prev.getStartKey(), next.getStartKey())).isTrue();
+            assertThat(prev.isWithEnd()).isFalse();
+            assertThat(next.isWithStart()).isTrue();
+            assertThat(next.id()).isEqualTo(ID);
+        }
+    }
+
+    @Test
+    public void testSplitRangeWithinKeys() {
+        RangeDistribution range = new RangeDistribution(ID, new byte[]{0}, new byte[]{(byte) 0xFF}, true, true);
+        List<RangeDistribution> subRanges = RangeUtils.splitRange(range, 2, new byte[]{10}, new byte[]{20});
+        assertThat(subRanges).hasSize(2);
+        byte[] splitKey = subRanges.get(0).getEndKey();
+        assertThat(ByteArrayUtils.greatThan(splitKey, new byte[]{10})).isTrue();
+        assertThat(ByteArrayUtils.lessThan(splitKey, new byte[]{20})).isTrue();
+        assertThat(subRanges.get(1).getEndKey()).isEqualTo(range.getEndKey());
+        assertThat(subRanges.get(1).isWithEnd()).isTrue();
+    }
+
+    @Test
+    public void testSplitOpenRange() {
+        RangeDistribution range = new RangeDistribution(ID, null, null, true, true);
+        List<RangeDistribution> subRanges = RangeUtils.splitRange(range, 4, new byte[]{10}, new byte[]{50});
+        assertThat(subRanges).hasSize(4);
+        assertThat(subRanges.get(0).getStartKey()).isNull();
+        assertThat(subRanges.get(0).isWithStart()).isTrue();
+        assertThat(subRanges.get(3).getEndKey()).isNull();
+        assertThat(subRanges.get(3).isWithEnd()).isTrue();
+        for (int i = 1; i < subRanges.size(); ++i) {
+            byte[] splitKey = subRanges.get(i).getStartKey();
+            assertThat(splitKey).isEqualTo(subRanges.get(i - 1).getEndKey());
+            assertThat(ByteArrayUtils.greatThan(splitKey, new byte[]{10})).isTrue();
+            assertThat(ByteArrayUtils.lessThan(splitKey, new byte[]{50})).isTrue();
+        }
+        RangeDistribution halfOpen = new RangeDistribution(ID, new byte[]{20}, null, true, false);
+        subRanges = RangeUtils.splitRange(halfOpen, 2, new byte[]{10}, new byte[]{50});
+        assertThat(subRanges).hasSize(2);
+        assertThat(subRanges.get(0).getStartKey()).isEqualTo(halfOpen.getStartKey());
+        assertThat(ByteArrayUtils.greatThan(subRanges.get(1).getStartKey(), new byte[]{20})).isTrue();
+        assertThat(subRanges.get(1).getEndKey()).isNull();
+    }
+
+    @Test
+    public void testNotSplit() {
+        RangeDistribution range = new RangeDistribution(ID, new byte[]{1}, new byte[]{1, 0}, true, false);
+        assertThat(RangeUtils.splitRange(range, 1, null, null)).containsExactly(range);
+        assertThat(RangeUtils.splitRange(range, 4, new byte[]{2}, null)).containsExactly(range);
+        RangeDistribution open = new RangeDistribution(ID, new byte[]{1}, null);
+        assertThat(RangeUtils.splitRange(open, 4, null, null)).containsExactly(open);
+        assertThat(RangeUtils.splitRange(open, 4, new byte[]{0}, new byte[]{1})).containsExactly(open);
+    }
+}
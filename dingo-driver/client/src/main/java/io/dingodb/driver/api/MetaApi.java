@@ -23,4 +23,23 @@ import org.apache.calcite.avatica.proto.Common;
 public interface MetaApi {
     @ApiDeclaration
     Common.StatementHandle prepare(Meta.ConnectionHandle ch, String sql, long maxRowCount);
+
+    /**
+     * Set the query timeout of a statement on the server, which applies to the jobs run by the statement after it.
+     *
+     * @param connectionId the connection id
+     * @param statementId  the statement id
+     * @param seconds      the timeout in seconds, {@code 0} means no timeout
+     */
+    @ApiDeclaration
+    void setQueryTimeout(String connectionId, int statementId, int seconds);
+
+    /**
+     * Cancel the job running for a statement on the server.
+     *
+     * @param connectionId the connection id
+     * @param statementId  the statement id
+     */
+    @ApiDeclaration
+    void cancel(String connectionId, int statementId);
 }
@@ -27,6 +27,7 @@ import io.dingodb.net.api.ApiRegistry;
 import io.dingodb.net.netty.NetConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.avatica.AvaticaConnection;
+import org.apache.calcite.avatica.DingoClientFactory;
 import org.apache.calcite.avatica.DriverVersion;
 import org.apache.calcite.avatica.Helper;
 import org.apache.calcite.avatica.Meta;
@@ -69,6 +70,11 @@ public class DingoDriverClient extends Driver {
         return CONNECT_STRING_PREFIX;
     }
 
+    @Override
+    protected String getFactoryClassName(JdbcVersion jdbcVersion) {
+        return DingoClientFactory.class.getCanonicalName();
+    }
+
     @Override
     protected DriverVersion createDriverVersion() {
         return DRIVER_VERSION;
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.calcite.avatica;
+
+import org.apache.calcite.avatica.remote.DingoRemoteMeta;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.sql.SQLException;
+
+/**
+ * Factory of the thin client, whose statements cancel the jobs running on the server. It is in the package of avatica
+ * to access the meta of connections.
+ */
+public class DingoClientFactory extends AvaticaJdbc41Factory {
+    private static void cancelOnServer(@NonNull AvaticaStatement statement) {
+        Meta meta = statement.connection.meta;
+        if (meta instanceof DingoRemoteMeta && statement.handle != null) {
+            ((DingoRemoteMeta) meta).cancel(statement.handle);
+        }
+    }
+
+    @Override
+    public AvaticaStatement newStatement(
+        AvaticaConnection connection,
+        Meta.StatementHandle handle,
+        int resultSetType,
+        int resultSetConcurrency,
+        int resultSetHoldability
+    ) {
+        return new DingoClientStatement(
+            connection,
+            handle,
+            resultSetType,
+            resultSetConcurrency,
+            resultSetHoldability
+        );
+    }
+
+    @Override
+    public AvaticaPreparedStatement newPreparedStatement(
+        AvaticaConnection connection,
+        Meta.StatementHandle handle,
+        Meta.Signature signature,
+        int resultSetType,
+        int resultSetConcurrency,
+        int resultSetHoldability
+    ) throws SQLException {
+        return new DingoClientPreparedStatement(
+            connection,
+            handle,
+            signature,
+            resultSetType,
+            resultSetConcurrency,
+            resultSetHoldability
+        );
+    }
+
+    private static class DingoClientStatement extends AvaticaStatement {
+        DingoClientStatement(
+            AvaticaConnection connection,
+            Meta.StatementHandle handle,
+            int resultSetType,
+            int resultSetConcurrency,
+            int resultSetHoldability
+        ) {
+            super(connection, handle, resultSetType, resultSetConcurrency, resultSetHoldability);
+        }
+
+        @Override
+        public void cancel() throws SQLException {
+            // Cancel the job first, `super.cancel` only stops fetching on the client.
+            cancelOnServer(this);
+            super.cancel();
+        }
+    }
+
+    private static class DingoClientPreparedStatement extends AvaticaPreparedStatement {
+        DingoClientPreparedStatement(
+            AvaticaConnection connection,
+            Meta.StatementHandle handle,
+            Meta.Signature signature,
+            int resultSetType,
+            int resultSetConcurrency,
+            int resultSetHoldability
+        ) throws SQLException {
+            super(connection, handle, signature, resultSetType, resultSetConcurrency, resultSetHoldability);
+        }
+
+        @Override
+        public void cancel() throws SQLException {
+            // Cancel the job first, `super.cancel` only stops fetching on the client.
+            cancelOnServer(this);
+            super.cancel();
+        }
+    }
+}
@@ -19,9 +19,26 @@ package org.apache.calcite.avatica.remote;
 import io.dingodb.driver.DingoServiceImpl;
 import io.dingodb.driver.api.MetaApi;
 import org.apache.calcite.avatica.AvaticaConnection;
+import org.apache.calcite.avatica.AvaticaStatement;
+import org.apache.calcite.avatica.NoSuchStatementException;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remote meta of the thin client. The requests of avatica do not carry the query timeout and there is no request to
+ * cancel a statement, so they are sent by {@link MetaApi}.
+ *
+ * <p>The timeout applies to the jobs run on the server, not to the network calls, which are limited by the timeout
+ * of the connection. A batch of parameter sets run by one job cannot be cancelled.
+ */
 public class DingoRemoteMeta extends RemoteMeta {
     private final MetaApi metaApi;
+    // Query timeouts (in seconds) sent to the server, by statement ids.
+    private final Map<Integer, Integer> queryTimeouts = new ConcurrentHashMap<>();
 
     public DingoRemoteMeta(AvaticaConnection connection, DingoServiceImpl service, MetaApi metaApi) {
         super(connection, service);
@@ -32,4 +49,79 @@ public class DingoRemoteMeta extends RemoteMeta {
     public StatementHandle prepare(ConnectionHandle ch, String sql, long maxRowCount) {
         return StatementHandle.fromProto(metaApi.prepare(ch, sql, maxRowCount));
     }
+
+    @Override
+    public ExecuteResult prepareAndExecute(
+        StatementHandle h,
+        String sql,
+        long maxRowCount,
+        int maxRowsInFirstFrame,
+        PrepareCallback callback
+    ) throws NoSuchStatementException {
+        syncQueryTimeout(h);
+        return super.prepareAndExecute(h, sql, maxRowCount, maxRowsInFirstFrame, callback);
+    }
+
+    @Override
+    public ExecuteBatchResult prepareAndExecuteBatch(
+        StatementHandle h,
+        List<String> sqlCommands
+    ) throws NoSuchStatementException {
+        syncQueryTimeout(h);
+        return super.prepareAndExecuteBatch(h, sqlCommands);
+    }
+
+    @Override
+    public ExecuteResult execute(
+        StatementHandle h,
+        List<TypedValue> parameterValues,
+        int maxRowsInFirstFrame
+    ) throws NoSuchStatementException {
+        syncQueryTimeout(h);
+        return super.execute(h, parameterValues, maxRowsInFirstFrame);
+    }
+
+    @Override
+    public ExecuteBatchResult executeBatch(
+        StatementHandle h,
+        List<List<TypedValue>> parameterValues
+    ) throws NoSuchStatementException {
+        syncQueryTimeout(h);
+        return super.executeBatch(h, parameterValues);
+    }
+
+    @Override
+    public void closeStatement(StatementHandle h) {
+        queryTimeouts.remove(h.id);
+        super.closeStatement(h);
+    }
+
+    /**
+     * Cancel the job running for a statement on the server.
+     *
+     * @param h the statement handle
+     */
+    public void cancel(@NonNull StatementHandle h) {
+        metaApi.cancel(h.connectionId, h.id);
+    }
+
+    /**
+     * Send the query timeout of a statement to the server before executing, only if it is changed.
+     */
+    private void syncQueryTimeout(@NonNull StatementHandle h) {
+        AvaticaStatement statement = connection.statementMap.get(h.id);
+        if (statement == null) {
+            return;
+        }
+        int timeout;
+        try {
+            timeout = statement.getQueryTimeout();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        if (queryTimeouts.getOrDefault(h.id, 0) != timeout) {
+            metaApi.setQueryTimeout(h.connectionId, h.id, timeout);
+            queryTimeouts.put(h.id, timeout);
+        }
+    }
 }
@@ -17,17 +17,21 @@
 package io.dingodb.driver;
 
 import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.DingoDdlExecutor;
 import io.dingodb.calcite.DingoParser;
 import io.dingodb.calcite.DingoSchema;
 import io.dingodb.calcite.grammar.ddl.DingoSqlCreateTable;
+import io.dingodb.calcite.grammar.dql.SqlExplainAnalyze;
 import io.dingodb.calcite.operation.DdlOperation;
 import io.dingodb.calcite.operation.Operation;
 import io.dingodb.calcite.operation.QueryOperation;
 import io.dingodb.calcite.type.converter.DefinitionMapper;
+import io.dingodb.calcite.utils.MetaServiceUtils;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.JobManager;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.adapter.java.JavaTypeFactory;
 import org.apache.calcite.avatica.AvaticaParameter;
@@ -43,15 +47,20 @@ import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rel.type.RelDataTypeSystem;
 import org.apache.calcite.runtime.CalciteContextException;
 import org.apache.calcite.server.DdlExecutor;
+import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlExplain;
 import org.apache.calcite.sql.SqlExplainFormat;
 import org.apache.calcite.sql.SqlExplainLevel;
+import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOperator;
 import org.apache.calcite.sql.parser.SqlParseException;
 import org.apache.calcite.sql.type.BasicSqlType;
 import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.sql.util.SqlBasicVisitor;
 import org.apache.calcite.sql.validate.SqlValidator;
+import org.apache.calcite.util.Util;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -66,6 +75,9 @@ import javax.annotation.Nonnull;
 @Slf4j
 public final class DingoDriverParser extends DingoParser {
     private final DingoConnection connection;
+    // The plan of the last parsed query, `null` if it is not a query or DML.
+    @Getter
+    private PlanCache.@Nullable Plan plan = null;
 
     public DingoDriverParser(@NonNull DingoConnection connection) {
         super(connection.getContext());
@@ -185,6 +197,13 @@ public final class DingoDriverParser extends DingoParser {
         String jobIdPrefix,
         String sql
     ) {
+        PlanCache.Key cacheKey = PlanCache.key(connection, sql);
+        PlanCache.Plan cachedPlan = PlanCache.INSTANCE.get(cacheKey);
+        if (cachedPlan != null) {
+            return createSignature(jobManager, jobIdPrefix, sql, cachedPlan);
+        }
+        // Get the version before parsing, so the plan would not be cached if there is any DDL executed in planning.
+        long metaVersion = DingoDdlExecutor.INSTANCE.getVersion();
         SqlNode sqlNode;
         try {
             sqlNode = parse(sql);
@@ -268,40 +287,136 @@ public final class DingoDriverParser extends DingoParser {
 
         final RelRoot relRoot = convert(sqlNode, false);
         final RelNode relNode = optimize(relRoot.rel);
+        RelDataType parasType = validator.getParameterRowType(sqlNode);
+        if (explain == null) {
+            boolean cacheable = isCacheable(sqlNode, validator);
+            PlanCache.Plan newPlan = new PlanCache.Plan(
+                relNode,
+                columns,
+                parasType,
+                statementType,
+                metaVersion,
+                // The tables of writing are checked before running, for the jobs are planned again if they are changed.
+                cacheable || statementType == Meta.StatementType.IS_DML
+                    ? MetaServiceUtils.getTableIds(relNode)
+                    : Collections.emptyMap()
+            );
+            if (cacheable) {
+                PlanCache.INSTANCE.put(cacheKey, newPlan);
+            }
+            return createSignature(jobManager, jobIdPrefix, sql, newPlan);
+        }
+        Job job = jobManager.createJob(jobIdPrefix, DefinitionMapper.mapToDingoType(parasType));
+        DingoJobVisitor.renderJob(job, relNode, getCurrentLocation(), true);
+        boolean analyze = explain instanceof SqlExplainAnalyze;
+        if (analyze) {
+            job.setProfiling(true);
+        }
+        boolean writing = analyze && statementType == Meta.StatementType.IS_DML;
+        statementType = Meta.StatementType.CALL;
+        String logicalPlan = RelOptUtil.dumpPlan("", relNode, SqlExplainFormat.TEXT,
+            SqlExplainLevel.ALL_ATTRIBUTES);
+        DingoExplainSignature signature = new DingoExplainSignature(
+            new ArrayList<>(Collections.singletonList(metaData(typeFactory, 0, "PLAN",
+                new BasicSqlType(RelDataTypeSystem.DEFAULT, SqlTypeName.CHAR), null))),
+            sql,
+            createParameterList(parasType),
+            null,
+            cursorFactory,
+            statementType,
+            sqlNode.toString(),
+            logicalPlan,
+            job,
+            analyze
+        );
+        // Analyzing runs the job, so it is guarded as other writing jobs.
+        if (writing) {
+            signature.setMetaVersion(metaVersion);
+            signature.setTableIds(MetaServiceUtils.getTableIds(relNode).values());
+            signature.setWriting(true);
+        }
+        return signature;
+    }
+
+    private @NonNull Location getCurrentLocation() {
         CalciteSchema rootSchema = connection.getRootSchema();
         CalciteSchema defaultSchema = rootSchema.getSubSchema(connection.getDefaultSchemaPath().get(0), true);
         if (defaultSchema == null) {
             throw new RuntimeException("No default schema is found.");
         }
-        Location currentLocation = ((DingoSchema) defaultSchema.schema).getMetaService().currentLocation();
-        RelDataType parasType = validator.getParameterRowType(sqlNode);
+        return ((DingoSchema) defaultSchema.schema).getMetaService().currentLocation();
+    }
+
+    /**
+     * Create a job of a plan without parameters, e.g. a plan bound with batch parameters.
+     */
+    public @NonNull Job createJob(@NonNull JobManager jobManager, String jobIdPrefix, @NonNull RelNode relNode) {
+        Job job = jobManager.createJob(jobIdPrefix);
+        DingoJobVisitor.renderJob(job, relNode, getCurrentLocation(), true);
+        return job;
+    }
+
+    private @NonNull DingoSignature createSignature(
+        @NonNull JobManager jobManager,
+        String jobIdPrefix,
+        String sql,
+        PlanCache.@NonNull Plan plan
+    ) {
+        this.plan = plan;
+        RelDataType parasType = plan.getParasType();
         Job job = jobManager.createJob(jobIdPrefix, DefinitionMapper.mapToDingoType(parasType));
-        DingoJobVisitor.renderJob(job, relNode, currentLocation, true);
-        if (explain != null) {
-            statementType = Meta.StatementType.CALL;
-            String logicalPlan = RelOptUtil.dumpPlan("", relNode, SqlExplainFormat.TEXT,
-                SqlExplainLevel.ALL_ATTRIBUTES);
-            return new DingoExplainSignature(
-                new ArrayList<>(Collections.singletonList(metaData(typeFactory, 0, "PLAN",
-                    new BasicSqlType(RelDataTypeSystem.DEFAULT, SqlTypeName.CHAR), null))),
-                sql,
-                createParameterList(parasType),
-                null,
-                cursorFactory,
-                statementType,
-                sqlNode.toString(),
-                logicalPlan,
-                job
-            );
+        // The metadata query of a cached plan is not thread safe.
+        plan.getLock().lock();
+        try {
+            DingoJobVisitor.renderJob(job, plan.getRelNode(), getCurrentLocation(), true);
+        } finally {
+            plan.getLock().unlock();
         }
-        return new DingoSignature(
-            columns,
+        DingoSignature signature = new DingoSignature(
+            plan.getColumns(),
             sql,
             createParameterList(parasType),
             null,
-            cursorFactory,
-            statementType,
+            Meta.CursorFactory.ARRAY,
+            plan.getStatementType(),
             job.getJobId()
         );
+        signature.setMetaVersion(plan.getMetaVersion());
+        signature.setTableIds(plan.getTableIds().values());
+        return signature;
+    }
+
+    /**
+     * Only queries are cached, for plans of DML may contain values evaluated in planning, and so are the queries
+     * calling dynamic or non-deterministic functions.
+     */
+    private static boolean isCacheable(@NonNull SqlNode sqlNode, @NonNull SqlValidator validator) {
+        if (!sqlNode.getKind().belongsTo(SqlKind.QUERY)) {
+            return false;
+        }
+        try {
+            sqlNode.accept(new SqlBasicVisitor<Void>() {
+                @Override
+                public Void visit(@NonNull SqlCall call) {
+                    SqlOperator operator = call.getOperator();
+                    if (operator.isDynamicFunction() || !operator.isDeterministic()) {
+                        throw Util.FoundOne.NULL;
+                    }
+                    return super.visit(call);
+                }
+
+                @Override
+                public Void visit(@NonNull SqlIdentifier id) {
+                    // Niladic functions like `CURRENT_DATE`.
+                    if (validator.makeNullaryCall(id) != null) {
+                        throw Util.FoundOne.NULL;
+                    }
+                    return null;
+                }
+            });
+        } catch (Util.FoundOne e) {
+            return false;
+        }
+        return true;
     }
 }
@@ -17,6 +17,8 @@
 package io.dingodb.driver;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dingodb.common.CommonId;
+import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Job;
 import io.dingodb.expr.json.runtime.Parser;
 import lombok.Getter;
@@ -25,11 +27,12 @@ import org.apache.calcite.avatica.AvaticaParameter;
 import org.apache.calcite.avatica.ColumnMetaData;
 import org.apache.calcite.avatica.Meta;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
-final class DingoExplainSignature extends Meta.Signature {
+final class DingoExplainSignature extends Meta.Signature implements PlannedSignature {
     public static final Parser PARSER = Parser.JSON;
 
     @JsonProperty("physicalPlan")
@@ -47,6 +50,33 @@ final class DingoExplainSignature extends Meta.Signature {
     @Setter
     private String job;
 
+    @Getter
+    private final Id jobId;
+
+    // Run the job and show the statistics of operators, for `EXPLAIN ANALYZE`.
+    @JsonProperty("analyze")
+    @Getter
+    private final boolean analyze;
+
+    @Getter
+    @Setter
+    private String analysis;
+
+    // The meta version when the job was planned.
+    @Getter
+    @Setter
+    private transient long metaVersion = -1L;
+
+    // Ids of the tables accessed by the job.
+    @Getter
+    @Setter
+    private transient Collection<CommonId> tableIds = Collections.emptyList();
+
+    // Analyzing a DML statement writes to the tables.
+    @Getter
+    @Setter
+    private transient boolean writing;
+
     public DingoExplainSignature(
         List<ColumnMetaData> columns,
         String sql,
@@ -56,12 +86,15 @@ final class DingoExplainSignature extends Meta.Signature {
         Meta.StatementType statementType,
         String physicalPlan,
         String logicalPlan,
-        Job job
+        Job job,
+        boolean analyze
     ) {
         super(columns, sql, parameters, internalParameters, cursorFactory, statementType);
         this.physicalPlan = physicalPlan;
         this.logicalPlan = logicalPlan;
         this.job = job.toString();
+        this.jobId = job.getJobId();
+        this.analyze = analyze;
     }
 
     @Override
@@ -83,6 +116,12 @@ final class DingoExplainSignature extends Meta.Signature {
 
         // job
         resultBuilder.append("IMPLEMENTATION PLAN: \n" + this.job);
+
+        // statistics of operators
+        if (this.analysis != null) {
+            resultBuilder.append("\n" + separate + "\n");
+            resultBuilder.append("ANALYSIS: \n" + this.analysis);
+        }
         return resultBuilder.toString();
     }
 }
@@ -18,12 +18,15 @@ package io.dingodb.driver;
 
 import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.primitives.Longs;
+import io.dingodb.calcite.DingoDdlExecutor;
 import io.dingodb.calcite.DingoParserContext;
 import io.dingodb.calcite.DingoSchema;
 import io.dingodb.calcite.DingoTable;
 import io.dingodb.calcite.MutableSchema;
 import io.dingodb.calcite.type.converter.DefinitionMapper;
+import io.dingodb.calcite.visitor.DingoBatchParasBinder;
 import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.common.table.ColumnDefinition;
 import io.dingodb.common.table.Index;
@@ -32,6 +35,7 @@ import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.driver.type.converter.AvaticaResultSetConverter;
+import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.JobManager;
 import io.dingodb.verify.privilege.PrivilegeVerify;
 import lombok.Getter;
@@ -55,12 +59,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.reflect.Field;
 import java.sql.DatabaseMetaData;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -73,6 +80,8 @@ import static java.util.Objects.requireNonNull;
 public class DingoMeta extends MetaImpl {
     @Getter
     private final JobManager jobManager;
+    // Plans of prepared DML statements, to bind batch parameters.
+    private final Map<Integer, PlanCache.Plan> preparedPlans = new ConcurrentHashMap<>();
 
     public DingoMeta(DingoConnection connection, JobManager jobManager) {
         super(connection);
@@ -180,6 +189,65 @@ public class DingoMeta extends MetaImpl {
 
     @NonNull
     private Iterator<Object[]> createIterator(@NonNull AvaticaStatement statement) {
+        Signature signature = statement.handle.signature;
+        if (signature instanceof PlannedSignature && ((PlannedSignature) signature).isWriting()) {
+            return runWriting(statement, (PlannedSignature) signature);
+        }
+        return createJobIterator(statement);
+    }
+
+    /**
+     * Run a writing job and get the only row (the update count, or the analysis of {@code EXPLAIN ANALYZE}) of the
+     * result.
+     *
+     * <p>A job planned before the last DDL of its tables is planned again, so that it maintains the indexes created
+     * meanwhile. A DDL creating an index waits for the running writing jobs planned before it, see
+     * {@link DingoDdlExecutor}.
+     */
+    private @NonNull Iterator<Object[]> runWriting(
+        @NonNull AvaticaStatement statement,
+        @NonNull PlannedSignature signature
+    ) {
+        while (!DingoDdlExecutor.INSTANCE.enterWriting(signature.getMetaVersion(), signature.getTableIds())) {
+            signature = replan(statement);
+        }
+        try {
+            Iterator<Object[]> iterator = createJobIterator(statement);
+            return iterator.hasNext() ? Iterators.singletonIterator(iterator.next()) : iterator;
+        } finally {
+            DingoDdlExecutor.INSTANCE.exitWriting(signature.getMetaVersion());
+        }
+    }
+
+    /**
+     * Plan the sql of a statement again, and replace the job of the statement.
+     */
+    private @NonNull PlannedSignature replan(@NonNull AvaticaStatement statement) {
+        StatementHandle sh = statement.handle;
+        DingoDriverParser parser = new DingoDriverParser((DingoConnection) connection);
+        Signature newSignature = parser.parseQuery(jobManager, sh.toString(), sh.signature.sql);
+        if (!(newSignature instanceof PlannedSignature)) {
+            throw new IllegalStateException("Statement \"" + sh + "\" cannot be planned again.");
+        }
+        DingoStatementUtils.removeJobInSignature(jobManager, sh.signature);
+        sh.signature = newSignature;
+        if (statement instanceof DingoStatement) {
+            ((DingoStatement) statement).setSignature(newSignature);
+        } else if (statement instanceof DingoPreparedStatement) {
+            ((DingoPreparedStatement) statement).setSignature(newSignature);
+        }
+        PlanCache.Plan plan = parser.getPlan();
+        if (plan != null && preparedPlans.containsKey(sh.id)) {
+            preparedPlans.put(sh.id, plan);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Statement \"{}\" is planned again for the meta is changed.", sh);
+        }
+        return (PlannedSignature) newSignature;
+    }
+
+    @NonNull
+    private Iterator<Object[]> createJobIterator(@NonNull AvaticaStatement statement) {
         if (statement instanceof DingoStatement) {
             return ((DingoStatement) statement).createIterator(jobManager);
         } else if (statement instanceof DingoPreparedStatement) {
@@ -246,6 +314,10 @@ public class DingoMeta extends MetaImpl {
         DingoConnection dingoConnection = (DingoConnection) connection;
         DingoDriverParser parser = new DingoDriverParser(dingoConnection);
         sh.signature = parser.parseQuery(jobManager, sh.toString(), sql);
+        PlanCache.Plan plan = parser.getPlan();
+        if (plan != null && plan.getStatementType().canUpdate()) {
+            preparedPlans.put(sh.id, plan);
+        }
         return sh;
     }
 
@@ -356,8 +428,14 @@ public class DingoMeta extends MetaImpl {
         StatementHandle sh,
         @NonNull List<List<TypedValue>> parameterValues
     ) throws NoSuchStatementException {
+        PlanCache.Plan plan = preparedPlans.get(sh.id);
+        if (plan != null && parameterValues.size() > 1) {
+            long[] counts = executeBatchInOneJob(sh, plan, parameterValues);
+            if (counts != null) {
+                return new ExecuteBatchResult(counts);
+            }
+        }
         final List<Long> updateCounts = new ArrayList<>();
-        // TODO: This should be optimized to not redistribute tasks in each iteration.
         for (List<TypedValue> parameterValue : parameterValues) {
             ExecuteResult executeResult = execute(sh, parameterValue, -1);
             final long updateCount =
@@ -369,6 +447,56 @@ public class DingoMeta extends MetaImpl {
         return new ExecuteBatchResult(Longs.toArray(updateCounts));
     }
 
+    /**
+     * Insert the values of all the parameter sets by one job, instead of running the prepared job for each of them.
+     *
+     * @return the update counts, or {@code null} if the plan cannot be bound with batch parameters
+     */
+    private long @Nullable [] executeBatchInOneJob(
+        @NonNull StatementHandle sh,
+        PlanCache.@NonNull Plan plan,
+        @NonNull List<List<TypedValue>> parameterValues
+    ) throws NoSuchStatementException {
+        DingoConnection dingoConnection = (DingoConnection) connection;
+        DingoPreparedStatement statement = (DingoPreparedStatement) dingoConnection.getStatement(sh);
+        DingoType parasType = DefinitionMapper.mapToDingoType(plan.getParasType());
+        List<Object[]> parasList;
+        try {
+            parasList = parameterValues.stream()
+                .map(values -> statement.convertParas(parasType, values))
+                .collect(Collectors.toList());
+        } catch (NullPointerException e) {
+            throw new IllegalStateException("Not all parameters are set.");
+        }
+        DingoBatchParasBinder binder = DingoBatchParasBinder.bind(plan.getRelNode(), parasType, parasList);
+        if (binder == null) {
+            return null;
+        }
+        // If planned before the last DDL of the tables, the parameter sets are run one by one, which plans the
+        // statement again.
+        if (!DingoDdlExecutor.INSTANCE.enterWriting(plan.getMetaVersion(), plan.getTableIds().values())) {
+            return null;
+        }
+        DingoDriverParser parser = new DingoDriverParser(dingoConnection);
+        Job job = parser.createJob(jobManager, sh.toString(), binder.getRelNode());
+        try {
+            Iterator<Object[]> iterator = jobManager.createIterator(
+                job,
+                null,
+                DingoStatementUtils.getQueryTimeout(statement)
+            );
+            long total = ((Number) iterator.next()[0]).longValue();
+            long count = binder.getTupleNumPerParas();
+            long[] counts = new long[parameterValues.size()];
+            // The count of each parameter set is unknown if some are not inserted.
+            Arrays.fill(counts, total == count * counts.length ? count : Statement.SUCCESS_NO_INFO);
+            return counts;
+        } finally {
+            jobManager.removeJob(job.getJobId());
+            DingoDdlExecutor.INSTANCE.exitWriting(plan.getMetaVersion());
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Frame fetch(
@@ -446,6 +574,7 @@ public class DingoMeta extends MetaImpl {
     public void closeStatement(@NonNull StatementHandle sh) {
         // Called in `AvaticaStatement.close` to do extra things.
         AvaticaStatement statement = connection.statementMap.get(sh.id);
+        preparedPlans.remove(sh.id);
         if (statement instanceof DingoStatement) {
             ((DingoStatement) statement).removeJob(jobManager);
         } else if (statement instanceof DingoPreparedStatement) {
@@ -453,6 +582,32 @@ public class DingoMeta extends MetaImpl {
         }
     }
 
+    /**
+     * Cancel the job running for a statement, called by {@code Statement.cancel} or MySQL {@code KILL QUERY}.
+     *
+     * @param sh     the statement handle
+     * @param reason the reason of cancelling
+     */
+    public void cancelStatement(@NonNull StatementHandle sh, String reason) {
+        AvaticaStatement statement = connection.statementMap.get(sh.id);
+        if (statement instanceof DingoStatement) {
+            ((DingoStatement) statement).cancelJob(jobManager, reason);
+        } else if (statement instanceof DingoPreparedStatement) {
+            ((DingoPreparedStatement) statement).cancelJob(jobManager, reason);
+        }
+    }
+
+    /**
+     * Cancel the jobs running for all the statements of the connection, called by MySQL {@code KILL QUERY}.
+     *
+     * @param reason the reason of cancelling
+     */
+    public void cancelStatements(String reason) {
+        for (AvaticaStatement statement : connection.statementMap.values()) {
+            cancelStatement(statement.handle, reason);
+        }
+    }
+
     @Override
     public boolean syncResults(
         StatementHandle sh,
@@ -16,6 +16,8 @@
 
 package io.dingodb.driver;
 
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.driver.type.converter.TypedValueConverter;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Job;
@@ -76,16 +78,30 @@ public class DingoPreparedStatement extends AvaticaPreparedStatement {
     @NonNull
     public Iterator<Object[]> createIterator(@NonNull JobManager jobManager) {
         Meta.Signature signature = getSignature();
-        if (signature instanceof DingoSignature) {
+        if (signature instanceof DingoExplainSignature) {
+            DingoExplainSignature explainSignature = (DingoExplainSignature) signature;
+            if (explainSignature.isAnalyze()) {
+                Job job = jobManager.getJob(explainSignature.getJobId());
+                Object[] paras;
+                try {
+                    paras = convertParas(job.getParasType(), getParameterValues());
+                } catch (NullPointerException e) {
+                    throw new IllegalStateException("Not all parameters are set.");
+                }
+                explainSignature.setAnalysis(DingoStatement.analyze(
+                    jobManager,
+                    job,
+                    paras,
+                    DingoStatementUtils.getQueryTimeout(this)
+                ));
+            }
+            return ImmutableList.of(new Object[]{explainSignature.toString()}).iterator();
+        } else if (signature instanceof DingoSignature) {
             try {
-                Object[] parasValue = TypedValue.values(getParameterValues()).toArray();
                 Id jobId = ((DingoSignature) signature).getJobId();
                 Job job = jobManager.getJob(jobId);
-                Object[] paras = ((Object[]) job.getParasType().convertFrom(
-                    parasValue,
-                    new TypedValueConverter(getCalendar())
-                ));
-                return jobManager.createIterator(job, paras);
+                Object[] paras = convertParas(job.getParasType(), getParameterValues());
+                return jobManager.createIterator(job, paras, DingoStatementUtils.getQueryTimeout(this));
             } catch (NullPointerException e) {
                 throw new IllegalStateException("Not all parameters are set.");
             }
@@ -93,8 +109,25 @@ public class DingoPreparedStatement extends AvaticaPreparedStatement {
         throw ExceptionUtils.wrongSignatureType(this, signature);
     }
 
+    Object[] convertParas(@NonNull DingoType parasType, @NonNull List<TypedValue> parameterValues) {
+        Object[] parasValue = TypedValue.values(parameterValues).toArray();
+        return (Object[]) parasType.convertFrom(parasValue, new TypedValueConverter(getCalendar()));
+    }
+
     public void removeJob(JobManager jobManager) {
         Meta.Signature signature = getSignature();
         DingoStatementUtils.removeJobInSignature(jobManager, signature);
     }
+
+    public void cancelJob(JobManager jobManager, String reason) {
+        Meta.Signature signature = getSignature();
+        DingoStatementUtils.cancelJobInSignature(jobManager, signature, reason);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        // Cancel the job first, `super.cancel` may wait for the executing to finish.
+        ((DingoConnection) connection).getMeta().cancelStatement(handle, "Query is cancelled.");
+        super.cancel();
+    }
 }
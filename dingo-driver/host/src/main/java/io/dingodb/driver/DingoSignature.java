@@ -16,21 +16,33 @@
 
 package io.dingodb.driver;
 
+import io.dingodb.common.CommonId;
 import io.dingodb.exec.base.Id;
 import lombok.Getter;
+import lombok.Setter;
 import org.apache.calcite.avatica.AvaticaParameter;
 import org.apache.calcite.avatica.ColumnMetaData;
 import org.apache.calcite.avatica.Meta;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 // This class is needed by driver, both in server and client side.
 // because protostuff wants to recover/serialize the class from net messages.
-public final class DingoSignature extends Meta.Signature {
+public final class DingoSignature extends Meta.Signature implements PlannedSignature {
     @Getter
     private final Id jobId;
+    // The meta version when the job was planned, only used on the server side.
+    @Getter
+    @Setter
+    private transient long metaVersion = -1L;
+    // Ids of the tables accessed by the job, only used on the server side.
+    @Getter
+    @Setter
+    private transient Collection<CommonId> tableIds = Collections.emptyList();
 
     public DingoSignature(
         List<ColumnMetaData> columns,
@@ -54,4 +66,9 @@ public final class DingoSignature extends Meta.Signature {
         super(columns, sql, parameters, internalParameters, cursorFactory, statementType);
         this.jobId = jobId;
     }
+
+    @Override
+    public boolean isWriting() {
+        return statementType == Meta.StatementType.IS_DML;
+    }
 }
@@ -20,6 +20,8 @@ import com.google.common.collect.ImmutableList;
 import io.dingodb.calcite.operation.QueryOperation;
 import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.JobManager;
+import io.dingodb.exec.fin.ProfileRenderer;
+import io.dingodb.exec.operator.RootOperator;
 import org.apache.calcite.avatica.AvaticaStatement;
 import org.apache.calcite.avatica.Meta;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -80,10 +82,18 @@ public class DingoStatement extends AvaticaStatement {
         Meta.Signature signature = getSignature();
         if (signature instanceof DingoExplainSignature) {
             DingoExplainSignature explainSignature = (DingoExplainSignature) signature;
+            if (explainSignature.isAnalyze()) {
+                explainSignature.setAnalysis(analyze(
+                    jobManager,
+                    jobManager.getJob(explainSignature.getJobId()),
+                    null,
+                    DingoStatementUtils.getQueryTimeout(this)
+                ));
+            }
             return ImmutableList.of(new Object[]{explainSignature.toString()}).iterator();
         } else if (signature instanceof DingoSignature) {
             Job job = jobManager.getJob(((DingoSignature) signature).getJobId());
-            return jobManager.createIterator(job, null);
+            return jobManager.createIterator(job, null, DingoStatementUtils.getQueryTimeout(this));
         } else if (signature instanceof MysqlSignature) {
             QueryOperation queryOperation = (QueryOperation) ((MysqlSignature) signature).getOperation();
             return queryOperation.getIterator();
@@ -91,8 +101,43 @@ public class DingoStatement extends AvaticaStatement {
         throw ExceptionUtils.wrongSignatureType(this, signature);
     }
 
+    /**
+     * Run the job and render the statistics of operators.
+     *
+     * @param paras the parameters bound to a prepared statement, {@code null} if not prepared
+     */
+    static @NonNull String analyze(
+        @NonNull JobManager jobManager,
+        @NonNull Job job,
+        Object @Nullable [] paras,
+        long timeout
+    ) {
+        long startTime = System.currentTimeMillis();
+        Iterator<Object[]> iterator = jobManager.createIterator(job, paras, timeout);
+        long count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            ++count;
+        }
+        long duration = System.currentTimeMillis() - startTime;
+        RootOperator root = (RootOperator) job.getRoot().getRoot();
+        return "Got " + count + " rows in " + duration + "ms.\n" + ProfileRenderer.render(job, root.getProfiles());
+    }
+
     public void removeJob(JobManager jobManager) {
         Meta.Signature signature = getSignature();
         DingoStatementUtils.removeJobInSignature(jobManager, signature);
     }
+
+    public void cancelJob(JobManager jobManager, String reason) {
+        Meta.Signature signature = getSignature();
+        DingoStatementUtils.cancelJobInSignature(jobManager, signature, reason);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        // Cancel the job first, `super.cancel` may wait for the executing to finish.
+        ((DingoConnection) connection).getMeta().cancelStatement(handle, "Query is cancelled.");
+        super.cancel();
+    }
 }
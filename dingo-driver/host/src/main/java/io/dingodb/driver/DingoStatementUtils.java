@@ -20,21 +20,53 @@ import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.JobManager;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.avatica.Meta;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.SQLException;
+import java.sql.Statement;
 
 @Slf4j
 public final class DingoStatementUtils {
     private DingoStatementUtils() {
     }
 
-    public static void removeJobInSignature(JobManager jobManager, Meta.Signature signature) {
+    private static @Nullable Id getJobId(Meta.Signature signature) {
         if (signature instanceof DingoSignature) {
-            Id jobId = ((DingoSignature) signature).getJobId();
-            if (jobId != null) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Job id \"{}\" found in signature, remove it.", jobId);
-                }
-                jobManager.removeJob(jobId);
+            return ((DingoSignature) signature).getJobId();
+        } else if (signature instanceof DingoExplainSignature) {
+            return ((DingoExplainSignature) signature).getJobId();
+        }
+        return null;
+    }
+
+    public static void removeJobInSignature(JobManager jobManager, Meta.Signature signature) {
+        Id jobId = getJobId(signature);
+        if (jobId != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Job id \"{}\" found in signature, remove it.", jobId);
             }
+            jobManager.removeJob(jobId);
+        }
+    }
+
+    public static void cancelJobInSignature(JobManager jobManager, Meta.Signature signature, String reason) {
+        Id jobId = getJobId(signature);
+        if (jobId != null) {
+            jobManager.cancel(jobId, reason);
+        }
+    }
+
+    /**
+     * Get the query timeout of a statement in milliseconds.
+     *
+     * @return the timeout, {@code 0} means no timeout
+     */
+    public static long getQueryTimeout(@NonNull Statement statement) {
+        try {
+            return statement.getQueryTimeout() * 1000L;
+        } catch (SQLException e) {
+            return 0L;
         }
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import io.dingodb.calcite.DingoDdlExecutor;
+import io.dingodb.calcite.utils.MetaServiceUtils;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.metrics.DingoMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.calcite.avatica.ColumnMetaData;
+import org.apache.calcite.avatica.Meta;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.type.RelDataType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * LRU cache of optimized plans, so repeated queries need not be parsed, validated and optimized again.
+ *
+ * <p>A plan is dropped if any of its tables is changed by DDL executed by {@link DingoDdlExecutor} after it was made,
+ * for it may refer to obsolete table definitions, and all the plans are dropped if privileges are changed. The versions
+ * only count the DDL executed on this node, so the ids of the tables of a plan are also checked when it is got, for the
+ * tables may be dropped and created again on other nodes. Other changes made on other nodes are not found, for the
+ * meta service has no version of table definitions.
+ */
+public final class PlanCache {
+    public static final PlanCache INSTANCE = new PlanCache(
+        256,
+        DingoDdlExecutor.INSTANCE::isChanged,
+        MetaServiceUtils::getTableId
+    );
+
+    static {
+        DingoMetrics.gauge("plan_cache.size", INSTANCE::size);
+    }
+
+    private final int maxSize;
+    // Check if any of the tables is changed after the version.
+    private final BiPredicate<Long, Collection<CommonId>> changeChecker;
+    private final Function<List<String>, CommonId> tableIdGetter;
+    private final Map<Key, Plan> plans;
+
+    PlanCache(
+        int maxSize,
+        @NonNull BiPredicate<Long, Collection<CommonId>> changeChecker,
+        @NonNull Function<List<String>, CommonId> tableIdGetter
+    ) {
+        this.maxSize = maxSize;
+        this.changeChecker = changeChecker;
+        this.tableIdGetter = tableIdGetter;
+        this.plans = new LinkedHashMap<Key, Plan>(16, 0.75f, true) {
+            private static final long serialVersionUID = -1768255328151335012L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Plan> eldest) {
+                return size() > PlanCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Normalize sql text by removing comments, collapsing whitespaces out of quotes and removing the trailing
+     * semicolons, so that queries differing only in formatting share the same plan.
+     *
+     * <p>Comments are removed before whitespaces are collapsed, for a line comment ends at the line break. Hints
+     * starting with {@code /*+} are kept, for they may change the plan. In quotes, a char following a backslash is
+     * escaped, so an escaped quote does not end the quoted text.
+     */
+    static @NonNull String normalize(@NonNull String sql) {
+        StringBuilder builder = new StringBuilder(sql.length());
+        int len = sql.length();
+        char quote = 0;
+        boolean space = false;
+        for (int i = 0; i < len; ++i) {
+            char ch = sql.charAt(i);
+            if (quote != 0) {
+                builder.append(ch);
+                if (ch == '\\' && i + 1 < len) {
+                    builder.append(sql.charAt(++i));
+                } else if (ch == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (ch == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i + 2);
+                i = (end >= 0 ? end : len);
+                space = true;
+                continue;
+            }
+            if (ch == '/' && i + 2 < len && sql.charAt(i + 1) == '*' && sql.charAt(i + 2) != '+') {
+                int end = sql.indexOf("*/", i + 2);
+                i = (end >= 0 ? end + 1 : len);
+                space = true;
+                continue;
+            }
+            if (Character.isWhitespace(ch)) {
+                space = true;
+                continue;
+            }
+            if (space && builder.length() > 0) {
+                builder.append(' ');
+            }
+            space = false;
+            builder.append(ch);
+            if (ch == '\'' || ch == '"' || ch == '`') {
+                quote = ch;
+            }
+        }
+        int size = builder.length();
+        while (size > 0 && builder.charAt(size - 1) == ';') {
+            --size;
+        }
+        builder.setLength(size);
+        return builder.toString();
+    }
+
+    public static @NonNull Key key(@NonNull DingoConnection connection, @NonNull String sql) {
+        return new Key(
+            normalize(sql),
+            connection.getContext().getDefaultSchemaName(),
+            connection.getContext().getOption("user"),
+            connection.getContext().getOption("host"),
+            connection.getContext().isPushDown(),
+            connection.getContext().getTimeZone().getID()
+        );
+    }
+
+    public @Nullable Plan get(@NonNull Key key) {
+        Plan plan;
+        synchronized (this) {
+            plan = plans.get(key);
+        }
+        if (plan == null) {
+            return null;
+        }
+        if (isChanged(plan)) {
+            synchronized (this) {
+                plans.remove(key, plan);
+            }
+            return null;
+        }
+        // Check out of the lock, for the meta service may be remote.
+        for (Map.Entry<List<String>, CommonId> entry : plan.tableIds.entrySet()) {
+            if (!entry.getValue().equals(tableIdGetter.apply(entry.getKey()))) {
+                synchronized (this) {
+                    plans.remove(key, plan);
+                }
+                return null;
+            }
+        }
+        DingoMetrics.meter("plan_cache.hit").mark();
+        return plan;
+    }
+
+    /**
+     * Put a plan into the cache. It must be called only for cacheable statements, for a miss is counted here.
+     */
+    public synchronized void put(@NonNull Key key, @NonNull Plan plan) {
+        DingoMetrics.meter("plan_cache.miss").mark();
+        // Do not cache plans made before the last DDL of their tables.
+        if (!isChanged(plan)) {
+            plans.put(key, plan);
+        }
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    private boolean isChanged(@NonNull Plan plan) {
+        return changeChecker.test(plan.metaVersion, plan.tableIds.values());
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static final class Key {
+        private final String sql;
+        private final String schema;
+        private final String user;
+        private final String host;
+        private final boolean pushDown;
+        private final String timeZone;
+    }
+
+    @RequiredArgsConstructor
+    public static final class Plan {
+        @Getter
+        private final RelNode relNode;
+        @Getter
+        private final List<ColumnMetaData> columns;
+        @Getter
+        private final RelDataType parasType;
+        @Getter
+        private final Meta.StatementType statementType;
+        // The meta version when the plan was made.
+        @Getter
+        private final long metaVersion;
+        // Ids of the tables accessed by the plan, by their qualified names.
+        @Getter
+        private final Map<List<String>, CommonId> tableIds;
+        // Guards rendering jobs of the plan, not `synchronized` for that pins virtual threads.
+        @Getter
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+}
@@ -14,20 +14,24 @@
  * limitations under the License.
  */
 
-package io.dingodb.exec.operator.data;
+package io.dingodb.driver;
 
-import lombok.Getter;
-import lombok.Setter;
+import io.dingodb.calcite.DingoDdlExecutor;
+import io.dingodb.common.CommonId;
 
-public class TupleWithJoinFlag {
-    @Getter
-    private final Object[] tuple;
-    @Getter
-    @Setter
-    private boolean joined;
+import java.util.Collection;
 
-    public TupleWithJoinFlag(Object[] tuple) {
-        this.tuple = tuple;
-        this.joined = false;
-    }
+/**
+ * Signature of a job planned at a meta version, which must be planned again before writing if its tables are changed,
+ * see {@link DingoDdlExecutor#enterWriting(long, Collection)}.
+ */
+interface PlannedSignature {
+    long getMetaVersion();
+
+    Collection<CommonId> getTableIds();
+
+    /**
+     * Check if running the job writes to its tables.
+     */
+    boolean isWriting();
 }
@@ -635,6 +635,40 @@ public class ServerMeta implements Meta {
         log.warn("The connection (handle = {}) is not found.", sh.connectionId);
     }
 
+    /**
+     * Set the query timeout of a statement, which is not carried by the requests of remote clients.
+     *
+     * @param sh      the statement handle
+     * @param seconds the timeout in seconds, {@code 0} means no timeout
+     */
+    public void setQueryTimeout(@NonNull StatementHandle sh, int seconds) {
+        DingoConnection connection = connectionMap.get(sh.connectionId);
+        if (connection == null) {
+            log.warn("The connection (handle = {}) is not found.", sh.connectionId);
+            return;
+        }
+        StatementHandle newSh = new StatementHandle(connection.id, sh.id, sh.signature);
+        try {
+            connection.getStatement(newSh).setQueryTimeout(seconds);
+        } catch (NoSuchStatementException | SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Cancel the job running for a statement, for {@code Statement.cancel} of remote clients. Not synchronized on the
+     * statement, which is held by the executing.
+     *
+     * @param sh the statement handle
+     */
+    public void cancelStatement(@NonNull StatementHandle sh) {
+        DingoConnection connection = connectionMap.get(sh.connectionId);
+        if (connection != null) {
+            StatementHandle newSh = new StatementHandle(connection.id, sh.id, sh.signature);
+            connection.getMeta().cancelStatement(newSh, "Query is cancelled.");
+        }
+    }
+
     // Here the local meta is created.
     @Override
     public void openConnection(@NonNull ConnectionHandle ch, Map<String, String> info) {
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import io.dingodb.common.CommonId;
+import org.apache.calcite.avatica.Meta;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.dingodb.driver.PlanCache.normalize;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPlanCache {
+    private static PlanCache.Key key(String sql) {
+        return new PlanCache.Key(normalize(sql), "DINGO", "root", "%", true, "UTC");
+    }
+
+    private static final List<String> TABLE = Arrays.asList("DINGO", "T");
+
+    private static final List<String> OTHER_TABLE = Arrays.asList("DINGO", "U");
+
+    private static PlanCache.Plan plan(long version) {
+        return new PlanCache.Plan(
+            null,
+            Collections.emptyList(),
+            null,
+            Meta.StatementType.SELECT,
+            version,
+            Collections.emptyMap()
+        );
+    }
+
+    private static PlanCache.Plan plan(long version, List<String> table, CommonId tableId) {
+        return new PlanCache.Plan(
+            null,
+            Collections.emptyList(),
+            null,
+            Meta.StatementType.SELECT,
+            version,
+            Collections.singletonMap(table, tableId)
+        );
+    }
+
+    private static PlanCache.Plan plan(CommonId tableId) {
+        return plan(0L, TABLE, tableId);
+    }
+
+    private static boolean notChanged(long version, Collection<CommonId> tableIds) {
+        return false;
+    }
+
+    @Test
+    public void testNormalize() {
+        assertThat(normalize("  select *\n\tfrom  t ;; ")).isEqualTo("select * from t");
+        assertThat(normalize("select 'a  b', \"c  d\", `e  f` from t"))
+            .isEqualTo("select 'a  b', \"c  d\", `e  f` from t");
+        assertThat(normalize("select 'it''s  ok' from t")).isEqualTo("select 'it''s  ok' from t");
+    }
+
+    @Test
+    public void testNormalizeComments() {
+        // The line comment ends at the line break, so `where` must not be commented out after normalizing.
+        assertThat(normalize("select * from t -- all rows\nwhere id = 1"))
+            .isEqualTo("select * from t where id = 1");
+        assertThat(normalize("select * from t -- where id = 1"))
+            .isEqualTo("select * from t");
+        assertThat(normalize("select /* cols */ * from/**/t")).isEqualTo("select * from t");
+        assertThat(normalize("select /*+ hint */ * from t")).isEqualTo("select /*+ hint */ * from t");
+        assertThat(normalize("select '-- not  a comment', '/* nor */' from t"))
+            .isEqualTo("select '-- not  a comment', '/* nor */' from t");
+        assertThat(normalize("select * from t -- where id = 1"))
+            .isNotEqualTo(normalize("select * from t\nwhere id = 1"));
+    }
+
+    @Test
+    public void testNormalizeEscapes() {
+        // The escaped quote does not end the literal, so the following spaces and dashes are kept.
+        assertThat(normalize("select 'a\\'  -- b' from t")).isEqualTo("select 'a\\'  -- b' from t");
+        assertThat(normalize("select 'a\\\\'  from t")).isEqualTo("select 'a\\\\' from t");
+    }
+
+    @Test
+    public void testKey() {
+        assertThat(key("select * from t\nwhere id = 1")).isEqualTo(key("select *  from t where id = 1;"));
+        assertThat(key("select * from t -- x\nwhere id = 1")).isEqualTo(key("select * from t where id = 1"));
+        assertThat(key("select * from t -- where id = 1")).isNotEqualTo(key("select * from t where id = 1"));
+        assertThat(key("select 'a' from t")).isNotEqualTo(key("select 'A' from t"));
+        assertThat(key("select * from t"))
+            .isNotEqualTo(new PlanCache.Key("select * from t", "DINGO", "root", "%", false, "UTC"));
+    }
+
+    @Test
+    public void testInvalidateOnDdl() {
+        CommonId tableId = new CommonId(CommonId.CommonType.TABLE, 1, 2);
+        CommonId otherTableId = new CommonId(CommonId.CommonType.TABLE, 1, 3);
+        Map<CommonId, Long> tableVersions = new ConcurrentHashMap<>();
+        PlanCache cache = new PlanCache(
+            4,
+            (version, ids) -> ids.stream().anyMatch(id -> tableVersions.getOrDefault(id, 0L) > version),
+            name -> name.equals(TABLE) ? tableId : otherTableId
+        );
+        PlanCache.Key key = key("select * from t");
+        PlanCache.Key otherKey = key("select * from u");
+        cache.put(key, plan(0L, TABLE, tableId));
+        cache.put(otherKey, plan(0L, OTHER_TABLE, otherTableId));
+        assertThat(cache.get(key)).isNotNull();
+        // A DDL is executed on the table, the plans of other tables are kept.
+        tableVersions.put(tableId, 1L);
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.get(otherKey)).isNotNull();
+        assertThat(cache.size()).isEqualTo(1);
+        // Plans made before the DDL are not cached.
+        cache.put(key, plan(0L, TABLE, tableId));
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, plan(1L, TABLE, tableId));
+        assertThat(cache.get(key)).isNotNull();
+    }
+
+    @Test
+    public void testEvict() {
+        PlanCache cache = new PlanCache(2, TestPlanCache::notChanged, name -> null);
+        cache.put(key("select 1"), plan(0L));
+        cache.put(key("select 2"), plan(0L));
+        assertThat(cache.get(key("select 1"))).isNotNull();
+        cache.put(key("select 3"), plan(0L));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(key("select 2"))).isNull();
+        assertThat(cache.get(key("select 1"))).isNotNull();
+    }
+
+    @Test
+    public void testInvalidateOnTableRecreated() {
+        CommonId oldId = new CommonId(CommonId.CommonType.TABLE, 1, 2);
+        CommonId newId = new CommonId(CommonId.CommonType.TABLE, 1, 3);
+        Map<List<String>, CommonId> tableIds = new ConcurrentHashMap<>();
+        tableIds.put(TABLE, oldId);
+        PlanCache cache = new PlanCache(4, TestPlanCache::notChanged, tableIds::get);
+        PlanCache.Key key = key("select * from t");
+        cache.put(key, plan(oldId));
+        assertThat(cache.get(key)).isNotNull();
+        // The table is dropped and created again on another node, without changing the local meta version.
+        tableIds.put(TABLE, newId);
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.size()).isZero();
+        tableIds.remove(TABLE);
+        cache.put(key, plan(oldId));
+        assertThat(cache.get(key)).isNull();
+    }
+}
@@ -26,6 +26,8 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 @JsonSubTypes({
     @JsonSubTypes.Type(CountAgg.class),
     @JsonSubTypes.Type(CountAllAgg.class),
+    @JsonSubTypes.Type(DistinctAgg.class),
+    @JsonSubTypes.Type(HllAgg.class),
     @JsonSubTypes.Type(MaxAgg.class),
     @JsonSubTypes.Type(MinAgg.class),
     @JsonSubTypes.Type(Sum0Agg.class),
@@ -17,6 +17,7 @@
 package io.dingodb.exec.aggregate;
 
 import io.dingodb.common.AggregationOperator;
+import io.dingodb.common.type.DingoType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -48,6 +49,27 @@ public interface Agg {
      */
     Object getValue(@Nullable Object var);
 
+    /**
+     * Called to get the partial value from aggregating context, which is output by a partial aggregation and merged by
+     * {@link #merge(Object, Object)} in the next phase. It is the output value by default.
+     *
+     * @param var the aggregating context, may be null
+     * @return the partial value
+     */
+    default Object getPartial(@Nullable Object var) {
+        return getValue(var);
+    }
+
+    /**
+     * Get the type of partial values.
+     *
+     * @param type the type of output values
+     * @return the type of partial values
+     */
+    default DingoType getPartialType(DingoType type) {
+        return type;
+    }
+
     AggregationOperator.AggregationType getAggregationType();
 
     int getIndex();
@@ -17,9 +17,16 @@
 package io.dingodb.exec.aggregate;
 
 import com.google.common.collect.Iterators;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.ArrayUtils;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.codec.AvroTupleCodec;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.spill.SpillConfig;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.utils.MemoryUtils;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -27,68 +34,272 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
+/**
+ * Hash aggregation. If the groups exceed the memory budget or the memory limits, the partial aggregates are partitioned
+ * into spill files, and merged partition by partition when iterating. A partition exceeding the memory in merging is
+ * spilled and partitioned again, until {@link #MAX_SPILL_LEVEL} is reached, after which memory is consumed without
+ * spilling and the memory limits may fail the query.
+ */
 @Slf4j
 public class AggCache implements Iterable<Object[]> {
+    private static final int SPILL_PARTITIONS = 16;
+    private static final int MAX_SPILL_LEVEL = 3;
+    // Estimated bytes of a group in the hash table, except the keys and the aggregating contexts.
+    private static final int GROUP_OVERHEAD = 16;
+
     private final TupleMapping keyMapping;
     private final List<Agg> aggList;
-    private final Map<TupleKey, Object[]> cache;
+    // Schema of partial aggregated tuples to encode spill files, spilling is disabled if absent.
+    private final DingoType schema;
+    // Output partial values to be reduced instead of final values.
+    private final boolean partial;
+    private final long memoryBudget;
+    // Indices of keys in raw tuples and in partial aggregated tuples.
+    private final int[] keyIndices;
+    private final int[] leadingKeyIndices;
+    private final AggGroupTable groups;
+    private final AggState[] states;
+    private final int bytesPerGroup;
+    // Level of spilled partitions merged by this cache, 0 if not merging.
+    private final int level;
+
+    private long memory;
+    private SpillFile[] spills;
+    // Cache merging the current spilled partition.
+    private AggCache merging;
+    // Tracker of memory limits, not tracked if absent.
+    @Setter
+    private MemoryTracker memoryTracker;
+    // Bytes consumed from the memory tracker.
+    private long trackedMemory;
 
     public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList) {
+        this(keyMapping, aggList, null, false, Long.MAX_VALUE);
+    }
+
+    public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList, DingoType schema, boolean partial) {
+        this(keyMapping, aggList, schema, partial, SpillConfig.aggregateMemoryBudget());
+    }
+
+    public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList, DingoType schema, long memoryBudget) {
+        this(keyMapping, aggList, schema, false, memoryBudget);
+    }
+
+    /**
+     * Create an aggregation cache.
+     *
+     * @param keyMapping the mapping of group keys
+     * @param aggList the aggregations
+     * @param schema the schema of output tuples, spilling is disabled if {@code null}
+     * @param partial if {@code true}, output partial values to be reduced in the next phase
+     * @param memoryBudget the memory budget in bytes before spilling
+     */
+    public AggCache(
+        TupleMapping keyMapping,
+        @NonNull List<Agg> aggList,
+        DingoType schema,
+        boolean partial,
+        long memoryBudget
+    ) {
+        this(
+            keyMapping,
+            aggList,
+            schema != null ? partialSchema(keyMapping.size(), aggList, schema) : null,
+            partial,
+            memoryBudget,
+            0
+        );
+    }
+
+    // Create a cache merging the spilled partitions of `parent`.
+    private AggCache(@NonNull AggCache parent) {
+        this(parent.keyMapping, parent.aggList, parent.schema, parent.partial, parent.memoryBudget, parent.level + 1);
+        memoryTracker = parent.memoryTracker;
+    }
+
+    private AggCache(
+        TupleMapping keyMapping,
+        @NonNull List<Agg> aggList,
+        DingoType schema,
+        boolean partial,
+        long memoryBudget,
+        int level
+    ) {
         this.keyMapping = keyMapping;
         this.aggList = aggList;
-        this.cache = new ConcurrentHashMap<>();
+        this.schema = schema;
+        this.partial = partial;
+        this.memoryBudget = memoryBudget;
+        this.level = level;
+        keyIndices = keyMapping.getMappings();
+        leadingKeyIndices = IntStream.range(0, keyMapping.size()).toArray();
+        groups = new AggGroupTable();
+        states = aggList.stream()
+            .map(agg -> AggState.of(agg, groups.capacity()))
+            .toArray(AggState[]::new);
+        bytesPerGroup = GROUP_OVERHEAD + Arrays.stream(states).mapToInt(AggState::bytesPerGroup).sum();
+    }
+
+    private static @NonNull DingoType partialSchema(int keyCount, @NonNull List<Agg> aggList, DingoType schema) {
+        DingoType[] fields = new DingoType[keyCount + aggList.size()];
+        for (int i = 0; i < keyCount; ++i) {
+            fields[i] = schema.getChild(i);
+        }
+        for (int i = 0; i < aggList.size(); ++i) {
+            fields[keyCount + i] = aggList.get(i).getPartialType(schema.getChild(keyCount + i));
+        }
+        return DingoTypeFactory.tuple(fields);
     }
 
-    private Object @NonNull [] getVars(TupleKey key) {
-        return cache.computeIfAbsent(key, k -> new Object[aggList.size()]);
+    // Different bits of the mixed hash code are used in each level, or a partition is never split again.
+    private static int partitionOf(Object @NonNull [] key, int level) {
+        return Integer.rotateLeft(Arrays.hashCode(key) * 0x9E3779B9, level * 4) >>> 28;
     }
 
-    public void addTuple(Object[] tuple) {
-        Object[] keyTuple = keyMapping.revMap(tuple);
-        Object[] vars = getVars(new TupleKey(keyTuple));
-        for (int i = 0; i < vars.length; ++i) {
-            Agg agg = aggList.get(i);
-            if (vars[i] == null) {
-                vars[i] = agg.first(tuple);
-            } else {
-                vars[i] = agg.add(vars[i], tuple);
+    private int getGroup(Object @NonNull [] tuple, int @NonNull [] indices) {
+        int size = groups.size();
+        int capacity = groups.capacity();
+        int group = groups.findOrAdd(tuple, indices);
+        if (groups.size() > size) {
+            // The states are resized only if the table grows, which doubles the capacity.
+            if (groups.capacity() != capacity) {
+                for (AggState state : states) {
+                    state.resize(groups.capacity());
+                }
             }
+            memory += MemoryUtils.estimateTupleSize(groups.getKey(group)) + bytesPerGroup;
         }
+        return group;
     }
 
-    public void reduce(Object[] tuple) {
+    public void addTuple(Object @NonNull [] tuple) {
+        int group = getGroup(tuple, keyIndices);
+        for (AggState state : states) {
+            state.add(group, tuple);
+        }
+        checkMemory();
+    }
+
+    public void reduce(Object @NonNull [] tuple) {
         // Here the keys are leading elements in the tuple.
         int length = keyMapping.size();
-        Object[] keyTuple = Arrays.copyOf(tuple, length);
-        Object[] vars = getVars(new TupleKey(keyTuple));
-        for (int i = 0; i < vars.length; ++i) {
-            vars[i] = aggList.get(i).merge(vars[i], tuple[length + i]);
+        int group = getGroup(tuple, leadingKeyIndices);
+        for (int i = 0; i < states.length; ++i) {
+            states[i].merge(group, tuple[length + i]);
+        }
+        checkMemory();
+    }
+
+    private Object @NonNull [] getRow(int group, boolean partial) {
+        Object[] values = new Object[states.length];
+        for (int i = 0; i < states.length; ++i) {
+            values[i] = partial ? states[i].getPartial(group) : states[i].getValue(group);
         }
+        return ArrayUtils.concat(groups.getKey(group), values);
     }
 
-    private Object @NonNull [] calValue(Object @NonNull [] vars) {
-        Object[] result = new Object[vars.length];
-        for (int i = 0; i < vars.length; ++i) {
-            result[i] = aggList.get(i).getValue(vars[i]);
+    private long usedMemory() {
+        long used = memory;
+        for (AggState state : states) {
+            used += state.extraMemory();
         }
-        return result;
+        return used;
+    }
+
+    private void checkMemory() {
+        long used = usedMemory();
+        boolean canSpill = schema != null && level < MAX_SPILL_LEVEL;
+        if (canSpill && used > memoryBudget) {
+            spill();
+            return;
+        }
+        if (memoryTracker != null && used > trackedMemory) {
+            if (!canSpill) {
+                memoryTracker.consume(used - trackedMemory);
+            } else if (!memoryTracker.tryConsume(used - trackedMemory)) {
+                spill();
+                return;
+            }
+            trackedMemory = used;
+        }
+    }
+
+    private void spill() {
+        if (spills == null) {
+            log.info(
+                "Aggregation exceeds memory budget or limit ({} bytes, budget {} bytes, {}), spilling to disk, "
+                    + "level = {}.",
+                usedMemory(),
+                memoryBudget,
+                memoryTracker,
+                level
+            );
+            AvroTupleCodec codec = new AvroTupleCodec(schema);
+            spills = new SpillFile[SPILL_PARTITIONS];
+            for (int i = 0; i < SPILL_PARTITIONS; ++i) {
+                spills[i] = SpillFile.create(codec);
+            }
+        }
+        for (int group = 0; group < groups.size(); ++group) {
+            spills[partitionOf(groups.getKey(group), level)].write(getRow(group, true));
+        }
+        clearGroups();
+    }
+
+    private @NonNull Iterator<Object[]> mergeSpilled(@NonNull SpillFile file) {
+        // The previous partition has been iterated.
+        if (merging != null) {
+            merging.clear();
+            merging = null;
+        }
+        if (file.getCount() == 0) {
+            return Collections.emptyIterator();
+        }
+        // The memory is tracked in merging, and the partition is spilled again if the limits are exceeded.
+        merging = new AggCache(this);
+        file.iterator().forEachRemaining(merging::reduce);
+        return merging.iterator();
     }
 
     @Override
     public Iterator<Object[]> iterator() {
-        if (cache.isEmpty() && keyMapping.size() == 0) {
-            return Collections.singleton(aggList.stream().map(agg -> agg.getValue(null)).toArray()).iterator();
+        if (spills != null) {
+            spill();
+            return Iterators.concat(Iterators.transform(Arrays.asList(spills).iterator(), this::mergeSpilled));
         }
-        return Iterators.transform(
-            cache.entrySet().iterator(),
-            e -> ArrayUtils.concat(e.getKey().getTuple(), calValue(e.getValue()))
-        );
+        if (groups.size() == 0 && keyMapping.size() == 0) {
+            return Collections.singleton(
+                aggList.stream().map(agg -> partial ? agg.getPartial(null) : agg.getValue(null)).toArray()
+            ).iterator();
+        }
+        return IntStream.range(0, groups.size()).mapToObj(group -> getRow(group, partial)).iterator();
+    }
+
+    private void clearGroups() {
+        groups.clear();
+        for (AggState state : states) {
+            state.clear();
+        }
+        memory = 0;
+        if (memoryTracker != null) {
+            memoryTracker.release(trackedMemory);
+        }
+        trackedMemory = 0;
     }
 
     public void clear() {
-        cache.clear();
+        if (merging != null) {
+            merging.clear();
+            merging = null;
+        }
+        clearGroups();
+        if (spills != null) {
+            for (SpillFile file : spills) {
+                file.close();
+            }
+            spills = null;
+        }
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Open addressing hash table mapping group keys to dense group ids, which index the {@link AggState}s.
+ */
+final class AggGroupTable {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int EMPTY = -1;
+
+    private Object[][] keys;
+    private int[] hashes;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    AggGroupTable() {
+        keys = new Object[INITIAL_CAPACITY][];
+        hashes = new int[INITIAL_CAPACITY];
+        allocateSlots(INITIAL_CAPACITY * 2);
+    }
+
+    private static int hash(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        int hash = 1;
+        for (int index : keyIndices) {
+            hash = 31 * hash + Objects.hashCode(tuple[index]);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private void allocateSlots(int slotNum) {
+        slots = new int[slotNum];
+        Arrays.fill(slots, EMPTY);
+        mask = slotNum - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Capacity of group ids, the {@link AggState}s should be resized to it.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    Object[] getKey(int group) {
+        return keys[group];
+    }
+
+    /**
+     * Find the group id of the keys in a tuple, and add a new group if absent.
+     *
+     * @param tuple the tuple
+     * @param keyIndices indices of the keys in the tuple
+     * @return the group id
+     */
+    int findOrAdd(Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        int hash = hash(tuple, keyIndices);
+        int slot = hash & mask;
+        while (slots[slot] != EMPTY) {
+            int group = slots[slot];
+            if (hashes[group] == hash && keyEquals(keys[group], tuple, keyIndices)) {
+                return group;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        Object[] key = new Object[keyIndices.length];
+        for (int i = 0; i < keyIndices.length; ++i) {
+            key[i] = tuple[keyIndices[i]];
+        }
+        int group = size++;
+        keys[group] = key;
+        hashes[group] = hash;
+        slots[slot] = group;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+
+    private static boolean keyEquals(Object @NonNull [] key, Object @NonNull [] tuple, int @NonNull [] keyIndices) {
+        for (int i = 0; i < keyIndices.length; ++i) {
+            if (!Objects.equals(key[i], tuple[keyIndices[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        allocateSlots(slots.length * 2);
+        for (int group = 0; group < size; ++group) {
+            int slot = hashes[group] & mask;
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.expr.core.TypeCode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Aggregating contexts of an aggregation for all the groups, indexed by group id. COUNT, and SUM/MIN/MAX of numeric
+ * primitive types are kept in primitive arrays, others are kept as objects by the {@link Agg} itself.
+ */
+abstract class AggState {
+    protected final Agg agg;
+
+    protected AggState(Agg agg) {
+        this.agg = agg;
+    }
+
+    static @NonNull AggState of(@NonNull Agg agg, int capacity) {
+        if (agg instanceof CountAgg || agg instanceof CountAllAgg) {
+            return new CountState(agg, capacity);
+        }
+        if (agg instanceof SumAgg || agg instanceof MinAgg || agg instanceof MaxAgg) {
+            Op op = agg instanceof SumAgg ? Op.SUM : agg instanceof MinAgg ? Op.MIN : Op.MAX;
+            int typeCode = ((UnityEvaluatorAgg) agg).getType().getTypeCode();
+            switch (typeCode) {
+                case TypeCode.INT:
+                case TypeCode.LONG:
+                    return new LongState(agg, capacity, op, typeCode == TypeCode.INT);
+                case TypeCode.DOUBLE:
+                    return new DoubleState(agg, capacity, op);
+                default:
+                    break;
+            }
+        }
+        return new ObjectState(agg, capacity);
+    }
+
+    abstract void resize(int capacity);
+
+    /**
+     * Aggregate a raw tuple into a group.
+     */
+    abstract void add(int group, Object @NonNull [] tuple);
+
+    /**
+     * Merge a value output by a partial aggregation into a group.
+     */
+    abstract void merge(int group, Object value);
+
+    abstract Object getValue(int group);
+
+    /**
+     * Get the value to be merged in the next aggregating phase.
+     */
+    Object getPartial(int group) {
+        return getValue(group);
+    }
+
+    /**
+     * Estimated bytes of the context of a group.
+     */
+    abstract int bytesPerGroup();
+
+    /**
+     * Estimated bytes of the contexts which grow after created, like the sets of distinct values.
+     */
+    long extraMemory() {
+        return 0;
+    }
+
+    abstract void clear();
+
+    enum Op {
+        SUM, MIN, MAX
+    }
+
+    private static final class CountState extends AggState {
+        private final int index;
+        private long[] counts;
+
+        private CountState(Agg agg, int capacity) {
+            super(agg);
+            index = agg.getIndex();
+            counts = new long[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            if (index < 0 || tuple[index] != null) {
+                ++counts[group];
+            }
+        }
+
+        @Override
+        void merge(int group, Object value) {
+            if (value != null) {
+                counts[group] += ((Number) value).longValue();
+            }
+        }
+
+        @Override
+        Object getValue(int group) {
+            return counts[group];
+        }
+
+        @Override
+        int bytesPerGroup() {
+            return Long.BYTES;
+        }
+
+        @Override
+        void clear() {
+            Arrays.fill(counts, 0L);
+        }
+    }
+
+    private static final class LongState extends AggState {
+        private final int index;
+        private final Op op;
+        private final boolean isInt;
+        private final BitSet present = new BitSet();
+        private long[] values;
+
+        private LongState(Agg agg, int capacity, Op op, boolean isInt) {
+            super(agg);
+            this.index = agg.getIndex();
+            this.op = op;
+            this.isInt = isInt;
+            values = new long[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            merge(group, tuple[index]);
+        }
+
+        @Override
+        void merge(int group, Object value) {
+            if (value == null) {
+                return;
+            }
+            long v = ((Number) value).longValue();
+            if (!present.get(group)) {
+                values[group] = v;
+                present.set(group);
+                return;
+            }
+            switch (op) {
+                case SUM:
+                    // Overflow of INT is the same as that of evaluators after casting back.
+                    values[group] += v;
+                    break;
+                case MIN:
+                    values[group] = Math.min(values[group], v);
+                    break;
+                default:
+                    values[group] = Math.max(values[group], v);
+                    break;
+            }
+        }
+
+        @Override
+        Object getValue(int group) {
+            if (!present.get(group)) {
+                return agg.getValue(null);
+            }
+            return agg.getValue(isInt ? (Object) (int) values[group] : (Object) values[group]);
+        }
+
+        @Override
+        int bytesPerGroup() {
+            return Long.BYTES;
+        }
+
+        @Override
+        void clear() {
+            present.clear();
+        }
+    }
+
+    private static final class DoubleState extends AggState {
+        private final int index;
+        private final Op op;
+        private final BitSet present = new BitSet();
+        private double[] values;
+
+        private DoubleState(Agg agg, int capacity, Op op) {
+            super(agg);
+            this.index = agg.getIndex();
+            this.op = op;
+            values = new double[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            merge(group, tuple[index]);
+        }
+
+        @Override
+        void merge(int group, Object value) {
+            if (value == null) {
+                return;
+            }
+            double v = ((Number) value).doubleValue();
+            if (!present.get(group)) {
+                values[group] = v;
+                present.set(group);
+                return;
+            }
+            switch (op) {
+                case SUM:
+                    values[group] += v;
+                    break;
+                case MIN:
+                    values[group] = Math.min(values[group], v);
+                    break;
+                default:
+                    values[group] = Math.max(values[group], v);
+                    break;
+            }
+        }
+
+        @Override
+        Object getValue(int group) {
+            if (!present.get(group)) {
+                return agg.getValue(null);
+            }
+            return agg.getValue(values[group]);
+        }
+
+        @Override
+        int bytesPerGroup() {
+            return Double.BYTES;
+        }
+
+        @Override
+        void clear() {
+            present.clear();
+        }
+    }
+
+    private static final class ObjectState extends AggState {
+        private Object[] vars;
+        private long extraMemory;
+
+        private ObjectState(Agg agg, int capacity) {
+            super(agg);
+            vars = new Object[capacity];
+        }
+
+        @Override
+        void resize(int capacity) {
+            vars = Arrays.copyOf(vars, capacity);
+        }
+
+        private int distinctCount(int group) {
+            return vars[group] != null ? ((Set<?>) vars[group]).size() : 0;
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            int count = agg instanceof DistinctAgg ? distinctCount(group) : 0;
+            if (vars[group] == null) {
+                vars[group] = agg.first(tuple);
+            } else {
+                vars[group] = agg.add(vars[group], tuple);
+            }
+            if (agg instanceof DistinctAgg) {
+                extraMemory += (long) (distinctCount(group) - count) * DistinctAgg.BYTES_PER_ENTRY;
+            }
+        }
+
+        @Override
+        void merge(int group, Object value) {
+            int count = agg instanceof DistinctAgg ? distinctCount(group) : 0;
+            vars[group] = agg.merge(vars[group], value);
+            if (agg instanceof DistinctAgg) {
+                extraMemory += (long) (distinctCount(group) - count) * DistinctAgg.BYTES_PER_ENTRY;
+            }
+        }
+
+        @Override
+        Object getValue(int group) {
+            return agg.getValue(vars[group]);
+        }
+
+        @Override
+        Object getPartial(int group) {
+            return agg.getPartial(vars[group]);
+        }
+
+        @Override
+        int bytesPerGroup() {
+            if (agg instanceof HllAgg) {
+                // A reference and the registers.
+                return 24 + HllAgg.REGISTERS;
+            }
+            // A reference and a boxed value.
+            return 24;
+        }
+
+        @Override
+        long extraMemory() {
+            return extraMemory;
+        }
+
+        @Override
+        void clear() {
+            Arrays.fill(vars, null);
+            extraMemory = 0;
+        }
+    }
+}
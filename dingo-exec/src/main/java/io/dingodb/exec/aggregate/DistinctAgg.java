@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.AggregationOperator;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aggregation on distinct values, like {@code COUNT(DISTINCT a)}. The aggregating context is the set of distinct
+ * values, which are fed to the underlying aggregation when getting the output value. The partial value is the list of
+ * distinct values, so that it can be spilled and merged.
+ */
+@JsonTypeName("distinct")
+@JsonPropertyOrder({"args", "type", "agg"})
+public class DistinctAgg extends AbstractAgg {
+    // Estimated bytes of a value in the set, including the hash entry and a boxed value.
+    public static final int BYTES_PER_ENTRY = 48;
+
+    @JsonProperty("args")
+    @Getter
+    private final TupleMapping args;
+    // Type of distinct values, a tuple type if there are multiple arguments.
+    @JsonProperty("type")
+    @Getter
+    private final DingoType type;
+    // The aggregation applied to the distinct values, which is at index 0 of the input tuples.
+    @JsonProperty("agg")
+    @JsonSerialize(as = AbstractAgg.class)
+    @JsonDeserialize(as = AbstractAgg.class)
+    @Getter
+    private final Agg agg;
+
+    @JsonCreator
+    public DistinctAgg(
+        @JsonProperty("args") TupleMapping args,
+        @JsonProperty("type") DingoType type,
+        @JsonProperty("agg") Agg agg
+    ) {
+        this.args = args;
+        this.type = type;
+        this.agg = agg;
+    }
+
+    private @Nullable Object getDistinctValue(Object @NonNull [] tuple) {
+        if (args.size() == 1) {
+            return tuple[args.get(0)];
+        }
+        Object[] values = args.revMap(tuple);
+        for (Object value : values) {
+            if (value == null) {
+                return null;
+            }
+        }
+        // Arrays are not comparable by contents.
+        return Arrays.asList(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NonNull Set<Object> getSet(@Nullable Object var) {
+        return var != null ? (Set<Object>) var : new HashSet<>();
+    }
+
+    @Override
+    public Object first(Object @NonNull [] tuple) {
+        return add(new HashSet<>(), tuple);
+    }
+
+    @Override
+    public Object add(@NonNull Object var, Object @NonNull [] tuple) {
+        Object value = getDistinctValue(tuple);
+        // Null values are ignored by distinct aggregations.
+        if (value != null) {
+            getSet(var).add(value);
+        }
+        return var;
+    }
+
+    @Override
+    public Object merge(@Nullable Object var1, @Nullable Object var2) {
+        if (var2 == null) {
+            return var1;
+        }
+        Set<Object> set = getSet(var1);
+        for (Object value : (Collection<?>) var2) {
+            set.add(value instanceof Object[] && args.size() > 1 ? Arrays.asList((Object[]) value) : value);
+        }
+        return set;
+    }
+
+    @Override
+    public Object getValue(@Nullable Object var) {
+        Object aggVar = null;
+        if (var != null) {
+            for (Object value : getSet(var)) {
+                Object[] tuple = new Object[]{value};
+                aggVar = aggVar == null ? agg.first(tuple) : agg.add(aggVar, tuple);
+            }
+        }
+        return agg.getValue(aggVar);
+    }
+
+    @Override
+    public Object getPartial(@Nullable Object var) {
+        if (var == null) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>(getSet(var).size());
+        for (Object value : getSet(var)) {
+            values.add(args.size() > 1 ? ((List<?>) value).toArray() : value);
+        }
+        return values;
+    }
+
+    @Override
+    public DingoType getPartialType(DingoType type) {
+        return DingoTypeFactory.list(this.type, true);
+    }
+
+    @Override
+    public AggregationOperator.AggregationType getAggregationType() {
+        return AggregationOperator.AggregationType.NONE;
+    }
+
+    @Override
+    public int getIndex() {
+        return args.get(0);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.AggregationOperator;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.expr.core.TypeCode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * APPROX_COUNT_DISTINCT by HyperLogLog. The aggregating context is the registers of the sketch, which are also the
+ * partial value, so partial aggregations on different nodes can be merged by taking the maximum of each register.
+ */
+@JsonTypeName("hll")
+public class HllAgg extends UnityAgg {
+    // 2^12 registers, the standard error is about 1.04 / sqrt(2^12) = 1.6%.
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1.0 + 1.079 / REGISTERS);
+
+    @JsonCreator
+    public HllAgg(
+        @JsonProperty("index") int index
+    ) {
+        super(index);
+    }
+
+    private static long mix(long hash) {
+        // Finalizer of MurmurHash3.
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long hash(byte @NonNull [] bytes) {
+        // FNV-1a.
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The hash must be the same on all the nodes, so {@link Object#hashCode()} is not used.
+     */
+    static long hash(@NonNull Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) value).doubleValue()));
+        }
+        if (value instanceof BigDecimal) {
+            return hash(((BigDecimal) value).stripTrailingZeros().toPlainString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (value instanceof Boolean) {
+            return mix((Boolean) value ? 1L : 0L);
+        }
+        if (value instanceof Date) {
+            return mix(((Date) value).getTime());
+        }
+        if (value instanceof byte[]) {
+            return hash((byte[]) value);
+        }
+        return hash(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void addHash(byte @NonNull [] registers, long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // The rank is the position of the leftmost 1-bit in the remaining bits.
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), Long.SIZE - PRECISION) + 1;
+        if (registers[index] < rank) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    static long estimate(byte @NonNull [] registers) {
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                ++zeros;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Linear counting for small cardinalities.
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    @Override
+    public Object first(Object @NonNull [] tuple) {
+        return add(new byte[REGISTERS], tuple);
+    }
+
+    @Override
+    public Object add(@NonNull Object var, Object @NonNull [] tuple) {
+        Object value = tuple[index];
+        if (value != null) {
+            addHash((byte[]) var, hash(value));
+        }
+        return var;
+    }
+
+    @Override
+    public Object merge(@Nullable Object var1, @Nullable Object var2) {
+        if (var2 == null) {
+            return var1;
+        }
+        if (var1 == null) {
+            // The context is modified in place, so do not keep the input value.
+            return ((byte[]) var2).clone();
+        }
+        byte[] registers1 = (byte[]) var1;
+        byte[] registers2 = (byte[]) var2;
+        for (int i = 0; i < REGISTERS; ++i) {
+            if (registers1[i] < registers2[i]) {
+                registers1[i] = registers2[i];
+            }
+        }
+        return registers1;
+    }
+
+    @Override
+    public Object getValue(@Nullable Object var) {
+        return var != null ? estimate((byte[]) var) : 0L;
+    }
+
+    @Override
+    public Object getPartial(@Nullable Object var) {
+        return var;
+    }
+
+    @Override
+    public DingoType getPartialType(DingoType type) {
+        return DingoTypeFactory.scalar(TypeCode.BINARY, true);
+    }
+
+    @Override
+    public AggregationOperator.AggregationType getAggregationType() {
+        // Cannot be pushed down to the store.
+        return AggregationOperator.AggregationType.NONE;
+    }
+}
@@ -21,11 +21,13 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.expr.core.evaluator.Evaluator;
 import io.dingodb.expr.core.evaluator.EvaluatorFactory;
 import io.dingodb.expr.core.evaluator.EvaluatorKey;
+import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class UnityEvaluatorAgg extends UnityAgg {
     @JsonProperty("type")
+    @Getter
     protected final DingoType type;
 
     private Evaluator evaluator;
@@ -61,6 +61,15 @@ public interface Job {
         return task;
     }
 
+    /**
+     * Set all the tasks to collect the statistics of operators. Must be called before the tasks are distributed.
+     *
+     * @param profiling {@code true} to profile
+     */
+    default void setProfiling(boolean profiling) {
+        getTasks().values().forEach(t -> t.setProfiling(profiling));
+    }
+
     default boolean isEmpty() {
         return getTasks().isEmpty();
     }
@@ -33,7 +33,28 @@ public interface JobManager {
 
     void removeJob(Id jobId);
 
-    @NonNull Iterator<Object[]> createIterator(@NonNull Job job, Object @Nullable [] paras);
+    /**
+     * Run a job and get the iterator of the results.
+     *
+     * @param job     the job
+     * @param paras   the parameters
+     * @param timeout the timeout in milliseconds, the run is cancelled if it is reached, no timeout if not positive
+     * @return the iterator
+     */
+    @NonNull Iterator<Object[]> createIterator(@NonNull Job job, Object @Nullable [] paras, long timeout);
+
+    default @NonNull Iterator<Object[]> createIterator(@NonNull Job job, Object @Nullable [] paras) {
+        return createIterator(job, paras, 0L);
+    }
+
+    /**
+     * Cancel the current run of a job. The tasks are cancelled cooperatively, so the results may still come for a
+     * while before the error.
+     *
+     * @param jobId  the job id
+     * @param reason the reason of cancelling
+     */
+    void cancel(Id jobId, @NonNull String reason);
 
     void close();
 }
@@ -18,6 +18,9 @@ package io.dingodb.exec.base;
 
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.OperatorProfiler;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
@@ -50,6 +53,24 @@ public interface Operator {
      */
     boolean push(int pin, @Nullable Object[] tuple);
 
+    /**
+     * Push a batch of tuples to the operator. The default implementation pushes the selected tuples one by one, so
+     * operators processing tuples in batches should override it to pay synchronization and dispatching costs once per
+     * batch.
+     *
+     * @param pin   the input pin no
+     * @param batch the tuple batch pushed in
+     * @return `true` means another push needed, `false` means the task is canceled or finished
+     */
+    default boolean pushBatch(int pin, TupleBatch batch) {
+        for (Object[] tuple : batch) {
+            if (!push(pin, tuple)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void fin(int pin, @Nullable Fin fin);
 
     default void destroy() {
@@ -77,4 +98,23 @@ public interface Operator {
     default DingoType getParasType() {
         return getTask().getParasType();
     }
+
+    /**
+     * Get the profiler of the operator.
+     *
+     * @return the profiler, or {@code null} if the task is not profiling
+     */
+    default @Nullable OperatorProfiler getProfiler() {
+        return null;
+    }
+
+    /**
+     * Get the tracker of memory used by the operator, stateful operators must consume memory from it before holding
+     * tuples and release the memory after dropping them.
+     *
+     * @return the tracker, or {@code null} if memory is not tracked
+     */
+    default @Nullable MemoryTracker getMemoryTracker() {
+        return null;
+    }
 }
@@ -18,6 +18,7 @@ package io.dingodb.exec.base;
 
 import io.dingodb.common.Location;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public interface Output {
@@ -34,6 +35,14 @@ public interface Output {
         return link.getOperator().push(link.getPin(), tuple);
     }
 
+    default boolean pushBatch(TupleBatch batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        Input link = getLink();
+        return link.getOperator().pushBatch(link.getPin(), batch);
+    }
+
     default void fin(Fin fin) {
         Input link = getLink();
         link.getOperator().fin(link.getPin(), fin);
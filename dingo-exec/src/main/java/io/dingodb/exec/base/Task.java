@@ -18,6 +18,7 @@ package io.dingodb.exec.base;
 
 import io.dingodb.common.Location;
 import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.memory.MemoryTracker;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -53,7 +54,60 @@ public interface Task {
 
     void init();
 
-    void run(Object @Nullable [] paras);
+    /**
+     * Create a new run of the task. The id must be got before the run is submitted, so that a cancel of the run
+     * arriving before the run starts is not lost.
+     *
+     * @return the id of the new run, greater than the ids of the previous runs
+     */
+    default long newRun() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Get the id of the last run created or started.
+     *
+     * @return the run id
+     */
+    default long getLastRunId() {
+        throw new UnsupportedOperationException();
+    }
+
+    default void run(Object @Nullable [] paras) {
+        run(paras, newRun());
+    }
+
+    /**
+     * Run the task. The run waits for the previous run to finish.
+     *
+     * @param paras the parameters
+     * @param runId the id of the run
+     */
+    void run(Object @Nullable [] paras, long runId);
+
+    /**
+     * Cancel the last run of the task.
+     *
+     * @param reason the reason shown to the user
+     */
+    default void cancel(@NonNull String reason) {
+        cancel(reason, getLastRunId());
+    }
+
+    /**
+     * Cancel a run of the task and the runs before. The sources stop pushing tuples as soon as they check the flag,
+     * and finish with the reason as an error. A run not started yet is cancelled once it starts.
+     *
+     * @param reason the reason shown to the user
+     * @param runId  the id of the run
+     */
+    default void cancel(@NonNull String reason, long runId) {
+        throw new UnsupportedOperationException();
+    }
+
+    default boolean isCancelled() {
+        return false;
+    }
 
     default void destroy() {
         getOperators().values().forEach(Operator::destroy);
@@ -65,6 +119,28 @@ public interface Task {
 
     DingoType getParasType();
 
+    /**
+     * Check if the statistics of operators are collected in running, which costs some time.
+     *
+     * @return {@code true} if profiling
+     */
+    default boolean isProfiling() {
+        return false;
+    }
+
+    default void setProfiling(boolean profiling) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Get the tracker of memory used by the operators of the task, which is created in initializing.
+     *
+     * @return the tracker, or {@code null} if memory is not tracked
+     */
+    default @Nullable MemoryTracker getMemoryTracker() {
+        return null;
+    }
+
     default void setParas(Object[] paras) {
         getOperators().values().forEach(o -> o.setParas(paras));
     }
@@ -23,6 +23,16 @@ public interface TaskManager {
 
     Task getTask(Id jobId, Id taskId);
 
+    /**
+     * Cancel a run of a task, do nothing if the task does not exist, for it may be finished and removed.
+     *
+     * @param jobId  the job id
+     * @param taskId the task id
+     * @param reason the reason of cancelling
+     * @param runId  the id of the run cancelled
+     */
+    void cancelTask(Id jobId, Id taskId, @NonNull String reason, long runId);
+
     void removeTask(Id jobId, Id taskId);
 
     default void removeTask(@NonNull Task task) {
@@ -17,6 +17,7 @@
 package io.dingodb.exec.channel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.exec.channel.message.ApplyRuntimeFilter;
 import io.dingodb.exec.channel.message.Control;
 import io.dingodb.exec.channel.message.IncreaseBuffer;
 import io.dingodb.exec.channel.message.StopTx;
@@ -52,6 +53,14 @@ public final class EndpointManager {
             log.debug("Received control message {}.", msg);
         }
         String tag = msg.getTag();
+        if (msg instanceof ApplyRuntimeFilter) {
+            SendEndpoint sendEndpoint = sendEndpointMap.get(tag);
+            // The filter is only an optimization, so it is dropped if the endpoint is already closed.
+            if (sendEndpoint != null) {
+                sendEndpoint.setRuntimeFilter((ApplyRuntimeFilter) msg);
+            }
+            return;
+        }
         AtomicInteger bufferCount = getBufferCount(tag);
         if (msg instanceof StopTx) {
             bufferCount.set(-1);
@@ -18,9 +18,11 @@ package io.dingodb.exec.channel;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.exec.Services;
+import io.dingodb.exec.channel.message.ApplyRuntimeFilter;
 import io.dingodb.exec.channel.message.Control;
 import io.dingodb.exec.channel.message.IncreaseBuffer;
 import io.dingodb.exec.channel.message.StopTx;
+import io.dingodb.exec.operator.join.RuntimeBloomFilter;
 import io.dingodb.net.Channel;
 import io.dingodb.net.Message;
 import io.dingodb.net.MessageListener;
@@ -78,6 +80,10 @@ public class ReceiveEndpoint {
         }
     }
 
+    public void sendRuntimeFilter(int run, RuntimeBloomFilter filter) {
+        sendControl(new ApplyRuntimeFilter(tag, run, filter));
+    }
+
     private void sendStopTx() {
         StopTx control = new StopTx(tag);
         sendControl(control);
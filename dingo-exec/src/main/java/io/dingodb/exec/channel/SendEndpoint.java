@@ -18,14 +18,19 @@ package io.dingodb.exec.channel;
 
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.exec.Services;
+import io.dingodb.exec.channel.message.ApplyRuntimeFilter;
+import io.dingodb.exec.impl.MorselScheduler;
 import io.dingodb.net.BufferOutputStream;
 import io.dingodb.net.Channel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 public class SendEndpoint {
@@ -35,7 +40,17 @@ public class SendEndpoint {
     private final String tag;
     private final byte[] binaryTag;
 
+    // Not monitors, which pin the carrier thread if a virtual thread waits in them.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition bufferAvailable = lock.newCondition();
+
     private Channel channel;
+    // Cached for it is checked for every tuple sent.
+    private AtomicInteger bufferCount;
+    // Set by the join receiving the tuples, tuples not passing it need not be sent.
+    @Getter
+    @Setter
+    private volatile ApplyRuntimeFilter runtimeFilter;
 
     public SendEndpoint(String host, int port, String tag) {
         this.host = host;
@@ -46,6 +61,7 @@ public class SendEndpoint {
 
     public void init() {
         EndpointManager.INSTANCE.registerSendEndpoint(this);
+        bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
         // This may block.
         channel = Services.openNewChannel(host, port);
         if (log.isDebugEnabled()) {
@@ -53,29 +69,42 @@ public class SendEndpoint {
         }
     }
 
-    synchronized void wakeUp() {
-        notify();
+    void wakeUp() {
+        lock.lock();
+        try {
+            bufferAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    synchronized boolean checkAvailableBufferCount(int size) {
-        boolean successful = false;
-        AtomicInteger bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
-        while (!successful) {
-            int origSize = bufferCount.get();
-            if (origSize < 0) {
-                return false;
-            }
-            if (origSize > size) {
-                successful = bufferCount.compareAndSet(origSize, origSize - size);
-            } else {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    log.warn("Catch (tag = {}) Interrupted while waiting for channel to be ready.", tag);
+    boolean checkAvailableBufferCount(int size) {
+        lock.lock();
+        try {
+            boolean successful = false;
+            while (!successful) {
+                int origSize = bufferCount.get();
+                if (origSize < 0) {
+                    return false;
+                }
+                if (origSize > size) {
+                    successful = bufferCount.compareAndSet(origSize, origSize - size);
+                } else {
+                    // The receiver may be waiting for other pipelines run by the morsel scheduler.
+                    MorselScheduler.block(bufferAvailable::awaitUninterruptibly);
                 }
             }
+            return true;
+        } finally {
+            lock.unlock();
         }
-        return true;
+    }
+
+    /**
+     * Check if the receiver has asked to stop sending, so the producer can quit before filling the next buffer.
+     */
+    public boolean isStopped() {
+        return bufferCount.get() < 0;
     }
 
     public boolean send(BufferOutputStream content) {
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel.message;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.exec.operator.join.RuntimeBloomFilter;
+import lombok.Getter;
+import lombok.ToString;
+
+@ToString
+@JsonTypeName("filter")
+public class ApplyRuntimeFilter extends Control {
+    // Sequence number of the task run, for the filter is built for one run only.
+    @Getter
+    @JsonProperty("run")
+    private final int run;
+    @Getter
+    @JsonProperty("filter")
+    @ToString.Exclude
+    private final RuntimeBloomFilter filter;
+
+    @JsonCreator
+    public ApplyRuntimeFilter(
+        @JsonProperty("tag") String tag,
+        @JsonProperty("run") int run,
+        @JsonProperty("filter") RuntimeBloomFilter filter
+    ) {
+        super(tag);
+        this.run = run;
+        this.filter = filter;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.exception;
+
+import io.dingodb.exec.memory.MemoryTracker;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+public class MemoryLimitExceededException extends RuntimeException {
+    private static final long serialVersionUID = -4785926021764331285L;
+
+    public MemoryLimitExceededException(
+        @NonNull MemoryTracker tracker,
+        @NonNull MemoryTracker exceeded,
+        long bytes
+    ) {
+        super(String.format(
+            "%s cannot allocate %d bytes, memory limit of %s exceeded: %d bytes used, limit %d bytes.",
+            tracker.getName(),
+            bytes,
+            exceeded.getName(),
+            exceeded.getUsed(),
+            exceeded.getLimit()
+        ));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.fin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measure the cpu time of the current thread. Getting the cpu time is much more expensive than getting the wall time,
+ * so pushes of tuples are sampled once in every {@link #INTERVAL} calls and the samples are scaled by the interval.
+ *
+ * <p>The cpu time is {@code 0} if the JVM does not support it, or the thread is a virtual thread.
+ */
+@Slf4j
+public final class CpuTimeSampler {
+    public static final int INTERVAL = 16;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean SUPPORTED = enable();
+
+    // Not synchronized, for a lost count only moves the sampling point.
+    private int count = 0;
+
+    private static boolean enable() {
+        try {
+            if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+                return false;
+            }
+            if (!THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+                THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.warn("Cpu time of threads is not supported, only wall time is profiled.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the cpu time of the current thread.
+     *
+     * @return the cpu time in nanoseconds, or {@code -1} if not supported
+     */
+    public static long now() {
+        if (!SUPPORTED) {
+            return -1L;
+        }
+        try {
+            return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        } catch (UnsupportedOperationException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Get the cpu time of the current thread elapsed since the start.
+     *
+     * @param start the cpu time got by {@link #now()}
+     * @return the elapsed cpu time in nanoseconds, {@code 0} if not supported
+     */
+    public static long since(long start) {
+        if (start < 0) {
+            return 0L;
+        }
+        long end = now();
+        return end > start ? end - start : 0L;
+    }
+
+    /**
+     * Start measuring if this call is sampled.
+     *
+     * @return the cpu time of the current thread if sampled, else {@code -1}
+     */
+    public long start() {
+        if (!SUPPORTED || ++count < INTERVAL) {
+            return -1L;
+        }
+        count = 0;
+        return now();
+    }
+
+    /**
+     * Stop measuring and get the estimated cpu time of the calls since the last sample.
+     *
+     * @param start the value returned by {@link #start()}
+     * @return the cpu time scaled by the interval, {@code 0} if not sampled
+     */
+    public long stop(long start) {
+        return since(start) * INTERVAL;
+    }
+}
@@ -16,14 +16,17 @@
 
 package io.dingodb.exec.fin;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dingodb.exec.base.Id;
 import lombok.Data;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
 public class OperatorProfile {
     @JsonProperty("id")
     Id operatorId;
@@ -33,6 +36,44 @@ public class OperatorProfile {
     long endTimeStamp;
     @JsonProperty("count")
     long processedTupleCount;
+    // The following are collected only if the task is profiling, times are in nanoseconds.
+    // Busy time is the wall time spent in the operator itself, excluding its outputs and waiting. Cpu time is the
+    // thread cpu time spent in the operator itself, estimated by samples, `0` if not supported.
+    @JsonProperty("in")
+    long inputTupleCount;
+    @JsonProperty("busy")
+    long busyTime;
+    @JsonProperty("cpu")
+    long cpuTime;
+    @JsonProperty("wait")
+    long waitTime;
+    @JsonProperty("bytesIn")
+    long bytesIn;
+    @JsonProperty("bytesOut")
+    long bytesOut;
+    @JsonProperty("memory")
+    long peakMemory;
+
+    /**
+     * Merge another profile of the same operator, which may be reported by different outputs or at different times.
+     * All the values are increasing in running, so the larger ones are newer.
+     *
+     * @param other the other profile
+     */
+    public void merge(@NonNull OperatorProfile other) {
+        if (startTimeStamp == 0 || (other.startTimeStamp != 0 && other.startTimeStamp < startTimeStamp)) {
+            startTimeStamp = other.startTimeStamp;
+        }
+        endTimeStamp = Math.max(endTimeStamp, other.endTimeStamp);
+        processedTupleCount = Math.max(processedTupleCount, other.processedTupleCount);
+        inputTupleCount = Math.max(inputTupleCount, other.inputTupleCount);
+        busyTime = Math.max(busyTime, other.busyTime);
+        cpuTime = Math.max(cpuTime, other.cpuTime);
+        waitTime = Math.max(waitTime, other.waitTime);
+        bytesIn = Math.max(bytesIn, other.bytesIn);
+        bytesOut = Math.max(bytesOut, other.bytesOut);
+        peakMemory = Math.max(peakMemory, other.peakMemory);
+    }
 
     public String detail() {
         SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS");
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.fin;
+
+import io.dingodb.exec.base.Id;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collect the statistics of an operator in running, only created if the task is profiling.
+ *
+ * <p>The tuples pushed through an output are counted in both the operator of the output and the operator linked, and
+ * the time spent in pushing is the inclusive time of the linked operator. So the time spent in the operator itself is
+ * the inclusive time minus the time spent in pushing to its outputs.
+ */
+public final class OperatorProfiler {
+    private final Id operatorId;
+    private final AtomicLong startTimeStamp = new AtomicLong(0L);
+    private final AtomicLong endTimeStamp = new AtomicLong(0L);
+    private final LongAdder inputCount = new LongAdder();
+    private final LongAdder outputCount = new LongAdder();
+    private final LongAdder inclusiveTime = new LongAdder();
+    private final LongAdder outputTime = new LongAdder();
+    private final LongAdder inclusiveCpuTime = new LongAdder();
+    private final LongAdder outputCpuTime = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final AtomicLong peakMemory = new AtomicLong(0L);
+    // Profiles of upstream operators got by fins, by operator ids.
+    private final Map<Id, OperatorProfile> received = new LinkedHashMap<>();
+
+    public OperatorProfiler(Id operatorId) {
+        this.operatorId = operatorId;
+    }
+
+    private void start() {
+        if (startTimeStamp.get() == 0L) {
+            startTimeStamp.compareAndSet(0L, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Record tuples pushed into the operator.
+     *
+     * @param count    the number of tuples
+     * @param nanos    the time spent in pushing, including the time spent by downstream operators
+     * @param cpuNanos the cpu time spent in pushing, including the cpu time spent by downstream operators
+     */
+    public void addInput(long count, long nanos, long cpuNanos) {
+        start();
+        inputCount.add(count);
+        inclusiveTime.add(nanos);
+        inclusiveCpuTime.add(cpuNanos);
+    }
+
+    /**
+     * Record tuples pushed to the outputs of the operator.
+     *
+     * @param count    the number of tuples
+     * @param nanos    the time spent by downstream operators
+     * @param cpuNanos the cpu time spent by downstream operators
+     */
+    public void addOutput(long count, long nanos, long cpuNanos) {
+        start();
+        outputCount.add(count);
+        outputTime.add(nanos);
+        outputCpuTime.add(cpuNanos);
+    }
+
+    /**
+     * Record the time spent by a source operator, including the time spent by downstream operators.
+     *
+     * @param nanos    the time
+     * @param cpuNanos the cpu time
+     */
+    public void addSourceTime(long nanos, long cpuNanos) {
+        start();
+        inclusiveTime.add(nanos);
+        inclusiveCpuTime.add(cpuNanos);
+    }
+
+    public void addWaitTime(long nanos) {
+        waitTime.add(nanos);
+    }
+
+    public void addBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    public void addBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    public void updateMemory(long bytes) {
+        peakMemory.accumulateAndGet(bytes, Math::max);
+    }
+
+    /**
+     * Merge the profiles of upstream operators.
+     *
+     * @param profiles the profiles
+     */
+    public synchronized void receive(@NonNull Collection<OperatorProfile> profiles) {
+        for (OperatorProfile profile : profiles) {
+            OperatorProfile old = received.get(profile.getOperatorId());
+            if (old == null) {
+                // Copy it, for the profiles may be shared by other operators.
+                OperatorProfile copy = new OperatorProfile();
+                copy.setOperatorId(profile.getOperatorId());
+                copy.merge(profile);
+                received.put(profile.getOperatorId(), copy);
+            } else {
+                old.merge(profile);
+            }
+        }
+    }
+
+    /**
+     * Get a snapshot of the statistics of the operator.
+     *
+     * @return the profile
+     */
+    public @NonNull OperatorProfile snapshot() {
+        OperatorProfile profile = new OperatorProfile();
+        profile.setOperatorId(operatorId);
+        profile.setStartTimeStamp(startTimeStamp.get());
+        profile.setEndTimeStamp(endTimeStamp.get());
+        profile.setInputTupleCount(inputCount.sum());
+        profile.setProcessedTupleCount(outputCount.sum());
+        profile.setBusyTime(Math.max(inclusiveTime.sum() - outputTime.sum() - waitTime.sum(), 0L));
+        profile.setCpuTime(Math.max(inclusiveCpuTime.sum() - outputCpuTime.sum(), 0L));
+        profile.setWaitTime(waitTime.sum());
+        profile.setBytesIn(bytesIn.sum());
+        profile.setBytesOut(bytesOut.sum());
+        profile.setPeakMemory(peakMemory.get());
+        return profile;
+    }
+
+    /**
+     * Get the profiles of the operator and all the upstream operators.
+     *
+     * @return the profiles
+     */
+    public synchronized @NonNull List<OperatorProfile> getProfiles() {
+        List<OperatorProfile> profiles = new ArrayList<>(received.size() + 1);
+        OperatorProfile self = snapshot();
+        OperatorProfile old = received.get(operatorId);
+        if (old != null) {
+            // The operator itself may report profiles by fins, like source operators.
+            self.merge(old);
+        }
+        for (OperatorProfile profile : received.values()) {
+            if (!profile.getOperatorId().equals(operatorId)) {
+                profiles.add(profile);
+            }
+        }
+        profiles.add(self);
+        return profiles;
+    }
+
+    /**
+     * Mark the operator finished and attach the profiles to the fin sent to downstream.
+     *
+     * @param fin the fin
+     * @return the fin with profiles of the operator and all the upstream operators
+     */
+    public @Nullable Fin finish(@Nullable Fin fin) {
+        if (fin instanceof FinWithException) {
+            return fin;
+        }
+        start();
+        endTimeStamp.set(System.currentTimeMillis());
+        if (fin instanceof FinWithProfiles) {
+            receive(((FinWithProfiles) fin).getProfiles());
+        }
+        return new FinWithProfiles(getProfiles());
+    }
+}
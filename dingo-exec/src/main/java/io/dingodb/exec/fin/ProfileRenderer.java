@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.fin;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.base.Task;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Render the operator trees of a job with the profiles of operators, one tree for each sink operator of each task.
+ */
+public final class ProfileRenderer {
+    private static final String INDENT = "  ";
+
+    private final Map<Id, OperatorProfile> profiles = new HashMap<>();
+    private final StringBuilder builder = new StringBuilder();
+
+    private ProfileRenderer(@NonNull Collection<OperatorProfile> profiles) {
+        for (OperatorProfile profile : profiles) {
+            this.profiles.computeIfAbsent(profile.getOperatorId(), k -> {
+                OperatorProfile merged = new OperatorProfile();
+                merged.setOperatorId(k);
+                return merged;
+            }).merge(profile);
+        }
+    }
+
+    /**
+     * Render the profiles.
+     *
+     * @param job      the job, whose tasks and operators are used to find the links of operators
+     * @param profiles the profiles collected by running the job
+     * @return the rendered string
+     */
+    public static @NonNull String render(@NonNull Job job, @NonNull Collection<OperatorProfile> profiles) {
+        ProfileRenderer renderer = new ProfileRenderer(profiles);
+        Task root = job.getRoot();
+        if (root != null) {
+            renderer.renderTask(root);
+        }
+        job.getTasks().values().stream()
+            .filter(t -> t != root)
+            .sorted(Comparator.comparing(Task::getId))
+            .forEach(renderer::renderTask);
+        return renderer.builder.toString();
+    }
+
+    private static @NonNull String getTypeName(@NonNull Operator operator) {
+        JsonTypeName typeName = operator.getClass().getAnnotation(JsonTypeName.class);
+        return typeName != null ? typeName.value() : operator.getClass().getSimpleName();
+    }
+
+    private static @NonNull String formatNanos(long nanos) {
+        return String.format("%.3fms", nanos / 1000000.0d);
+    }
+
+    private void renderTask(@NonNull Task task) {
+        builder.append("Task ").append(task.getId()).append(" at ").append(task.getLocation().url()).append("\n");
+        // Operators linked to each operator, by the ids of the operators linked to.
+        Map<Id, List<Operator>> upstreams = new HashMap<>();
+        List<Operator> sinks = new ArrayList<>();
+        for (Operator operator : task.getOperators().values()) {
+            Collection<Output> outputs = operator.getOutputs();
+            if (outputs.isEmpty()) {
+                sinks.add(operator);
+            }
+            for (Output output : outputs) {
+                upstreams.computeIfAbsent(output.getLink().getOperatorId(), k -> new ArrayList<>()).add(operator);
+            }
+        }
+        sinks.sort(Comparator.comparing(Operator::getId));
+        for (Operator sink : sinks) {
+            renderOperator(sink, upstreams, 1);
+        }
+    }
+
+    private void renderOperator(@NonNull Operator operator, @NonNull Map<Id, List<Operator>> upstreams, int depth) {
+        for (int i = 0; i < depth; ++i) {
+            builder.append(INDENT);
+        }
+        builder.append(getTypeName(operator)).append(" (").append(operator.getId()).append(")");
+        OperatorProfile profile = profiles.get(operator.getId());
+        if (profile != null) {
+            appendProfile(profile);
+        } else {
+            builder.append(" not run");
+        }
+        builder.append("\n");
+        List<Operator> children = upstreams.get(operator.getId());
+        if (children != null) {
+            children.sort(Comparator.comparing(Operator::getId));
+            for (Operator child : children) {
+                renderOperator(child, upstreams, depth + 1);
+            }
+        }
+    }
+
+    private void appendProfile(@NonNull OperatorProfile profile) {
+        long wallTime = profile.getStartTimeStamp() > 0 && profile.getEndTimeStamp() > 0
+            ? profile.getEndTimeStamp() - profile.getStartTimeStamp() : 0L;
+        builder.append(": wall=").append(wallTime).append("ms")
+            .append(", busy=").append(formatNanos(profile.getBusyTime()));
+        if (profile.getCpuTime() > 0) {
+            builder.append(", cpu=").append(formatNanos(profile.getCpuTime()));
+        }
+        builder.append(", rows in/out=").append(profile.getInputTupleCount())
+            .append("/").append(profile.getProcessedTupleCount());
+        if (profile.getBytesIn() > 0 || profile.getBytesOut() > 0) {
+            builder.append(", bytes in/out=").append(profile.getBytesIn()).append("/").append(profile.getBytesOut());
+        }
+        if (profile.getPeakMemory() > 0) {
+            builder.append(", memory=").append(profile.getPeakMemory());
+        }
+        if (profile.getWaitTime() > 0) {
+            builder.append(", wait=").append(formatNanos(profile.getWaitTime()));
+        }
+    }
+}
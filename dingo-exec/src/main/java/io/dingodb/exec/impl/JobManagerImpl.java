@@ -19,6 +19,7 @@ package io.dingodb.exec.impl;
 import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.common.Location;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.Services;
@@ -28,6 +29,7 @@ import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.JobManager;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.base.TaskManager;
+import io.dingodb.exec.impl.message.CancelTaskMessage;
 import io.dingodb.exec.impl.message.CreateTaskMessage;
 import io.dingodb.exec.impl.message.DestroyTaskMessage;
 import io.dingodb.exec.impl.message.RunTaskMessage;
@@ -44,6 +46,8 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public final class JobManagerImpl implements JobManager {
@@ -51,6 +55,8 @@ public final class JobManagerImpl implements JobManager {
     public static final JobManagerImpl INSTANCE = new JobManagerImpl(10);
 
     private final Map<Id, Job> jobMap = new ConcurrentHashMap<>();
+    // Timers to cancel the current runs of jobs.
+    private final Map<Id, ScheduledFuture<?>> timeoutMap = new ConcurrentHashMap<>();
     private final Map<Location, Channel> channelMap;
     private final TaskManager taskManager;
     private final IdGenerator idGenerator;
@@ -79,6 +85,7 @@ public final class JobManagerImpl implements JobManager {
 
     @Override
     public void removeJob(Id jobId) {
+        clearTimeout(jobId);
         Job job = jobMap.remove(jobId);
         if (log.isDebugEnabled()) {
             log.debug("Removed job \"{}\". # of jobs: {}.", jobId, jobMap.size());
@@ -95,7 +102,7 @@ public final class JobManagerImpl implements JobManager {
     }
 
     @Override
-    public @NonNull Iterator<Object[]> createIterator(@NonNull Job job, Object @Nullable [] paras) {
+    public @NonNull Iterator<Object[]> createIterator(@NonNull Job job, Object @Nullable [] paras, long timeout) {
         if (job.isEmpty()) {
             return Collections.emptyIterator();
         }
@@ -103,11 +110,63 @@ public final class JobManagerImpl implements JobManager {
             distributeTasks(job);
             job.setDistributed(true);
         }
-        runTasks(job, paras);
+        Id jobId = job.getJobId();
+        // A timer of the previous run must not cancel this run.
+        clearTimeout(jobId);
+        // Cancels of the job from now on are of the new run.
+        long runId = job.getRoot().newRun();
+        runTasks(job, paras, runId);
+        if (timeout > 0) {
+            timeoutMap.put(jobId, Executors.scheduleAsync(
+                "timeout-" + jobId,
+                () -> cancel(jobId, "Query timeout (" + timeout + "ms) is reached.", runId),
+                timeout,
+                TimeUnit.MILLISECONDS
+            ));
+        }
         Task root = job.getRoot();
         return ((RootOperator) root.getRoot()).getIterator();
     }
 
+    /**
+     * Cancel the last run of a job. A task finished already ignores the cancelling, and the next run is not
+     * cancelled, so it is safe to cancel a job not running.
+     */
+    @Override
+    public void cancel(Id jobId, @NonNull String reason) {
+        Job job = jobMap.get(jobId);
+        if (job == null) {
+            return;
+        }
+        cancel(job, reason, job.getRoot().getLastRunId());
+    }
+
+    private void cancel(Id jobId, @NonNull String reason, long runId) {
+        Job job = jobMap.get(jobId);
+        if (job == null) {
+            return;
+        }
+        cancel(job, reason, runId);
+    }
+
+    private void cancel(@NonNull Job job, @NonNull String reason, long runId) {
+        log.info("Cancel run {} of job \"{}\": {}", runId, job.getJobId(), reason);
+        for (Task task : job.getTasks().values()) {
+            if (task.getRoot() != null) {
+                task.cancel(reason, runId);
+                continue;
+            }
+            sendTaskMessage(task, new Message(TASK_TAG, new CancelTaskMessage(task, reason, runId).toBytes()));
+        }
+    }
+
+    private void clearTimeout(Id jobId) {
+        ScheduledFuture<?> future = timeoutMap.remove(jobId);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
     @Override
     public void close() {
         channelMap.values().forEach(Channel::close);
@@ -134,13 +193,16 @@ public final class JobManagerImpl implements JobManager {
         }
     }
 
-    private void runTasks(@NonNull Job job, Object @Nullable [] paras) {
+    private void runTasks(@NonNull Job job, Object @Nullable [] paras, long runId) {
         for (Task task : job.getTasks().values()) {
             if (task.getRoot() != null) {
-                task.run(paras);
+                task.run(paras, runId);
                 continue;
             }
-            sendTaskMessage(task, new Message(TASK_TAG, new RunTaskMessage(task, job.getParasType(), paras).toBytes()));
+            sendTaskMessage(
+                task,
+                new Message(TASK_TAG, new RunTaskMessage(task, job.getParasType(), paras, runId).toBytes())
+            );
         }
     }
 
@@ -169,6 +231,8 @@ public final class JobManagerImpl implements JobManager {
             processCommand((RunTaskMessage) taskMessage);
         } else if (taskMessage instanceof DestroyTaskMessage) {
             processCommand((DestroyTaskMessage) taskMessage);
+        } else if (taskMessage instanceof CancelTaskMessage) {
+            processCommand((CancelTaskMessage) taskMessage);
         }
     }
 
@@ -188,10 +252,14 @@ public final class JobManagerImpl implements JobManager {
 
     private void processCommand(@NonNull RunTaskMessage cmd) {
         Task task = taskManager.getTask(cmd.getJobId(), cmd.getTaskId());
-        task.run(cmd.getParas());
+        task.run(cmd.getParas(), cmd.getRunId());
     }
 
     private void processCommand(@NonNull DestroyTaskMessage cmd) {
         taskManager.removeTask(cmd.getJobId(), cmd.getTaskId());
     }
+
+    private void processCommand(@NonNull CancelTaskMessage cmd) {
+        taskManager.cancelTask(cmd.getJobId(), cmd.getTaskId(), cmd.getReason(), cmd.getRunId());
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.common.concurrent.ThreadPoolBuilder;
+import io.dingodb.exec.base.Id;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Run pipelines morsel by morsel on a fixed number of workers.
+ *
+ * <p>Each run of a pipeline processes a morsel (a batch of source tuples) and the pipeline is put back to be scheduled
+ * again if there are more. Jobs are served in round-robin, one morsel a turn, so a job with many pipelines does not
+ * starve the others. A morsel is a batch of tuples got from the iterator of the source, the ranges scanned are split
+ * in planning.
+ *
+ * <p>The workers run in a fixed pool of platform threads, one for each processor, even if the global executor uses
+ * virtual threads, for the pipelines are CPU-bound and more workers only oversubscribe the cores.
+ *
+ * <p>Pipelines which may block waiting for other pipelines (e.g. a send operator waiting for the receiver to consume
+ * the buffers) must do the waiting in {@link #block(Runnable)}, which starts a spare worker to keep the number of
+ * running workers, or the workers may be exhausted by the blocked pipelines and the job deadlocks. Spare workers run
+ * in a separate pool and quit when the blocked workers return, so no more than {@code workerNum} workers take
+ * pipelines at a time.
+ */
+@Slf4j
+public final class MorselScheduler {
+    public static final String NAME = "MORSEL";
+    public static final String SPARE_NAME = "MORSEL_SPARE";
+    public static final MorselScheduler INSTANCE = new MorselScheduler(Runtime.getRuntime().availableProcessors());
+
+    // The scheduler of the current thread, if it is a worker.
+    private static final ThreadLocal<MorselScheduler> CURRENT = new ThreadLocal<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    // Jobs having pipelines to run, in the order to be served.
+    private final Deque<JobQueue> jobs = new ArrayDeque<>();
+    private final Map<Id, JobQueue> jobMap = new HashMap<>();
+    private final int workerNum;
+    // Spare workers started for the blocked ones.
+    private final ThreadPoolExecutor sparePool;
+    // Number of workers not blocked, guarded by `lock`. It is kept to `workerNum` by starting spare workers when some
+    // are blocked, and the spare workers quit when the blocked ones return.
+    private int runningWorkerNum;
+
+    MorselScheduler(int workerNum) {
+        this.workerNum = workerNum;
+        ThreadPoolExecutor pool = new ThreadPoolBuilder()
+            .name(NAME)
+            .coreThreads(workerNum)
+            .maximumThreads(workerNum)
+            .daemon(true)
+            .build();
+        sparePool = new ThreadPoolBuilder()
+            .name(SPARE_NAME)
+            .coreThreads(0)
+            .maximumThreads(Integer.MAX_VALUE)
+            .workQueue(new SynchronousQueue<>())
+            .daemon(true)
+            .build();
+        runningWorkerNum = workerNum;
+        for (int i = 0; i < workerNum; ++i) {
+            pool.execute(() -> work(false));
+        }
+    }
+
+    /**
+     * Run a blocking action. If the current thread is a worker, another worker is started to run the other pipelines
+     * while it is blocked.
+     *
+     * @param blocking the blocking action
+     */
+    public static void block(@NonNull Runnable blocking) {
+        MorselScheduler scheduler = CURRENT.get();
+        if (scheduler == null) {
+            blocking.run();
+            return;
+        }
+        scheduler.lock.lock();
+        try {
+            if (--scheduler.runningWorkerNum < scheduler.workerNum) {
+                ++scheduler.runningWorkerNum;
+                scheduler.sparePool.execute(() -> scheduler.work(true));
+            }
+        } finally {
+            scheduler.lock.unlock();
+        }
+        try {
+            blocking.run();
+        } finally {
+            scheduler.lock.lock();
+            try {
+                ++scheduler.runningWorkerNum;
+                // Wake up the idle spare workers to quit.
+                scheduler.notEmpty.signalAll();
+            } finally {
+                scheduler.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Schedule a pipeline of a job.
+     *
+     * @param jobId    the job id
+     * @param pipeline the pipeline
+     */
+    public void submit(@NonNull Id jobId, @NonNull Pipeline pipeline) {
+        lock.lock();
+        try {
+            JobQueue queue = jobMap.computeIfAbsent(jobId, JobQueue::new);
+            // A job is in `jobs` iff it has pipelines.
+            if (queue.pipelines.isEmpty()) {
+                jobs.addLast(queue);
+            }
+            queue.pipelines.addLast(pipeline);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work(boolean spare) {
+        CURRENT.set(this);
+        try {
+            doWork(spare);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private void doWork(boolean spare) {
+        while (true) {
+            JobQueue queue;
+            Pipeline pipeline;
+            lock.lock();
+            try {
+                // If the blocked workers have returned, a spare worker quits and the fixed ones wait for it, so no
+                // more than `workerNum` workers take pipelines. There is a spare one not blocked whenever
+                // `runningWorkerNum > workerNum`, for every blocking starts one, and the fixed workers never quit.
+                while (runningWorkerNum > workerNum ? !spare : jobs.isEmpty()) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (runningWorkerNum > workerNum) {
+                    --runningWorkerNum;
+                    notEmpty.signalAll();
+                    return;
+                }
+                queue = jobs.pollFirst();
+                pipeline = queue.pipelines.pollFirst();
+                if (queue.pipelines.isEmpty()) {
+                    jobMap.remove(queue.jobId);
+                } else {
+                    jobs.addLast(queue);
+                }
+            } finally {
+                lock.unlock();
+            }
+            boolean hasMore;
+            try {
+                hasMore = pipeline.runMorsel();
+            } catch (Throwable e) {
+                log.error("Run morsel of job {} failed.", queue.jobId, e);
+                hasMore = false;
+            }
+            if (hasMore) {
+                submit(queue.jobId, pipeline);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Pipeline {
+        /**
+         * Process a morsel.
+         *
+         * @return `true` means there are more morsels to process
+         */
+        boolean runMorsel();
+    }
+
+    private static final class JobQueue {
+        private final Id jobId;
+        private final Deque<Pipeline> pipelines = new ArrayDeque<>();
+
+        private JobQueue(Id jobId) {
+            this.jobId = jobId;
+        }
+    }
+}
@@ -24,6 +24,12 @@ import io.dingodb.exec.base.Input;
 import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.base.OutputHint;
+import io.dingodb.exec.fin.CpuTimeSampler;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfiler;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.Getter;
 import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -40,6 +46,11 @@ public class OutputIml implements Output {
     @Setter
     private OutputHint hint;
 
+    // Profilers of the operator of this output and the operator linked, only set if the task is profiling.
+    private OperatorProfiler fromProfiler = null;
+    private OperatorProfiler toProfiler = null;
+    private final CpuTimeSampler cpuTimeSampler = new CpuTimeSampler();
+
     private OutputIml() {
     }
 
@@ -53,4 +64,59 @@ public class OutputIml implements Output {
         outputIml.setOperator(operator);
         return outputIml;
     }
+
+    @Override
+    public void init() {
+        Output.super.init();
+        fromProfiler = operator.getProfiler();
+        toProfiler = fromProfiler != null ? link.getOperator().getProfiler() : null;
+    }
+
+    @Override
+    public boolean push(Object[] tuple) {
+        if (fromProfiler == null) {
+            return Output.super.push(tuple);
+        }
+        long startCpuTime = cpuTimeSampler.start();
+        long startTime = System.nanoTime();
+        boolean result = Output.super.push(tuple);
+        record(1, System.nanoTime() - startTime, cpuTimeSampler.stop(startCpuTime));
+        return result;
+    }
+
+    @Override
+    public boolean pushBatch(TupleBatch batch) {
+        if (fromProfiler == null) {
+            return Output.super.pushBatch(batch);
+        }
+        long startCpuTime = cpuTimeSampler.start();
+        long startTime = System.nanoTime();
+        boolean result = Output.super.pushBatch(batch);
+        record(batch.getSize(), System.nanoTime() - startTime, cpuTimeSampler.stop(startCpuTime));
+        return result;
+    }
+
+    @Override
+    public void fin(Fin fin) {
+        if (fromProfiler == null) {
+            Output.super.fin(fin);
+            return;
+        }
+        MemoryTracker memoryTracker = operator.getMemoryTracker();
+        if (memoryTracker != null) {
+            fromProfiler.updateMemory(memoryTracker.getPeak());
+        }
+        Fin newFin = fromProfiler.finish(fin);
+        if (toProfiler != null && newFin instanceof FinWithProfiles) {
+            toProfiler.receive(((FinWithProfiles) newFin).getProfiles());
+        }
+        Output.super.fin(newFin);
+    }
+
+    private void record(long count, long nanos, long cpuNanos) {
+        fromProfiler.addOutput(count, nanos, cpuNanos);
+        if (toProfiler != null) {
+            toProfiler.addInput(count, nanos, cpuNanos);
+        }
+    }
 }
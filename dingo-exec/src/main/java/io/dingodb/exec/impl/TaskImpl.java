@@ -29,12 +29,20 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.CpuTimeSampler;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.OperatorProfiler;
 import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.memory.MemoryManager;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.operator.AbstractHashJoinOperator;
 import io.dingodb.exec.operator.AbstractOperator;
+import io.dingodb.exec.operator.IteratorSourceOperator;
+import io.dingodb.exec.operator.MergeJoinOperator;
 import io.dingodb.exec.operator.RootOperator;
 import io.dingodb.exec.operator.SourceOperator;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -44,9 +52,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
-@JsonPropertyOrder({"jobId", "location", "operators", "runList", "parasType"})
+@JsonPropertyOrder({"jobId", "location", "operators", "runList", "parasType", "profiling"})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public final class TaskImpl implements Task {
     @JsonProperty("id")
@@ -69,11 +80,26 @@ public final class TaskImpl implements Task {
     @JsonProperty("parasType")
     @Getter
     private final DingoType parasType;
+    @JsonProperty("profiling")
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    @Getter
+    @Setter
+    private boolean profiling = false;
 
     private Id rootOperatorId = null;
     private CountDownLatch activeThreads = null;
+    // Runs are serialized, not by monitors which pin the carrier thread if a virtual thread waits in them.
+    private final ReentrantLock runLock = new ReentrantLock();
     @Getter
     private TaskStatus taskInitStatus;
+    @Getter
+    private MemoryTracker memoryTracker = null;
+    // Id of the last run created or started.
+    private final AtomicLong lastRunId = new AtomicLong(0);
+    // Id of the current run.
+    private volatile long runId = 0;
+    // The last cancel, not cancelled if `null`. Checked by sources between batches of tuples.
+    private final AtomicReference<Cancel> lastCancel = new AtomicReference<>();
 
     @JsonCreator
     public TaskImpl(
@@ -115,6 +141,7 @@ public final class TaskImpl implements Task {
     public void init() {
         boolean isStatusOK = true;
         String statusErrMsg = "";
+        memoryTracker = MemoryManager.openTask(jobId, id);
         getOperators().forEach((id, o) -> {
             o.setId(id);
             o.setTask(this);
@@ -138,53 +165,144 @@ public final class TaskImpl implements Task {
     }
 
     @Override
-    public synchronized void run(Object @Nullable [] paras) {
-        if (activeThreads != null) {
-            while (true) {
-                try {
-                    activeThreads.await();
-                    break;
-                } catch (InterruptedException ignored) {
+    public long newRun() {
+        return lastRunId.incrementAndGet();
+    }
+
+    @Override
+    public long getLastRunId() {
+        return lastRunId.get();
+    }
+
+    @Override
+    public void cancel(@NonNull String reason, long runId) {
+        Cancel cancel = new Cancel(runId, reason);
+        lastCancel.accumulateAndGet(cancel, (prev, next) -> prev == null || next.runId >= prev.runId ? next : prev);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return getCancelReason(runId) != null;
+    }
+
+    private @Nullable String getCancelReason(long runId) {
+        Cancel cancel = lastCancel.get();
+        return cancel != null && cancel.runId >= runId ? cancel.reason : null;
+    }
+
+    @Override
+    public void destroy() {
+        // Stop the sources still running, for the client may be gone.
+        cancel("Task \"" + id + "\" of job \"" + jobId + "\" is destroyed.", Long.MAX_VALUE);
+        Task.super.destroy();
+        if (memoryTracker != null) {
+            MemoryManager.closeTask(jobId, memoryTracker);
+            memoryTracker = null;
+        }
+    }
+
+    @Override
+    public void run(Object @Nullable [] paras, long runId) {
+        lastRunId.accumulateAndGet(runId, Math::max);
+        runLock.lock();
+        try {
+            if (activeThreads != null) {
+                while (true) {
+                    try {
+                        activeThreads.await();
+                        break;
+                    } catch (InterruptedException ignored) {
+                    }
                 }
             }
-        }
-        activeThreads = new CountDownLatch(runList.size());
-        setParas(paras);
-        if (log.isDebugEnabled()) {
-            log.debug("Task is starting at {}...", location);
-        }
-        for (Id id : runList) {
-            final Operator operator = operators.get(id);
-            assert operator instanceof SourceOperator
-                : "Operators in run list must be source operator.";
-
-            if (taskInitStatus != null && !taskInitStatus.getStatus()) {
-                log.error("Run task but check task has init failed: {}", taskInitStatus.toString());
-                operator.fin(0, FinWithException.of(taskInitStatus));
-                break;
+            activeThreads = new CountDownLatch(runList.size());
+            // The cancels of this run may arrive before, so they are not cleared but told by run ids.
+            this.runId = runId;
+            setParas(paras);
+            if (log.isDebugEnabled()) {
+                log.debug("Task is starting at {}...", location);
             }
+            boolean morselDriven = isMorselDriven();
+            for (Id id : runList) {
+                final Operator operator = operators.get(id);
+                assert operator instanceof SourceOperator
+                    : "Operators in run list must be source operator.";
 
-            Executors.execute("execute-" + jobId + "-" + id, () -> {
-                final long startTime = System.currentTimeMillis();
-                try {
-                    while (operator.push(0, null)) {
-                        log.info("Operator {} need another pushing.", operator.getId());
-                    }
-                    operator.fin(0, null);
-                } catch (RuntimeException e) {
-                    log.error("Run Task:{} catch operator:{} run Exception:{}",
-                        getId().toString(), operator.getId(), e, e);
-                    TaskStatus taskStatus = new TaskStatus();
-                    taskStatus.setStatus(false);
-                    taskStatus.setTaskId(operator.getTask().getId().toString());
-                    taskStatus.setErrorMsg(e.toString());
-                    operator.fin(0, FinWithException.of(taskStatus));
+                if (taskInitStatus != null && !taskInitStatus.getStatus()) {
+                    log.error("Run task but check task has init failed: {}", taskInitStatus.toString());
+                    operator.fin(0, FinWithException.of(taskInitStatus));
+                    break;
                 }
-                if (log.isDebugEnabled()) {
-                    log.debug("TaskImpl run cost: {}ms.", System.currentTimeMillis() - startTime);
+
+                if (morselDriven && operator instanceof IteratorSourceOperator) {
+                    SourcePipeline pipeline = new SourcePipeline((IteratorSourceOperator) operator, runId);
+                    MorselScheduler.INSTANCE.submit(jobId, pipeline);
+                    continue;
                 }
-                activeThreads.countDown();
-            });
+                Executors.execute("execute-" + jobId + "-" + id, () -> {
+                    final long startTime = System.currentTimeMillis();
+                    try {
+                        final long startCpuTime = startCpuTime(operator);
+                        final long startNanos = System.nanoTime();
+                        while (getCancelReason(runId) == null && operator.push(0, null)) {
+                            log.info("Operator {} need another pushing.", operator.getId());
+                        }
+                        addSourceTime(operator, System.nanoTime() - startNanos, startCpuTime);
+                        finSource(operator, runId);
+                    } catch (RuntimeException e) {
+                        finWithException(operator, e);
+                    }
+                    if (log.isDebugEnabled()) {
+                        log.debug("TaskImpl run cost: {}ms.", System.currentTimeMillis() - startTime);
+                    }
+                    activeThreads.countDown();
+                });
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Joins block one input until the other is finished, so sources of them must not be run by the morsel scheduler,
+     * which may exhaust the workers.
+     */
+    private boolean isMorselDriven() {
+        return operators.values().stream()
+            .noneMatch(o -> o instanceof AbstractHashJoinOperator || o instanceof MergeJoinOperator);
+    }
+
+    private static long startCpuTime(@NonNull Operator operator) {
+        return operator.getProfiler() != null ? CpuTimeSampler.now() : -1L;
+    }
+
+    private static void addSourceTime(@NonNull Operator operator, long nanos, long startCpuTime) {
+        OperatorProfiler profiler = operator.getProfiler();
+        if (profiler != null) {
+            profiler.addSourceTime(nanos, CpuTimeSampler.since(startCpuTime));
+        }
+    }
+
+    private void finWithException(@NonNull Operator operator, @NonNull RuntimeException e) {
+        log.error("Run Task:{} catch operator:{} run Exception:{}",
+            getId().toString(), operator.getId(), e, e);
+        finWithError(operator, e.toString());
+    }
+
+    private void finWithError(@NonNull Operator operator, String errorMsg) {
+        TaskStatus taskStatus = new TaskStatus();
+        taskStatus.setStatus(false);
+        taskStatus.setTaskId(operator.getTask().getId().toString());
+        taskStatus.setErrorMsg(errorMsg);
+        operator.fin(0, FinWithException.of(taskStatus));
+    }
+
+    private void finSource(@NonNull Operator operator, long runId) {
+        String reason = getCancelReason(runId);
+        if (reason != null) {
+            finWithError(operator, reason);
+        } else {
+            operator.fin(0, null);
         }
     }
 
@@ -196,4 +314,48 @@ public final class TaskImpl implements Task {
             throw new RuntimeException(e);
         }
     }
+
+    private final class SourcePipeline implements MorselScheduler.Pipeline {
+        private final IteratorSourceOperator operator;
+        private final long runId;
+        private boolean opened = false;
+
+        private SourcePipeline(IteratorSourceOperator operator, long runId) {
+            this.operator = operator;
+            this.runId = runId;
+        }
+
+        @Override
+        public boolean runMorsel() {
+            try {
+                final long startCpuTime = startCpuTime(operator);
+                final long startNanos = System.nanoTime();
+                if (!opened) {
+                    operator.open();
+                    opened = true;
+                }
+                boolean hasMore = getCancelReason(runId) == null && operator.pushMorsel();
+                addSourceTime(operator, System.nanoTime() - startNanos, startCpuTime);
+                if (hasMore) {
+                    return true;
+                }
+                operator.close();
+                finSource(operator, runId);
+            } catch (RuntimeException e) {
+                finWithException(operator, e);
+            }
+            activeThreads.countDown();
+            return false;
+        }
+    }
+
+    private static final class Cancel {
+        private final long runId;
+        private final String reason;
+
+        private Cancel(long runId, String reason) {
+            this.runId = runId;
+            this.reason = reason;
+        }
+    }
 }
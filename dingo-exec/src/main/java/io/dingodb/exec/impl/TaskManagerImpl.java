@@ -60,6 +60,14 @@ public final class TaskManagerImpl implements TaskManager {
         throw new IllegalArgumentException("Non-existed task id \"" + id + "\".");
     }
 
+    @Override
+    public void cancelTask(Id jobId, Id taskId, @NonNull String reason, long runId) {
+        Task task = taskMap.get(taskFullId(jobId, taskId));
+        if (task != null) {
+            task.cancel(reason, runId);
+        }
+    }
+
     @Override
     public void removeTask(Id jobId, Id taskId) {
         Id taskFullId = taskFullId(jobId, taskId);
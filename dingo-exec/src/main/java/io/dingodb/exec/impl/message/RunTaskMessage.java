@@ -45,25 +45,31 @@ public class RunTaskMessage extends TaskMessage {
     private final @NonNull DingoType parasType;
     @Getter
     private final Object @Nullable [] paras;
+    @JsonProperty("run")
+    @Getter
+    private final long runId;
 
     public RunTaskMessage(
         Id jobId,
         Id taskId,
         @NonNull DingoType parasType,
-        Object @Nullable [] paras
+        Object @Nullable [] paras,
+        long runId
     ) {
         this.jobId = jobId;
         this.taskId = taskId;
         this.parasType = parasType;
         this.paras = paras;
+        this.runId = runId;
     }
 
     public RunTaskMessage(
         @NonNull Task task,
         @NonNull DingoType parasType,
-        Object @Nullable [] paras
+        Object @Nullable [] paras,
+        long runId
     ) {
-        this(task.getJobId(), task.getId(), parasType, paras);
+        this(task.getJobId(), task.getId(), parasType, paras, runId);
     }
 
     @JsonCreator
@@ -72,13 +78,14 @@ public class RunTaskMessage extends TaskMessage {
         @JsonProperty("task") Id taskId,
         @NonNull @JsonProperty("parasType") DingoType parasType,
         @JsonDeserialize(using = RawJsonDeserializer.class)
-        @JsonProperty("paras") JsonNode paras
+        @JsonProperty("paras") JsonNode paras,
+        @JsonProperty("run") long runId
     ) {
         Object[] newParas = null;
         if (paras != null) {
             newParas = (Object[]) parasType.convertFrom(paras, JsonConverter.INSTANCE);
         }
-        return new RunTaskMessage(jobId, taskId, parasType, newParas);
+        return new RunTaskMessage(jobId, taskId, parasType, newParas, runId);
     }
 
     @JsonProperty("paras")
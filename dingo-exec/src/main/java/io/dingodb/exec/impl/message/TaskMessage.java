@@ -32,6 +32,7 @@ import java.nio.charset.StandardCharsets;
     @JsonSubTypes.Type(CreateTaskMessage.class),
     @JsonSubTypes.Type(RunTaskMessage.class),
     @JsonSubTypes.Type(DestroyTaskMessage.class),
+    @JsonSubTypes.Type(CancelTaskMessage.class),
 })
 @Slf4j
 public abstract class TaskMessage {
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.memory;
+
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.util.Optional;
+import io.dingodb.exec.base.Id;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the memory trackers of the process and of the jobs running in it. The trackers are organized as a tree of
+ * process, jobs, tasks and operators, so a query exceeding its limit fails alone and the process limit is shared by
+ * all the queries.
+ */
+@Slf4j
+public final class MemoryManager {
+    public static final double DEFAULT_PROCESS_MEMORY_RATIO = 0.8;
+
+    public static final MemoryTracker PROCESS = new MemoryTracker("Process", null, processMemoryLimit());
+
+    private static final Map<Id, JobTracker> JOBS = new ConcurrentHashMap<>();
+
+    private MemoryManager() {
+    }
+
+    private static Optional<ExecutionConfiguration> execution() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution);
+    }
+
+    public static long processMemoryLimit() {
+        return execution()
+            .map(ExecutionConfiguration::getProcessMemoryLimit)
+            .filter((Long v) -> v > 0)
+            .orElse((long) (Runtime.getRuntime().maxMemory() * DEFAULT_PROCESS_MEMORY_RATIO));
+    }
+
+    public static long queryMemoryLimit() {
+        return execution()
+            .map(ExecutionConfiguration::getQueryMemoryLimit)
+            .filter((Long v) -> v > 0)
+            .orElse(0L);
+    }
+
+    /**
+     * Create the tracker of a task, under the tracker of its job, which is created for the first task of the job.
+     *
+     * @param jobId  the job id
+     * @param taskId the task id
+     * @return the tracker
+     */
+    public static @NonNull MemoryTracker openTask(@NonNull Id jobId, @NonNull Id taskId) {
+        JobTracker job = JOBS.compute(jobId, (id, t) -> {
+            if (t == null) {
+                t = new JobTracker(PROCESS.newChild("Job " + id, queryMemoryLimit()));
+            }
+            ++t.tasks;
+            return t;
+        });
+        return job.tracker.newChild("Task " + taskId, 0L);
+    }
+
+    /**
+     * Close the tracker of a task, the tracker of its job is removed after the last task is closed.
+     *
+     * @param jobId   the job id
+     * @param tracker the tracker of the task
+     */
+    public static void closeTask(@NonNull Id jobId, @NonNull MemoryTracker tracker) {
+        tracker.close();
+        JOBS.computeIfPresent(jobId, (id, t) -> {
+            if (--t.tasks > 0) {
+                return t;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Memory peak of job \"{}\": {} bytes.", id, t.tracker.getPeak());
+            }
+            t.tracker.close();
+            return null;
+        });
+    }
+
+    private static final class JobTracker {
+        private final MemoryTracker tracker;
+        // Number of tasks open, guarded by the map.
+        private int tasks = 0;
+
+        private JobTracker(MemoryTracker tracker) {
+            this.tracker = tracker;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.memory;
+
+import io.dingodb.exec.exception.MemoryLimitExceededException;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Accounts the estimated memory used by a process, a job, a task or an operator.
+ *
+ * <p>A tracker consuming memory reserves more than needed from its parent, as much as it uses but no more than
+ * {@link #RESERVATION_UNIT}, so the ancestors are locked a few times as the memory grows instead of once per tuple.
+ * The ancestors reserve exactly what the children ask for, so the overestimate is not multiplied by the levels.
+ * Memory more than the used plus the reservation ahead is handed back on releasing, and a reservation ahead failing
+ * near the limit falls back to reserving exactly what is needed.
+ */
+public final class MemoryTracker {
+    public static final long RESERVATION_UNIT = 1L << 20;
+
+    @Getter
+    private final String name;
+    private final @Nullable MemoryTracker parent;
+    // Max bytes can be used, not limited if not positive.
+    @Getter
+    private final long limit;
+
+    private long used = 0L;
+    // Bytes reserved from the parent, always not less than `used`.
+    private long reserved = 0L;
+    private long peak = 0L;
+
+    public MemoryTracker(String name, @Nullable MemoryTracker parent, long limit) {
+        this.name = name;
+        this.parent = parent;
+        this.limit = limit;
+    }
+
+    // Bytes reserved ahead for the next consuming.
+    private static long ahead(long used) {
+        return Math.min(used, RESERVATION_UNIT);
+    }
+
+    public @NonNull MemoryTracker newChild(String name, long limit) {
+        return new MemoryTracker(name, this, limit);
+    }
+
+    public synchronized long getUsed() {
+        return used;
+    }
+
+    /**
+     * Get the bytes reserved from the parent, which are not less than the used.
+     *
+     * @return the bytes reserved
+     */
+    public synchronized long getReserved() {
+        return reserved;
+    }
+
+    public synchronized long getPeak() {
+        return peak;
+    }
+
+    /**
+     * Try to consume memory, nothing is consumed if the limit of this tracker or any of the ancestors is exceeded.
+     *
+     * @param bytes the bytes to consume
+     * @return {@code false} if the memory cannot be consumed, so the caller should spill or fail
+     */
+    public boolean tryConsume(long bytes) {
+        return reserve(bytes, true) == null;
+    }
+
+    /**
+     * Consume memory, for operators which cannot spill.
+     *
+     * @param bytes the bytes to consume
+     * @throws MemoryLimitExceededException if the limit of this tracker or any of the ancestors is exceeded
+     */
+    public void consume(long bytes) {
+        MemoryTracker exceeded = reserve(bytes, true);
+        if (exceeded != null) {
+            throw new MemoryLimitExceededException(this, exceeded, bytes);
+        }
+    }
+
+    public synchronized void release(long bytes) {
+        used = Math.max(used - bytes, 0L);
+        if (parent == null) {
+            reserved = used;
+            return;
+        }
+        // Hand the slack back if the utilization is low, keep the reservation ahead to avoid reserving and releasing
+        // repeatedly.
+        long keep = used + ahead(used);
+        if (reserved > keep) {
+            parent.releaseReserved(reserved - keep);
+            reserved = keep;
+        }
+    }
+
+    /**
+     * Release all the memory used, for example, after the in-memory data are spilled.
+     */
+    public void releaseAll() {
+        release(Long.MAX_VALUE);
+    }
+
+    /**
+     * Return all the memory reserved to the parent, the tracker should not be used any more.
+     */
+    public synchronized void close() {
+        if (parent != null && reserved > 0) {
+            parent.releaseReserved(reserved);
+        }
+        used = 0L;
+        reserved = 0L;
+    }
+
+    // Release memory reserved by a child, which is handed back to the parent exactly.
+    private synchronized void releaseReserved(long bytes) {
+        bytes = Math.min(bytes, used);
+        used -= bytes;
+        if (parent == null) {
+            reserved = used;
+            return;
+        }
+        reserved -= bytes;
+        parent.releaseReserved(bytes);
+    }
+
+    /**
+     * Reserve memory from this tracker and the ancestors.
+     *
+     * @param bytes  the bytes to reserve
+     * @param direct {@code true} if consumed by the owner of this tracker, then more is reserved ahead from the
+     *               parent, or {@code false} if reserved by a child
+     * @return the tracker whose limit is exceeded, or {@code null} if succeeded
+     */
+    private synchronized @Nullable MemoryTracker reserve(long bytes, boolean direct) {
+        long newUsed = used + bytes;
+        if (limit > 0 && newUsed > limit) {
+            return this;
+        }
+        if (parent == null) {
+            reserved = newUsed;
+        } else if (newUsed > reserved) {
+            long needed = newUsed - reserved;
+            long more = direct ? needed + ahead(newUsed) : needed;
+            if (limit > 0) {
+                more = Math.min(more, limit - reserved);
+            }
+            MemoryTracker exceeded = parent.reserve(more, false);
+            if (exceeded != null && more > needed) {
+                // Reserve exactly what is needed when near the limit.
+                more = needed;
+                exceeded = parent.reserve(more, false);
+            }
+            if (exceeded != null) {
+                return exceeded;
+            }
+            reserved += more;
+        }
+        used = newUsed;
+        if (used > peak) {
+            peak = used;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return name + " (" + used + "/" + (limit > 0 ? limit : "unlimited") + " bytes)";
+    }
+}
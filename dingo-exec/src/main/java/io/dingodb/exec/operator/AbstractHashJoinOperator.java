@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Input;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.operator.join.RuntimeBloomFilter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public abstract class AbstractHashJoinOperator extends SoleOutOperator {
+    // Max number of build keys to make a runtime filter.
+    private static final int MAX_FILTER_KEYS = 1 << 16;
+
+    @JsonProperty("leftMapping")
+    protected final TupleMapping leftMapping;
+    @JsonProperty("rightMapping")
+    protected final TupleMapping rightMapping;
+    // For OUTER join, there may be no input tuples, so the length of tuple cannot be achieved.
+    @JsonProperty("leftLength")
+    protected final int leftLength;
+    @JsonProperty("rightLength")
+    protected final int rightLength;
+    @JsonProperty("leftRequired")
+    protected final boolean leftRequired;
+    @JsonProperty("rightRequired")
+    protected final boolean rightRequired;
+    // Schemas are needed to encode spill files, spilling is disabled if absent.
+    @JsonProperty("leftSchema")
+    protected final DingoType leftSchema;
+    @JsonProperty("rightSchema")
+    protected final DingoType rightSchema;
+
+    private RuntimeBloomFilter.Builder filterBuilder;
+    // Sequence number of the current run, increased on the fin of the probe side.
+    private int run = 0;
+
+    protected AbstractHashJoinOperator(
+        TupleMapping leftMapping,
+        TupleMapping rightMapping,
+        int leftLength,
+        int rightLength,
+        boolean leftRequired,
+        boolean rightRequired,
+        DingoType leftSchema,
+        DingoType rightSchema
+    ) {
+        super();
+        this.leftMapping = leftMapping;
+        this.rightMapping = rightMapping;
+        this.leftLength = leftLength;
+        this.rightLength = rightLength;
+        this.leftRequired = leftRequired;
+        this.rightRequired = rightRequired;
+        this.leftSchema = leftSchema;
+        this.rightSchema = rightSchema;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        // Probe tuples cannot be filtered if the unjoined are required.
+        if (!leftRequired) {
+            filterBuilder = new RuntimeBloomFilter.Builder(rightMapping, MAX_FILTER_KEYS);
+        }
+    }
+
+    protected @NonNull HashJoiner createJoiner(long memoryBudget) {
+        return new HashJoiner(this, memoryBudget);
+    }
+
+    /**
+     * Push a joined tuple to the output, called by the joiners.
+     *
+     * @return `false` if the output needs no more tuples
+     */
+    protected boolean emit(Object[] tuple) {
+        return output.push(tuple);
+    }
+
+    /**
+     * Add the key of a build side tuple to the runtime filter.
+     */
+    protected void addRuntimeFilterKey(Object @NonNull [] tuple) {
+        if (filterBuilder != null) {
+            filterBuilder.add(tuple);
+        }
+    }
+
+    /**
+     * Send the runtime filter of the build keys to the senders of the probe side, so that probe tuples which cannot
+     * be joined are dropped before sent. Must be called when the build side is finished.
+     */
+    protected void publishRuntimeFilter() {
+        if (filterBuilder == null) {
+            return;
+        }
+        RuntimeBloomFilter filter = filterBuilder.build(leftMapping);
+        filterBuilder.clear();
+        if (filter == null) {
+            return;
+        }
+        List<ReceiveOperator> receivers = new ArrayList<>();
+        collectReceivers(id, 0, receivers);
+        for (ReceiveOperator receiver : receivers) {
+            receiver.sendRuntimeFilter(run, filter);
+        }
+    }
+
+    /**
+     * Must be called on the fin of the probe side.
+     */
+    protected void endRun() {
+        ++run;
+        if (filterBuilder != null) {
+            filterBuilder.clear();
+        }
+    }
+
+    /**
+     * Collect the receive operators feeding the specified input directly or through coalesce operators, whose tuples
+     * are of the same layout as the input.
+     */
+    private void collectReceivers(Id operatorId, int pin, List<ReceiveOperator> receivers) {
+        for (Operator operator : task.getOperators().values()) {
+            for (Output output : operator.getOutputs()) {
+                Input link = output.getLink();
+                if (link == null || !link.getOperatorId().equals(operatorId) || (pin >= 0 && link.getPin() != pin)) {
+                    continue;
+                }
+                if (operator instanceof ReceiveOperator) {
+                    receivers.add((ReceiveOperator) operator);
+                } else if (operator instanceof CoalesceOperator) {
+                    collectReceivers(operator.getId(), -1, receivers);
+                }
+            }
+        }
+    }
+}
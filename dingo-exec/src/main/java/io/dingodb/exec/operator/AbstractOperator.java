@@ -22,8 +22,14 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.OperatorProfiler;
+import io.dingodb.exec.memory.MemoryTracker;
 import lombok.Getter;
 import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.locks.ReentrantLock;
 
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.NAME,
@@ -39,8 +45,11 @@ import lombok.Setter;
     @JsonSubTypes.Type(HashJoinOperator.class),
     @JsonSubTypes.Type(HashOperator.class),
     @JsonSubTypes.Type(LikeScanOperator.class),
+    @JsonSubTypes.Type(MergeJoinOperator.class),
+    @JsonSubTypes.Type(ParallelHashJoinOperator.class),
     @JsonSubTypes.Type(PartCountOperator.class),
     @JsonSubTypes.Type(PartDeleteOperator.class),
+    @JsonSubTypes.Type(PartIndexBackfillOperator.class),
     @JsonSubTypes.Type(PartInsertOperator.class),
     @JsonSubTypes.Type(PartitionOperator.class),
     @JsonSubTypes.Type(PartRangeDeleteOperator.class),
@@ -52,6 +61,7 @@ import lombok.Setter;
     @JsonSubTypes.Type(RootOperator.class),
     @JsonSubTypes.Type(SendOperator.class),
     @JsonSubTypes.Type(SortOperator.class),
+    @JsonSubTypes.Type(StreamingAggregateOperator.class),
     @JsonSubTypes.Type(SumUpOperator.class),
     @JsonSubTypes.Type(ValuesOperator.class),
     @JsonSubTypes.Type(RemovePartOperator.class),
@@ -65,7 +75,32 @@ public abstract class AbstractOperator implements Operator {
     @Setter
     protected Task task;
 
+    // Guards the states of the operator pushed by multiple threads. Monitors are not used, for a virtual thread blocked
+    // in pushing downstream while holding a monitor pins its carrier thread.
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    private OperatorProfiler profiler = null;
+    private MemoryTracker memoryTracker = null;
+
     @Override
     public void setParas(Object[] paras) {
     }
+
+    @Override
+    public synchronized @Nullable OperatorProfiler getProfiler() {
+        if (profiler == null && task != null && task.isProfiling()) {
+            profiler = new OperatorProfiler(id);
+        }
+        return profiler;
+    }
+
+    @Override
+    public synchronized @NonNull MemoryTracker getMemoryTracker() {
+        if (memoryTracker == null) {
+            MemoryTracker parent = task != null ? task.getMemoryTracker() : null;
+            String name = "Operator " + id;
+            memoryTracker = parent != null ? parent.newChild(name, 0L) : new MemoryTracker(name, null, 0L);
+        }
+        return memoryTracker;
+    }
 }
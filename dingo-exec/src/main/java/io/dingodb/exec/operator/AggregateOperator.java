@@ -22,18 +22,20 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.AggCache;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 
 @Slf4j
 @JsonTypeName("aggregate")
-@JsonPropertyOrder({"keys", "aggregates", "output"})
+@JsonPropertyOrder({"keys", "aggregates", "schema", "partial", "output"})
 public final class AggregateOperator extends SoleOutOperator {
     @JsonProperty("keys")
     private final TupleMapping keyMapping;
@@ -41,39 +43,73 @@ public final class AggregateOperator extends SoleOutOperator {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
+    // Schema of output tuples to encode spill files, spilling is disabled if absent.
+    @JsonProperty("schema")
+    private final DingoType schema;
+    // Output partial values to be reduced by a `ReduceOperator`.
+    @JsonProperty("partial")
+    private final boolean partial;
     private AggCache cache;
 
     @JsonCreator
     public AggregateOperator(
         @JsonProperty("keys") TupleMapping keyMapping,
-        @JsonProperty("aggregates") List<Agg> aggList
+        @JsonProperty("aggregates") List<Agg> aggList,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("partial") boolean partial
     ) {
         super();
         this.keyMapping = keyMapping;
         this.aggList = aggList;
+        this.schema = schema;
+        this.partial = partial;
     }
 
     @Override
     public void init() {
         super.init();
-        cache = new AggCache(keyMapping, aggList);
+        cache = new AggCache(keyMapping, aggList, schema, partial);
+        cache.setMemoryTracker(getMemoryTracker());
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        cache.addTuple(tuple);
-        return true;
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            cache.addTuple(tuple);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean pushBatch(int pin, TupleBatch batch) {
+        lock.lock();
+        try {
+            for (Object[] tuple : batch) {
+                cache.addTuple(tuple);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        for (Object[] t : cache) {
-            if (!output.push(t)) {
-                break;
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            for (Object[] t : cache) {
+                if (!output.push(t)) {
+                    break;
+                }
             }
+            output.fin(fin);
+            // Reset
+            cache.clear();
+        } finally {
+            lock.unlock();
         }
-        output.fin(fin);
-        // Reset
-        cache.clear();
     }
 }
@@ -24,6 +24,7 @@ import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -51,21 +52,41 @@ public final class CoalesceOperator extends SoleOutOperator {
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        return output.push(tuple);
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            return output.push(tuple);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        if (fin instanceof FinWithException) {
-            output.fin(fin);
-            return;
+    public boolean pushBatch(int pin, TupleBatch batch) {
+        lock.lock();
+        try {
+            return output.pushBatch(batch);
+        } finally {
+            lock.unlock();
         }
+    }
+
+    @Override
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            if (fin instanceof FinWithException) {
+                output.fin(fin);
+                return;
+            }
 
-        setFin(pin, fin);
-        if (isAllFin()) {
-            output.fin(new FinWithProfiles(profiles));
-            profiles.clear();
+            setFin(pin, fin);
+            if (isAllFin()) {
+                output.fin(new FinWithProfiles(profiles));
+                profiles.clear();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
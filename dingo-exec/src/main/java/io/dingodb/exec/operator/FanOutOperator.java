@@ -36,15 +36,25 @@ public abstract class FanOutOperator extends AbstractOperator {
     protected abstract int calcOutputIndex(int pin, Object @NonNull [] tuple);
 
     @Override
-    public synchronized boolean push(int pin, Object @NonNull [] tuple) {
-        int index = calcOutputIndex(pin, tuple);
-        return outputs.get(index).push(tuple);
+    public boolean push(int pin, Object @NonNull [] tuple) {
+        lock.lock();
+        try {
+            int index = calcOutputIndex(pin, tuple);
+            return outputs.get(index).push(tuple);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        for (Output output : outputs) {
-            output.fin(fin);
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            for (Output output : outputs) {
+                output.fin(fin);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
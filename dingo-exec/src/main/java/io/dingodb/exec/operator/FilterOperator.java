@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 
 @JsonTypeName("filter")
 @JsonPropertyOrder({"filter", "schema", "output"})
@@ -49,18 +50,42 @@ public final class FilterOperator extends SoleOutOperator {
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        // The eval result may be `null`
-        Boolean v = (Boolean) filter.eval(tuple);
-        if (v != null && v) {
-            return output.push(tuple);
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            if (test(tuple)) {
+                return output.push(tuple);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean pushBatch(int pin, TupleBatch batch) {
+        lock.lock();
+        try {
+            return output.pushBatch(batch.select(this::test));
+        } finally {
+            lock.unlock();
         }
-        return true;
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        output.fin(fin);
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            output.fin(fin);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean test(Object[] tuple) {
+        // The eval result may be `null`
+        Boolean v = (Boolean) filter.eval(tuple);
+        return v != null && v;
     }
 
     @Override
@@ -23,64 +23,103 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Iterators;
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.exec.Services;
 import io.dingodb.exec.codec.RawJsonDeserializer;
 import io.dingodb.exec.converter.JsonConverter;
 import io.dingodb.exec.expr.SqlExpr;
-import io.dingodb.meta.MetaService;
+import io.dingodb.exec.partition.PartitionStrategy;
+import io.dingodb.exec.table.IndexInKvStore;
+import io.dingodb.exec.table.Part;
+import io.dingodb.exec.table.PartInKvStore;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.Arrays;
-import java.util.Collection;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Get rows by the values of a secondary index. The primary keys are got from the index first, and then the rows are
+ * got from the parts of the table in batches.
+ */
 @Slf4j
 @JsonTypeName("index")
-@JsonPropertyOrder({"table", "schema", "indices", "indexValues", "filter", "selection", "output"})
+@JsonPropertyOrder({
+    "table", "schema", "keyMapping", "index", "indices", "indexValues", "strategy", "filter", "selection", "output"
+})
 public final class GetByIndexOperator extends FilterProjectSourceOperator {
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
     @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
     private final CommonId tableId;
+    @JsonProperty("keyMapping")
+    private final TupleMapping keyMapping;
+    @JsonProperty("index")
+    private final long indexId;
     @JsonProperty("indices")
     private final TupleMapping indices;
     @JsonProperty("indexValues")
     private final List<Object[]> indexValues;
+    @JsonProperty("strategy")
+    private final PartitionStrategy<CommonId, byte[]> strategy;
+
+    private KeyValueCodec codec;
+    private IndexInKvStore index;
 
     public GetByIndexOperator(
         CommonId tableId,
         DingoType schema,
+        TupleMapping keyMapping,
+        long indexId,
         TupleMapping indices,
         List<Object[]> indexValues,
+        PartitionStrategy<CommonId, byte[]> strategy,
         SqlExpr filter,
         TupleMapping selection
     ) {
         super(schema, filter, selection);
         this.tableId = tableId;
+        this.keyMapping = keyMapping;
+        this.indexId = indexId;
         this.indices = indices;
         this.indexValues = indexValues;
+        this.strategy = strategy;
     }
 
     @JsonCreator
     public static @NonNull GetByIndexOperator fromJson(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("schema") DingoType schema,
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("index") long indexId,
         @JsonProperty("indices") TupleMapping indices,
         @JsonDeserialize(using = RawJsonDeserializer.class)
         @JsonProperty("indexValues") JsonNode jsonNode,
+        @JsonProperty("strategy") PartitionStrategy<CommonId, byte[]> strategy,
         @JsonProperty("filter") SqlExpr filter,
         @JsonProperty("selection") TupleMapping selection
     ) {
         return new GetByIndexOperator(
             tableId,
             schema,
+            keyMapping,
+            indexId,
             indices,
             RawJsonDeserializer.convertBySchema(jsonNode, schema.select(indices)),
+            strategy,
             filter,
             selection
         );
@@ -96,32 +135,48 @@ public final class GetByIndexOperator extends FilterProjectSourceOperator {
 
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator() {
-        return indexValues.stream()
-            .map(this::retrieveByIndex)
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList())
-            .iterator();
+        // The rows of an index value are expected to be few, so collect all the keys first.
+        Map<CommonId, List<byte[]>> partKeys = new LinkedHashMap<>();
+        // There may be stale entries in the index, so a key may be got by different index values.
+        Set<ComparableByteArray> keySet = new HashSet<>();
+        for (Object[] values : indexValues) {
+            Iterator<Object[]> keyIterator = index.getKeys(values);
+            while (keyIterator.hasNext()) {
+                byte[] key = encodeKey(keyIterator.next());
+                if (keySet.add(new ComparableByteArray(key))) {
+                    partKeys.computeIfAbsent(strategy.calcPartId(key), k -> new ArrayList<>()).add(key);
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Got {} keys from index {} of table {}.", keySet.size(), indexId, tableId);
+        }
+        return Iterators.concat(Iterators.concat(Iterators.transform(
+            partKeys.entrySet().iterator(),
+            entry -> {
+                Part part = new PartInKvStore(Services.KV_STORE.getInstance(tableId, entry.getKey()), codec);
+                return Iterators.transform(
+                    Iterators.partition(entry.getValue().iterator(), GetByKeysOperator.BATCH_SIZE),
+                    keys -> part.get(keys).iterator()
+                );
+            }
+        )));
+    }
+
+    private byte[] encodeKey(Object @NonNull [] keyTuple) {
+        Object[] tuple = new Object[schema.fieldCount()];
+        keyMapping.map(tuple, keyTuple);
+        try {
+            return codec.encodeKey(tuple);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void init() {
         super.init();
-        MetaService metaService = MetaService.root();
-    }
-
-    private List<Object[]> retrieveByIndex(Object[] indexValues) {
-        Object[] data = new Object[schema.fieldCount()];
-        Arrays.fill(data, null);
-        boolean[] hasData = new boolean[schema.fieldCount()];
-        Arrays.fill(hasData, false);
-        for (int i = 0; i < indices.size(); ++i) {
-            data[indices.get(i)] = indexValues[i];
-            hasData[indices.get(i)] = true;
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("indices = {}, index values = {}", indices, schema.select(indices).format(indexValues));
-            log.debug("data = {}, hasData = {}", schema.format(data), hasData);
-        }
-        return null;
+        codec = CodecService.getDefault().createKeyValueCodec(tableId, schema, keyMapping);
+        index = IndexInKvStore.of(tableId, indexId, schema, keyMapping, indices);
     }
 }
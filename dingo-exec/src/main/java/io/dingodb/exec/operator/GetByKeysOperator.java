@@ -22,7 +22,9 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.Iterators;
 import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
@@ -36,15 +38,22 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static io.dingodb.common.util.NoBreakFunctions.throwException;
+import static io.dingodb.common.util.NoBreakFunctions.wrap;
+
 @Slf4j
 @JsonTypeName("get")
 @JsonPropertyOrder({"table", "part", "schema", "keyMapping", "keys", "filter", "selection", "output"})
 public final class GetByKeysOperator extends PartIteratorSourceOperator {
+    // Max number of keys got from the store in one batch.
+    public static final int BATCH_SIZE = 256;
+
     private final List<Object[]> keyTuples;
 
+    private KeyValueCodec codec;
+
     public GetByKeysOperator(
         CommonId tableId,
         CommonId partId,
@@ -82,11 +91,14 @@ public final class GetByKeysOperator extends PartIteratorSourceOperator {
 
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator() {
-        return keyTuples.stream()
-            .map(part::get)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList())
-            .iterator();
+        // Get the keys in batches lazily, so the results of the first batch can be pushed before others got.
+        return Iterators.concat(Iterators.transform(
+            Iterators.partition(keyTuples.iterator(), BATCH_SIZE),
+            keys -> part.get(keys.stream()
+                .map(wrap(codec::encodeKey, throwException()))
+                .collect(Collectors.toList())
+            ).iterator()
+        ));
     }
 
     // This method is only used by json serialization.
@@ -100,9 +112,7 @@ public final class GetByKeysOperator extends PartIteratorSourceOperator {
     @Override
     public void init() {
         super.init();
-        part = new PartInKvStore(
-            Services.KV_STORE.getInstance(tableId, partId),
-            CodecService.getDefault().createKeyValueCodec(tableId, schema, keyMapping)
-        );
+        codec = CodecService.getDefault().createKeyValueCodec(tableId, schema, keyMapping);
+        part = new PartInKvStore(Services.KV_STORE.getInstance(tableId, partId), codec);
     }
 }
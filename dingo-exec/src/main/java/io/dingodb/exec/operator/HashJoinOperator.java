@@ -20,36 +20,24 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
-import io.dingodb.exec.operator.data.TupleWithJoinFlag;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.spill.SpillConfig;
 
-import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
 
+/**
+ * Hash join with the right side as the build side. If the build side exceeds the memory budget, both sides are
+ * partitioned into spill files and joined partition by partition (grace hash join).
+ */
 @JsonTypeName("hashJoin")
-@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping"})
-public class HashJoinOperator extends SoleOutOperator {
-    @JsonProperty("leftMapping")
-    private final TupleMapping leftMapping;
-    @JsonProperty("rightMapping")
-    private final TupleMapping rightMapping;
-    // For OUTER join, there may be no input tuples, so the length of tuple cannot be achieved.
-    @JsonProperty("leftLength")
-    private final int leftLength;
-    @JsonProperty("rightLength")
-    private final int rightLength;
-    @JsonProperty("leftRequired")
-    private final boolean leftRequired;
-    @JsonProperty("rightRequired")
-    private final boolean rightRequired;
-
+@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping", "leftSchema", "rightSchema"})
+public class HashJoinOperator extends AbstractHashJoinOperator {
+    private final Condition rightFinCondition = lock.newCondition();
     boolean rightFinFlag;
-    private ConcurrentHashMap<TupleKey, List<TupleWithJoinFlag>> hashMap;
+    private HashJoiner joiner;
 
     @JsonCreator
     public HashJoinOperator(
@@ -58,91 +46,84 @@ public class HashJoinOperator extends SoleOutOperator {
         @JsonProperty("leftLength") int leftLength,
         @JsonProperty("rightLength") int rightLength,
         @JsonProperty("leftRequired") boolean leftRequired,
-        @JsonProperty("rightRequired") boolean rightRequired
+        @JsonProperty("rightRequired") boolean rightRequired,
+        @JsonProperty("leftSchema") DingoType leftSchema,
+        @JsonProperty("rightSchema") DingoType rightSchema
     ) {
-        this.leftMapping = leftMapping;
-        this.rightMapping = rightMapping;
-        this.leftLength = leftLength;
-        this.rightLength = rightLength;
-        this.leftRequired = leftRequired;
-        this.rightRequired = rightRequired;
+        super(leftMapping, rightMapping, leftLength, rightLength, leftRequired, rightRequired, leftSchema, rightSchema);
         rightFinFlag = false;
     }
 
     @Override
     public void init() {
         super.init();
-        hashMap = new ConcurrentHashMap<>();
+        joiner = createJoiner(SpillConfig.joinMemoryBudget());
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        if (pin == 0) { // left
-            waitRightFinFlag();
-            TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
-            List<TupleWithJoinFlag> rightList = hashMap.get(leftKey);
-            if (rightList != null) {
-                for (TupleWithJoinFlag t : rightList) {
-                    Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                    t.setJoined(true);
-                    if (!output.push(newTuple)) {
-                        return false;
-                    }
-                }
-            } else if (leftRequired) {
-                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
-                return output.push(newTuple);
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            if (pin == 0) { // left
+                waitRightFinFlag();
+                return joiner.probe(tuple);
+            } else if (pin == 1) { //right
+                joiner.build(tuple);
+                addRuntimeFilterKey(tuple);
             }
-        } else if (pin == 1) { //right
-            TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
-            List<TupleWithJoinFlag> list = hashMap.computeIfAbsent(rightKey, k -> new LinkedList<>());
-            list.add(new TupleWithJoinFlag(tuple));
+            return true;
+        } finally {
+            lock.unlock();
         }
-        return true;
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        if (fin instanceof FinWithException) {
-            output.fin(fin);
-            return;
-        }
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            if (fin instanceof FinWithException) {
+                output.fin(fin);
+                if (pin == 0) {
+                    joiner.reset();
+                    endRun();
+                }
+                return;
+            }
 
-        if (pin == 0) { // left
-            if (rightRequired) {
-                // should wait in case of no data push to left.
-                waitRightFinFlag();
-                outer:
-                for (List<TupleWithJoinFlag> tList : hashMap.values()) {
-                    for (TupleWithJoinFlag t : tList) {
-                        if (!t.isJoined()) {
-                            Object[] newTuple = new Object[leftLength + rightLength];
-                            Arrays.fill(newTuple, 0, leftLength, null);
-                            System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                            if (!output.push(newTuple)) {
-                                break outer;
-                            }
-                        }
-                    }
+            if (pin == 0) { // left
+                if (rightRequired || joiner.isSpilled()) {
+                    // should wait in case of no data push to left.
+                    waitRightFinFlag();
                 }
+                joiner.finish();
+                output.fin(fin);
+                joiner.reset();
+                endRun();
+            } else if (pin == 1) { //right
+                publishRuntimeFilter();
+                rightFinFlag = true;
+                rightFinCondition.signalAll();
             }
-            output.fin(fin);
-            // Reset
-            hashMap.clear();
-        } else if (pin == 1) { //right
-            rightFinFlag = true;
-            notify();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            if (joiner != null) {
+                joiner.reset();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     private void waitRightFinFlag() {
         while (!rightFinFlag) {
-            try {
-                wait();
-            } catch (InterruptedException ignored) {
-            }
+            rightFinCondition.awaitUninterruptibly();
         }
     }
 }
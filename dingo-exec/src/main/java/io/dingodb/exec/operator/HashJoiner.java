@@ -0,0 +1,293 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.codec.AvroTupleCodec;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.operator.join.JoinHashTable;
+import io.dingodb.exec.spill.SpillFile;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Joins the tuples of a hash join, or of one partition of it, with the right side as the build side. If the build
+ * side exceeds the memory budget or the memory limits, both sides are partitioned into spill files and joined partition
+ * by partition (grace hash join). Not thread-safe.
+ */
+@Slf4j
+final class HashJoiner {
+    private static final int SPILL_PARTITIONS = 16;
+    private static final int MAX_SPILL_LEVEL = 3;
+
+    private final AbstractHashJoinOperator join;
+    private final long memoryBudget;
+    private final MemoryTracker memoryTracker;
+
+    private JoinHashTable hashTable;
+    // Bytes of the hash table consumed from the memory tracker.
+    private long trackedMemory;
+    private SpillFile[] leftSpills;
+    private SpillFile[] rightSpills;
+    // Deepest level of the partitions joined by the last spilled run.
+    private int spillLevel;
+
+    HashJoiner(@NonNull AbstractHashJoinOperator join, long memoryBudget) {
+        this.join = join;
+        this.memoryBudget = memoryBudget;
+        this.memoryTracker = join.getMemoryTracker();
+        hashTable = createHashTable();
+    }
+
+    /**
+     * Mix the hash code of the join keys, so that the bits used by {@link #partitionOf} in each level and the bits
+     * used to dispatch tuples to parallel joiners are independent.
+     */
+    static int mixedHash(Object @NonNull [] tuple, @NonNull TupleMapping keys) {
+        return JoinHashTable.keyHash(tuple, keys) * 0x9E3779B9;
+    }
+
+    /**
+     * Choose the spill partition of a key. Different bits of the mixed hash code are used in each level, or a
+     * partition cannot be split again.
+     */
+    private static int partitionOf(Object @NonNull [] tuple, @NonNull TupleMapping keys, int level) {
+        int hash = Integer.rotateLeft(mixedHash(tuple, keys), level * 4);
+        return (hash >>> 16) % SPILL_PARTITIONS;
+    }
+
+    private static SpillFile @NonNull [] createSpillFiles(DingoType schema) {
+        AvroTupleCodec codec = new AvroTupleCodec(schema);
+        SpillFile[] files = new SpillFile[SPILL_PARTITIONS];
+        for (int i = 0; i < SPILL_PARTITIONS; ++i) {
+            files[i] = SpillFile.create(codec);
+        }
+        return files;
+    }
+
+    private static void closeSpillFiles(SpillFile[] files) {
+        if (files != null) {
+            for (SpillFile file : files) {
+                file.close();
+            }
+        }
+    }
+
+    boolean isSpilled() {
+        return rightSpills != null;
+    }
+
+    int getSpillLevel() {
+        return spillLevel;
+    }
+
+    void build(Object @NonNull [] tuple) {
+        if (rightSpills != null) {
+            rightSpills[partitionOf(tuple, join.rightMapping, 0)].write(tuple);
+            return;
+        }
+        hashTable.add(tuple);
+        long used = hashTable.estimateMemory();
+        if (join.leftSchema != null && join.rightSchema != null) {
+            if (used > memoryBudget || (used > trackedMemory && !memoryTracker.tryConsume(used - trackedMemory))) {
+                startSpilling();
+                return;
+            }
+        } else if (used > trackedMemory) {
+            memoryTracker.consume(used - trackedMemory);
+        }
+        trackedMemory = Math.max(trackedMemory, used);
+    }
+
+    /**
+     * Probe a left tuple. Must be called after all the right tuples are built.
+     *
+     * @return `false` if the output needs no more tuples
+     */
+    boolean probe(Object @NonNull [] tuple) {
+        if (leftSpills != null) {
+            leftSpills[partitionOf(tuple, join.leftMapping, 0)].write(tuple);
+            return true;
+        }
+        return probe(hashTable, tuple);
+    }
+
+    /**
+     * Join the spilled partitions and output the unjoined right tuples if required. Must be called after all the
+     * left tuples are probed.
+     *
+     * @return `false` if the output needs no more tuples
+     */
+    boolean finish() {
+        if (rightSpills != null) {
+            return joinSpilled();
+        }
+        return !join.rightRequired || emitUnjoined(hashTable);
+    }
+
+    void reset() {
+        hashTable = createHashTable();
+        releaseMemory();
+        closeSpillFiles(leftSpills);
+        closeSpillFiles(rightSpills);
+        leftSpills = null;
+        rightSpills = null;
+    }
+
+    private void releaseMemory() {
+        memoryTracker.release(trackedMemory);
+        trackedMemory = 0;
+    }
+
+    private @NonNull JoinHashTable createHashTable() {
+        return JoinHashTable.create(join.rightMapping, join.leftMapping, join.rightSchema, join.leftSchema);
+    }
+
+    private boolean probe(@NonNull JoinHashTable table, Object[] tuple) {
+        int leftLength = join.leftLength;
+        int rightLength = join.rightLength;
+        int index = table.find(tuple);
+        if (index != JoinHashTable.END) {
+            do {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(table.getRow(index), 0, newTuple, leftLength, rightLength);
+                table.setJoined(index);
+                if (!join.emit(newTuple)) {
+                    return false;
+                }
+                index = table.next(index);
+            } while (index != JoinHashTable.END);
+        } else if (join.leftRequired) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            return join.emit(newTuple);
+        }
+        return true;
+    }
+
+    private boolean emitUnjoined(@NonNull JoinHashTable table) {
+        int leftLength = join.leftLength;
+        int rightLength = join.rightLength;
+        for (int i = 0; i < table.getSize(); ++i) {
+            if (!table.isJoined(i)) {
+                Object[] newTuple = new Object[leftLength + rightLength];
+                Arrays.fill(newTuple, 0, leftLength, null);
+                System.arraycopy(table.getRow(i), 0, newTuple, leftLength, rightLength);
+                if (!join.emit(newTuple)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void startSpilling() {
+        log.info(
+            "Hash join {} build side exceeds memory budget or limit ({} bytes, budget {} bytes, {}), spilling to disk.",
+            join.getId(), hashTable.estimateMemory(), memoryBudget, memoryTracker
+        );
+        rightSpills = createSpillFiles(join.rightSchema);
+        leftSpills = createSpillFiles(join.leftSchema);
+        for (int i = 0; i < hashTable.getSize(); ++i) {
+            Object[] tuple = hashTable.getRow(i);
+            rightSpills[partitionOf(tuple, join.rightMapping, 0)].write(tuple);
+        }
+        hashTable = createHashTable();
+        releaseMemory();
+    }
+
+    private boolean joinSpilled() {
+        spillLevel = 1;
+        for (int i = 0; i < SPILL_PARTITIONS; ++i) {
+            if (!joinPartition(rightSpills[i], leftSpills[i], 1)) {
+                return false;
+            }
+        }
+        log.info("Hash join {} joined spilled partitions, deepest level is {}.", join.getId(), spillLevel);
+        return true;
+    }
+
+    /**
+     * Join a pair of spilled partitions in memory. If the build partition is still too large for the memory budget or
+     * the memory limits, split both of them again until {@link #MAX_SPILL_LEVEL} is reached, after which memory is
+     * consumed unconditionally and exceeding the limits fails the job.
+     *
+     * @return `false` if the output needs no more tuples
+     */
+    private boolean joinPartition(@NonNull SpillFile right, @NonNull SpillFile left, int level) {
+        if (right.getCount() == 0 && (left.getCount() == 0 || !join.leftRequired)) {
+            return true;
+        }
+        JoinHashTable table = createHashTable();
+        // Partitions are joined one by one, so only one of them holds memory at a time.
+        long consumed = 0;
+        try {
+            Iterator<Object[]> rightIterator = right.iterator();
+            while (rightIterator.hasNext()) {
+                table.add(rightIterator.next());
+                long used = table.estimateMemory();
+                if (used <= consumed) {
+                    continue;
+                }
+                if (level < MAX_SPILL_LEVEL) {
+                    if (used > memoryBudget || !memoryTracker.tryConsume(used - consumed)) {
+                        memoryTracker.release(consumed);
+                        consumed = 0;
+                        // Free the table before the sub-partitions are joined.
+                        table = null;
+                        return repartition(right, left, level);
+                    }
+                } else {
+                    memoryTracker.consume(used - consumed);
+                }
+                consumed = used;
+            }
+            Iterator<Object[]> leftIterator = left.iterator();
+            while (leftIterator.hasNext()) {
+                if (!probe(table, leftIterator.next())) {
+                    return false;
+                }
+            }
+            return !join.rightRequired || emitUnjoined(table);
+        } finally {
+            memoryTracker.release(consumed);
+        }
+    }
+
+    private boolean repartition(@NonNull SpillFile right, @NonNull SpillFile left, int level) {
+        SpillFile[] subRights = createSpillFiles(join.rightSchema);
+        SpillFile[] subLefts = createSpillFiles(join.leftSchema);
+        spillLevel = Math.max(spillLevel, level + 1);
+        try {
+            right.iterator().forEachRemaining(t -> subRights[partitionOf(t, join.rightMapping, level)].write(t));
+            left.iterator().forEachRemaining(t -> subLefts[partitionOf(t, join.leftMapping, level)].write(t));
+            for (int i = 0; i < SPILL_PARTITIONS; ++i) {
+                if (!joinPartition(subRights[i], subLefts[i], level + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            closeSpillFiles(subRights);
+            closeSpillFiles(subLefts);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -24,27 +25,59 @@ import java.util.Iterator;
 
 @Slf4j
 public abstract class IteratorSourceOperator extends SourceOperator {
+    private Iterator<Object[]> iterator;
+    private OperatorProfile profile;
+    private long count;
+    private long startTime;
+
     @Override
     public boolean push() {
-        long count = 0;
-        long startTime = System.currentTimeMillis();
-        OperatorProfile profile = getProfile();
+        open();
+        boolean hasMore;
+        do {
+            hasMore = pushMorsel();
+        } while (hasMore && !task.isCancelled());
+        close();
+        return false;
+    }
+
+    /**
+     * Start iterating, then the tuples can be pushed by {@link #pushMorsel()}.
+     */
+    public void open() {
+        count = 0;
+        startTime = System.currentTimeMillis();
+        profile = getProfile();
         profile.setStartTimeStamp(startTime);
-        Iterator<Object[]> iterator = createIterator();
-        while (iterator.hasNext()) {
-            Object[] tuple = iterator.next();
-            ++count;
-            if (!output.push(tuple)) {
-                break;
-            }
+        iterator = createIterator();
+    }
+
+    /**
+     * Push the next batch of tuples to the output.
+     *
+     * @return `true` means there are more tuples to push
+     */
+    public boolean pushMorsel() {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        Object[][] tuples = new Object[TupleBatch.DEFAULT_SIZE][];
+        int size = 0;
+        while (size < tuples.length && iterator.hasNext()) {
+            tuples[size++] = iterator.next();
         }
+        count += size;
+        return output.pushBatch(TupleBatch.of(tuples, size)) && iterator.hasNext();
+    }
+
+    public void close() {
         if (log.isDebugEnabled()) {
             log.debug("IteratorSourceOperator push,  count: {}, cost: {}ms.", count,
                 System.currentTimeMillis() - startTime);
         }
         profile.setProcessedTupleCount(count);
         profile.setEndTimeStamp(System.currentTimeMillis());
-        return false;
+        iterator = null;
     }
 
     protected abstract @NonNull Iterator<Object[]> createIterator();
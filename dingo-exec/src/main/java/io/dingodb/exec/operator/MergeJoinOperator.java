@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.utils.QueueUtils;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Sort-merge join of two inputs both ordered by the join keys. The left side drives the merging and pulls the right
+ * tuples from a bounded queue, so only the right tuples of the current key are held in memory.
+ */
+@JsonTypeName("mergeJoin")
+@JsonPropertyOrder({
+    "leftCollations", "rightCollations", "leftLength", "rightLength", "leftRequired", "rightRequired", "output"
+})
+public final class MergeJoinOperator extends SoleOutOperator {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Object[] END = new Object[0];
+
+    // The ordering of join keys in each side, must be of the same directions.
+    @JsonProperty("leftCollations")
+    private final List<SortCollation> leftCollations;
+    @JsonProperty("rightCollations")
+    private final List<SortCollation> rightCollations;
+    // For OUTER join, there may be no input tuples, so the length of tuple cannot be achieved.
+    @JsonProperty("leftLength")
+    private final int leftLength;
+    @JsonProperty("rightLength")
+    private final int rightLength;
+    @JsonProperty("leftRequired")
+    private final boolean leftRequired;
+    @JsonProperty("rightRequired")
+    private final boolean rightRequired;
+
+    private final Comparator<Object>[] comparators;
+    private final List<Object[]> group = new ArrayList<>();
+
+    private volatile BlockingQueue<Object[]> rightQueue;
+    private volatile boolean rightClosed;
+    private volatile Fin rightFin;
+    // The first right tuple after current group, or `null` if not taken yet.
+    private Object[] rightHead;
+    private boolean groupJoined;
+
+    @JsonCreator
+    @SuppressWarnings("unchecked")
+    public MergeJoinOperator(
+        @JsonProperty("leftCollations") @NonNull List<SortCollation> leftCollations,
+        @JsonProperty("rightCollations") @NonNull List<SortCollation> rightCollations,
+        @JsonProperty("leftLength") int leftLength,
+        @JsonProperty("rightLength") int rightLength,
+        @JsonProperty("leftRequired") boolean leftRequired,
+        @JsonProperty("rightRequired") boolean rightRequired
+    ) {
+        this.leftCollations = leftCollations;
+        this.rightCollations = rightCollations;
+        this.leftLength = leftLength;
+        this.rightLength = rightLength;
+        this.leftRequired = leftRequired;
+        this.rightRequired = rightRequired;
+        comparators = leftCollations.stream()
+            .map(SortCollation::makeValueComparator)
+            .toArray(Comparator[]::new);
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        reset();
+    }
+
+    @Override
+    public boolean push(int pin, Object[] tuple) {
+        if (pin == 0) { // left
+            lock.lock();
+            try {
+                return merge(tuple);
+            } finally {
+                lock.unlock();
+            }
+        } else if (pin == 1) { // right
+            if (rightClosed) {
+                return false;
+            }
+            QueueUtils.forcePut(rightQueue, tuple);
+            return !rightClosed;
+        }
+        return true;
+    }
+
+    @Override
+    public void fin(int pin, Fin fin) {
+        if (pin == 0) { // left
+            lock.lock();
+            try {
+                if (fin instanceof FinWithException) {
+                    rightClosed = true;
+                    drainRight(false);
+                } else {
+                    drainRight(flushGroup());
+                }
+                output.fin(rightFin instanceof FinWithException ? rightFin : fin);
+                reset();
+            } finally {
+                lock.unlock();
+            }
+        } else if (pin == 1) { // right
+            rightFin = fin;
+            QueueUtils.forcePut(rightQueue, END);
+        }
+    }
+
+    private void reset() {
+        rightQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        rightClosed = false;
+        rightFin = null;
+        rightHead = null;
+        group.clear();
+        groupJoined = false;
+    }
+
+    private int compare(Object @NonNull [] left, Object @NonNull [] right) {
+        for (int i = 0; i < comparators.length; ++i) {
+            int result = comparators[i].compare(
+                left[leftCollations.get(i).getIndex()],
+                right[rightCollations.get(i).getIndex()]
+            );
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private boolean merge(Object @NonNull [] tuple) {
+        if (rightFin instanceof FinWithException) {
+            return false;
+        }
+        if (!group.isEmpty() && compare(tuple, group.get(0)) != 0) {
+            if (!flushGroup()) {
+                return false;
+            }
+        }
+        if (group.isEmpty()) {
+            if (rightHead == null) {
+                rightHead = QueueUtils.forceTake(rightQueue);
+            }
+            while (rightHead != END && compare(tuple, rightHead) > 0) {
+                if (rightRequired && !output.push(leftNullTuple(rightHead))) {
+                    return false;
+                }
+                rightHead = QueueUtils.forceTake(rightQueue);
+            }
+            while (rightHead != END && compare(tuple, rightHead) == 0) {
+                group.add(rightHead);
+                rightHead = QueueUtils.forceTake(rightQueue);
+            }
+        }
+        if (group.isEmpty()) {
+            if (leftRequired) {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+                return output.push(newTuple);
+            }
+            return true;
+        }
+        groupJoined = true;
+        for (Object[] right : group) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            System.arraycopy(right, 0, newTuple, leftLength, rightLength);
+            if (!output.push(newTuple)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean flushGroup() {
+        if (rightRequired && !groupJoined) {
+            for (Object[] right : group) {
+                if (!output.push(leftNullTuple(right))) {
+                    return false;
+                }
+            }
+        }
+        group.clear();
+        groupJoined = false;
+        return true;
+    }
+
+    /**
+     * Consume the rest right tuples until the right fin, so that the right side would not be blocked.
+     */
+    private void drainRight(boolean needEmit) {
+        boolean emit = needEmit && rightRequired;
+        if (!emit) {
+            // Ask the right side to stop.
+            rightClosed = true;
+        }
+        if (rightHead == null) {
+            rightHead = QueueUtils.forceTake(rightQueue);
+        }
+        while (rightHead != END) {
+            if (emit && !output.push(leftNullTuple(rightHead))) {
+                emit = false;
+                rightClosed = true;
+            }
+            rightHead = QueueUtils.forceTake(rightQueue);
+        }
+    }
+
+    private Object @NonNull [] leftNullTuple(Object @NonNull [] right) {
+        Object[] newTuple = new Object[leftLength + rightLength];
+        System.arraycopy(right, 0, newTuple, leftLength, rightLength);
+        return newTuple;
+    }
+}
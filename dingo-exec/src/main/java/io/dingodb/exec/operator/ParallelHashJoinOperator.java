@@ -0,0 +1,346 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.spill.SpillConfig;
+import io.dingodb.exec.utils.QueueUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hash join running on multiple cores. Tuples of both sides are dispatched by the hash of their keys to partitions,
+ * each of which owns a {@link HashJoiner} driven by a worker thread, so the partitions are built and probed
+ * concurrently and no lock is held across the whole operator. The memory budget is shared among the partitions.
+ * Joined tuples are pushed to the output one thread at a time, for the downstream operators are not thread-safe.
+ */
+@Slf4j
+@JsonTypeName("parallelHashJoin")
+@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping", "leftSchema", "rightSchema", "parallelism"})
+public final class ParallelHashJoinOperator extends AbstractHashJoinOperator {
+    private static final int BATCH_SIZE = 256;
+    private static final int QUEUE_CAPACITY = 16;
+    private static final int END_PIN = -1;
+
+    @JsonProperty("parallelism")
+    private final int parallelism;
+
+    private final ReentrantLock outputLock = new ReentrantLock();
+
+    private int partitionNum;
+    private volatile Workers workers;
+
+    @JsonCreator
+    public ParallelHashJoinOperator(
+        @JsonProperty("leftMapping") TupleMapping leftMapping,
+        @JsonProperty("rightMapping") TupleMapping rightMapping,
+        @JsonProperty("leftLength") int leftLength,
+        @JsonProperty("rightLength") int rightLength,
+        @JsonProperty("leftRequired") boolean leftRequired,
+        @JsonProperty("rightRequired") boolean rightRequired,
+        @JsonProperty("leftSchema") DingoType leftSchema,
+        @JsonProperty("rightSchema") DingoType rightSchema,
+        @JsonProperty("parallelism") int parallelism
+    ) {
+        super(leftMapping, rightMapping, leftLength, rightLength, leftRequired, rightRequired, leftSchema, rightSchema);
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        // The plan may be made on a node with more cores.
+        partitionNum = Math.max(1, Math.min(parallelism, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public boolean push(int pin, Object[] tuple) {
+        Workers workers = getWorkers();
+        if (pin == 0) { // left
+            workers.awaitRightFin();
+        } else {
+            addRuntimeFilterKey(tuple);
+        }
+        return workers.dispatch(pin, tuple);
+    }
+
+    @Override
+    public void fin(int pin, Fin fin) {
+        Workers workers = getWorkers();
+        if (fin instanceof FinWithException) {
+            if (pin == 0) {
+                workers.abort();
+                this.workers = null;
+                endRun();
+            } else {
+                // Release the left side waiting for the right side.
+                workers.stop();
+            }
+            output.fin(fin);
+            return;
+        }
+
+        if (pin == 0) { // left
+            workers.awaitRightFin();
+            Throwable error = workers.finish();
+            this.workers = null;
+            endRun();
+            output.fin(error == null ? fin : FinWithException.of(errorStatus(error)));
+        } else if (pin == 1) { //right
+            publishRuntimeFilter();
+            workers.finishRight();
+        }
+    }
+
+    @Override
+    protected boolean emit(Object[] tuple) {
+        outputLock.lock();
+        try {
+            return output.push(tuple);
+        } finally {
+            outputLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Workers workers = this.workers;
+        if (workers != null) {
+            workers.abort();
+            this.workers = null;
+        }
+    }
+
+    /**
+     * Get the workers of current run, which are started on the first tuple or fin and dropped after the left fin.
+     */
+    private @NonNull Workers getWorkers() {
+        Workers workers = this.workers;
+        if (workers == null) {
+            synchronized (this) {
+                workers = this.workers;
+                if (workers == null) {
+                    workers = new Workers();
+                    this.workers = workers;
+                }
+            }
+        }
+        return workers;
+    }
+
+    private @NonNull TaskStatus errorStatus(@NonNull Throwable error) {
+        TaskStatus taskStatus = new TaskStatus();
+        taskStatus.setStatus(false);
+        taskStatus.setTaskId(task.getId().toString());
+        taskStatus.setErrorMsg(error.toString());
+        return taskStatus;
+    }
+
+    private static final class Batch {
+        private final int pin;
+        private final List<Object[]> tuples;
+
+        private Batch(int pin, List<Object[]> tuples) {
+            this.pin = pin;
+            this.tuples = tuples;
+        }
+    }
+
+    private final class Workers {
+        private final Partition[] partitions;
+        private final CountDownLatch rightFin = new CountDownLatch(1);
+        private final CountDownLatch done;
+        private volatile boolean stopped = false;
+        private volatile Throwable error = null;
+
+        private Workers() {
+            long memoryBudget = SpillConfig.joinMemoryBudget() / partitionNum;
+            partitions = new Partition[partitionNum];
+            done = new CountDownLatch(partitionNum);
+            for (int i = 0; i < partitionNum; ++i) {
+                partitions[i] = new Partition(createJoiner(memoryBudget));
+                Executors.execute("hash-join-" + id + "-" + i, partitions[i]);
+            }
+        }
+
+        private boolean dispatch(int pin, Object @NonNull [] tuple) {
+            if (stopped) {
+                return false;
+            }
+            // Use the high bits, which are not used by spilling in each partition.
+            int hash = HashJoiner.mixedHash(tuple, pin == 0 ? leftMapping : rightMapping);
+            partitions[(hash >>> 20) % partitions.length].add(pin, tuple);
+            return !stopped;
+        }
+
+        private void awaitRightFin() {
+            while (true) {
+                try {
+                    rightFin.await();
+                    return;
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+
+        private void finishRight() {
+            for (Partition partition : partitions) {
+                partition.flush(1);
+            }
+            rightFin.countDown();
+        }
+
+        /**
+         * Flush the left tuples and wait until all the partitions are joined.
+         *
+         * @return the error occurred in workers, or `null` if none
+         */
+        private Throwable finish() {
+            for (Partition partition : partitions) {
+                partition.flush(0);
+                partition.put(new Batch(END_PIN, null));
+            }
+            awaitDone();
+            return error;
+        }
+
+        private void stop() {
+            stopped = true;
+            rightFin.countDown();
+        }
+
+        private void abort() {
+            stop();
+            for (Partition partition : partitions) {
+                partition.put(new Batch(END_PIN, null));
+            }
+            awaitDone();
+        }
+
+        private void awaitDone() {
+            while (true) {
+                try {
+                    done.await();
+                    return;
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+
+        private final class Partition implements Runnable {
+            private final HashJoiner joiner;
+            private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            // Guarded by this, index by pin.
+            private final List<Object[]>[] buffers;
+
+            @SuppressWarnings("unchecked")
+            private Partition(HashJoiner joiner) {
+                this.joiner = joiner;
+                buffers = new List[]{new ArrayList<>(BATCH_SIZE), new ArrayList<>(BATCH_SIZE)};
+            }
+
+            private void add(int pin, Object[] tuple) {
+                List<Object[]> full = null;
+                synchronized (this) {
+                    buffers[pin].add(tuple);
+                    if (buffers[pin].size() >= BATCH_SIZE) {
+                        full = buffers[pin];
+                        buffers[pin] = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                if (full != null) {
+                    put(new Batch(pin, full));
+                }
+            }
+
+            private void flush(int pin) {
+                List<Object[]> rest;
+                synchronized (this) {
+                    rest = buffers[pin];
+                    buffers[pin] = new ArrayList<>(BATCH_SIZE);
+                }
+                if (!rest.isEmpty()) {
+                    put(new Batch(pin, rest));
+                }
+            }
+
+            private void put(Batch batch) {
+                QueueUtils.forcePut(queue, batch);
+            }
+
+            @Override
+            public void run() {
+                // Always drain the queue until the end, or the dispatching threads may be blocked.
+                Batch batch;
+                while ((batch = QueueUtils.forceTake(queue)).pin != END_PIN) {
+                    if (!stopped) {
+                        try {
+                            process(batch);
+                        } catch (RuntimeException e) {
+                            fail(e);
+                        }
+                    }
+                }
+                try {
+                    if (!stopped && !joiner.finish()) {
+                        stopped = true;
+                    }
+                } catch (RuntimeException e) {
+                    fail(e);
+                } finally {
+                    joiner.reset();
+                    done.countDown();
+                }
+            }
+
+            private void fail(RuntimeException exception) {
+                log.error("Hash join {} failed in worker.", id, exception);
+                error = exception;
+                stopped = true;
+            }
+
+            private void process(@NonNull Batch batch) {
+                if (batch.pin == 1) {
+                    batch.tuples.forEach(joiner::build);
+                    return;
+                }
+                for (Object[] tuple : batch.tuples) {
+                    if (!joiner.probe(tuple)) {
+                        stopped = true;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -23,18 +23,23 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.Map;
 
 @JsonTypeName("delete")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "output"})
 public final class PartDeleteOperator extends PartModifyOperator {
     @JsonCreator
     public PartDeleteOperator(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("part") CommonId partId,
         @JsonProperty("schema") DingoType schema,
-        @JsonProperty("keyMapping") TupleMapping keyMapping
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") Map<Long, TupleMapping> indexMappings
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexMappings);
     }
 
     @Override
@@ -43,10 +48,12 @@ public final class PartDeleteOperator extends PartModifyOperator {
     }
 
     @Override
-    protected boolean pushTuple(Object[] tuple) {
-        if (part.remove(tuple)) {
-            count++;
+    protected long modify(@NonNull List<Object[]> tuples) {
+        List<Boolean> results = part.remove(tuples);
+        if (!indexes.isEmpty()) {
+            List<Object[]> removed = selectTrue(tuples, results);
+            indexes.forEach(index -> index.remove(removed));
         }
-        return true;
+        return countTrue(results);
     }
 }
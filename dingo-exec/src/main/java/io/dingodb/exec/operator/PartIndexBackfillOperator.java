@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Add the entries of existing rows of a part to the secondary indexes, the input tuples are rows scanned from the part.
+ */
+@JsonTypeName("indexBackfill")
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "output"})
+public final class PartIndexBackfillOperator extends PartModifyOperator {
+    // Index entries are small, so they are written in larger batches than rows.
+    public static final int BACKFILL_BATCH_SIZE = 8192;
+
+    @JsonCreator
+    public PartIndexBackfillOperator(
+        @JsonProperty("table") CommonId tableId,
+        @JsonProperty("part") CommonId partId,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") Map<Long, TupleMapping> indexMappings
+    ) {
+        super(tableId, partId, schema, keyMapping, indexMappings);
+    }
+
+    @Override
+    protected int getBatchSize() {
+        return BACKFILL_BATCH_SIZE;
+    }
+
+    @Override
+    protected long modify(@NonNull List<Object[]> tuples) {
+        indexes.forEach(index -> index.insert(tuples));
+        return tuples.size();
+    }
+}
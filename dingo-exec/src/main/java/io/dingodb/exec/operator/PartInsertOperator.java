@@ -24,18 +24,26 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.converter.ValueConverter;
+import io.dingodb.exec.table.IndexInKvStore;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @JsonTypeName("insert")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "output"})
 public final class PartInsertOperator extends PartModifyOperator {
     @JsonCreator
     public PartInsertOperator(
         @JsonProperty("table") CommonId tableId,
         @JsonProperty("part") CommonId partId,
         @JsonProperty("schema") DingoType schema,
-        @JsonProperty("keyMapping") TupleMapping keyMapping
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") Map<Long, TupleMapping> indexMappings
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexMappings);
     }
 
     @Override
@@ -45,10 +53,22 @@ public final class PartInsertOperator extends PartModifyOperator {
 
     @SuppressWarnings("ConstantConditions")
     @Override
-    public boolean pushTuple(Object[] tuple) {
-        if (part.insert((Object[]) schema.convertFrom(tuple, ValueConverter.INSTANCE))) {
-            count++;
+    protected long modify(@NonNull List<Object[]> tuples) {
+        List<Object[]> newTuples = tuples.stream()
+            .map(tuple -> (Object[]) schema.convertFrom(tuple, ValueConverter.INSTANCE))
+            .collect(Collectors.toList());
+        indexes.forEach(index -> index.insert(newTuples));
+        List<Boolean> results = part.insert(newTuples);
+        if (!indexes.isEmpty()) {
+            Object[][] rows = getRowsNotWritten(newTuples, results);
+            for (IndexInKvStore index : indexes) {
+                index.remove(IntStream.range(0, newTuples.size())
+                    .filter(i -> !results.get(i) && isStale(index, newTuples.get(i), rows[i]))
+                    .mapToObj(newTuples::get)
+                    .collect(Collectors.toList())
+                );
+            }
         }
-        return true;
+        return countTrue(results);
     }
 }
@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.operator;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -26,11 +27,23 @@ import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.table.IndexInKvStore;
 import io.dingodb.exec.table.Part;
 import io.dingodb.exec.table.PartInKvStore;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 public abstract class PartModifyOperator extends SoleOutOperator {
+    // Max number of tuples written to the store in one batch.
+    public static final int BATCH_SIZE = 1024;
+
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
     @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
@@ -43,21 +56,82 @@ public abstract class PartModifyOperator extends SoleOutOperator {
     protected final DingoType schema;
     @JsonProperty("keyMapping")
     protected final TupleMapping keyMapping;
+    // Mappings of index columns of the secondary indexes to be maintained, by index ids.
+    @JsonProperty("indexes")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    protected final Map<Long, TupleMapping> indexMappings;
 
     protected Part part = null;
+    protected List<IndexInKvStore> indexes = null;
     protected long count;
 
+    private final List<Object[]> buffer = new ArrayList<>();
+
     protected PartModifyOperator(
         CommonId tableId,
         CommonId partId,
         DingoType schema,
-        TupleMapping keyMapping
+        TupleMapping keyMapping,
+        @Nullable Map<Long, TupleMapping> indexMappings
     ) {
         super();
         this.tableId = tableId;
         this.partId = partId;
         this.schema = schema;
         this.keyMapping = keyMapping;
+        this.indexMappings = indexMappings != null ? indexMappings : Collections.emptyMap();
+    }
+
+    protected static long countTrue(@NonNull List<Boolean> results) {
+        return results.stream().filter(Boolean::booleanValue).count();
+    }
+
+    protected static @NonNull List<Object[]> selectTrue(
+        @NonNull List<Object[]> tuples,
+        @NonNull List<Boolean> results
+    ) {
+        return IntStream.range(0, tuples.size())
+            .filter(results::get)
+            .mapToObj(tuples::get)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Check if the index entry added for a tuple not written is stale, i.e. not the entry of the existing row.
+     *
+     * @param index the index
+     * @param tuple the tuple not written
+     * @param row   the existing row of the same key, {@code null} if absent
+     * @return {@code true} if stale
+     */
+    protected static boolean isStale(@NonNull IndexInKvStore index, Object @NonNull [] tuple, Object @Nullable [] row) {
+        return row == null || index.isChanged(tuple, row);
+    }
+
+    /**
+     * Get the existing rows of the same keys of the tuples not written.
+     *
+     * @param tuples  the tuples
+     * @param results whether each tuple is written
+     * @return the rows in the order of the tuples, {@code null} if the tuple is written or the row is absent
+     */
+    protected Object @NonNull [][] getRowsNotWritten(@NonNull List<Object[]> tuples, @NonNull List<Boolean> results) {
+        Object[][] rows = new Object[tuples.size()][];
+        for (int i = 0; i < tuples.size(); ++i) {
+            if (!results.get(i)) {
+                rows[i] = part.get(tuples.get(i));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Get the max number of tuples written to the store in one batch.
+     *
+     * @return the batch size
+     */
+    protected int getBatchSize() {
+        return BATCH_SIZE;
     }
 
     protected Part getPart() {
@@ -71,25 +145,61 @@ public abstract class PartModifyOperator extends SoleOutOperator {
     public void init() {
         super.init();
         count = 0;
+        buffer.clear();
     }
 
     @Override
-    public synchronized boolean push(int pin, @Nullable Object[] tuple) {
-        if (part == null) {
-            part = getPart();
+    public boolean push(int pin, @Nullable Object[] tuple) {
+        lock.lock();
+        try {
+            buffer.add(tuple);
+            if (buffer.size() >= getBatchSize()) {
+                flush();
+            }
+            return true;
+        } finally {
+            lock.unlock();
         }
-        return pushTuple(tuple);
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        if (!(fin instanceof FinWithException)) {
-            output.push(new Object[]{count});
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            if (!(fin instanceof FinWithException)) {
+                flush();
+                output.push(new Object[]{count});
+            }
+            output.fin(fin);
+            // Reset
+            count = 0;
+            buffer.clear();
+        } finally {
+            lock.unlock();
         }
-        output.fin(fin);
-        // Reset
-        count = 0;
     }
 
-    protected abstract boolean pushTuple(@Nullable Object[] tuple);
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        if (part == null) {
+            part = getPart();
+            indexes = indexMappings.entrySet().stream()
+                .map(e -> IndexInKvStore.of(tableId, e.getKey(), schema, keyMapping, e.getValue()))
+                .collect(Collectors.toList());
+        }
+        count += modify(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Write the buffered tuples to the part. The entries of secondary indexes must be added before writing rows and
+     * removed after, so that an index lookup may get stale entries but never miss a row. The entries added for tuples
+     * not written must be removed, unless they are also the entries of the existing rows.
+     *
+     * @param tuples the input tuples
+     * @return number of tuples affected
+     */
+    protected abstract long modify(@NonNull List<Object[]> tuples);
 }
@@ -48,7 +48,7 @@ import java.util.stream.IntStream;
 @JsonTypeName("scan")
 @JsonPropertyOrder({
     "table", "part", "schema", "keyMapping", "filter", "selection", "output",
-    "startKey", "endKey", "includeStart", "includeEnd", "prefixScan"
+    "startKey", "endKey", "includeStart", "includeEnd", "prefixScan", "limit"
 })
 public final class PartRangeScanOperator extends PartIteratorSourceOperator {
     @JsonProperty("startKey")
@@ -68,6 +68,9 @@ public final class PartRangeScanOperator extends PartIteratorSourceOperator {
     private final DingoType outputSchema;
     @JsonProperty("pushDown")
     private final boolean pushDown;
+    // Max number of tuples to output, no limit if negative.
+    @JsonProperty("limit")
+    private final int limit;
 
     private Coprocessor coprocessor = null;
 
@@ -86,7 +89,8 @@ public final class PartRangeScanOperator extends PartIteratorSourceOperator {
         @JsonProperty("aggKeys") TupleMapping aggKeys,
         @JsonProperty("aggList") @JsonDeserialize(contentAs = AbstractAgg.class) List<Agg> aggList,
         @JsonProperty("outSchema") DingoType outSchema,
-        @JsonProperty("pushDown") boolean pushDown
+        @JsonProperty("pushDown") boolean pushDown,
+        @JsonProperty("limit") int limit
     ) {
         super(tableId, partId, schema, keyMapping, filter, selection);
         this.startKey = startKey;
@@ -97,6 +101,14 @@ public final class PartRangeScanOperator extends PartIteratorSourceOperator {
         this.aggList = aggList;
         this.outputSchema = outSchema;
         this.pushDown = pushDown;
+        this.limit = limit;
+    }
+
+    @Override
+    protected @NonNull Iterator<Object[]> createIterator() {
+        Iterator<Object[]> iterator = super.createIterator();
+        // The store iterator fetches lazily, so no more data is scanned once the limit is reached.
+        return limit >= 0 ? Iterators.limit(iterator, limit) : iterator;
     }
 
     @Override
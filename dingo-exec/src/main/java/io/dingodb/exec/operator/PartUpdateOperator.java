@@ -25,14 +25,21 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.converter.ValueConverter;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.table.IndexInKvStore;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 @JsonTypeName("update")
-@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "mapping", "updates", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "indexes", "mapping", "updates", "output"})
 public final class PartUpdateOperator extends PartModifyOperator {
     @JsonProperty("mapping")
     private final TupleMapping mapping;
@@ -45,10 +52,11 @@ public final class PartUpdateOperator extends PartModifyOperator {
         @JsonProperty("part") CommonId partId,
         @JsonProperty("schema") DingoType schema,
         @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("indexes") Map<Long, TupleMapping> indexMappings,
         @JsonProperty("mapping") TupleMapping mapping,
         @JsonProperty("updates") List<SqlExpr> updates
     ) {
-        super(tableId, partId, schema, keyMapping);
+        super(tableId, partId, schema, keyMapping, indexMappings);
         this.mapping = mapping;
         this.updates = updates;
     }
@@ -60,7 +68,56 @@ public final class PartUpdateOperator extends PartModifyOperator {
     }
 
     @Override
-    public boolean pushTuple(Object[] tuple) {
+    protected long modify(@NonNull List<Object[]> tuples) {
+        List<Object[]> newTuples = new ArrayList<>(tuples.size());
+        List<Object[]> oldTuples = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            Object[] newTuple = updateTuple(tuple);
+            if (newTuple != null) {
+                newTuples.add((Object[]) schema.convertFrom(newTuple, ValueConverter.INSTANCE));
+                oldTuples.add(Arrays.copyOf(tuple, schema.fieldCount()));
+            }
+        }
+        if (newTuples.isEmpty()) {
+            return 0;
+        }
+        List<List<Integer>> changedList = new ArrayList<>(indexes.size());
+        for (IndexInKvStore index : indexes) {
+            List<Integer> changed = IntStream.range(0, newTuples.size())
+                .filter(i -> index.isChanged(newTuples.get(i), oldTuples.get(i)))
+                .boxed()
+                .collect(Collectors.toList());
+            index.insert(changed.stream().map(newTuples::get).collect(Collectors.toList()));
+            changedList.add(changed);
+        }
+        List<Boolean> results = part.update(newTuples, oldTuples);
+        if (!indexes.isEmpty()) {
+            Object[][] rows = getRowsNotWritten(newTuples, results);
+            for (int j = 0; j < indexes.size(); ++j) {
+                IndexInKvStore index = indexes.get(j);
+                List<Integer> changed = changedList.get(j);
+                index.remove(changed.stream()
+                    .filter(results::get)
+                    .map(oldTuples::get)
+                    .collect(Collectors.toList())
+                );
+                index.remove(changed.stream()
+                    .filter(i -> !results.get(i) && isStale(index, newTuples.get(i), rows[i]))
+                    .map(newTuples::get)
+                    .collect(Collectors.toList())
+                );
+            }
+        }
+        return countTrue(results);
+    }
+
+    /**
+     * Calc the new tuple to update.
+     *
+     * @param tuple the input tuple
+     * @return the new tuple, or {@code null} if nothing changed
+     */
+    private Object @Nullable [] updateTuple(Object @NonNull [] tuple) {
         // The input tuple contains all old values and the new values, so make a new tuple for updating.
         // The new values are not converted to correct type, so are useless.
         int tupleSize = schema.fieldCount();
@@ -79,20 +136,13 @@ public final class PartUpdateOperator extends PartModifyOperator {
                     updated = true;
                 }
             }
-            updated = updated && part.update(
-                (Object[]) schema.convertFrom(newTuple, ValueConverter.INSTANCE),
-                Arrays.copyOf(tuple, tupleSize)
-            );
-            if (updated) {
-                count++;
-            }
         } catch (Exception ex) {
             log.error("update operator with expr:{}, exception:{}",
                 updates.get(i) == null ? "None" : updates.get(i).getExprString(),
                 ex, ex);
             throw new RuntimeException("Update Operator catch Exception");
         }
-        return true;
+        return updated ? newTuple : null;
     }
 
     @Override
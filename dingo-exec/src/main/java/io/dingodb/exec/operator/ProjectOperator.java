@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.List;
 
@@ -51,17 +53,46 @@ public final class ProjectOperator extends SoleOutOperator {
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        Object[] newTuple = new Object[projects.size()];
-        for (int i = 0; i < newTuple.length; ++i) {
-            newTuple[i] = projects.get(i).eval(tuple);
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            return output.push(project(tuple));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean pushBatch(int pin, TupleBatch batch) {
+        lock.lock();
+        try {
+            int size = batch.getSize();
+            Object[][] newTuples = new Object[size][];
+            for (int i = 0; i < size; ++i) {
+                newTuples[i] = project(batch.get(i));
+            }
+            return output.pushBatch(TupleBatch.of(newTuples, size));
+        } finally {
+            lock.unlock();
         }
-        return output.push(newTuple);
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        output.fin(fin);
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            output.fin(fin);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object @NonNull [] project(Object[] tuple) {
+        Object[] newTuple = new Object[projects.size()];
+        for (int i = 0; i < newTuple.length; ++i) {
+            newTuple[i] = projects.get(i).eval(tuple);
+        }
+        return newTuple;
     }
 
     @Override
@@ -24,10 +24,17 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.channel.ReceiveEndpoint;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.codec.TxRxCodecImpl;
+import io.dingodb.exec.exception.MemoryLimitExceededException;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.fin.OperatorProfiler;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.operator.join.RuntimeBloomFilter;
+import io.dingodb.exec.tuple.TupleBatch;
+import io.dingodb.exec.utils.MemoryUtils;
 import io.dingodb.exec.utils.QueueUtils;
 import io.dingodb.exec.utils.TagUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -55,6 +62,9 @@ public final class ReceiveOperator extends SourceOperator {
     private BlockingQueue<Object[]> tupleQueue;
     private ReceiveEndpoint endpoint;
     private Fin finObj;
+    private MemoryTracker memoryTracker;
+    // Set by the receiving thread if the memory limits are exceeded, to fail the task on FIN.
+    private volatile String memoryError;
 
     @JsonCreator
     public ReceiveOperator(
@@ -74,12 +84,27 @@ public final class ReceiveOperator extends SourceOperator {
         codec = new TxRxCodecImpl(schema);
         tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
         tag = TagUtils.tag(getTask().getJobId(), getId());
+        memoryTracker = getMemoryTracker();
+        OperatorProfiler profiler = getProfiler();
         endpoint = new ReceiveEndpoint(host, port, tag, (byte[] content) -> {
+            if (profiler != null) {
+                profiler.addBytesIn(content.length);
+            }
             try {
                 List<Object[]> tuples = codec.decode(content);
                 for (Object[] tuple : tuples) {
-                    if (!endpoint.isStopped() || tuple[0] instanceof Fin) {
+                    if (tuple[0] instanceof Fin) {
                         QueueUtils.forcePut(tupleQueue, tuple);
+                    } else if (!endpoint.isStopped()) {
+                        try {
+                            memoryTracker.consume(MemoryUtils.estimateTupleSize(tuple));
+                            QueueUtils.forcePut(tupleQueue, tuple);
+                        } catch (MemoryLimitExceededException e) {
+                            // Stop the sender and wait for its FIN, so that no tuples are left for the next run.
+                            log.error("(tag = {}) {}", tag, e.getMessage());
+                            memoryError = e.toString();
+                            endpoint.stop();
+                        }
                     }
                 }
             } catch (IOException e) {
@@ -111,18 +136,43 @@ public final class ReceiveOperator extends SourceOperator {
         long count = 0;
         OperatorProfile profile = getProfile();
         profile.setStartTimeStamp(System.currentTimeMillis());
+        OperatorProfiler profiler = getProfiler();
+        Object[][] tuples = new Object[TupleBatch.DEFAULT_SIZE][];
         while (true) {
-            Object[] tuple = QueueUtils.forceTake(tupleQueue);
-            if (!(tuple[0] instanceof Fin)) {
-                ++count;
+            Object[] tuple;
+            if (profiler != null) {
+                long startTime = System.nanoTime();
+                tuple = QueueUtils.forceTake(tupleQueue);
+                profiler.addWaitTime(System.nanoTime() - startTime);
+            } else {
+                tuple = QueueUtils.forceTake(tupleQueue);
+            }
+            // Take out the tuples already in queue without blocking to push them in a batch.
+            int size = 0;
+            while (!(tuple[0] instanceof Fin)) {
+                tuples[size++] = tuple;
+                if (size == tuples.length || (tuple = tupleQueue.poll()) == null) {
+                    break;
+                }
+            }
+            if (size > 0) {
+                long bytes = 0;
+                for (int i = 0; i < size; ++i) {
+                    bytes += MemoryUtils.estimateTupleSize(tuples[i]);
+                }
+                memoryTracker.release(bytes);
+                count += size;
                 if (log.isDebugEnabled()) {
-                    log.debug("(tag = {}) Take out tuple {} from receiving queue.", tag, schema.format(tuple));
+                    log.debug("(tag = {}) Take out {} tuples from receiving queue.", tag, size);
                 }
-                if (!output.push(tuple)) {
+                // Drop the tuples if cancelled, then the sender is stopped and sends FIN.
+                if (!endpoint.isStopped() && (task.isCancelled() || !output.pushBatch(TupleBatch.of(tuples, size)))) {
                     endpoint.stop();
                     // Stay in loop to receive FIN.
                 }
-            } else {
+                tuples = new Object[TupleBatch.DEFAULT_SIZE][];
+            }
+            if (tuple != null && tuple[0] instanceof Fin) {
                 if (log.isDebugEnabled()) {
                     log.debug("(tag = {}) Take out FIN.", tag);
                 }
@@ -134,12 +184,30 @@ public final class ReceiveOperator extends SourceOperator {
                 } else if (fin instanceof FinWithException) {
                     finObj = fin;
                 }
+                if (memoryError != null) {
+                    TaskStatus status = new TaskStatus();
+                    status.setStatus(false);
+                    status.setTaskId(getTask().getId().toString());
+                    status.setErrorMsg(memoryError);
+                    finObj = FinWithException.of(status);
+                    memoryError = null;
+                }
                 break;
             }
         }
         return false;
     }
 
+    /**
+     * Send a runtime filter to the sender, which may drop the tuples not passing it.
+     *
+     * @param run    sequence number of the task run
+     * @param filter the filter
+     */
+    public void sendRuntimeFilter(int run, RuntimeBloomFilter filter) {
+        endpoint.sendRuntimeFilter(run, filter);
+    }
+
     @Override
     public void destroy() {
         safeCloseEndpoint();
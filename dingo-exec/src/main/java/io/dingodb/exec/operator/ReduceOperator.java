@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
@@ -31,7 +32,7 @@ import io.dingodb.exec.fin.Fin;
 import java.util.List;
 
 @JsonTypeName("reduce")
-@JsonPropertyOrder({"inputNum", "keys", "aggregates", "output"})
+@JsonPropertyOrder({"inputNum", "keys", "aggregates", "schema", "output"})
 public final class ReduceOperator extends SoleOutOperator {
     @JsonProperty("keys")
     private final TupleMapping keys;
@@ -39,38 +40,56 @@ public final class ReduceOperator extends SoleOutOperator {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
+    // Schema of output tuples to encode spill files, spilling is disabled if absent.
+    @JsonProperty("schema")
+    private final DingoType schema;
 
     private AggCache cache;
 
     @JsonCreator
     public ReduceOperator(
         @JsonProperty("keys") TupleMapping keys,
-        @JsonProperty("aggregates") List<Agg> aggList
+        @JsonProperty("aggregates") List<Agg> aggList,
+        @JsonProperty("schema") DingoType schema
     ) {
         super();
         this.keys = keys;
         this.aggList = aggList;
+        this.schema = schema;
     }
 
     @Override
     public void init() {
         super.init();
-        cache = new AggCache(keys, aggList);
+        cache = new AggCache(keys, aggList, schema, false);
+        cache.setMemoryTracker(getMemoryTracker());
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        cache.reduce(tuple);
-        return true;
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            cache.reduce(tuple);
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        for (Object[] t : cache) {
-            if (!output.push(t)) {
-                break;
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            for (Object[] t : cache) {
+                if (!output.push(t)) {
+                    break;
+                }
             }
+            output.fin(fin);
+            // Reset
+            cache.clear();
+        } finally {
+            lock.unlock();
         }
-        output.fin(fin);
     }
 }
@@ -24,11 +24,18 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.exception.TaskFinException;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.fin.OperatorProfiler;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.tuple.TupleBatch;
+import io.dingodb.exec.utils.MemoryUtils;
 import io.dingodb.exec.utils.QueueUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 
@@ -41,6 +48,8 @@ public final class RootOperator extends SinkOperator {
     private final DingoType schema;
     private Fin errorFin;
     private BlockingQueue<Object[]> tupleQueue;
+    // The queue is not bounded for the results are fetched by clients, so the tuples in it must be tracked.
+    private MemoryTracker memoryTracker;
 
     @JsonCreator
     public RootOperator(
@@ -54,6 +63,7 @@ public final class RootOperator extends SinkOperator {
     public void init() {
         super.init();
         tupleQueue = new LinkedBlockingDeque<>();
+        memoryTracker = getMemoryTracker();
     }
 
     @Override
@@ -61,10 +71,27 @@ public final class RootOperator extends SinkOperator {
         if (log.isDebugEnabled()) {
             log.debug("Put tuple {} into root queue.", schema.format(tuple));
         }
+        memoryTracker.consume(MemoryUtils.estimateTupleSize(tuple));
         QueueUtils.forcePut(tupleQueue, tuple);
         return true;
     }
 
+    @Override
+    public boolean pushBatch(TupleBatch batch) {
+        if (log.isDebugEnabled()) {
+            log.debug("Put {} tuples into root queue.", batch.getSize());
+        }
+        long size = 0;
+        for (Object[] tuple : batch) {
+            size += MemoryUtils.estimateTupleSize(tuple);
+        }
+        memoryTracker.consume(size);
+        for (Object[] tuple : batch) {
+            QueueUtils.forcePut(tupleQueue, tuple);
+        }
+        return true;
+    }
+
     @Override
     public void fin(Fin fin) {
         if (fin instanceof FinWithException) {
@@ -75,11 +102,29 @@ public final class RootOperator extends SinkOperator {
                 log.debug("Got FIN with detail:\n{}", fin.detail());
             }
         }
+        OperatorProfiler profiler = getProfiler();
+        if (profiler != null) {
+            profiler.finish(fin);
+        }
         QueueUtils.forcePut(tupleQueue, FIN);
     }
 
+    /**
+     * Get the profiles of all the operators of the job, must be called after all the tuples are got.
+     *
+     * @return the profiles, or empty if the task is not profiling
+     */
+    public @NonNull List<OperatorProfile> getProfiles() {
+        OperatorProfiler profiler = getProfiler();
+        return profiler != null ? profiler.getProfiles() : Collections.emptyList();
+    }
+
     public Object @NonNull [] popValue() {
-        return QueueUtils.forceTake(tupleQueue);
+        Object[] tuple = QueueUtils.forceTake(tupleQueue);
+        if (tuple != FIN) {
+            memoryTracker.release(MemoryUtils.estimateTupleSize(tuple));
+        }
+        return tuple;
     }
 
     public @NonNull TupleIterator getIterator() {
@@ -23,13 +23,18 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.channel.SendEndpoint;
+import io.dingodb.exec.channel.message.ApplyRuntimeFilter;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.codec.TxRxCodecImpl;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.OperatorProfiler;
+import io.dingodb.exec.operator.join.RuntimeBloomFilter;
+import io.dingodb.exec.tuple.TupleBatch;
 import io.dingodb.exec.utils.TagUtils;
 import io.dingodb.net.BufferOutputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
 import java.util.LinkedList;
@@ -52,6 +57,7 @@ public final class SendOperator extends SinkOperator {
     private final List<Object[]> tupleList;
     private TxRxCodec codec;
     private SendEndpoint endpoint;
+    private int run = 0;
 
     private transient int maxBufferSize;
 
@@ -91,7 +97,15 @@ public final class SendOperator extends SinkOperator {
 
     @Override
     public boolean push(Object[] tuple) {
+        if (endpoint.isStopped()) {
+            tupleList.clear();
+            return false;
+        }
         try {
+            RuntimeBloomFilter filter = getRuntimeFilter();
+            if (filter != null && !filter.mightContain(tuple)) {
+                return true;
+            }
             tupleList.add(tuple);
             if (tupleList.size() >= SEND_BATCH_SIZE) {
                 return sendTupleList();
@@ -102,14 +116,42 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
+    @Override
+    public boolean pushBatch(TupleBatch batch) {
+        if (endpoint.isStopped()) {
+            tupleList.clear();
+            return false;
+        }
+        try {
+            RuntimeBloomFilter filter = getRuntimeFilter();
+            for (Object[] tuple : batch) {
+                if (filter == null || filter.mightContain(tuple)) {
+                    tupleList.add(tuple);
+                }
+            }
+            if (tupleList.size() >= SEND_BATCH_SIZE) {
+                return sendTupleList();
+            }
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public void fin(Fin fin) {
+        ++run;
         try {
-            BufferOutputStream bos = endpoint.getOutputStream(maxBufferSize);
-            codec.encodeFin(bos, fin);
             if (!(fin instanceof FinWithException)) {
                 sendTupleList();
             }
+            OperatorProfiler profiler = getProfiler();
+            if (profiler != null) {
+                // Attach the profiles after the tuples are sent, so that all the bytes are counted.
+                fin = profiler.finish(fin);
+            }
+            BufferOutputStream bos = endpoint.getOutputStream(maxBufferSize);
+            codec.encodeFin(bos, fin);
             if (log.isDebugEnabled()) {
                 log.debug("Send FIN with detail:\n{}", fin.detail());
             }
@@ -119,6 +161,12 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
+    private @Nullable RuntimeBloomFilter getRuntimeFilter() {
+        ApplyRuntimeFilter msg = endpoint.getRuntimeFilter();
+        // Filters of previous runs may arrive late.
+        return msg != null && msg.getRun() == run ? msg.getFilter() : null;
+    }
+
     private boolean sendTupleList() throws IOException {
         if (!tupleList.isEmpty()) {
             BufferOutputStream bos = endpoint.getOutputStream(maxBufferSize);
@@ -126,6 +174,10 @@ public final class SendOperator extends SinkOperator {
             if (bos.bytes() > maxBufferSize) {
                 maxBufferSize = bos.bytes();
             }
+            OperatorProfiler profiler = getProfiler();
+            if (profiler != null) {
+                profiler.addBytesOut(bos.bytes());
+            }
             boolean result = endpoint.send(bos);
             tupleList.clear();
             return result;
@@ -19,6 +19,7 @@ package io.dingodb.exec.operator;
 import com.google.common.collect.ImmutableList;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.List;
@@ -30,13 +31,33 @@ public abstract class SinkOperator extends AbstractOperator {
     protected abstract boolean push(Object[] tuple);
 
     @Override
-    public synchronized boolean push(int pin, Object @NonNull [] tuple) {
-        return push(tuple);
+    public boolean push(int pin, Object @NonNull [] tuple) {
+        lock.lock();
+        try {
+            return push(tuple);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        fin(fin);
+    public boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        lock.lock();
+        try {
+            return pushBatch(batch);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            fin(fin);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -44,6 +65,15 @@ public abstract class SinkOperator extends AbstractOperator {
         return ImmutableList.of();
     }
 
+    protected boolean pushBatch(@NonNull TupleBatch batch) {
+        for (Object[] tuple : batch) {
+            if (!push(tuple)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected abstract void fin(Fin fin);
 
 }
@@ -20,37 +20,70 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.codec.AvroTupleCodec;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.memory.MemoryTracker;
 import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.spill.MergeIterator;
+import io.dingodb.exec.spill.SpillConfig;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.utils.MemoryUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
+/**
+ * Sort the tuples and apply the offset and limit. If there is a limit, only the top `offset + limit` tuples are kept
+ * in a bounded heap, so it can also be used as a partial Top-N before the tuples are coalesced. Otherwise, sorted runs
+ * are spilled to disk when the memory budget or the memory limits are exceeded and merged on output (external merge
+ * sort).
+ */
+@Slf4j
 @JsonTypeName("sort")
-@JsonPropertyOrder({"collations", "limit", "offset", "output"})
+@JsonPropertyOrder({"collations", "limit", "offset", "schema", "output"})
 public class SortOperator extends SoleOutOperator {
+    private static final int INITIAL_HEAP_CAPACITY = 1024;
+
     @JsonProperty("collations")
     private final List<SortCollation> collations;
     @JsonProperty("limit")
     private final int limit;
     @JsonProperty("offset")
     private final int offset;
+    // Schema is needed to encode spill files, spilling is disabled if absent.
+    @JsonProperty("schema")
+    private final DingoType schema;
 
     private final List<Object[]> cache;
     private final Comparator<Object[]> comparator;
+    // Max-heap of the top tuples, the top is the first to be evicted.
+    private final PriorityQueue<Object[]> heap;
+    private final long topN;
+    private final List<SpillFile> runs;
+
+    private long memoryBudget;
+    private long cacheMemory;
+    private MemoryTracker memoryTracker;
 
     @JsonCreator
     public SortOperator(
         @JsonProperty("collations") @NonNull List<SortCollation> collations,
         @JsonProperty("limit") int limit,
-        @JsonProperty("offset") int offset
+        @JsonProperty("offset") int offset,
+        @JsonProperty("schema") DingoType schema
     ) {
         this.limit = limit;
         this.offset = offset;
         this.collations = collations;
-        this.cache = new LinkedList<>();
+        this.schema = schema;
+        this.cache = new ArrayList<>();
+        this.runs = new ArrayList<>();
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -60,39 +93,132 @@ public class SortOperator extends SoleOutOperator {
         } else {
             comparator = null;
         }
+        topN = (long) offset + limit;
+        if (comparator != null && limit > 0) {
+            heap = new PriorityQueue<>((int) Math.min(topN, INITIAL_HEAP_CAPACITY), comparator.reversed());
+        } else {
+            heap = null;
+        }
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        if (limit == 0) {
-            return false;
-        }
-        cache.add(tuple);
-        return collations.size() > 0 || limit < 0 || cache.size() < offset + limit;
+    public void init() {
+        super.init();
+        memoryBudget = SpillConfig.sortMemoryBudget();
+        memoryTracker = getMemoryTracker();
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        if (comparator != null) {
-            cache.sort(comparator);
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            if (limit == 0) {
+                return false;
+            }
+            if (heap != null) {
+                if (heap.size() < topN) {
+                    heap.add(tuple);
+                } else if (comparator.compare(tuple, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(tuple);
+                }
+                return true;
+            }
+            long size = MemoryUtils.estimateTupleSize(tuple);
+            if (comparator != null && schema != null) {
+                // Spill if the memory limits are reached even the budget is not.
+                boolean consumed = memoryTracker.tryConsume(size);
+                cache.add(tuple);
+                cacheMemory += size;
+                if (!consumed || cacheMemory > memoryBudget) {
+                    spillRun();
+                }
+            } else {
+                memoryTracker.consume(size);
+                cache.add(tuple);
+                cacheMemory += size;
+            }
+            return collations.size() > 0 || limit < 0 || cache.size() < offset + limit;
+        } finally {
+            lock.unlock();
         }
-        int o = 0;
-        int c = 0;
-        for (Object[] tuple : cache) {
-            if (o < offset) {
-                ++o;
-                continue;
+    }
+
+    @Override
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            if (heap != null) {
+                cache.addAll(heap);
+                heap.clear();
             }
-            if (limit >= 0 && c >= limit) {
-                break;
+            if (comparator != null) {
+                cache.sort(comparator);
             }
-            if (!output.push(tuple)) {
-                break;
+            Iterator<Object[]> iterator = cache.iterator();
+            if (!runs.isEmpty()) {
+                List<Iterator<Object[]>> iterators = new ArrayList<>(runs.size() + 1);
+                runs.forEach(r -> iterators.add(r.iterator()));
+                iterators.add(iterator);
+                iterator = new MergeIterator(iterators, comparator);
             }
-            ++c;
+            int o = 0;
+            int c = 0;
+            while (iterator.hasNext()) {
+                Object[] tuple = iterator.next();
+                if (o < offset) {
+                    ++o;
+                    continue;
+                }
+                if (limit >= 0 && c >= limit) {
+                    break;
+                }
+                if (!output.push(tuple)) {
+                    break;
+                }
+                ++c;
+            }
+            output.fin(fin);
+        } finally {
+            reset();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void spillRun() {
+        if (runs.isEmpty()) {
+            log.info(
+                "Sort {} exceeds memory budget or limit ({} bytes, budget {} bytes, {}), spilling to disk.",
+                id, cacheMemory, memoryBudget, memoryTracker
+            );
         }
-        output.fin(fin);
-        // Reset
+        cache.sort(comparator);
+        SpillFile run = SpillFile.create(new AvroTupleCodec(schema));
+        runs.add(run);
+        cache.forEach(run::write);
+        run.finish();
+        cache.clear();
+        cacheMemory = 0;
+        memoryTracker.releaseAll();
+    }
+
+    private void reset() {
         cache.clear();
+        cacheMemory = 0;
+        if (memoryTracker != null) {
+            memoryTracker.releaseAll();
+        }
+        runs.forEach(SpillFile::close);
+        runs.clear();
     }
 }
@@ -38,18 +38,28 @@ public abstract class SourceOperator extends SoleOutOperator {
     }
 
     @Override
-    public synchronized boolean push(int pin, Object[] tuple) {
-        return push();
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            return push();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        if (fin instanceof FinWithException) {
-            output.fin(fin);
-        } else {
-            output.fin(new FinWithProfiles(profiles));
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            if (fin instanceof FinWithException) {
+                output.fin(fin);
+            } else {
+                output.fin(new FinWithProfiles(profiles));
+            }
+            profiles.clear();
+        } finally {
+            lock.unlock();
         }
-        profiles.clear();
     }
 
     public abstract boolean push();
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ArrayUtils;
+import io.dingodb.exec.aggregate.AbstractAgg;
+import io.dingodb.exec.aggregate.Agg;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregation of input tuples ordered by the group keys, so that tuples of a group are adjacent. A group is output
+ * as soon as the keys change, and only the aggregating contexts of the current group are kept.
+ */
+@JsonTypeName("streamingAggregate")
+@JsonPropertyOrder({"keys", "aggregates", "output"})
+public final class StreamingAggregateOperator extends SoleOutOperator {
+    @JsonProperty("keys")
+    private final TupleMapping keyMapping;
+    @JsonProperty("aggregates")
+    @JsonSerialize(contentAs = AbstractAgg.class)
+    @JsonDeserialize(contentAs = AbstractAgg.class)
+    private final List<Agg> aggList;
+
+    private Object[] currentKey;
+    private Object[] vars;
+
+    @JsonCreator
+    public StreamingAggregateOperator(
+        @JsonProperty("keys") TupleMapping keyMapping,
+        @JsonProperty("aggregates") List<Agg> aggList
+    ) {
+        super();
+        this.keyMapping = keyMapping;
+        this.aggList = aggList;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        vars = new Object[aggList.size()];
+    }
+
+    @Override
+    public boolean push(int pin, Object[] tuple) {
+        lock.lock();
+        try {
+            return add(tuple);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean pushBatch(int pin, TupleBatch batch) {
+        lock.lock();
+        try {
+            for (Object[] tuple : batch) {
+                if (!add(tuple)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            if (!(fin instanceof FinWithException) && currentKey != null) {
+                output.push(getRow());
+            }
+            output.fin(fin);
+            // Reset
+            currentKey = null;
+            Arrays.fill(vars, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean add(Object @NonNull [] tuple) {
+        Object[] key = keyMapping.revMap(tuple);
+        if (currentKey == null || !Arrays.equals(key, currentKey)) {
+            if (currentKey != null && !output.push(getRow())) {
+                currentKey = null;
+                return false;
+            }
+            currentKey = key;
+            Arrays.fill(vars, null);
+        }
+        for (int i = 0; i < vars.length; ++i) {
+            Agg agg = aggList.get(i);
+            vars[i] = vars[i] == null ? agg.first(tuple) : agg.add(vars[i], tuple);
+        }
+        return true;
+    }
+
+    private Object @NonNull [] getRow() {
+        Object[] values = new Object[vars.length];
+        for (int i = 0; i < vars.length; ++i) {
+            values[i] = aggList.get(i).getValue(vars[i]);
+        }
+        return ArrayUtils.concat(currentKey, values);
+    }
+}
@@ -34,16 +34,26 @@ public class SumUpOperator extends SoleOutOperator {
     }
 
     @Override
-    public synchronized boolean push(int pin, Object @NonNull [] tuple) {
-        sum += (long) tuple[0];
-        return true;
+    public boolean push(int pin, Object @NonNull [] tuple) {
+        lock.lock();
+        try {
+            sum += (long) tuple[0];
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void fin(int pin, Fin fin) {
-        output.push(new Object[]{sum});
-        output.fin(fin);
-        // Reset
-        sum = 0;
+    public void fin(int pin, Fin fin) {
+        lock.lock();
+        try {
+            output.push(new Object[]{sum});
+            output.fin(fin);
+            // Reset
+            sum = 0;
+        } finally {
+            lock.unlock();
+        }
     }
 }
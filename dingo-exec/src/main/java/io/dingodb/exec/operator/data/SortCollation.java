@@ -30,8 +30,11 @@ public class SortCollation {
     @JsonProperty("nullDirection")
     private final SortNullDirection nullDirection;
 
+    /**
+     * Make a comparator of values of the sorted column, which may be from different tuples.
+     */
     @SuppressWarnings("unchecked")
-    public Comparator<Object[]> makeComparator() {
+    public Comparator<Object> makeValueComparator() {
         Comparator<Comparable<Object>> c = direction == SortDirection.DESCENDING
             ? Comparator.reverseOrder()
             : Comparator.naturalOrder();
@@ -40,6 +43,10 @@ public class SortCollation {
                 ? Comparator.nullsFirst(c)
                 : Comparator.nullsLast(c);
         }
-        return Comparator.comparing((Object[] tuple) -> (Comparable<Object>) tuple[index], c);
+        return (Comparator<Object>) (Comparator<?>) c;
+    }
+
+    public Comparator<Object[]> makeComparator() {
+        return Comparator.comparing((Object[] tuple) -> tuple[index], makeValueComparator());
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+
+final class GenericJoinHashTable extends JoinHashTable {
+    private int[] hashes;
+
+    GenericJoinHashTable(TupleMapping buildKeys, TupleMapping probeKeys) {
+        super(buildKeys, probeKeys);
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+        hashes = new int[capacity];
+    }
+
+    @Override
+    protected long keysMemory() {
+        return (long) hashes.length * Integer.BYTES;
+    }
+
+    @Override
+    protected int findBuildSlot(Object @NonNull [] row) {
+        return locate(row, buildKeys);
+    }
+
+    @Override
+    protected int findProbeSlot(Object @NonNull [] tuple) {
+        return locate(tuple, probeKeys);
+    }
+
+    @Override
+    protected void setKey(int slot, Object @NonNull [] row) {
+        hashes[slot] = keyHash(row, buildKeys);
+    }
+
+    private int locate(Object @NonNull [] tuple, @NonNull TupleMapping keys) {
+        int hash = keyHash(tuple, keys);
+        int slot = spread(hash) & mask;
+        while (slots[slot] != END) {
+            if (hashes[slot] == hash && keyEquals(tuple, keys, getRow(slots[slot]))) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean keyEquals(Object @NonNull [] tuple, @NonNull TupleMapping keys, Object @NonNull [] row) {
+        for (int i = 0; i < keys.size(); ++i) {
+            if (!Objects.equals(tuple[keys.get(i)], row[buildKeys.get(i)])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
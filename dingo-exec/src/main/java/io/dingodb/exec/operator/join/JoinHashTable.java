@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.utils.MemoryUtils;
+import io.dingodb.expr.core.TypeCode;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Hash table of the build side of a hash join.
+ *
+ * <p>Build rows are kept in an array and referred to by their indexes. Distinct keys are located by open addressing
+ * with linear probing, rows of the same key are chained through the {@code next} array, and the joined flags are kept
+ * in a bitset. Subclasses decide how keys are stored and compared.
+ */
+public abstract class JoinHashTable {
+    public static final int END = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    protected final TupleMapping buildKeys;
+    protected final TupleMapping probeKeys;
+
+    // Head row of each slot, the extra last slot is reserved for null keys if the subclass needs it.
+    protected int[] slots;
+    protected int mask;
+
+    private Object[][] rows;
+    private int[] next;
+    private final BitSet joined;
+    @Getter
+    private int size;
+    private int keyCount;
+    private long rowBytes;
+
+    protected JoinHashTable(TupleMapping buildKeys, TupleMapping probeKeys) {
+        this.buildKeys = buildKeys;
+        this.probeKeys = probeKeys;
+        this.rows = new Object[INITIAL_CAPACITY][];
+        this.next = new int[INITIAL_CAPACITY];
+        this.joined = new BitSet();
+        this.size = 0;
+        this.keyCount = 0;
+        this.rowBytes = 0;
+    }
+
+    /**
+     * Create a join hash table. Single column keys of the same type on both sides get specialized implementations.
+     *
+     * @param buildKeys   key mapping of the build side
+     * @param probeKeys   key mapping of the probe side
+     * @param buildSchema schema of the build side, may be null
+     * @param probeSchema schema of the probe side, may be null
+     * @return the table
+     */
+    public static @NonNull JoinHashTable create(
+        @NonNull TupleMapping buildKeys,
+        @NonNull TupleMapping probeKeys,
+        @Nullable DingoType buildSchema,
+        @Nullable DingoType probeSchema
+    ) {
+        JoinHashTable table = new GenericJoinHashTable(buildKeys, probeKeys);
+        if (buildKeys.size() == 1 && buildSchema != null && probeSchema != null) {
+            int buildType = buildSchema.getChild(buildKeys.get(0)).getTypeCode();
+            int probeType = probeSchema.getChild(probeKeys.get(0)).getTypeCode();
+            if (buildType == probeType) {
+                switch (buildType) {
+                    case TypeCode.INT:
+                    case TypeCode.LONG:
+                        table = new LongKeyJoinHashTable(buildKeys, probeKeys);
+                        break;
+                    case TypeCode.STRING:
+                        table = new StringKeyJoinHashTable(buildKeys, probeKeys);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        table.allocateSlots(INITIAL_CAPACITY * 2);
+        return table;
+    }
+
+    /**
+     * Hash code of the key columns, same as {@link Arrays#hashCode(Object[])} of the key tuple.
+     */
+    public static int keyHash(Object @NonNull [] tuple, @NonNull TupleMapping keys) {
+        int hash = 1;
+        for (int i = 0; i < keys.size(); ++i) {
+            Object value = tuple[keys.get(i)];
+            hash = 31 * hash + (value == null ? 0 : value.hashCode());
+        }
+        return hash;
+    }
+
+    protected static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public void add(Object @NonNull [] row) {
+        if (size == rows.length) {
+            int capacity = rows.length * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        int index = size++;
+        rows[index] = row;
+        rowBytes += MemoryUtils.estimateTupleSize(row);
+        int slot = findBuildSlot(row);
+        if (slots[slot] == END) {
+            setKey(slot, row);
+            next[index] = END;
+            slots[slot] = index;
+            if (++keyCount * 2 > mask + 1) {
+                rehash((mask + 1) * 2);
+            }
+        } else {
+            next[index] = slots[slot];
+            slots[slot] = index;
+        }
+    }
+
+    /**
+     * Find the build rows matching a probe tuple.
+     *
+     * @param tuple the probe tuple
+     * @return the index of the first matched row, or {@link #END} if not found
+     */
+    public int find(Object @NonNull [] tuple) {
+        return slots[findProbeSlot(tuple)];
+    }
+
+    public int next(int index) {
+        return next[index];
+    }
+
+    public Object[] getRow(int index) {
+        return rows[index];
+    }
+
+    public void setJoined(int index) {
+        joined.set(index);
+    }
+
+    public boolean isJoined(int index) {
+        return joined.get(index);
+    }
+
+    public long estimateMemory() {
+        return rowBytes
+            + (long) rows.length * (MemoryUtils.REFERENCE + Integer.BYTES)
+            + (long) slots.length * Integer.BYTES
+            + keysMemory()
+            + joined.size() / Byte.SIZE;
+    }
+
+    private void allocateSlots(int capacity) {
+        slots = new int[capacity + 1];
+        Arrays.fill(slots, END);
+        mask = capacity - 1;
+        allocateKeys(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldSlots = slots;
+        allocateSlots(capacity);
+        for (int head : oldSlots) {
+            if (head != END) {
+                Object[] row = rows[head];
+                int slot = findBuildSlot(row);
+                setKey(slot, row);
+                slots[slot] = head;
+            }
+        }
+    }
+
+    protected final int nullSlot() {
+        return mask + 1;
+    }
+
+    protected abstract void allocateKeys(int capacity);
+
+    protected abstract long keysMemory();
+
+    /**
+     * Find the slot of the key of a build row, either the slot holding the same key or an empty one.
+     */
+    protected abstract int findBuildSlot(Object @NonNull [] row);
+
+    /**
+     * Find the slot of the key of a probe tuple, either the slot holding the same key or an empty one.
+     */
+    protected abstract int findProbeSlot(Object @NonNull [] tuple);
+
+    /**
+     * Called when a new key is put into an empty slot.
+     */
+    protected abstract void setKey(int slot, Object @NonNull [] row);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Join hash table for a single {@code INT} or {@code LONG} key column, keys are stored unboxed in the slots.
+ */
+final class LongKeyJoinHashTable extends JoinHashTable {
+    private final int buildIndex;
+    private final int probeIndex;
+    private long[] keys;
+
+    LongKeyJoinHashTable(TupleMapping buildKeys, TupleMapping probeKeys) {
+        super(buildKeys, probeKeys);
+        buildIndex = buildKeys.get(0);
+        probeIndex = probeKeys.get(0);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+        keys = new long[capacity];
+    }
+
+    @Override
+    protected long keysMemory() {
+        return (long) keys.length * Long.BYTES;
+    }
+
+    @Override
+    protected int findBuildSlot(Object @NonNull [] row) {
+        return locate(row[buildIndex]);
+    }
+
+    @Override
+    protected int findProbeSlot(Object @NonNull [] tuple) {
+        return locate(tuple[probeIndex]);
+    }
+
+    @Override
+    protected void setKey(int slot, Object @NonNull [] row) {
+        if (slot != nullSlot()) {
+            keys[slot] = ((Number) row[buildIndex]).longValue();
+        }
+    }
+
+    private int locate(Object value) {
+        if (value == null) {
+            return nullSlot();
+        }
+        long key = ((Number) value).longValue();
+        int slot = hash(key) & mask;
+        while (slots[slot] != END && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
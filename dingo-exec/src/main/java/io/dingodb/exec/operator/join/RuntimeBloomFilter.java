@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter of the join keys of the build side, used to drop probe side tuples which cannot be joined before they
+ * are sent to the join.
+ *
+ * <p>Keys are hashed by {@link JoinHashTable#keyHash(Object[], TupleMapping)}, which is consistent with the key
+ * equality of join hash tables, so there is no false negatives.
+ */
+@JsonPropertyOrder({"keys", "hashNum", "bits"})
+public final class RuntimeBloomFilter {
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASH_NUM = 3;
+
+    // Key mapping of the probe side.
+    @JsonProperty("keys")
+    @Getter
+    private final TupleMapping keys;
+    @JsonProperty("hashNum")
+    private final int hashNum;
+    @JsonProperty("bits")
+    private final long[] bits;
+
+    @JsonCreator
+    public RuntimeBloomFilter(
+        @JsonProperty("keys") TupleMapping keys,
+        @JsonProperty("hashNum") int hashNum,
+        @JsonProperty("bits") long[] bits
+    ) {
+        this.keys = keys;
+        this.hashNum = hashNum;
+        this.bits = bits;
+    }
+
+    private static long spread(int hash) {
+        return hash * 0x9E3779B97F4A7C15L;
+    }
+
+    public boolean mightContain(Object @NonNull [] tuple) {
+        long mixed = spread(JoinHashTable.keyHash(tuple, keys));
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        long mask = bits.length * 64L - 1;
+        for (int i = 0; i < hashNum; ++i) {
+            long index = (h1 + i * h2) & mask;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collect key hashes of the build side, the filter is sized by the number of keys when built.
+     */
+    public static final class Builder {
+        private final TupleMapping buildKeys;
+        private final int maxKeys;
+        private int[] hashes;
+        private int size;
+        private boolean overflow;
+
+        /**
+         * Create a builder.
+         *
+         * @param buildKeys key mapping of the build side
+         * @param maxKeys   max number of keys, no filter is built if exceeded
+         */
+        public Builder(TupleMapping buildKeys, int maxKeys) {
+            this.buildKeys = buildKeys;
+            this.maxKeys = maxKeys;
+            this.hashes = new int[64];
+            this.size = 0;
+            this.overflow = false;
+        }
+
+        /**
+         * Add the key of a build side tuple.
+         *
+         * @param tuple the tuple
+         * @return `false` if there are too many keys to build a filter
+         */
+        public boolean add(Object @NonNull [] tuple) {
+            if (size == maxKeys) {
+                overflow = true;
+                hashes = null;
+            }
+            if (overflow) {
+                return false;
+            }
+            if (size == hashes.length) {
+                hashes = Arrays.copyOf(hashes, Math.min(hashes.length * 2, maxKeys));
+            }
+            hashes[size++] = JoinHashTable.keyHash(tuple, buildKeys);
+            return true;
+        }
+
+        public @Nullable RuntimeBloomFilter build(TupleMapping probeKeys) {
+            if (overflow) {
+                return null;
+            }
+            int longNum = 1;
+            while (longNum * 64L < (long) size * BITS_PER_KEY) {
+                longNum <<= 1;
+            }
+            long[] bits = new long[longNum];
+            long mask = longNum * 64L - 1;
+            for (int i = 0; i < size; ++i) {
+                long mixed = spread(hashes[i]);
+                int h1 = (int) mixed;
+                int h2 = (int) (mixed >>> 32) | 1;
+                for (int j = 0; j < HASH_NUM; ++j) {
+                    long index = (h1 + j * h2) & mask;
+                    bits[(int) (index >>> 6)] |= 1L << index;
+                }
+            }
+            return new RuntimeBloomFilter(probeKeys, HASH_NUM, bits);
+        }
+
+        public void clear() {
+            hashes = new int[64];
+            size = 0;
+            overflow = false;
+        }
+    }
+}
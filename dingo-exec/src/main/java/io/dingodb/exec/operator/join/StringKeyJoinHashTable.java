@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Join hash table for a single {@code STRING} key column, hash codes are cached by the strings themselves.
+ */
+final class StringKeyJoinHashTable extends JoinHashTable {
+    private final int buildIndex;
+    private final int probeIndex;
+    private int[] hashes;
+
+    StringKeyJoinHashTable(TupleMapping buildKeys, TupleMapping probeKeys) {
+        super(buildKeys, probeKeys);
+        buildIndex = buildKeys.get(0);
+        probeIndex = probeKeys.get(0);
+    }
+
+    @Override
+    protected void allocateKeys(int capacity) {
+        hashes = new int[capacity];
+    }
+
+    @Override
+    protected long keysMemory() {
+        return (long) hashes.length * Integer.BYTES;
+    }
+
+    @Override
+    protected int findBuildSlot(Object @NonNull [] row) {
+        return locate(row[buildIndex]);
+    }
+
+    @Override
+    protected int findProbeSlot(Object @NonNull [] tuple) {
+        return locate(tuple[probeIndex]);
+    }
+
+    @Override
+    protected void setKey(int slot, Object @NonNull [] row) {
+        hashes[slot] = Objects.hashCode(row[buildIndex]);
+    }
+
+    private int locate(Object key) {
+        int hash = Objects.hashCode(key);
+        int slot = spread(hash) & mask;
+        while (slots[slot] != END) {
+            if (hashes[slot] == hash && Objects.equals(key, getRow(slots[slot])[buildIndex])) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of sorted iterators. Equal tuples are taken in the order of iterators, so the merging is stable if the
+ * sorted runs are in the input order.
+ */
+public final class MergeIterator implements Iterator<Object[]> {
+    private final List<Iterator<Object[]>> iterators;
+    private final PriorityQueue<Head> heads;
+
+    public MergeIterator(@NonNull List<Iterator<Object[]>> iterators, @NonNull Comparator<Object[]> comparator) {
+        this.iterators = iterators;
+        Comparator<Head> headComparator = Comparator.comparing((Head h) -> h.tuple, comparator);
+        heads = new PriorityQueue<>(
+            Math.max(iterators.size(), 1),
+            headComparator.thenComparingInt((Head h) -> h.index)
+        );
+        for (int i = 0; i < iterators.size(); ++i) {
+            Iterator<Object[]> iterator = iterators.get(i);
+            if (iterator.hasNext()) {
+                heads.add(new Head(i, iterator.next()));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Object[] next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        Object[] tuple = head.tuple;
+        Iterator<Object[]> iterator = iterators.get(head.index);
+        if (iterator.hasNext()) {
+            head.tuple = iterator.next();
+            heads.add(head);
+        }
+        return tuple;
+    }
+
+    private static final class Head {
+        private final int index;
+        private Object[] tuple;
+
+        private Head(int index, Object[] tuple) {
+            this.index = index;
+            this.tuple = tuple;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.util.Optional;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public final class SpillConfig {
+    public static final long DEFAULT_JOIN_MEMORY_BUDGET = 256L * 1024 * 1024;
+    public static final long DEFAULT_SORT_MEMORY_BUDGET = 256L * 1024 * 1024;
+    public static final long DEFAULT_AGGREGATE_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    private SpillConfig() {
+    }
+
+    private static Optional<ExecutionConfiguration> execution() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution);
+    }
+
+    public static long joinMemoryBudget() {
+        return execution()
+            .map(ExecutionConfiguration::getJoinMemoryBudget)
+            .filter((Long v) -> v > 0)
+            .orElse(DEFAULT_JOIN_MEMORY_BUDGET);
+    }
+
+    public static long sortMemoryBudget() {
+        return execution()
+            .map(ExecutionConfiguration::getSortMemoryBudget)
+            .filter((Long v) -> v > 0)
+            .orElse(DEFAULT_SORT_MEMORY_BUDGET);
+    }
+
+    public static long aggregateMemoryBudget() {
+        return execution()
+            .map(ExecutionConfiguration::getAggregateMemoryBudget)
+            .filter((Long v) -> v > 0)
+            .orElse(DEFAULT_AGGREGATE_MEMORY_BUDGET);
+    }
+
+    public static @NonNull Path spillPath() {
+        return Paths.get(execution()
+            .map(ExecutionConfiguration::getSpillPath)
+            .orElse(System.getProperty("java.io.tmpdir")));
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.exec.codec.TupleCodec;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A temporary file of tuples. Tuples are encoded by a {@link TupleCodec} in batches, each batch is prefixed by its
+ * length so that the file can be read back batch by batch.
+ */
+@Slf4j
+public final class SpillFile implements Closeable {
+    private static final int BATCH_SIZE = 1024;
+
+    private final Path path;
+    private final TupleCodec codec;
+    private final List<Object[]> buffer;
+    private final List<Closeable> readers;
+
+    @Getter
+    private long count;
+    private DataOutputStream os;
+
+    private SpillFile(Path path, TupleCodec codec) {
+        this.path = path;
+        this.codec = codec;
+        this.buffer = new ArrayList<>(BATCH_SIZE);
+        this.readers = new ArrayList<>();
+        this.count = 0;
+    }
+
+    public static @NonNull SpillFile create(@NonNull TupleCodec codec) {
+        try {
+            Path dir = SpillConfig.spillPath();
+            Files.createDirectories(dir);
+            Path path = Files.createTempFile(dir, "dingo-spill-", ".tmp");
+            SpillFile file = new SpillFile(path, codec);
+            file.os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            if (log.isDebugEnabled()) {
+                log.debug("Created spill file \"{}\".", path);
+            }
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create spill file.", e);
+        }
+    }
+
+    public void write(Object @NonNull [] tuple) {
+        buffer.add(tuple);
+        ++count;
+        if (buffer.size() >= BATCH_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            codec.encode(bos, buffer);
+            os.writeInt(bos.size());
+            bos.writeTo(os);
+            buffer.clear();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write spill file \"" + path + "\".", e);
+        }
+    }
+
+    /**
+     * Flush all the buffered tuples and close the writing stream. Must be called before reading.
+     */
+    public void finish() {
+        if (os == null) {
+            return;
+        }
+        flushBuffer();
+        try {
+            os.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close spill file \"" + path + "\".", e);
+        }
+        os = null;
+    }
+
+    public @NonNull Iterator<Object[]> iterator() {
+        finish();
+        try {
+            DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+            readers.add(is);
+            return new SpillFileIterator(is);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read spill file \"" + path + "\".", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (os != null) {
+                os.close();
+                os = null;
+            }
+            for (Closeable reader : readers) {
+                reader.close();
+            }
+            readers.clear();
+            Files.deleteIfExists(path);
+            if (log.isDebugEnabled()) {
+                log.debug("Deleted spill file \"{}\".", path);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete spill file \"{}\".", path, e);
+        }
+    }
+
+    private class SpillFileIterator implements Iterator<Object[]> {
+        private final DataInputStream is;
+        private Iterator<Object[]> batch;
+        private boolean done;
+
+        private SpillFileIterator(DataInputStream is) {
+            this.is = is;
+            this.batch = Collections.emptyIterator();
+            this.done = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext()) {
+                if (done || !readBatch()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+
+        private boolean readBatch() {
+            try {
+                int size;
+                try {
+                    size = is.readInt();
+                } catch (EOFException e) {
+                    is.close();
+                    done = true;
+                    return false;
+                }
+                byte[] bytes = new byte[size];
+                is.readFully(bytes);
+                batch = codec.decode(new ByteArrayInputStream(bytes)).iterator();
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read spill file \"" + path + "\".", e);
+            }
+        }
+    }
+}
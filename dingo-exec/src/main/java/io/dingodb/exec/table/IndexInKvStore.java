@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.table;
+
+import com.google.common.collect.Iterators;
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.Services;
+import io.dingodb.store.api.StoreInstance;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.dingodb.common.util.NoBreakFunctions.throwException;
+import static io.dingodb.common.util.NoBreakFunctions.wrap;
+
+/**
+ * A secondary index of a table in kv store.
+ *
+ * <p>Each row of the table has an entry in the index, whose key is encoded from the index columns followed by the
+ * primary columns, and the value is empty. So rows of the same index values are found by a prefix scan.
+ *
+ * <p>The index is stored in the store instance of an {@link CommonId.CommonType#INDEX} id, so it works only with store
+ * services providing such instances, which is the memory store by now. Index DDLs are rejected if the meta service is
+ * not {@code isIndexSupported}, e.g. the meta service of executors, whose coordinator has no regions for indexes. The
+ * indexes declared in {@code CREATE TABLE} are ignored there, so there are no indexes to maintain.
+ */
+@Slf4j
+public final class IndexInKvStore {
+    private final StoreInstance store;
+    private final KeyValueCodec codec;
+    // Index columns followed by primary columns of the table.
+    private final TupleMapping mapping;
+    @Getter
+    private final int indexColumnCount;
+
+    private IndexInKvStore(StoreInstance store, KeyValueCodec codec, TupleMapping mapping, int indexColumnCount) {
+        this.store = store;
+        this.codec = codec;
+        this.mapping = mapping;
+        this.indexColumnCount = indexColumnCount;
+    }
+
+    /**
+     * Create the index.
+     *
+     * @param tableId      the id of the table
+     * @param indexId      the id of the index assigned by the meta service
+     * @param schema       the schema of the table
+     * @param keyMapping   the primary columns of the table
+     * @param indexMapping the index columns of the table
+     * @return the index
+     */
+    public static @NonNull IndexInKvStore of(
+        @NonNull CommonId tableId,
+        long indexId,
+        @NonNull DingoType schema,
+        @NonNull TupleMapping keyMapping,
+        @NonNull TupleMapping indexMapping
+    ) {
+        CommonId storeId = storeId(tableId, indexId);
+        TupleMapping mapping = TupleMapping.of(IntStream.concat(indexMapping.stream(), keyMapping.stream()).toArray());
+        KeyValueCodec codec = CodecService.getDefault().createKeyValueCodec(
+            storeId,
+            schema.select(mapping),
+            TupleMapping.of(IntStream.range(0, mapping.size()).toArray())
+        );
+        return new IndexInKvStore(
+            Services.KV_STORE.getInstance(tableId, storeId),
+            codec,
+            mapping,
+            indexMapping.size()
+        );
+    }
+
+    /**
+     * Get the id of the store instance of an index.
+     *
+     * @param tableId the id of the table
+     * @param indexId the id of the index assigned by the meta service
+     * @return the id
+     */
+    public static @NonNull CommonId storeId(@NonNull CommonId tableId, long indexId) {
+        if (indexId <= 0) {
+            throw new IllegalArgumentException("Index of table " + tableId + " has no id assigned by meta service.");
+        }
+        return new CommonId(CommonId.CommonType.INDEX, tableId.seq, indexId);
+    }
+
+    /**
+     * Remove all the entries of an index by deleting its store instance.
+     *
+     * @param tableId the id of the table
+     * @param indexId the id of the index assigned by the meta service
+     */
+    public static void drop(@NonNull CommonId tableId, long indexId) {
+        Services.KV_STORE.deleteInstance(storeId(tableId, indexId));
+    }
+
+    /**
+     * Add the entries of tuples of the table.
+     *
+     * @param tuples the tuples of the table
+     */
+    public void insert(@NonNull List<Object[]> tuples) {
+        if (tuples.isEmpty()) {
+            return;
+        }
+        store.insert(tuples.stream()
+            .map(mapping::revMap)
+            .map(wrap(codec::encode, throwException()))
+            .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Remove the entries of tuples of the table.
+     *
+     * @param tuples the tuples of the table
+     */
+    public void remove(@NonNull List<Object[]> tuples) {
+        if (tuples.isEmpty()) {
+            return;
+        }
+        store.delete(tuples.stream()
+            .map(mapping::revMap)
+            .map(wrap(codec::encode, throwException()))
+            .map(KeyValue::getKey)
+            .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Check if the entry of a tuple is changed by updating.
+     *
+     * @param newTuple the new tuple
+     * @param oldTuple the old tuple
+     * @return {@code true} if changed
+     */
+    public boolean isChanged(Object @NonNull [] newTuple, Object @NonNull [] oldTuple) {
+        try {
+            return !Arrays.equals(
+                codec.encode(mapping.revMap(newTuple)).getKey(),
+                codec.encode(mapping.revMap(oldTuple)).getKey()
+            );
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the primary keys of rows of specified index values. The index may contain stale entries, so the rows got
+     * by the keys must be checked again.
+     *
+     * @param indexValues the values of index columns, in the order of the index columns
+     * @return the iterator of primary keys, in the order of the primary columns
+     */
+    public @NonNull Iterator<Object[]> getKeys(Object @NonNull [] indexValues) {
+        Object[] record = new Object[mapping.size()];
+        System.arraycopy(indexValues, 0, record, 0, indexColumnCount);
+        byte[] prefix;
+        try {
+            prefix = codec.encodeKeyPrefix(record, indexColumnCount);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return Iterators.transform(
+            store.scan(prefix),
+            keyValue -> {
+                Object[] tuple = wrap(codec::decode, throwException()).apply(keyValue);
+                return Arrays.copyOfRange(tuple, indexColumnCount, tuple.length);
+            }
+        );
+    }
+}
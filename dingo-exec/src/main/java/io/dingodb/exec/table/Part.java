@@ -48,6 +48,14 @@ public interface Part {
 
     boolean insert(@NonNull Object[] keyValue);
 
+    /**
+     * Insert tuples in batch.
+     *
+     * @param tuples the tuples
+     * @return whether each tuple is inserted
+     */
+    @NonNull List<Boolean> insert(@NonNull List<Object[]> tuples);
+
     boolean update(@NonNull KeyValue keyValue);
 
     boolean update(@NonNull KeyValue newKeyValue, @NonNull KeyValue oldKeyValue);
@@ -56,10 +64,27 @@ public interface Part {
 
     boolean update(@NonNull Object[] newTuple, @NonNull Object[] oldTuple);
 
+    /**
+     * Update tuples in batch.
+     *
+     * @param newTuples the new tuples
+     * @param oldTuples the old tuples, must be in the same order of {@code newTuples}
+     * @return whether each tuple is updated
+     */
+    @NonNull List<Boolean> update(@NonNull List<Object[]> newTuples, @NonNull List<Object[]> oldTuples);
+
     boolean remove(byte @NonNull [] key);
 
     boolean remove(@NonNull Object[] key);
 
+    /**
+     * Remove tuples in batch.
+     *
+     * @param tuples the tuples, only the key columns are used
+     * @return whether each tuple is removed
+     */
+    @NonNull List<Boolean> remove(@NonNull List<Object[]> tuples);
+
     long count(byte[] start, byte[] end, boolean withStart, boolean withEnd);
 
     Object @Nullable [] get(byte @NonNull [] key);
@@ -28,7 +28,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import static io.dingodb.common.util.NoBreakFunctions.throwException;
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
 
 @Slf4j
@@ -101,6 +104,20 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public @NonNull List<Boolean> insert(@NonNull List<Object[]> tuples) {
+        List<KeyValue> keyValues = encode(tuples);
+        final long startTime = System.currentTimeMillis();
+        try {
+            return store.insert(keyValues);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore batch insert {} cost: {}ms.", tuples.size(),
+                    System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
     @Override
     public boolean update(@NonNull Object[] keyValue) {
         try {
@@ -143,6 +160,21 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public @NonNull List<Boolean> update(@NonNull List<Object[]> newTuples, @NonNull List<Object[]> oldTuples) {
+        List<KeyValue> newKeyValues = encode(newTuples);
+        List<KeyValue> oldKeyValues = encode(oldTuples);
+        final long startTime = System.currentTimeMillis();
+        try {
+            return store.update(newKeyValues, oldKeyValues);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore batch update {} cost: {}ms.", newTuples.size(),
+                    System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
     @Override
     public boolean remove(@NonNull Object[] tuple) {
         try {
@@ -164,6 +196,23 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public @NonNull List<Boolean> remove(@NonNull List<Object[]> tuples) {
+        List<byte[]> keys = tuples.stream()
+            .map(wrap(codec::encode, throwException()))
+            .map(KeyValue::getKey)
+            .collect(Collectors.toList());
+        final long startTime = System.currentTimeMillis();
+        try {
+            return store.delete(keys);
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore batch remove {} cost: {}ms.", tuples.size(),
+                    System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
     @Override
     public long count(byte[] start, byte[] end, boolean withStart, boolean withEnd) {
         final long startTime = System.currentTimeMillis();
@@ -197,4 +246,25 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public @NonNull List<Object[]> get(@NonNull List<byte[]> keys) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            return store.get(keys).stream()
+                .filter(keyValue -> keyValue != null && keyValue.getValue() != null)
+                .map(wrap(codec::decode, throwException()))
+                .collect(Collectors.toList());
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("PartInKvStore batch get {} cost: {}ms.", keys.size(),
+                    System.currentTimeMillis() - startTime);
+            }
+        }
+    }
+
+    private @NonNull List<KeyValue> encode(@NonNull List<Object[]> tuples) {
+        return tuples.stream()
+            .map(wrap(codec::encode, throwException()))
+            .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A batch of tuples with an optional selection vector.
+ *
+ * <p>The tuple array is shared by batches derived by {@link #select(Predicate)}, so it must not be modified after the
+ * batch is pushed.
+ */
+public final class TupleBatch implements Iterable<Object[]> {
+    public static final int DEFAULT_SIZE = 1024;
+
+    private final Object[][] tuples;
+    // Indices of selected tuples, all the tuples are selected if `null`.
+    private final int @Nullable [] selection;
+    @Getter
+    private final int size;
+
+    private TupleBatch(Object[][] tuples, int @Nullable [] selection, int size) {
+        this.tuples = tuples;
+        this.selection = selection;
+        this.size = size;
+    }
+
+    /**
+     * Make a batch of the first {@code size} tuples in the array.
+     *
+     * @param tuples the tuple array
+     * @param size   the number of valid tuples
+     * @return the batch
+     */
+    public static @NonNull TupleBatch of(Object[][] tuples, int size) {
+        return new TupleBatch(tuples, null, size);
+    }
+
+    public static @NonNull TupleBatch of(@NonNull List<Object[]> tuples) {
+        return of(tuples.toArray(new Object[0][]), tuples.size());
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the selected tuple at specified position.
+     *
+     * @param index the position in selected tuples
+     * @return the tuple
+     */
+    public Object[] get(int index) {
+        return selection == null ? tuples[index] : tuples[selection[index]];
+    }
+
+    /**
+     * Make a new batch selecting the tuples satisfying the predicate, without copying the tuples.
+     *
+     * @param predicate the predicate
+     * @return the new batch
+     */
+    public @NonNull TupleBatch select(@NonNull Predicate<Object[]> predicate) {
+        int[] newSelection = new int[size];
+        int newSize = 0;
+        for (int i = 0; i < size; ++i) {
+            int index = selection == null ? i : selection[i];
+            if (predicate.test(tuples[index])) {
+                newSelection[newSize++] = index;
+            }
+        }
+        if (newSize == size) {
+            return this;
+        }
+        return new TupleBatch(tuples, newSelection, newSize);
+    }
+
+    public @NonNull List<Object[]> toList() {
+        List<Object[]> list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public @NonNull Iterator<Object[]> iterator() {
+        return new Iterator<Object[]>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Object[] next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.utils;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Rough estimation of heap usage, good enough to decide when an operator should spill.
+ */
+public final class MemoryUtils {
+    public static final int OBJECT_HEADER = 16;
+    public static final int REFERENCE = 8;
+
+    private MemoryUtils() {
+    }
+
+    public static long estimateTupleSize(Object @NonNull [] tuple) {
+        long size = OBJECT_HEADER + (long) REFERENCE * tuple.length;
+        for (Object value : tuple) {
+            size += estimateValueSize(value);
+        }
+        return size;
+    }
+
+    public static long estimateValueSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return OBJECT_HEADER + 24 + ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_HEADER + ((byte[]) value).length;
+        }
+        if (value instanceof BigDecimal) {
+            return OBJECT_HEADER + 48 + ((BigDecimal) value).precision() / 2;
+        }
+        if (value instanceof Object[]) {
+            return estimateTupleSize((Object[]) value);
+        }
+        if (value instanceof Collection) {
+            long size = OBJECT_HEADER + 32;
+            for (Object item : (Collection<?>) value) {
+                size += REFERENCE + estimateValueSize(item);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = OBJECT_HEADER + 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 32 + estimateValueSize(entry.getKey()) + estimateValueSize(entry.getValue());
+            }
+            return size;
+        }
+        // Boxed primitives, dates and times.
+        return OBJECT_HEADER + 8;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.exception.MemoryLimitExceededException;
+import io.dingodb.exec.memory.MemoryTracker;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestAggCache {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple(
+        "STRING", "LONG", "INT|NULL", "DOUBLE|NULL", "STRING|NULL"
+    );
+
+    private static @NonNull List<Agg> aggList() {
+        return ImmutableList.of(
+            new CountAllAgg(),
+            new SumAgg(1, DingoTypeFactory.scalar("INT|NULL")),
+            new MaxAgg(2, DingoTypeFactory.scalar("DOUBLE|NULL")),
+            new MinAgg(3, DingoTypeFactory.scalar("STRING|NULL"))
+        );
+    }
+
+    private static void addTuples(@NonNull AggCache cache) {
+        for (int i = 0; i < 1000; ++i) {
+            cache.addTuple(new Object[]{"k" + i % 100, i, (double) i, i % 7 == 0 ? null : "s" + i});
+        }
+    }
+
+    private static void addManyGroups(@NonNull AggCache cache, int count) {
+        for (int n = 0; n < 2; ++n) {
+            for (int i = 0; i < count; ++i) {
+                cache.addTuple(new Object[]{"k" + i, n, (double) i, "s" + n});
+            }
+        }
+    }
+
+    private static @NonNull List<Object[]> collect(@NonNull AggCache cache) {
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        cache.clear();
+        result.sort(Comparator.comparing((Object[] t) -> (String) t[0]));
+        return result;
+    }
+
+    private static @NonNull List<Object[]> aggregate(long memoryBudget) {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, memoryBudget);
+        addTuples(cache);
+        return collect(cache);
+    }
+
+    @Test
+    public void testAggregate() {
+        List<Object[]> result = aggregate(Long.MAX_VALUE);
+        assertThat(result).hasSize(100);
+        assertThat(result.get(0)).containsExactly("k0", 10L, 4500, 900.0, "s100");
+    }
+
+    @Test
+    public void testSpill() {
+        List<Object[]> expected = aggregate(Long.MAX_VALUE);
+        assertThat(aggregate(1024)).containsExactlyElementsOf(expected);
+    }
+
+    private static long peakMemory(@NonNull AggCache cache, @NonNull Runnable adding) {
+        MemoryTracker tracker = new MemoryTracker("Aggregation", null, 0L);
+        cache.setMemoryTracker(tracker);
+        adding.run();
+        cache.clear();
+        return tracker.getPeak();
+    }
+
+    @Test
+    public void testSpillOnMemoryLimit() {
+        List<Object[]> expected = aggregate(Long.MAX_VALUE);
+        // The budget is not reached, but the memory limit is.
+        AggCache unlimited = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, Long.MAX_VALUE);
+        assertThat(peakMemory(unlimited, () -> addTuples(unlimited))).isGreaterThan(2048);
+        MemoryTracker tracker = new MemoryTracker("Aggregation", null, 2048);
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, Long.MAX_VALUE);
+        cache.setMemoryTracker(tracker);
+        addTuples(cache);
+        assertThat(tracker.getPeak()).isLessThanOrEqualTo(2048);
+        assertThat(collect(cache)).containsExactlyElementsOf(expected);
+        assertThat(tracker.getUsed()).isZero();
+    }
+
+    @Test
+    public void testSpillOnMemoryLimitInMerging() {
+        final int count = 10000;
+        AggCache unlimited = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, Long.MAX_VALUE);
+        long memory = peakMemory(unlimited, () -> addManyGroups(unlimited, count));
+        // A spilled partition has about 1/16 of the groups, which exceeds the limit in merging.
+        long limit = memory / 64;
+        MemoryTracker tracker = new MemoryTracker("Aggregation", null, limit);
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, Long.MAX_VALUE);
+        cache.setMemoryTracker(tracker);
+        addManyGroups(cache, count);
+        List<Object[]> result = collect(cache);
+        assertThat(tracker.getPeak()).isLessThanOrEqualTo(limit);
+        assertThat(tracker.getUsed()).isZero();
+        assertThat(result).hasSize(count);
+        for (Object[] tuple : result) {
+            int i = Integer.parseInt(((String) tuple[0]).substring(1));
+            assertThat(tuple).containsExactly("k" + i, 2L, 1, (double) i, "s0");
+        }
+    }
+
+    @Test
+    public void testMemoryLimitInMerging() {
+        // Too small to merge even a group, so it fails after the partitions are split at the max level.
+        MemoryTracker tracker = new MemoryTracker("Aggregation", null, 1);
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, Long.MAX_VALUE);
+        cache.setMemoryTracker(tracker);
+        addTuples(cache);
+        assertThatThrownBy(() -> collect(cache))
+            .isInstanceOf(MemoryLimitExceededException.class)
+            .hasMessageContaining("Aggregation");
+        cache.clear();
+        assertThat(tracker.getUsed()).isZero();
+    }
+
+    @Test
+    public void testMemoryLimitWithoutSpilling() {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), null, false, Long.MAX_VALUE);
+        cache.setMemoryTracker(new MemoryTracker("Aggregation", null, 2048));
+        assertThatThrownBy(() -> addTuples(cache))
+            .isInstanceOf(MemoryLimitExceededException.class)
+            .hasMessageContaining("Aggregation");
+        cache.clear();
+    }
+
+    @Test
+    public void testHighCardinality() {
+        // The states used to be resized on every new group, which is quadratic in the number of groups.
+        final int count = 300000;
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, Long.MAX_VALUE);
+        addManyGroups(cache, count);
+        int size = 0;
+        for (Object[] tuple : cache) {
+            int i = Integer.parseInt(((String) tuple[0]).substring(1));
+            assertThat(tuple).containsExactly("k" + i, 2L, 1, (double) i, "s0");
+            ++size;
+        }
+        cache.clear();
+        assertThat(size).isEqualTo(count);
+    }
+
+    @Test
+    public void testReduce() {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList());
+        cache.reduce(new Object[]{"a", 2L, 3, 1.0, "y"});
+        cache.reduce(new Object[]{"a", 3L, null, 5.0, "x"});
+        cache.reduce(new Object[]{"b", 0L, null, null, null});
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        assertThat(result).containsExactlyInAnyOrder(
+            new Object[]{"a", 5L, 3, 5.0, "x"},
+            new Object[]{"b", 0L, null, null, null}
+        );
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDistinctAgg {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("STRING", "INT|NULL", "LONG|NULL", "LONG");
+
+    private static @NonNull List<Agg> aggList() {
+        return ImmutableList.of(
+            new DistinctAgg(
+                TupleMapping.of(new int[]{1}),
+                DingoTypeFactory.scalar("INT|NULL"),
+                new CountAgg(0)
+            ),
+            new DistinctAgg(
+                TupleMapping.of(new int[]{1}),
+                DingoTypeFactory.scalar("INT|NULL"),
+                new SumAgg(0, DingoTypeFactory.scalar("INT|NULL"))
+            ),
+            new DistinctAgg(
+                TupleMapping.of(new int[]{1, 2}),
+                DingoTypeFactory.tuple("INT|NULL", "LONG|NULL"),
+                new CountAllAgg()
+            )
+        );
+    }
+
+    private static @NonNull List<Object[]> aggregate(long memoryBudget) {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), aggList(), SCHEMA, memoryBudget);
+        for (int i = 0; i < 1000; ++i) {
+            cache.addTuple(new Object[]{"k" + i % 10, i % 7 == 0 ? null : i % 50, (long) (i % 3)});
+        }
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        cache.clear();
+        result.sort(Comparator.comparing((Object[] t) -> (String) t[0]));
+        return result;
+    }
+
+    @Test
+    public void testDistinct() {
+        List<Object[]> result = aggregate(Long.MAX_VALUE);
+        assertThat(result).hasSize(10);
+        // For "k0", distinct values of column 1 are 0, 10, 20, 30, 40.
+        assertThat(result.get(0)).containsExactly("k0", 5L, 100, 15L);
+    }
+
+    @Test
+    public void testSpill() {
+        List<Object[]> expected = aggregate(Long.MAX_VALUE);
+        assertThat(aggregate(1024)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testEmpty() {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{}), aggList());
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).containsExactly(0L, null, 0L);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class TestHllAgg {
+    private static Object aggregate(HllAgg agg, int from, int to) {
+        Object var = null;
+        for (int i = from; i < to; ++i) {
+            Object[] tuple = new Object[]{"v" + i};
+            var = var == null ? agg.first(tuple) : agg.add(var, tuple);
+        }
+        return var;
+    }
+
+    @Test
+    public void testEstimate() {
+        HllAgg agg = new HllAgg(0);
+        assertThat(agg.getValue(null)).isEqualTo(0L);
+        assertThat((long) agg.getValue(aggregate(agg, 0, 100))).isCloseTo(100L, within(5L));
+        assertThat((long) agg.getValue(aggregate(agg, 0, 100000))).isCloseTo(100000L, within(5000L));
+    }
+
+    @Test
+    public void testMerge() {
+        HllAgg agg = new HllAgg(0);
+        Object all = aggregate(agg, 0, 50000);
+        Object var = agg.merge(null, agg.getPartial(aggregate(agg, 0, 30000)));
+        var = agg.merge(var, agg.getPartial(aggregate(agg, 20000, 50000)));
+        assertThat((byte[]) var).isEqualTo((byte[]) all);
+    }
+
+    @Test
+    public void testPartialAndReduce() {
+        List<Agg> aggList = ImmutableList.of(new HllAgg(1));
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        AggCache partial = new AggCache(
+            keys,
+            aggList,
+            DingoTypeFactory.tuple("STRING", "BINARY|NULL"),
+            true,
+            1024
+        );
+        for (int i = 0; i < 10000; ++i) {
+            partial.addTuple(new Object[]{"k" + i % 10, i % 1000});
+        }
+        AggCache reduce = new AggCache(keys, aggList);
+        partial.forEach(reduce::reduce);
+        partial.clear();
+        List<Object[]> result = new ArrayList<>();
+        reduce.forEach(result::add);
+        assertThat(result).hasSize(10);
+        for (Object[] tuple : result) {
+            assertThat((long) tuple[1]).isCloseTo(100L, within(5L));
+        }
+    }
+}
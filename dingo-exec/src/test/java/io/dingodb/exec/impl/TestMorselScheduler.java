@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.exec.base.Id;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMorselScheduler {
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testRunMorsels() throws InterruptedException {
+        MorselScheduler scheduler = new MorselScheduler(2);
+        AtomicInteger morselCount = new AtomicInteger(0);
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; ++i) {
+            Id jobId = new Id(String.valueOf(i % 3));
+            AtomicInteger count = new AtomicInteger(0);
+            scheduler.submit(jobId, () -> {
+                morselCount.incrementAndGet();
+                if (count.incrementAndGet() < 100) {
+                    return true;
+                }
+                done.countDown();
+                return false;
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(morselCount.get()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testBackpressure() throws InterruptedException {
+        // Like senders blocked until the receiver is fed by a pipeline scheduled after them.
+        MorselScheduler scheduler = new MorselScheduler(2);
+        Id jobId = new Id("0");
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+        for (int i = 0; i < 4; ++i) {
+            scheduler.submit(jobId, () -> {
+                MorselScheduler.block(() -> await(released));
+                done.countDown();
+                return false;
+            });
+        }
+        scheduler.submit(jobId, () -> {
+            released.countDown();
+            done.countDown();
+            return false;
+        });
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testBoundedWorkers() throws InterruptedException {
+        MorselScheduler scheduler = new MorselScheduler(2);
+        Id jobId = new Id("0");
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger peak = new AtomicInteger(0);
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(21);
+        // A blocked pipeline is not counted as running.
+        scheduler.submit(jobId, () -> {
+            MorselScheduler.block(() -> await(released));
+            done.countDown();
+            return false;
+        });
+        for (int i = 0; i < 20; ++i) {
+            AtomicInteger count = new AtomicInteger(0);
+            scheduler.submit(jobId, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                LockSupport.parkNanos(100000L);
+                running.decrementAndGet();
+                if (count.incrementAndGet() < 10) {
+                    return true;
+                }
+                done.countDown();
+                return false;
+            });
+        }
+        scheduler.submit(jobId, () -> {
+            released.countDown();
+            return false;
+        });
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testBlockOutsideWorker() {
+        AtomicInteger count = new AtomicInteger(0);
+        MorselScheduler.block(count::incrementAndGet);
+        assertThat(count.get()).isEqualTo(1);
+    }
+}
@@ -22,16 +22,21 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
 import io.dingodb.exec.base.Id;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.exception.TaskFinException;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.IteratorSourceOperator;
 import io.dingodb.exec.operator.ProjectOperator;
 import io.dingodb.exec.operator.RootOperator;
 import io.dingodb.exec.operator.ValuesOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
+import java.util.Iterator;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TestTaskImpl {
     @Test
@@ -92,4 +97,79 @@ public class TestTaskImpl {
             root.popValue();
         }
     }
+
+    @Test
+    public void testCancel() {
+        final int total = 1000000;
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        IteratorSourceOperator source = new IteratorSourceOperator() {
+            @Override
+            protected @NonNull Iterator<Object[]> createIterator() {
+                return new Iterator<Object[]>() {
+                    private int count = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return count < total;
+                    }
+
+                    @Override
+                    public Object[] next() {
+                        if (++count == 1000) {
+                            task.cancel("Cancelled by test.");
+                        }
+                        return new Object[]{count};
+                    }
+                };
+            }
+        };
+        source.setId(new Id("0"));
+        task.putOperator(source);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        source.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        Iterator<Object[]> iterator = root.getIterator();
+        int[] count = new int[]{0};
+        assertThatThrownBy(() -> {
+            while (iterator.hasNext()) {
+                iterator.next();
+                ++count[0];
+            }
+        }).isInstanceOf(TaskFinException.class).hasMessage("Cancelled by test.");
+        assertThat(task.isCancelled()).isTrue();
+        assertThat(count[0]).isLessThan(total);
+    }
+
+    @Test
+    public void testCancelBeforeRun() {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        ValuesOperator values = new ValuesOperator(
+            ImmutableList.of(new Object[]{1}, new Object[]{2}),
+            DingoTypeFactory.tuple("INTEGER")
+        );
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        long runId = task.newRun();
+        // The cancel arrives before the run starts, e.g. a message to a remote task.
+        task.cancel("Cancelled by test.", runId);
+        task.run(null, runId);
+        Iterator<Object[]> iterator = root.getIterator();
+        assertThatThrownBy(iterator::hasNext)
+            .isInstanceOf(TaskFinException.class)
+            .hasMessage("Cancelled by test.");
+        // The next run is not cancelled.
+        task.run(null);
+        assertThat(task.isCancelled()).isFalse();
+        assertThat(root.popValue()).containsExactly(1);
+        assertThat(root.popValue()).containsExactly(2);
+        assertThat(root.popValue()).isSameAs(RootOperator.FIN);
+    }
 }
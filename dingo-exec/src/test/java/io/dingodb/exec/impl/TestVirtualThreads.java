@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.operator.HashJoinOperator;
+import io.dingodb.exec.operator.RootOperator;
+import io.dingodb.exec.operator.ValuesOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run by task `virtualThreadTest`, which needs JDK 21.
+@EnabledIfSystemProperty(named = Executors.VIRTUAL_THREADS_PROPERTY, matches = "true")
+public class TestVirtualThreads {
+    @Test
+    public void testHashJoin() {
+        assertThat(Executors.isVirtual()).isTrue();
+        DingoType leftSchema = DingoTypeFactory.tuple("INTEGER", "STRING");
+        DingoType rightSchema = DingoTypeFactory.tuple("INTEGER", "DOUBLE");
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        // The sources of joins run in the global executor, for the probe side blocks until the build side finishes.
+        ValuesOperator left = new ValuesOperator(
+            IntStream.range(0, 10000).mapToObj(i -> new Object[]{i, "v" + i}).collect(Collectors.toList()),
+            leftSchema
+        );
+        left.setId(new Id("0"));
+        task.putOperator(left);
+        ValuesOperator right = new ValuesOperator(
+            IntStream.range(0, 5000).mapToObj(i -> new Object[]{i * 2, (double) i}).collect(Collectors.toList()),
+            rightSchema
+        );
+        right.setId(new Id("1"));
+        task.putOperator(right);
+        HashJoinOperator join = new HashJoinOperator(keys, keys, 2, 2, false, false, leftSchema, rightSchema);
+        join.setId(new Id("2"));
+        task.putOperator(join);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER", "STRING", "INTEGER", "DOUBLE"));
+        root.setId(new Id("3"));
+        task.putOperator(root);
+        left.getSoleOutput().setLink(join.getInput(0));
+        right.getSoleOutput().setLink(join.getInput(1));
+        join.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        List<Object[]> result = new ArrayList<>();
+        root.getIterator().forEachRemaining(result::add);
+        assertThat(result).hasSize(5000);
+        assertThat(result).allMatch(t -> (int) t[0] == (int) t[2] && (int) t[0] == 2 * (double) t[3]);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl.message;
+
+import io.dingodb.common.Location;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.JobManagerImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.impl.TaskManagerImpl;
+import io.dingodb.net.Message;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestCancelTaskMessage {
+    @Test
+    public void testSerialize() throws Exception {
+        CancelTaskMessage message = new CancelTaskMessage(new Id("job"), new Id("task"), "Query is cancelled.", 3);
+        TaskMessage taskMessage = TaskMessage.fromBytes(message.toBytes());
+        assertThat(taskMessage).isInstanceOf(CancelTaskMessage.class);
+        CancelTaskMessage result = (CancelTaskMessage) taskMessage;
+        assertThat(result.getJobId()).isEqualTo(new Id("job"));
+        assertThat(result.getTaskId()).isEqualTo(new Id("task"));
+        assertThat(result.getReason()).isEqualTo("Query is cancelled.");
+        assertThat(result.getRunId()).isEqualTo(3);
+    }
+
+    @Test
+    public void testDispatch() {
+        Task task = new TaskImpl(new Id("task"), new Id("job"), Mockito.mock(Location.class), null);
+        TaskManagerImpl.INSTANCE.addTask(task);
+        try {
+            // Tasks not existing are ignored.
+            JobManagerImpl.INSTANCE.processMessage(new Message(
+                JobManagerImpl.TASK_TAG,
+                new CancelTaskMessage(new Id("job"), new Id("other"), "Query is cancelled.", 0).toBytes()
+            ));
+            assertThat(task.isCancelled()).isFalse();
+            JobManagerImpl.INSTANCE.processMessage(new Message(
+                JobManagerImpl.TASK_TAG,
+                new CancelTaskMessage(task, "Query is cancelled.", task.getLastRunId()).toBytes()
+            ));
+            assertThat(task.isCancelled()).isTrue();
+        } finally {
+            TaskManagerImpl.INSTANCE.removeTask(task.getJobId(), task.getId());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.memory;
+
+import io.dingodb.exec.exception.MemoryLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.dingodb.exec.memory.MemoryTracker.RESERVATION_UNIT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestMemoryTracker {
+    @Test
+    public void testReserve() {
+        MemoryTracker root = new MemoryTracker("Process", null, 0L);
+        MemoryTracker job = root.newChild("Job", 0L);
+        MemoryTracker operator = job.newChild("Operator", 0L);
+        // Reserve ahead as much as used.
+        operator.consume(100);
+        assertThat(operator.getUsed()).isEqualTo(100);
+        assertThat(operator.getReserved()).isEqualTo(200);
+        assertThat(job.getUsed()).isEqualTo(200);
+        assertThat(root.getUsed()).isEqualTo(200);
+        operator.consume(50);
+        assertThat(root.getUsed()).isEqualTo(200);
+        // Reserve ahead no more than a unit.
+        operator.consume(RESERVATION_UNIT);
+        assertThat(operator.getReserved()).isEqualTo(2 * RESERVATION_UNIT + 150);
+        assertThat(job.getReserved()).isEqualTo(2 * RESERVATION_UNIT + 150);
+        assertThat(root.getUsed()).isEqualTo(2 * RESERVATION_UNIT + 150);
+        operator.releaseAll();
+        assertThat(operator.getUsed()).isZero();
+        assertThat(operator.getPeak()).isEqualTo(RESERVATION_UNIT + 150);
+        assertThat(root.getUsed()).isZero();
+        operator.close();
+        job.close();
+        assertThat(root.getUsed()).isZero();
+    }
+
+    @Test
+    public void testReleaseSlack() {
+        MemoryTracker root = new MemoryTracker("Process", null, 0L);
+        MemoryTracker operator = root.newChild("Job", 0L).newChild("Operator", 0L);
+        operator.consume(4 * RESERVATION_UNIT);
+        assertThat(root.getUsed()).isEqualTo(5 * RESERVATION_UNIT);
+        // Keep the reservation ahead.
+        operator.release(RESERVATION_UNIT / 2);
+        assertThat(root.getUsed()).isEqualTo(4 * RESERVATION_UNIT + RESERVATION_UNIT / 2);
+        operator.release(3 * RESERVATION_UNIT);
+        assertThat(root.getUsed()).isEqualTo(RESERVATION_UNIT);
+        operator.release(RESERVATION_UNIT / 2 - 100);
+        assertThat(root.getUsed()).isEqualTo(200);
+        operator.close();
+        assertThat(root.getUsed()).isZero();
+    }
+
+    @Test
+    public void testManySmallConsumers() {
+        MemoryTracker root = new MemoryTracker("Process", null, 2 * RESERVATION_UNIT);
+        List<MemoryTracker> operators = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            MemoryTracker operator = root.newChild("Job " + i, 0L).newChild("Operator " + i, 0L);
+            assertThat(operator.tryConsume(1024)).isTrue();
+            operators.add(operator);
+        }
+        assertThat(root.getUsed()).isEqualTo(1000 * 2048);
+        operators.forEach(MemoryTracker::close);
+        assertThat(root.getUsed()).isZero();
+    }
+
+    @Test
+    public void testLimit() {
+        MemoryTracker root = new MemoryTracker("Process", null, 3 * RESERVATION_UNIT);
+        MemoryTracker job = root.newChild("Job 1", 2 * RESERVATION_UNIT);
+        MemoryTracker operator = job.newChild("Operator 1", 0L);
+        assertThat(operator.tryConsume(RESERVATION_UNIT + 1)).isTrue();
+        // Reserved exactly for the job limit.
+        assertThat(root.getUsed()).isEqualTo(RESERVATION_UNIT + 1);
+        assertThat(operator.tryConsume(RESERVATION_UNIT)).isFalse();
+        assertThat(operator.getUsed()).isEqualTo(RESERVATION_UNIT + 1);
+        assertThatThrownBy(() -> operator.consume(RESERVATION_UNIT))
+            .isInstanceOf(MemoryLimitExceededException.class)
+            .hasMessageContaining("Operator 1")
+            .hasMessageContaining("Job 1");
+        MemoryTracker other = root.newChild("Job 2", 0L).newChild("Operator 2", 0L);
+        // Reserved exactly for the process limit.
+        assertThat(other.tryConsume(2 * RESERVATION_UNIT - 1)).isTrue();
+        assertThat(root.getUsed()).isEqualTo(3 * RESERVATION_UNIT);
+        assertThat(other.tryConsume(1)).isFalse();
+        operator.close();
+        assertThat(other.tryConsume(1)).isTrue();
+    }
+}
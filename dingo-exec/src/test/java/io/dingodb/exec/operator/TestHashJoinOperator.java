@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.exception.MemoryLimitExceededException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.operator.join.JoinHashTable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestHashJoinOperator {
+    private static final DingoType LEFT_SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING");
+    private static final DingoType RIGHT_SCHEMA = DingoTypeFactory.tuple("INTEGER", "DOUBLE");
+    private static final TupleMapping KEYS = TupleMapping.of(new int[]{0});
+
+    // Keys 0 ~ 1999 on the left, 1000 ~ 2999 on the right, and keys of multiples of 100 are duplicated on the right.
+    private static @NonNull List<Object[]> leftTuples() {
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            tuples.add(new Object[]{i, "v" + i});
+        }
+        return tuples;
+    }
+
+    private static @NonNull List<Object[]> rightTuples() {
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 1000; i < 3000; ++i) {
+            tuples.add(new Object[]{i, (double) i});
+            if (i % 100 == 0) {
+                tuples.add(new Object[]{i, -(double) i});
+            }
+        }
+        return tuples;
+    }
+
+    private static @NonNull List<String> nestedLoopJoin(
+        @NonNull List<Object[]> lefts,
+        @NonNull List<Object[]> rights,
+        boolean leftRequired,
+        boolean rightRequired
+    ) {
+        List<String> result = new ArrayList<>();
+        boolean[] rightJoined = new boolean[rights.size()];
+        for (Object[] left : lefts) {
+            boolean joined = false;
+            for (int i = 0; i < rights.size(); ++i) {
+                Object[] right = rights.get(i);
+                if (left[0].equals(right[0])) {
+                    result.add(Arrays.toString(new Object[]{left[0], left[1], right[0], right[1]}));
+                    joined = true;
+                    rightJoined[i] = true;
+                }
+            }
+            if (!joined && leftRequired) {
+                result.add(Arrays.toString(new Object[]{left[0], left[1], null, null}));
+            }
+        }
+        if (rightRequired) {
+            for (int i = 0; i < rights.size(); ++i) {
+                if (!rightJoined[i]) {
+                    Object[] right = rights.get(i);
+                    result.add(Arrays.toString(new Object[]{null, null, right[0], right[1]}));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long memoryOfBuildTuples(int count) {
+        JoinHashTable table = JoinHashTable.create(KEYS, KEYS, RIGHT_SCHEMA, LEFT_SCHEMA);
+        rightTuples().stream().limit(count).forEach(table::add);
+        return table.estimateMemory();
+    }
+
+    private static void assertJoined(
+        long memoryBudget,
+        @NonNull MemoryTracker tracker,
+        boolean leftRequired,
+        boolean rightRequired
+    ) {
+        HashJoiner[] joiner = new HashJoiner[1];
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        HashJoinOperator join = new HashJoinOperator(
+            KEYS, KEYS, 2, 2, leftRequired, rightRequired, LEFT_SCHEMA, RIGHT_SCHEMA
+        ) {
+            @Override
+            protected @NonNull HashJoiner createJoiner(long budget) {
+                joiner[0] = super.createJoiner(memoryBudget);
+                return joiner[0];
+            }
+
+            @Override
+            public synchronized @NonNull MemoryTracker getMemoryTracker() {
+                return tracker;
+            }
+        };
+        join.setId(new Id("0"));
+        task.putOperator(join);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER", "STRING", "INTEGER", "DOUBLE"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        join.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        List<Object[]> lefts = leftTuples();
+        List<Object[]> rights = rightTuples();
+        rights.forEach(t -> join.push(1, t));
+        join.fin(1, new FinWithProfiles(new ArrayList<>()));
+        assertThat(joiner[0].isSpilled()).isTrue();
+        lefts.forEach(t -> join.push(0, t));
+        join.fin(0, new FinWithProfiles(new ArrayList<>()));
+        assertThat(joiner[0].getSpillLevel()).isEqualTo(2);
+        List<Object[]> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add(tuple);
+        }
+        assertThat(result.stream().map(Arrays::toString).collect(Collectors.toList()))
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(lefts, rights, leftRequired, rightRequired));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"false, false", "true, false", "false, true", "true, true"})
+    public void testSpill(boolean leftRequired, boolean rightRequired) {
+        // Budget of 32 build tuples, the whole build side and the partitions of level 1 (about 128 tuples) exceed it,
+        // but the partitions of level 2 (about 8 tuples) do not.
+        assertJoined(memoryOfBuildTuples(32), new MemoryTracker("Join", null, 0L), leftRequired, rightRequired);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"false, false", "true, false", "false, true", "true, true"})
+    public void testSpillOnMemoryLimit(boolean leftRequired, boolean rightRequired) {
+        // The budget is not reached, but the memory limit of 32 build tuples is, in building and in joining the
+        // partitions of level 1.
+        MemoryTracker tracker = new MemoryTracker("Join", null, memoryOfBuildTuples(32));
+        assertJoined(Long.MAX_VALUE, tracker, leftRequired, rightRequired);
+        assertThat(tracker.getPeak()).isLessThanOrEqualTo(tracker.getLimit());
+        assertThat(tracker.getUsed()).isZero();
+    }
+
+    @Test
+    public void testFailAloneIfCannotSplit() {
+        MemoryTracker process = new MemoryTracker("Process", null, 0L);
+        MemoryTracker job1 = process.newChild("Job 1", memoryOfBuildTuples(32));
+        MemoryTracker job2 = process.newChild("Job 2", 0L);
+        MemoryTracker tracker1 = job1.newChild("Join 1", 0L);
+        // All the build tuples have the same key, so the partitions cannot be split to fit the limit.
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        HashJoinOperator join = new HashJoinOperator(
+            KEYS, KEYS, 2, 2, false, false, LEFT_SCHEMA, RIGHT_SCHEMA
+        ) {
+            @Override
+            public synchronized @NonNull MemoryTracker getMemoryTracker() {
+                return tracker1;
+            }
+        };
+        join.setId(new Id("0"));
+        task.putOperator(join);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER", "STRING", "INTEGER", "DOUBLE"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        join.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        for (int i = 0; i < 1000; ++i) {
+            join.push(1, new Object[]{1, (double) i});
+        }
+        join.fin(1, new FinWithProfiles(new ArrayList<>()));
+        join.push(0, new Object[]{1, "v1"});
+        assertThatThrownBy(() -> join.fin(0, new FinWithProfiles(new ArrayList<>())))
+            .isInstanceOf(MemoryLimitExceededException.class)
+            .hasMessageContaining("Job 1");
+        join.destroy();
+        assertThat(tracker1.getUsed()).isZero();
+        // Other queries are not affected.
+        assertJoined(memoryOfBuildTuples(32), job2.newChild("Join 2", 0L), false, false);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMergeJoinOperator {
+    private static @NonNull List<Object[]> join(boolean leftRequired, boolean rightRequired) {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        ValuesOperator left = new ValuesOperator(
+            ImmutableList.of(
+                new Object[]{1, "a"},
+                new Object[]{2, "b"},
+                new Object[]{2, "c"},
+                new Object[]{4, "d"}
+            ),
+            DingoTypeFactory.tuple("INTEGER", "STRING")
+        );
+        left.setId(new Id("0"));
+        task.putOperator(left);
+        ValuesOperator right = new ValuesOperator(
+            ImmutableList.of(
+                new Object[]{"x", 0},
+                new Object[]{"y", 2},
+                new Object[]{"z", 2},
+                new Object[]{"w", 3},
+                new Object[]{"v", 4}
+            ),
+            DingoTypeFactory.tuple("STRING", "INTEGER")
+        );
+        right.setId(new Id("1"));
+        task.putOperator(right);
+        MergeJoinOperator join = new MergeJoinOperator(
+            ImmutableList.of(new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST)),
+            ImmutableList.of(new SortCollation(1, SortDirection.ASCENDING, SortNullDirection.LAST)),
+            2,
+            2,
+            leftRequired,
+            rightRequired
+        );
+        join.setId(new Id("2"));
+        task.putOperator(join);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER", "STRING", "STRING", "INTEGER"));
+        root.setId(new Id("3"));
+        task.putOperator(root);
+        left.getSoleOutput().setLink(join.getInput(0));
+        right.getSoleOutput().setLink(join.getInput(1));
+        join.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        List<Object[]> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add(tuple);
+        }
+        return result;
+    }
+
+    @Test
+    public void testInnerJoin() {
+        assertThat(join(false, false)).containsExactly(
+            new Object[]{2, "b", "y", 2},
+            new Object[]{2, "b", "z", 2},
+            new Object[]{2, "c", "y", 2},
+            new Object[]{2, "c", "z", 2},
+            new Object[]{4, "d", "v", 4}
+        );
+    }
+
+    @Test
+    public void testFullJoin() {
+        assertThat(join(true, true)).containsExactly(
+            new Object[]{null, null, "x", 0},
+            new Object[]{1, "a", null, null},
+            new Object[]{2, "b", "y", 2},
+            new Object[]{2, "b", "z", 2},
+            new Object[]{2, "c", "y", 2},
+            new Object[]{2, "c", "z", 2},
+            new Object[]{null, null, "w", 3},
+            new Object[]{4, "d", "v", 4}
+        );
+    }
+}
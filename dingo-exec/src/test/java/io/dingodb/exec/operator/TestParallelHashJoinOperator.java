@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestParallelHashJoinOperator {
+    @Test
+    public void testJoinToSort() {
+        final int count = 100000;
+        DingoType leftSchema = DingoTypeFactory.tuple("INTEGER", "STRING");
+        DingoType rightSchema = DingoTypeFactory.tuple("INTEGER", "INTEGER");
+        DingoType schema = DingoTypeFactory.tuple("INTEGER", "STRING", "INTEGER", "INTEGER");
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        ParallelHashJoinOperator join = new ParallelHashJoinOperator(
+            keys, keys, 2, 2, false, false, leftSchema, rightSchema, 8
+        );
+        join.setId(new Id("0"));
+        task.putOperator(join);
+        // Sort is stateful and not thread-safe, the tuples would be lost if pushed by the workers concurrently.
+        SortOperator sort = new SortOperator(
+            ImmutableList.of(new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST)),
+            -1,
+            0,
+            schema
+        );
+        sort.setId(new Id("1"));
+        task.putOperator(sort);
+        RootOperator root = new RootOperator(schema);
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        join.getSoleOutput().setLink(sort.getInput(0));
+        sort.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        for (int i = 0; i < count; ++i) {
+            join.push(1, new Object[]{i, i * 2});
+        }
+        join.fin(1, new FinWithProfiles(new ArrayList<>()));
+        for (int i = count - 1; i >= 0; --i) {
+            join.push(0, new Object[]{i, "v" + i});
+        }
+        join.fin(0, new FinWithProfiles(new ArrayList<>()));
+        List<Object[]> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add(tuple);
+        }
+        assertThat(result).hasSize(count);
+        for (int i = 0; i < count; ++i) {
+            assertThat(result.get(i)).containsExactly(i, "v" + i, i, i * 2);
+        }
+    }
+}
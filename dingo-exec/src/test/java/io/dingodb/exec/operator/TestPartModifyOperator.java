@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.table.Part;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+public class TestPartModifyOperator {
+    private List<Integer> batches;
+    private Part part;
+
+    @BeforeEach
+    public void setup() {
+        batches = new ArrayList<>();
+        part = Mockito.mock(Part.class);
+        // Tuples of ids which are multiples of 10 are failed to be inserted.
+        when(part.insert(anyList())).thenAnswer(invocation -> {
+            List<Object[]> tuples = invocation.getArgument(0);
+            batches.add(tuples.size());
+            return tuples.stream()
+                .map(tuple -> (int) tuple[0] % 10 != 0)
+                .collect(Collectors.toList());
+        });
+    }
+
+    private @NonNull RootOperator link(@NonNull PartModifyOperator modify) {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        modify.setId(new Id("0"));
+        task.putOperator(modify);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("LONG"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        modify.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        return root;
+    }
+
+    private static void pushTuples(@NonNull PartModifyOperator modify, int num) {
+        for (int i = 1; i <= num; ++i) {
+            modify.push(0, new Object[]{i, "v" + i});
+        }
+    }
+
+    private static long finAndGetCount(@NonNull PartModifyOperator modify, @NonNull RootOperator root) {
+        modify.fin(0, new FinWithProfiles(new ArrayList<>()));
+        Object[] tuple = root.popValue();
+        assertThat(root.popValue()).isSameAs(RootOperator.FIN);
+        return (long) tuple[0];
+    }
+
+    @Test
+    public void testLessThanBatchSize() {
+        PartModifyOperator modify = new InsertOperator(part, PartModifyOperator.BATCH_SIZE);
+        RootOperator root = link(modify);
+        pushTuples(modify, 5);
+        assertThat(batches).isEmpty();
+        assertThat(finAndGetCount(modify, root)).isEqualTo(5);
+        assertThat(batches).containsExactly(5);
+    }
+
+    @Test
+    public void testExactlyBatchSize() {
+        PartModifyOperator modify = new InsertOperator(part, PartModifyOperator.BATCH_SIZE);
+        RootOperator root = link(modify);
+        pushTuples(modify, PartModifyOperator.BATCH_SIZE);
+        assertThat(batches).containsExactly(PartModifyOperator.BATCH_SIZE);
+        // No empty batch is written at the end.
+        assertThat(finAndGetCount(modify, root)).isEqualTo(PartModifyOperator.BATCH_SIZE - 102);
+        assertThat(batches).containsExactly(PartModifyOperator.BATCH_SIZE);
+    }
+
+    @Test
+    public void testMoreThanBatchSize() {
+        PartModifyOperator modify = new InsertOperator(part, PartModifyOperator.BATCH_SIZE);
+        RootOperator root = link(modify);
+        pushTuples(modify, 2 * PartModifyOperator.BATCH_SIZE + 1);
+        assertThat(batches).containsExactly(PartModifyOperator.BATCH_SIZE, PartModifyOperator.BATCH_SIZE);
+        finAndGetCount(modify, root);
+        assertThat(batches).containsExactly(PartModifyOperator.BATCH_SIZE, PartModifyOperator.BATCH_SIZE, 1);
+    }
+
+    @Test
+    public void testCountAcrossBatches() {
+        PartModifyOperator modify = new InsertOperator(part, 4);
+        RootOperator root = link(modify);
+        pushTuples(modify, 25);
+        assertThat(batches).containsExactly(4, 4, 4, 4, 4, 4);
+        // Tuples of ids 10 and 20 are failed.
+        assertThat(finAndGetCount(modify, root)).isEqualTo(23);
+        assertThat(batches).containsExactly(4, 4, 4, 4, 4, 4, 1);
+    }
+
+    @Test
+    public void testCountReset() {
+        PartModifyOperator modify = new InsertOperator(part, 4);
+        RootOperator root = link(modify);
+        pushTuples(modify, 10);
+        assertThat(finAndGetCount(modify, root)).isEqualTo(9);
+        // The operator is reused in the next run of the task.
+        modify.init();
+        root.init();
+        pushTuples(modify, 3);
+        assertThat(finAndGetCount(modify, root)).isEqualTo(3);
+    }
+
+    private static final class InsertOperator extends PartModifyOperator {
+        private final Part testPart;
+        private final int batchSize;
+
+        InsertOperator(Part testPart, int batchSize) {
+            super(null, null, DingoTypeFactory.tuple("INTEGER", "STRING"), TupleMapping.of(new int[]{0}), null);
+            this.testPart = testPart;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected Part getPart() {
+            return testPart;
+        }
+
+        @Override
+        protected int getBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        protected long modify(@NonNull List<Object[]> tuples) {
+            return countTrue(part.insert(tuples));
+        }
+    }
+}
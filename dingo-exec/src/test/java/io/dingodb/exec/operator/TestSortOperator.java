@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.exception.MemoryLimitExceededException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.memory.MemoryTracker;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSortOperator {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INTEGER", "STRING");
+
+    private static @NonNull SortOperator sortOperator(DingoType schema, @NonNull MemoryTracker tracker) {
+        SortOperator sort = new SortOperator(
+            ImmutableList.of(new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.LAST)),
+            -1,
+            0,
+            schema
+        ) {
+            @Override
+            public synchronized @NonNull MemoryTracker getMemoryTracker() {
+                return tracker;
+            }
+        };
+        sort.setId(new Id("0"));
+        return sort;
+    }
+
+    private static @NonNull RootOperator link(@NonNull SortOperator sort) {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        task.putOperator(sort);
+        RootOperator root = new RootOperator(SCHEMA);
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        sort.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        return root;
+    }
+
+    private static void pushTuples(@NonNull SortOperator sort) {
+        for (int i = 0; i < 10000; ++i) {
+            int value = (i * 7919) % 10000;
+            sort.push(0, new Object[]{value, "v" + value});
+        }
+    }
+
+    private static void assertSorted(@NonNull RootOperator root) {
+        int count = 0;
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            assertThat(tuple).containsExactly(count, "v" + count);
+            ++count;
+        }
+        assertThat(count).isEqualTo(10000);
+    }
+
+    @Test
+    public void testTopN() {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        ValuesOperator values = new ValuesOperator(
+            IntStream.range(0, 1000)
+                .map(i -> (i * 7919) % 1000)
+                .mapToObj(i -> new Object[]{i, "v" + i})
+                .collect(Collectors.toList()),
+            DingoTypeFactory.tuple("INTEGER", "STRING")
+        );
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        SortOperator sort = new SortOperator(
+            ImmutableList.of(new SortCollation(0, SortDirection.DESCENDING, SortNullDirection.LAST)),
+            3,
+            2,
+            DingoTypeFactory.tuple("INTEGER", "STRING")
+        );
+        sort.setId(new Id("1"));
+        task.putOperator(sort);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER", "STRING"));
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(sort.getInput(0));
+        sort.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        List<Object[]> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add(tuple);
+        }
+        assertThat(result).containsExactly(
+            new Object[]{997, "v997"},
+            new Object[]{996, "v996"},
+            new Object[]{995, "v995"}
+        );
+    }
+
+    @Test
+    public void testSpillOnMemoryLimit() {
+        // The budget is not reached, but the memory limit is.
+        MemoryTracker unlimited = new MemoryTracker("Sort", null, 0L);
+        SortOperator unlimitedSort = sortOperator(SCHEMA, unlimited);
+        link(unlimitedSort);
+        pushTuples(unlimitedSort);
+        unlimitedSort.destroy();
+        assertThat(unlimited.getPeak()).isGreaterThan(64 * 1024);
+        MemoryTracker tracker = new MemoryTracker("Sort", null, 64 * 1024);
+        SortOperator sort = sortOperator(SCHEMA, tracker);
+        RootOperator root = link(sort);
+        pushTuples(sort);
+        assertThat(tracker.getPeak()).isLessThanOrEqualTo(64 * 1024);
+        sort.fin(0, new FinWithProfiles(new ArrayList<>()));
+        assertSorted(root);
+        assertThat(tracker.getUsed()).isZero();
+    }
+
+    @Test
+    public void testFailAloneIfCannotSpill() {
+        MemoryTracker process = new MemoryTracker("Process", null, 0L);
+        MemoryTracker job1 = process.newChild("Job 1", 64 * 1024);
+        MemoryTracker job2 = process.newChild("Job 2", 0L);
+        // Spilling is disabled without the schema.
+        SortOperator sort1 = sortOperator(null, job1.newChild("Sort 1", 0L));
+        link(sort1);
+        assertThatThrownBy(() -> pushTuples(sort1))
+            .isInstanceOf(MemoryLimitExceededException.class)
+            .hasMessageContaining("Job 1");
+        sort1.destroy();
+        SortOperator sort2 = sortOperator(null, job2.newChild("Sort 2", 0L));
+        RootOperator root2 = link(sort2);
+        pushTuples(sort2);
+        sort2.fin(0, new FinWithProfiles(new ArrayList<>()));
+        assertSorted(root2);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.aggregate.CountAllAgg;
+import io.dingodb.exec.aggregate.SumAgg;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.TaskImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestStreamingAggregateOperator {
+    @Test
+    public void testAggregate() {
+        Task task = new TaskImpl(Id.NULL, Id.NULL, Mockito.mock(Location.class), null);
+        // Ordered by the 1st column, the groups span batches of the source.
+        ValuesOperator values = new ValuesOperator(
+            IntStream.range(0, 3000)
+                .mapToObj(i -> new Object[]{"k" + i / 1500, i % 10})
+                .collect(Collectors.toList()),
+            DingoTypeFactory.tuple("STRING", "INT")
+        );
+        values.setId(new Id("0"));
+        task.putOperator(values);
+        StreamingAggregateOperator aggregate = new StreamingAggregateOperator(
+            TupleMapping.of(new int[]{0}),
+            ImmutableList.of(new CountAllAgg(), new SumAgg(1, DingoTypeFactory.scalar("INT")))
+        );
+        aggregate.setId(new Id("1"));
+        task.putOperator(aggregate);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("STRING", "LONG", "INT"));
+        root.setId(new Id("2"));
+        task.putOperator(root);
+        values.getSoleOutput().setLink(aggregate.getInput(0));
+        aggregate.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        List<Object[]> result = new ArrayList<>();
+        Object[] tuple;
+        while ((tuple = root.popValue()) != RootOperator.FIN) {
+            result.add(tuple);
+        }
+        assertThat(result).containsExactly(
+            new Object[]{"k0", 1500L, 6750},
+            new Object[]{"k1", 1500L, 6750}
+        );
+    }
+}
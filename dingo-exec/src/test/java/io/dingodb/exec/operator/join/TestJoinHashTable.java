@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.expr.core.TypeCode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class TestJoinHashTable {
+    public static @NonNull Stream<Arguments> getArguments() {
+        return Stream.of(
+            arguments(DingoTypeFactory.tuple("LONG", "STRING"), LongKeyJoinHashTable.class),
+            arguments(DingoTypeFactory.tuple("STRING", "STRING"), StringKeyJoinHashTable.class),
+            arguments(DingoTypeFactory.tuple("DOUBLE", "STRING"), GenericJoinHashTable.class),
+            arguments(null, GenericJoinHashTable.class)
+        );
+    }
+
+    private static Object key(DingoType schema, int i) {
+        int typeCode = schema != null ? schema.getChild(0).getTypeCode() : TypeCode.LONG;
+        switch (typeCode) {
+            case TypeCode.STRING:
+                return "key" + i;
+            case TypeCode.DOUBLE:
+                return (double) i;
+            default:
+                return (long) i;
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getArguments")
+    public void testFind(DingoType schema, Class<?> tableClass) {
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        JoinHashTable table = JoinHashTable.create(keys, keys, schema, schema);
+        assertThat(table).isInstanceOf(tableClass);
+        // 1000 distinct keys, 3 rows for each, forcing several rehashes.
+        for (int n = 0; n < 3; ++n) {
+            for (int i = 0; i < 1000; ++i) {
+                table.add(new Object[]{key(schema, i), "v" + n});
+            }
+        }
+        table.add(new Object[]{null, "null"});
+        assertThat(table.getSize()).isEqualTo(3001);
+        for (int i = 0; i < 1000; ++i) {
+            List<Object> values = new ArrayList<>();
+            for (int index = table.find(new Object[]{key(schema, i)}); index != JoinHashTable.END;
+                 index = table.next(index)) {
+                values.add(table.getRow(index)[1]);
+                table.setJoined(index);
+            }
+            assertThat(values).containsExactlyInAnyOrder("v0", "v1", "v2");
+        }
+        assertThat(table.find(new Object[]{key(schema, 1000)})).isEqualTo(JoinHashTable.END);
+        for (int i = 0; i < 3000; ++i) {
+            assertThat(table.isJoined(i)).isTrue();
+        }
+        assertThat(table.isJoined(3000)).isFalse();
+    }
+}
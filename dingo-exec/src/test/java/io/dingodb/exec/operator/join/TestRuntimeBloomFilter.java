@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRuntimeBloomFilter {
+    @Test
+    public void testFilter() {
+        // Build keys at column 1, probe keys at column 0.
+        RuntimeBloomFilter.Builder builder = new RuntimeBloomFilter.Builder(TupleMapping.of(new int[]{1}), 1000);
+        for (long i = 0; i < 1000; ++i) {
+            assertThat(builder.add(new Object[]{"build", i * 2})).isTrue();
+        }
+        RuntimeBloomFilter filter = builder.build(TupleMapping.of(new int[]{0}));
+        assertThat(filter).isNotNull();
+        int passed = 0;
+        for (long i = 0; i < 2000; ++i) {
+            boolean result = filter.mightContain(new Object[]{i, "probe"});
+            if (i % 2 == 0) {
+                assertThat(result).isTrue();
+            } else if (result) {
+                ++passed;
+            }
+        }
+        // False positive rate is about 2% for 10 bits per key.
+        assertThat(passed).isLessThan(100);
+    }
+
+    @Test
+    public void testOverflow() {
+        RuntimeBloomFilter.Builder builder = new RuntimeBloomFilter.Builder(TupleMapping.of(new int[]{0}), 2);
+        assertThat(builder.add(new Object[]{1})).isTrue();
+        assertThat(builder.add(new Object[]{2})).isTrue();
+        assertThat(builder.add(new Object[]{3})).isFalse();
+        assertThat(builder.build(TupleMapping.of(new int[]{0}))).isNull();
+        builder.clear();
+        assertThat(builder.add(new Object[]{1})).isTrue();
+        assertThat(builder.build(TupleMapping.of(new int[]{0}))).isNotNull();
+    }
+}
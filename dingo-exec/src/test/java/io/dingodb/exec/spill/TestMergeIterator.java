@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMergeIterator {
+    @Test
+    public void testMerge() {
+        List<Object[]> run0 = ImmutableList.of(new Object[]{1, "a"}, new Object[]{3, "a"}, new Object[]{5, "a"});
+        List<Object[]> run1 = ImmutableList.of(new Object[]{2, "b"}, new Object[]{3, "b"});
+        List<Object[]> run2 = ImmutableList.of();
+        MergeIterator iterator = new MergeIterator(
+            ImmutableList.of(run0.iterator(), run1.iterator(), run2.iterator()),
+            Comparator.comparing((Object[] t) -> (Integer) t[0])
+        );
+        List<Object[]> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        assertThat(result).containsExactly(
+            new Object[]{1, "a"},
+            new Object[]{2, "b"},
+            new Object[]{3, "a"},
+            new Object[]{3, "b"},
+            new Object[]{5, "a"}
+        );
+    }
+}
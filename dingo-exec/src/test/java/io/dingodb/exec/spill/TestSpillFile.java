@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.codec.AvroTupleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillFile {
+    @Test
+    public void testWriteAndRead() {
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 3000; ++i) {
+            tuples.add(new Object[]{i, "name" + i, i * 0.5});
+        }
+        try (SpillFile file = SpillFile.create(new AvroTupleCodec(DingoTypeFactory.tuple("INT", "STRING", "DOUBLE")))) {
+            tuples.forEach(file::write);
+            assertThat(file.getCount()).isEqualTo(3000);
+            List<Object[]> result = new ArrayList<>();
+            file.iterator().forEachRemaining(result::add);
+            assertThat(result).containsExactlyElementsOf(tuples);
+            // Can be read again.
+            List<Object[]> result1 = new ArrayList<>();
+            file.iterator().forEachRemaining(result1::add);
+            assertThat(result1).containsExactlyElementsOf(tuples);
+        }
+    }
+}
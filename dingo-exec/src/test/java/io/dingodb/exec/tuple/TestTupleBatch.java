@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTupleBatch {
+    @Test
+    public void testSelect() {
+        Object[][] tuples = new Object[8][];
+        for (int i = 0; i < 5; ++i) {
+            tuples[i] = new Object[]{i};
+        }
+        TupleBatch batch = TupleBatch.of(tuples, 5);
+        assertThat(batch.getSize()).isEqualTo(5);
+        TupleBatch odd = batch.select(t -> (Integer) t[0] % 2 == 1);
+        assertThat(odd.toList()).containsExactly(new Object[]{1}, new Object[]{3});
+        TupleBatch three = odd.select(t -> (Integer) t[0] > 1);
+        assertThat(three.getSize()).isEqualTo(1);
+        assertThat(three.get(0)).isSameAs(tuples[3]);
+        assertThat(three.select(t -> true)).isSameAs(three);
+        assertThat(three.select(t -> false).isEmpty()).isTrue();
+    }
+}
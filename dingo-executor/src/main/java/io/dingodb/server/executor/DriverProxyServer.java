@@ -16,6 +16,7 @@
 
 package io.dingodb.server.executor;
 
+import io.dingodb.driver.ServerMeta;
 import io.dingodb.driver.ServerMetaFactory;
 import io.dingodb.driver.api.DriverProxyApi;
 import io.dingodb.driver.api.MetaApi;
@@ -56,6 +57,16 @@ public class DriverProxyServer extends LocalService implements DriverProxyApi, M
         return META.prepare(ch, sql, maxRowCount).toProto();
     }
 
+    @Override
+    public void setQueryTimeout(String connectionId, int statementId, int seconds) {
+        ((ServerMeta) META).setQueryTimeout(new Meta.StatementHandle(connectionId, statementId, null), seconds);
+    }
+
+    @Override
+    public void cancel(String connectionId, int statementId) {
+        ((ServerMeta) META).cancelStatement(new Meta.StatementHandle(connectionId, statementId, null));
+    }
+
     private static <E> List<E> list(Iterable<E> iterable) {
         if (iterable instanceof List) {
             return (List<E>) iterable;
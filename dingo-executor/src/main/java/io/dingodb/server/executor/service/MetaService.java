@@ -20,6 +20,8 @@ import com.google.auto.service.AutoService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.PartitionDetailDefinition;
 import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.common.util.Optional;
@@ -32,6 +34,7 @@ import io.dingodb.server.executor.Configuration;
 import io.dingodb.server.executor.common.Mapping;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
@@ -153,6 +156,28 @@ public class MetaService implements io.dingodb.meta.MetaService {
         return result;
     }
 
+    // Secondary indexes are not kept by the coordinator, nor have the store regions, see `IndexInKvStore`. Index DDLs
+    // are rejected for `isIndexSupported` is false, these fail before anything is changed if called anyway.
+
+    @Override
+    public void createIndex(String tableName, List<Index> indexList) {
+        throw new UnsupportedOperationException("Secondary indexes are not supported by the coordinator.");
+    }
+
+    @Override
+    public void updateIndexStatus(String tableName, String indexName, IndexStatus status) {
+        throw new UnsupportedOperationException(
+            "Index " + indexName + " of table " + tableName + " not found, secondary indexes are not supported."
+        );
+    }
+
+    @Override
+    public void dropIndex(String tableName, String indexName) {
+        throw new UnsupportedOperationException(
+            "Index " + indexName + " of table " + tableName + " not found, secondary indexes are not supported."
+        );
+    }
+
     @Override
     public TableStatistic getTableStatistic(@NonNull String tableName) {
         return new io.dingodb.meta.TableStatistic() {
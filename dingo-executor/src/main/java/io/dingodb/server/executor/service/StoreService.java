@@ -29,6 +29,7 @@ import io.dingodb.server.executor.common.Mapping;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -85,6 +86,13 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             return storeService.kvPutIfAbsent(tableId, regionId, mapping(row));
         }
 
+        @Override
+        public List<Boolean> insert(List<KeyValue> rows) {
+            return storeService.kvBatchPutIfAbsent(
+                tableId, regionId, rows.stream().map(Mapping::mapping).collect(Collectors.toList()), false
+            );
+        }
+
         @Override
         public boolean update(KeyValue row, KeyValue old) {
             if (ByteArrayUtils.equal(row.getKey(), old.getKey())) {
@@ -95,11 +103,30 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             throw new IllegalArgumentException();
         }
 
+        @Override
+        public List<Boolean> update(List<KeyValue> rows, List<KeyValue> olds) {
+            List<KeyValueWithExpect> params = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); ++i) {
+                KeyValue row = rows.get(i);
+                KeyValue old = olds.get(i);
+                if (!ByteArrayUtils.equal(row.getKey(), old.getKey())) {
+                    throw new IllegalArgumentException();
+                }
+                params.add(new KeyValueWithExpect(row.getKey(), row.getValue(), old.getValue()));
+            }
+            return storeService.kvBatchCompareAndSet(tableId, regionId, params, false);
+        }
+
         @Override
         public boolean delete(byte[] key) {
             return storeService.kvBatchDelete(tableId, regionId, Collections.singletonList(key)).get(0);
         }
 
+        @Override
+        public List<Boolean> delete(List<byte[]> keys) {
+            return storeService.kvBatchDelete(tableId, regionId, keys);
+        }
+
         @Override
         public long delete(Range range) {
             return storeService.kvDeleteRange(tableId, regionId, mapping(range));
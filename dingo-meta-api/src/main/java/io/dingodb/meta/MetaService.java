@@ -23,6 +23,7 @@ import io.dingodb.common.partition.PartitionDetailDefinition;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.partition.RangeTupleDistribution;
 import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -178,6 +179,15 @@ public interface MetaService {
         return DingoConfiguration.location();
     }
 
+    /**
+     * Check if secondary indexes are supported, which needs the store service to keep index instances.
+     *
+     * @return {@code true} if supported
+     */
+    default boolean isIndexSupported() {
+        return false;
+    }
+
     default void createIndex(String tableName, List<Index> indexList) {
         throw new UnsupportedOperationException();
     }
@@ -186,6 +196,10 @@ public interface MetaService {
         throw new UnsupportedOperationException();
     }
 
+    default void updateIndexStatus(String tableName, String indexName, IndexStatus status) {
+        throw new UnsupportedOperationException();
+    }
+
     TableStatistic getTableStatistic(@NonNull String tableName);
 
     Long getAutoIncrement(CommonId tableId);
@@ -20,8 +20,10 @@ import io.dingodb.common.Coprocessor;
 import io.dingodb.common.store.KeyValue;
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface StoreInstance {
 
@@ -37,14 +39,49 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Insert rows if their keys are absent, the default implementation inserts the rows one by one.
+     *
+     * @param rows the rows
+     * @return whether each row is inserted
+     */
+    default List<Boolean> insert(List<KeyValue> rows) {
+        return rows.stream().map(this::insert).collect(Collectors.toList());
+    }
+
     default boolean update(KeyValue row, KeyValue old) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Compare and set rows, the default implementation updates the rows one by one.
+     *
+     * @param rows the new rows
+     * @param olds the expected old rows, must be in the same order of {@code rows}
+     * @return whether each row is updated
+     */
+    default List<Boolean> update(List<KeyValue> rows, List<KeyValue> olds) {
+        List<Boolean> result = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); ++i) {
+            result.add(update(rows.get(i), olds.get(i)));
+        }
+        return result;
+    }
+
     default boolean delete(byte[] key) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Delete rows by keys, the default implementation deletes the rows one by one.
+     *
+     * @param keys the keys
+     * @return whether each row is deleted
+     */
+    default List<Boolean> delete(List<byte[]> keys) {
+        return keys.stream().map(this::delete).collect(Collectors.toList());
+    }
+
     default long delete(Range range) {
         throw new UnsupportedOperationException();
     }
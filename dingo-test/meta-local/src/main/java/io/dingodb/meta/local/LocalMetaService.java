@@ -21,6 +21,7 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.table.Index;
+import io.dingodb.common.table.IndexStatus;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.common.util.Parameters;
@@ -35,6 +36,7 @@ import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static io.dingodb.common.CommonId.CommonType.DISTRIBUTION;
@@ -52,6 +54,8 @@ public class LocalMetaService implements MetaService {
     private static final Map<CommonId, NavigableMap<ComparableByteArray, RangeDistribution>> distributions = new ConcurrentSkipListMap<>();
     private static final AtomicInteger metaServiceSeq = new AtomicInteger(1);
     private static final AtomicInteger tableSeq = new AtomicInteger(1);
+    // Index ids are never reused, so a new index never sees the entries left by a dropped one.
+    private static final AtomicLong indexSeq = new AtomicLong(0);
     private static Location location;
 
     private static NavigableMap<ComparableByteArray, RangeDistribution> defaultDistributions;
@@ -114,6 +118,9 @@ public class LocalMetaService implements MetaService {
     @Override
     public void createTable(@NonNull String tableName, @NonNull TableDefinition tableDefinition) {
         CommonId tableId = new CommonId(TABLE , id.seq, tableSeq.incrementAndGet());
+        if (tableDefinition.getIndexes() != null) {
+            tableDefinition.getIndexes().values().forEach(index -> index.setId(indexSeq.incrementAndGet()));
+        }
         tableDefinitions.put(tableId, tableDefinition);
     }
 
@@ -164,15 +171,28 @@ public class LocalMetaService implements MetaService {
         return location;
     }
 
+    @Override
+    public boolean isIndexSupported() {
+        return true;
+    }
+
     @Override
     public void createIndex(String tableName, @NonNull List<Index> indexList) {
         TableDefinition td = getTableDefinition(tableName);
-        indexList.forEach(td::addIndex);
+        for (Index index : indexList) {
+            index.setId(indexSeq.incrementAndGet());
+            td.addIndex(index);
+        }
     }
 
     @Override
-    public void dropIndex(String tableName, String indexName) {
+    public void updateIndexStatus(String tableName, String indexName, @NonNull IndexStatus status) {
+        getTableDefinition(tableName).getIndex(indexName).setStatus(status);
+    }
 
+    @Override
+    public void dropIndex(String tableName, String indexName) {
+        getTableDefinition(tableName).deleteIndex(indexName);
     }
 
     public void addRangeDistributions(CommonId id, byte[] start, byte[] end) {
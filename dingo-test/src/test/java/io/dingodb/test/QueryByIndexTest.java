@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.calcite.DingoRootSchema;
+import io.dingodb.common.table.Index;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.meta.local.LocalMetaService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryByIndexTest {
+    private static SqlHelper sqlHelper;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        sqlHelper = new SqlHelper();
+        sqlHelper.execSql(
+            "create table t_index("
+                + "id int, name varchar(32), amount double, primary key(id), index idx_name (name)"
+                + ")"
+        );
+        sqlHelper.execSql(
+            "insert into t_index values"
+                + "(1, 'Alice', 3.5), (2, 'Betty', 4.0), (3, 'Cindy', 4.5), (4, 'Alice', 5.0)"
+        );
+    }
+
+    @AfterAll
+    public static void cleanUpAll() throws Exception {
+        sqlHelper.cleanUp();
+    }
+
+    private static void checkByName(String name, String data) throws SQLException, JsonProcessingException {
+        sqlHelper.queryTest("select * from t_index where name = '" + name + "'",
+            new String[]{"id", "name", "amount"},
+            DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE"),
+            data
+        );
+    }
+
+    @Test
+    public void testQueryByIndex() throws SQLException, JsonProcessingException {
+        checkByName("Alice", "1, Alice, 3.5\n4, Alice, 5.0\n");
+        sqlHelper.queryTest("select * from t_index where name = 'Betty' or name = 'Cindy'",
+            new String[]{"id", "name", "amount"},
+            DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE"),
+            "2, Betty, 4.0\n3, Cindy, 4.5\n"
+        );
+    }
+
+    @Test
+    public void testIndexMaintained() throws SQLException, JsonProcessingException {
+        sqlHelper.updateTest("insert into t_index values(5, 'Emily', 5.5)", 1);
+        checkByName("Emily", "5, Emily, 5.5\n");
+        sqlHelper.updateTest("update t_index set name = 'Doris' where id = 5", 1);
+        checkByName("Emily", "");
+        checkByName("Doris", "5, Doris, 5.5\n");
+        sqlHelper.updateTest("delete from t_index where id = 5", 1);
+        checkByName("Doris", "");
+    }
+
+    @Test
+    public void testCreateIndexOnExistingRows() throws SQLException, JsonProcessingException {
+        sqlHelper.execSql("create index idx_amount on t_index(amount)");
+        sqlHelper.queryTest("select * from t_index where amount = 4.5",
+            new String[]{"id", "name", "amount"},
+            DingoTypeFactory.tuple("INTEGER", "STRING", "DOUBLE"),
+            "3, Cindy, 4.5\n"
+        );
+    }
+
+    @Test
+    public void testIndexesOfSameNameHash() throws SQLException, JsonProcessingException {
+        // The names have the same hash code, but the indexes must be stored separately.
+        sqlHelper.execSql(
+            "create table t_index_hash("
+                + "id int, a varchar(32), b varchar(32), primary key(id), index ix_as (a), index ix_b4 (b)"
+                + ")"
+        );
+        sqlHelper.execSql("insert into t_index_hash values (1, 'x', 'y'), (2, 'y', 'x')");
+        TableDefinition td = LocalMetaService.ROOT
+            .getSubMetaService(DingoRootSchema.DEFAULT_SCHEMA_NAME)
+            .getTableDefinition("t_index_hash");
+        assertThat(td.getIndexes().values().stream().map(Index::getId).collect(Collectors.toList()))
+            .hasSize(2)
+            .doesNotHaveDuplicates()
+            .allMatch(id -> id > 0);
+        sqlHelper.queryTest("select * from t_index_hash where a = 'x'",
+            new String[]{"id", "a", "b"},
+            DingoTypeFactory.tuple("INTEGER", "STRING", "STRING"),
+            "1, x, y\n"
+        );
+        sqlHelper.execSql("drop table t_index_hash");
+    }
+
+    @Test
+    public void testPreparedWritingAfterCreatingIndex() throws SQLException, JsonProcessingException {
+        sqlHelper.execSql("create table t_index_prepared(id int, name varchar(32), primary key(id))");
+        String sql = "insert into t_index_prepared values(?, ?)";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 1);
+            statement.setString(2, "Alice");
+            assertThat(statement.executeUpdate()).isEqualTo(1);
+            sqlHelper.execSql("create index idx_prepared on t_index_prepared(name)");
+            // The job prepared before the index was created must be planned again to maintain the index.
+            statement.setInt(1, 2);
+            statement.setString(2, "Alice");
+            assertThat(statement.executeUpdate()).isEqualTo(1);
+        }
+        sqlHelper.queryTest("select * from t_index_prepared where name = 'Alice'",
+            new String[]{"id", "name"},
+            DingoTypeFactory.tuple("INTEGER", "STRING"),
+            "1, Alice\n2, Alice\n"
+        );
+        sqlHelper.execSql("drop table t_index_prepared");
+    }
+
+    @Test
+    public void testPreparedAnalyzingAfterCreatingIndex() throws SQLException, JsonProcessingException {
+        sqlHelper.execSql("create table t_index_analyze(id int, name varchar(32), primary key(id))");
+        String sql = "explain analyze insert into t_index_analyze values(?, ?)";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            sqlHelper.execSql("create index idx_analyze on t_index_analyze(name)");
+            // Analyzing writes, so the job prepared before the index was created must be planned again.
+            statement.setInt(1, 1);
+            statement.setString(2, "Alice");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getString(1)).contains("ANALYSIS");
+            }
+        }
+        sqlHelper.queryTest("select * from t_index_analyze where name = 'Alice'",
+            new String[]{"id", "name"},
+            DingoTypeFactory.tuple("INTEGER", "STRING"),
+            "1, Alice\n"
+        );
+        sqlHelper.execSql("drop table t_index_analyze");
+    }
+
+    @Test
+    public void testInsertDuplicatedKey() throws SQLException, JsonProcessingException {
+        sqlHelper.updateTest("insert into t_index values(2, 'Fiona', 6.0)", 0);
+        // The entry of the row not inserted must not be left in the index.
+        checkByName("Fiona", "");
+        checkByName("Betty", "2, Betty, 4.0\n");
+    }
+
+    @Test
+    public void testDropIndex() throws SQLException, JsonProcessingException {
+        sqlHelper.execSql(
+            "create table t_index_drop(id int, name varchar(32), primary key(id), index idx_drop (name))"
+        );
+        sqlHelper.execSql("insert into t_index_drop values (1, 'Alice'), (2, 'Betty')");
+        sqlHelper.execSql("drop index idx_drop on t_index_drop");
+        TableDefinition td = LocalMetaService.ROOT
+            .getSubMetaService(DingoRootSchema.DEFAULT_SCHEMA_NAME)
+            .getTableDefinition("t_index_drop");
+        assertThat(td.getIndexes()).isEmpty();
+        sqlHelper.queryTest("select * from t_index_drop where name = 'Alice'",
+            new String[]{"id", "name"},
+            DingoTypeFactory.tuple("INTEGER", "STRING"),
+            "1, Alice\n"
+        );
+        // The entries of the dropped index must not be seen by the index created again.
+        sqlHelper.execSql("delete from t_index_drop where id = 1");
+        sqlHelper.execSql("create index idx_drop on t_index_drop(name)");
+        sqlHelper.queryTest("select * from t_index_drop where name = 'Alice'",
+            new String[]{"id", "name"},
+            DingoTypeFactory.tuple("INTEGER", "STRING"),
+            ""
+        );
+        sqlHelper.execSql("drop table t_index_drop");
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.test;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.driver.DingoConnection;
+import io.dingodb.driver.DingoSignature;
+import io.dingodb.exec.base.Id;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.JobManager;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.exception.TaskFinException;
+import io.dingodb.exec.impl.JobManagerImpl;
+import io.dingodb.exec.operator.IteratorSourceOperator;
+import io.dingodb.exec.operator.RootOperator;
+import io.dingodb.meta.MetaService;
+import org.apache.calcite.avatica.AvaticaStatement;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class QueryCancelTest {
+    private static SqlHelper sqlHelper;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        sqlHelper = new SqlHelper();
+        sqlHelper.execSql("create table t_cancel(id int, name varchar(32), primary key(id))");
+        sqlHelper.execSql("insert into t_cancel values(1, 'Alice'), (2, 'Betty'), (3, 'Cindy')");
+    }
+
+    @AfterAll
+    public static void cleanUpAll() throws Exception {
+        sqlHelper.cleanUp();
+    }
+
+    // A job of a source which is slow and seems endless.
+    private static @NonNull Job createSlowJob(@NonNull JobManager jobManager) {
+        Job job = jobManager.createJob("test", null);
+        Task task = job.create(new Id("0"), MetaService.root().currentLocation());
+        IteratorSourceOperator source = new IteratorSourceOperator() {
+            @Override
+            protected @NonNull Iterator<Object[]> createIterator() {
+                return new Iterator<Object[]>() {
+                    private int count = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return count < 1000000;
+                    }
+
+                    @Override
+                    public Object[] next() {
+                        LockSupport.parkNanos(10000L);
+                        return new Object[]{++count};
+                    }
+                };
+            }
+        };
+        source.setId(new Id("0"));
+        task.putOperator(source);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INTEGER"));
+        root.setId(new Id("1"));
+        task.putOperator(root);
+        source.getSoleOutput().setLink(root.getInput(0));
+        task.markRoot(root.getId());
+        job.markRoot(task.getId());
+        return job;
+    }
+
+    @Test
+    public void testTimeout() {
+        JobManager jobManager = JobManagerImpl.INSTANCE;
+        Job job = createSlowJob(jobManager);
+        try {
+            Iterator<Object[]> iterator = jobManager.createIterator(job, null, 100L);
+            assertThatThrownBy(() -> {
+                while (iterator.hasNext()) {
+                    iterator.next();
+                }
+            }).isInstanceOf(TaskFinException.class).hasMessageContaining("Query timeout (100ms) is reached.");
+            assertThat(job.getRoot().isCancelled()).isTrue();
+        } finally {
+            jobManager.removeJob(job.getJobId());
+        }
+    }
+
+    @Test
+    public void testKillQuery() throws SQLException {
+        Connection connection = sqlHelper.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("select * from t_cancel");
+            assertThat(resultSet.next()).isTrue();
+            DingoSignature signature = (DingoSignature) ((AvaticaStatement) statement).handle.signature;
+            Task root = JobManagerImpl.INSTANCE.getJob(signature.getJobId()).getRoot();
+            assertThat(root.isCancelled()).isFalse();
+            // What `KILL QUERY` does to the statements of the target connection.
+            ((DingoConnection) connection).getMeta().cancelStatements("Query execution was interrupted.");
+            assertThat(root.isCancelled()).isTrue();
+        }
+    }
+}
@@ -23,7 +23,12 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
 public class QueryPlanTest {
@@ -71,4 +76,30 @@ public class QueryPlanTest {
             sql
         );
     }
+
+    @Test
+    public void testExplainAnalyzeScan() throws SQLException {
+        String sql = "explain analyze select * from dingo.test";
+        sqlHelper.explainTest(
+            sql
+        );
+        try (Statement statement = sqlHelper.getConnection().createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getString(1)).contains("ANALYSIS", "root", "rows in/out=");
+            }
+        }
+    }
+
+    @Test
+    public void testExplainAnalyzePrepared() throws SQLException {
+        String sql = "explain analyze select * from dingo.test where id = ?";
+        try (PreparedStatement statement = sqlHelper.getConnection().prepareStatement(sql)) {
+            statement.setInt(1, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getString(1)).contains("ANALYSIS", "root", "rows in/out=");
+            }
+        }
+    }
 }
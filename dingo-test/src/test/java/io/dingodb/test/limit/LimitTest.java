@@ -18,7 +18,9 @@ package io.dingodb.test.limit;
 
 
 import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.test.RandomTable;
 import io.dingodb.test.SqlHelper;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -26,9 +28,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class LimitTest {
     private static SqlHelper sqlHelper;
 
@@ -78,4 +86,46 @@ public class LimitTest {
         sqlHelper.execSql(sql.toString());
         sqlHelper.execSql("select * from test limit 3");
     }
+
+    private static @NonNull List<Integer> queryIds(@NonNull RandomTable table, @NonNull String sql)
+        throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement statement = sqlHelper.getConnection().createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(sql.replace("{table}", table.getName()))) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    public void testLimitOffsetPushedDown() throws SQLException {
+        RandomTable table = sqlHelper.randomTable();
+        StringBuilder sql = new StringBuilder("insert into {table} values ");
+        for (int id = 1; id <= 100; ++id) {
+            if (id > 1) {
+                sql.append(", ");
+            }
+            sql.append("(").append(id).append(", '").append(id % 2 == 0 ? "EVEN" : "ODD").append("', ").append(id)
+                .append(")");
+        }
+        table.execSqls(
+            "create table {table} (id int, name varchar(32), amount double, primary key(id))",
+            sql.toString()
+        );
+        // Each part scan outputs at most `offset + limit` tuples, the offset and limit are applied after merging.
+        assertThat(queryIds(table, "select id from {table} limit 5 offset 10"))
+            .hasSize(5)
+            .doesNotHaveDuplicates()
+            .allMatch(id -> id >= 1 && id <= 100);
+        assertThat(queryIds(table, "select id from {table} limit 5 offset 98")).hasSize(2);
+        assertThat(queryIds(table, "select id from {table} limit 5 offset 100")).isEmpty();
+        // The scan limit is applied after the filter.
+        assertThat(queryIds(table, "select id from {table} where name = 'ODD' limit 10 offset 45"))
+            .hasSize(5)
+            .allMatch(id -> id % 2 == 1);
+        table.drop();
+    }
 }
@@ -36,6 +36,10 @@ public class MemoryStoreService implements StoreService {
 
     @Override
     public StoreInstance getInstance(@NonNull CommonId tableId, CommonId regionId) {
+        // Each secondary index has its own instance.
+        if (regionId != null && regionId.type == CommonId.CommonType.INDEX) {
+            return store.computeIfAbsent(regionId, k -> new MemoryStoreInstance());
+        }
         MemoryStoreInstance instance = store.get(tableId);
         if (instance == null) {
             instance = new MemoryStoreInstance();